@@ -0,0 +1,35 @@
+-- Switch primary keys from one-at-a-time identity values to pooled sequences.
+--
+-- The entities now draw ids from the existing BIGSERIAL sequences
+-- (<table>_id_seq) with allocationSize = 50, so Hibernate reserves 50 ids per
+-- round trip and can batch inserts. Hibernate refuses to start against a
+-- sequence whose increment does not match, so run this once on an existing
+-- database before deploying. Each sequence is also moved 50 past the current
+-- maximum id, so the first pooled block cannot overlap existing rows.
+--
+-- Column defaults (nextval) are left in place, so manual inserts keep working.
+
+BEGIN;
+
+ALTER SEQUENCE artists_id_seq INCREMENT BY 50;
+SELECT setval('artists_id_seq', (SELECT COALESCE(MAX(id), 0) FROM artists) + 50);
+
+ALTER SEQUENCE genres_id_seq INCREMENT BY 50;
+SELECT setval('genres_id_seq', (SELECT COALESCE(MAX(id), 0) FROM genres) + 50);
+
+ALTER SEQUENCE albums_id_seq INCREMENT BY 50;
+SELECT setval('albums_id_seq', (SELECT COALESCE(MAX(id), 0) FROM albums) + 50);
+
+ALTER SEQUENCE songs_id_seq INCREMENT BY 50;
+SELECT setval('songs_id_seq', (SELECT COALESCE(MAX(id), 0) FROM songs) + 50);
+
+ALTER SEQUENCE customers_id_seq INCREMENT BY 50;
+SELECT setval('customers_id_seq', (SELECT COALESCE(MAX(id), 0) FROM customers) + 50);
+
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+SELECT setval('orders_id_seq', (SELECT COALESCE(MAX(id), 0) FROM orders) + 50);
+
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+SELECT setval('order_items_id_seq', (SELECT COALESCE(MAX(id), 0) FROM order_items) + 50);
+
+COMMIT;
@@ -0,0 +1,8 @@
+-- Functional index for case-insensitive customer lookups.
+--
+-- CustomerRepository.findByEmailIgnoreCase compiles to
+-- WHERE upper(email) = upper(?), which cannot use the plain unique index on
+-- email. Login, registration and the principal lookup for tokens that carry
+-- no customer claims all go through it.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_email_upper ON customers (UPPER(email));
@@ -0,0 +1,24 @@
+-- Trigram indexes for catalog keyword search.
+--
+-- The search queries filter with lower(column) LIKE '%keyword%', which a
+-- B-tree index cannot serve, so every search scanned the whole table. GIN
+-- indexes with gin_trgm_ops on the same lower(column) expressions let
+-- PostgreSQL answer infix LIKE patterns from the index:
+--
+--   AlbumRepository.searchIdsByTitleOrArtistNameIndexed  albums.title, artists.name
+--   AlbumRepository.searchByTitleOrArtistName            albums.title, artists.name
+--   ArtistRepository.searchByName                        artists.name
+--   SongRepository.searchByTitle                         songs.title
+--   CustomerRepository.searchByName                      customers.first_name, last_name
+--
+-- Keywords shorter than three characters have no trigrams and still scan.
+-- Requires the pg_trgm extension (bundled with PostgreSQL contrib; enabled by
+-- default on most hosted databases).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_albums_title_trgm ON albums USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_artists_name_trgm ON artists USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_songs_title_trgm ON songs USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_first_name_trgm ON customers USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_last_name_trgm ON customers USING gin (lower(last_name) gin_trgm_ops);
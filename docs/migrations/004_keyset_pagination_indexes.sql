@@ -0,0 +1,16 @@
+-- Composite indexes for keyset pagination of the catalog listings.
+--
+-- The /scroll endpoints read the next slice with
+-- WHERE key >= :key AND (key > :key OR id > :id) ORDER BY key, id LIMIT n,
+-- which these indexes answer with a short range scan and no sort. They
+-- supersede the single-column title and name indexes. Genres (unique name) and
+-- customers (unique email) are already covered by their unique indexes, and the
+-- ID order by the primary key.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_albums_title_id ON albums (title, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_artists_name_id ON artists (name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_songs_title_id ON songs (title, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_albums_title;
+DROP INDEX CONCURRENTLY IF EXISTS idx_artists_name;
+DROP INDEX CONCURRENTLY IF EXISTS idx_songs_title;
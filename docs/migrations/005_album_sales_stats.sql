@@ -0,0 +1,28 @@
+-- Per-album sales totals, maintained by the order service.
+--
+-- Placing an order adds its items to album_sales_stats and cancelling it
+-- subtracts them, in the same transaction, so top-selling rankings and
+-- per-album revenue are index reads instead of a GROUP BY over order_items.
+-- Run once before deploying; the INSERT backfills totals from existing
+-- orders. Re-running the DELETE and INSERT repairs any drift.
+
+CREATE TABLE IF NOT EXISTS album_sales_stats (
+    album_id BIGINT PRIMARY KEY REFERENCES albums(id) ON DELETE CASCADE,
+    units_sold BIGINT NOT NULL,
+    revenue DECIMAL(14, 2) NOT NULL,
+    last_sold_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_album_sales_stats_units ON album_sales_stats (units_sold, album_id);
+CREATE INDEX IF NOT EXISTS idx_album_sales_stats_revenue ON album_sales_stats (revenue, album_id);
+
+BEGIN;
+DELETE FROM album_sales_stats;
+INSERT INTO album_sales_stats (album_id, units_sold, revenue, last_sold_at, updated_at)
+SELECT oi.album_id, SUM(oi.quantity), SUM(oi.subtotal), MAX(o.order_date), CURRENT_TIMESTAMP
+FROM order_items oi
+JOIN orders o ON o.id = oi.order_id
+WHERE o.status <> 'CANCELLED'
+GROUP BY oi.album_id;
+COMMIT;
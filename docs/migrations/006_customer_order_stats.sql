@@ -0,0 +1,27 @@
+-- Per-customer order totals, maintained by the order service.
+--
+-- Placing an order adds it to customer_order_stats and cancelling it
+-- subtracts it, in the same transaction, so the customer leaderboard and
+-- per-customer stats are index reads instead of a GROUP BY over orders.
+-- Run once before deploying; the INSERT backfills totals from existing
+-- orders. The nightly reconcile job recomputes any rows that drift.
+
+CREATE TABLE IF NOT EXISTS customer_order_stats (
+    customer_id BIGINT PRIMARY KEY REFERENCES customers(id) ON DELETE CASCADE,
+    order_count BIGINT NOT NULL,
+    lifetime_spend DECIMAL(14, 2) NOT NULL,
+    last_order_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_customer_order_stats_count ON customer_order_stats (order_count, customer_id);
+CREATE INDEX IF NOT EXISTS idx_customer_order_stats_spend ON customer_order_stats (lifetime_spend, customer_id);
+
+BEGIN;
+DELETE FROM customer_order_stats;
+INSERT INTO customer_order_stats (customer_id, order_count, lifetime_spend, last_order_at, updated_at)
+SELECT customer_id, COUNT(*), SUM(total_amount), MAX(order_date), CURRENT_TIMESTAMP
+FROM orders
+WHERE status <> 'CANCELLED'
+GROUP BY customer_id;
+COMMIT;
@@ -0,0 +1,33 @@
+-- Hourly and daily revenue buckets, maintained by the order service.
+--
+-- Placing an order adds its total to the hour and day it was created in, and
+-- cancelling it subtracts it, in the same transaction. Revenue over a range is
+-- the sum of the whole days and hours it covers plus the orders in the partial
+-- hours at either end, which idx_orders_created_at finds. Run once before
+-- deploying; the INSERTs backfill the buckets from existing orders.
+-- Re-running the DELETE and INSERTs repairs any drift.
+
+CREATE TABLE IF NOT EXISTS revenue_buckets (
+    granularity VARCHAR(5) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    revenue DECIMAL(14, 2) NOT NULL,
+    order_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (granularity, bucket_start)
+);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+BEGIN;
+DELETE FROM revenue_buckets;
+INSERT INTO revenue_buckets (granularity, bucket_start, revenue, order_count, updated_at)
+SELECT 'HOUR', date_trunc('hour', created_at), SUM(total_amount), COUNT(*), CURRENT_TIMESTAMP
+FROM orders
+WHERE status <> 'CANCELLED'
+GROUP BY date_trunc('hour', created_at);
+INSERT INTO revenue_buckets (granularity, bucket_start, revenue, order_count, updated_at)
+SELECT 'DAY', date_trunc('day', created_at), SUM(total_amount), COUNT(*), CURRENT_TIMESTAMP
+FROM orders
+WHERE status <> 'CANCELLED'
+GROUP BY date_trunc('day', created_at);
+COMMIT;
@@ -0,0 +1,60 @@
+-- Indexes for the hot query paths, including the foreign keys.
+--
+-- PostgreSQL does not index foreign key columns, so listing an artist's
+-- albums, an album's tracks, a customer's orders or an order's items read the
+-- whole child table. Each of these composites leads with the foreign key and
+-- then the column the listing sorts by, and supersedes the single-column index
+-- it replaces:
+--
+--   albums (artist_id, release_date)      AlbumRepository.findByArtistWithStock, findByArtistId
+--   songs (album_id, track_number)        SongRepository.findByAlbumOrderedByTrackNumber
+--   orders (customer_id, created_at)      OrderRepository.findByCustomerId, findByCustomerAndStatus,
+--                                         OrderItemRepository.findByCustomerId
+--   orders (status, created_at)           OrderRepository.findByStatus
+--   order_items (order_id), (album_id)    order lines, and sales per album
+--
+-- Range and sort columns:
+--
+--   albums (release_date)                 AlbumRepository.findByReleaseYear (now a date range)
+--   songs (duration_seconds)              SongRepository.findByDurationRange
+--   orders (total_amount)                 OrderRepository.findOrdersAboveAmount
+--
+-- Partial and expression indexes, which exist only here:
+--
+--   idx_albums_in_stock                   albums in stock by quantity, for AlbumRepository.findLowStockAlbums.
+--                                         The entity declares the same name, so Hibernate does not add a
+--                                         full index
+--   idx_orders_revenue                    created_at of orders that are not cancelled, with total_amount
+--                                         included, so OrderRepository.calculateTotalRevenue and the
+--                                         partial-hour edges of revenue ranges can be index-only scans
+--   idx_artists_name_lower                lower(name), for SongRepository.findByArtistName
+--   idx_artists_country_lower             lower(country), for ArtistRepository.findByCountry
+--
+-- Case-insensitive customer email lookups compile to upper(email) and are
+-- already covered by migration 002. Run once before deploying;
+-- QueryPlanIntegrationTest fails on any new repository query that scans a
+-- table.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_albums_artist_release ON albums (artist_id, release_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_albums_release_date ON albums (release_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_albums_in_stock ON albums (stock_quantity) WHERE stock_quantity > 0;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_songs_album_track ON songs (album_id, track_number);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_songs_duration ON songs (duration_seconds);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer_created ON orders (customer_id, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created ON orders (status, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_total_amount ON orders (total_amount);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_revenue ON orders (created_at) INCLUDE (total_amount)
+    WHERE status <> 'CANCELLED';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_album ON order_items (album_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_artists_name_lower ON artists (lower(name));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_artists_country_lower ON artists (lower(country));
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_albums_artist;
+DROP INDEX CONCURRENTLY IF EXISTS idx_songs_album;
+DROP INDEX CONCURRENTLY IF EXISTS idx_orders_customer;
+DROP INDEX CONCURRENTLY IF EXISTS idx_orders_status;
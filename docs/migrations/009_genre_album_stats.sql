@@ -0,0 +1,31 @@
+-- Per-genre album counters, maintained by the album, genre and order services.
+--
+-- GenreRepository.findGenresOrderedByAlbumCount and
+-- findGenresWithAvailableStock joined every genre to every album through a
+-- correlated EXISTS, which grows with genres x albums. They now read these
+-- counters through their indexes. Creating a genre inserts its zeroed row;
+-- creating, editing or deleting an album adjusts album_count and
+-- in_stock_count of its genres, and orders adjust in_stock_count when they sell
+-- out an album or return stock to a sold-out one. Run once before deploying;
+-- the INSERT backfills the counters from album_genres, and
+-- GenreAlbumStatsRecorder.rebuild() does the same to repair drift.
+
+CREATE TABLE IF NOT EXISTS genre_album_stats (
+    genre_id BIGINT PRIMARY KEY REFERENCES genres(id) ON DELETE CASCADE,
+    album_count BIGINT NOT NULL,
+    in_stock_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_genre_album_stats_albums ON genre_album_stats (album_count, genre_id);
+CREATE INDEX IF NOT EXISTS idx_genre_album_stats_in_stock ON genre_album_stats (in_stock_count, genre_id);
+
+BEGIN;
+DELETE FROM genre_album_stats;
+INSERT INTO genre_album_stats (genre_id, album_count, in_stock_count, updated_at)
+SELECT g.id, COUNT(a.id), COUNT(CASE WHEN a.stock_quantity > 0 THEN 1 END), CURRENT_TIMESTAMP
+FROM genres g
+LEFT JOIN album_genres ag ON ag.genre_id = g.id
+LEFT JOIN albums a ON a.id = ag.album_id
+GROUP BY g.id;
+COMMIT;
@@ -0,0 +1,8 @@
+-- Functional index for the bulk catalog import.
+--
+-- The import resolves the genres named by each batch of albums with
+-- GenreRepository.findByLowerNameIn, i.e. WHERE lower(name) IN (...), which
+-- cannot use the unique index on name. Artist names are resolved the same way
+-- through idx_artists_name_lower from migration 008.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_genres_name_lower ON genres (lower(name));
@@ -0,0 +1,14 @@
+-- Shard the revenue buckets from migration 007.
+--
+-- Every order placed in the same hour updated the same hour and day rows, so
+-- concurrent orders queued on those row locks until the one ahead committed.
+-- Each bucket now has up to 8 rows, one per shard, picked by the thread that
+-- records the order, and reads sum over the shards. Existing rows become shard
+-- 0. Deploy together with the application change.
+
+BEGIN;
+ALTER TABLE revenue_buckets ADD COLUMN IF NOT EXISTS shard INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE revenue_buckets ALTER COLUMN shard DROP DEFAULT;
+ALTER TABLE revenue_buckets DROP CONSTRAINT revenue_buckets_pkey,
+    ADD PRIMARY KEY (granularity, bucket_start, shard);
+COMMIT;
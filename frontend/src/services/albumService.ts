@@ -66,8 +66,8 @@ class AlbumService {
     }
 
     async getByGenre(genreId: number): Promise<Album[]> {
-        const response = await api.get<Album[]>(`${this.endpoint}/genre/${genreId}`);
-        return response.data;
+        const response = await api.get<any>(`${this.endpoint}/genre/${genreId}`);
+        return response.data.content || response.data;
     }
 
     async create(albumData: CreateAlbumRequest): Promise<Album> {
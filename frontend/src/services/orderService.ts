@@ -46,8 +46,8 @@ class OrderService {
     }
 
     async getByCustomer(customerId: number): Promise<Order[]> {
-        const response = await api.get<Order[]>(`${this.endpoint}/customer/${customerId}`);
-        return response.data;
+        const response = await api.get<any>(`${this.endpoint}/customer/${customerId}`);
+        return response.data.content || response.data;
     }
 
     async create(orderData: CreateOrderRequest): Promise<Order> {
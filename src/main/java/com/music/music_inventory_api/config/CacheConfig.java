@@ -0,0 +1,50 @@
+package com.music.music_inventory_api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration for catalog reads and authenticated principals. Caches are
+ * in-process Caffeine caches bounded by size and TTL (see
+ * {@code catalog.cache.spec} and {@code auth.principal-cache.spec}); hit/miss
+ * statistics are published through Actuator as {@code cache.gets}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig
+{
+    /** Album detail responses keyed by album ID. */
+    public static final String ALBUMS = "albums";
+
+    /** Artist responses keyed by artist ID. */
+    public static final String ARTISTS = "artists";
+
+    /** Genre responses keyed by genre ID. */
+    public static final String GENRES = "genres";
+
+    /** Song lists keyed by album ID. */
+    public static final String ALBUM_SONGS = "albumSongs";
+
+    /** Password-less principals keyed by lower-cased email; kept short-lived. */
+    public static final String PRINCIPALS = "principals";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${catalog.cache.spec}") String cacheSpec,
+            @Value("${auth.principal-cache.spec}") String principalCacheSpec)
+    {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ALBUMS, ARTISTS, GENRES, ALBUM_SONGS);
+        cacheManager.setCacheSpecification(cacheSpec);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PRINCIPALS, Caffeine.from(principalCacheSpec).build());
+
+        // Defer puts and evictions until the surrounding transaction commits, so
+        // a concurrent read cannot re-cache data that is about to change
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,68 @@
+package com.music.music_inventory_api.config;
+
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts catalog cache entries whose keys are not available as method
+ * arguments, e.g. album details that embed an updated artist or genre.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheEvictor
+{
+    private final CacheManager cacheManager;
+
+    /**
+     * Evicts cached album detail responses.
+     *
+     * @param albumIds
+     *            the album IDs
+     */
+    public void evictAlbumDetails(Collection<Long> albumIds)
+    {
+        Cache albums = cacheManager.getCache(CacheConfig.ALBUMS);
+        if (albums != null)
+        {
+            albumIds.forEach(albums::evict);
+        }
+    }
+
+    /**
+     * Evicts every cached album detail response. Cheaper than looking up which
+     * albums are affected when that could be a large part of the catalog, e.g.
+     * all albums of a genre; the cache itself is bounded in size.
+     */
+    public void evictAllAlbumDetails()
+    {
+        Cache albums = cacheManager.getCache(CacheConfig.ALBUMS);
+        if (albums != null)
+        {
+            albums.clear();
+        }
+    }
+
+    /**
+     * Evicts the cached song list and detail response of an album.
+     *
+     * @param albumId
+     *            the album ID
+     */
+    public void evictAlbumSongs(Long albumId)
+    {
+        Cache albumSongs = cacheManager.getCache(CacheConfig.ALBUM_SONGS);
+        if (albumSongs != null)
+        {
+            albumSongs.evict(albumId);
+        }
+
+        Cache albums = cacheManager.getCache(CacheConfig.ALBUMS);
+        if (albums != null)
+        {
+            albums.evict(albumId);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.music.music_inventory_api.config;
+
+import java.time.Duration;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers conditional GETs on catalog endpoints with 304 Not Modified before
+ * the controller runs, so nothing is loaded, mapped or serialized. Every GET
+ * gets the {@link CatalogVersion} as its ETag and Last-Modified. Responses to
+ * anonymous requests may be stored by shared caches, such as the frontend's
+ * nginx, for the configured max age; responses to authenticated requests only
+ * by the client, which revalidates them on every use.
+ *
+ * <p>
+ * Endpoints returning albums are registered with {@code includeStock} set, so
+ * their ETag also changes when orders take or return stock.
+ */
+public class CatalogConditionalGetInterceptor implements HandlerInterceptor
+{
+    private final CatalogVersion catalogVersion;
+    private final boolean includeStock;
+    private final CacheControl anonymousCacheControl;
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param catalogVersion
+     *            the catalog version
+     * @param includeStock
+     *            whether the responses show album stock
+     * @param maxAge
+     *            how long anonymous responses may be reused without
+     *            revalidation
+     */
+    public CatalogConditionalGetInterceptor(CatalogVersion catalogVersion, boolean includeStock, Duration maxAge)
+    {
+        this.catalogVersion = catalogVersion;
+        this.includeStock = includeStock;
+        this.anonymousCacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+    {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod()))
+        {
+            return true;
+        }
+
+        CacheControl cacheControl = request.getHeader(HttpHeaders.AUTHORIZATION) == null ? anonymousCacheControl
+                : CacheControl.noCache().cachePrivate();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+
+        // Sets ETag and Last-Modified, and the 304 status when the client's copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(catalogVersion.getETag(includeStock),
+                catalogVersion.getLastModified(includeStock));
+    }
+}
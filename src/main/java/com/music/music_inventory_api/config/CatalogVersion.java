@@ -0,0 +1,79 @@
+package com.music.music_inventory_api.config;
+
+import com.music.music_inventory_api.search.TransactionCallbacks;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the catalog, used as the validator of conditional GETs on catalog
+ * endpoints. Every committed change to albums, artists, genres or songs moves
+ * the catalog version on, so a single counter covers detail responses that
+ * embed other entities as well as lists, searches and rankings. Stock changes
+ * made by orders only move a separate stock version, which only the album
+ * responses that show stock include, so purchase traffic leaves the ETags of
+ * artists, genres and songs valid. Like the catalog caches both are local to
+ * the instance; a random epoch keeps ETags of other instances, or of earlier
+ * runs, from ever matching.
+ */
+@Component
+public class CatalogVersion
+{
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong stockVersion = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+    private volatile long stockLastModified = lastModified;
+
+    /**
+     * Moves the catalog version on once the current transaction commits, or at
+     * once when there is none. Call from every write to the catalog.
+     */
+    public void changed()
+    {
+        TransactionCallbacks.afterCommit(() ->
+        {
+            lastModified = System.currentTimeMillis();
+            version.incrementAndGet();
+        });
+    }
+
+    /**
+     * Moves the stock version on once the current transaction commits, or at
+     * once when there is none. Call from writes that change album stock and
+     * nothing else of the catalog, such as orders and cancellations.
+     */
+    public void stockChanged()
+    {
+        TransactionCallbacks.afterCommit(() ->
+        {
+            stockLastModified = System.currentTimeMillis();
+            stockVersion.incrementAndGet();
+        });
+    }
+
+    /**
+     * Returns the strong ETag of the current version.
+     *
+     * @param includeStock
+     *            whether the response shows album stock
+     * @return the quoted ETag
+     */
+    public String getETag(boolean includeStock)
+    {
+        String tag = epoch + "-" + version.get();
+        return "\"" + (includeStock ? tag + "-" + stockVersion.get() : tag) + "\"";
+    }
+
+    /**
+     * Returns when the catalog last changed, or when this instance started.
+     *
+     * @param includeStock
+     *            whether the response shows album stock
+     * @return the time in epoch milliseconds
+     */
+    public long getLastModified(boolean includeStock)
+    {
+        return includeStock ? Math.max(lastModified, stockLastModified) : lastModified;
+    }
+}
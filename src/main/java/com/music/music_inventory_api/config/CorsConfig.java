@@ -34,7 +34,7 @@ public class CorsConfig
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
 
         // Expose headers
-        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "ETag", "Last-Modified"));
 
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
@@ -1,7 +1,11 @@
 package com.music.music_inventory_api.config;
 
+import com.music.music_inventory_api.security.BoundedPasswordEncoder;
 import com.music.music_inventory_api.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -39,6 +43,7 @@ public class SecurityConfig
                 .antMatchers(HttpMethod.GET, "/api/albums/**").permitAll()
                 .antMatchers(HttpMethod.GET, "/api/artists/**").permitAll().antMatchers(HttpMethod.GET, "/api/songs/**")
                 .permitAll().antMatchers(HttpMethod.GET, "/api/genres/**").permitAll()
+                .antMatchers(HttpMethod.GET, "/api/catalog/**").permitAll()
                 // All other endpoints require authentication
                 .anyRequest().authenticated().and()
                 // Add JWT filter before UsernamePasswordAuthenticationFilter
@@ -48,9 +53,13 @@ public class SecurityConfig
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder()
+    public PasswordEncoder passwordEncoder(@Value("${auth.hashing.threads}") int threads,
+            @Value("${auth.hashing.queue-capacity}") int queueCapacity,
+            @Value("${auth.hashing.timeout}") Duration timeout, MeterRegistry meterRegistry)
     {
-        return new BCryptPasswordEncoder();
+        // BCrypt runs on its own bounded pool so a login storm cannot starve
+        // request threads serving the catalog
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, timeout, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,35 @@
+package com.music.music_inventory_api.config;
+
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration: conditional GET handling for the public catalog
+ * endpoints.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer
+{
+    // Endpoints whose responses show album stock
+    private static final String[] ALBUM_PATHS = {"/api/albums/**", "/api/artists/*/albums", "/api/genres/*/albums"};
+
+    private final CatalogVersion catalogVersion;
+
+    @Value("${catalog.http-cache.max-age:60s}")
+    private Duration maxAge = Duration.ofSeconds(60);
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry)
+    {
+        registry.addInterceptor(new CatalogConditionalGetInterceptor(catalogVersion, true, maxAge))
+                .addPathPatterns(ALBUM_PATHS);
+        registry.addInterceptor(new CatalogConditionalGetInterceptor(catalogVersion, false, maxAge))
+                .addPathPatterns("/api/artists/**", "/api/genres/**", "/api/songs/**", "/api/catalog/suggest")
+                .excludePathPatterns(ALBUM_PATHS);
+    }
+}
@@ -4,6 +4,7 @@ import com.music.music_inventory_api.dto.request.CreateAlbumRequest;
 import com.music.music_inventory_api.dto.request.UpdateAlbumRequest;
 import com.music.music_inventory_api.dto.response.AlbumDetailResponse;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.service.AlbumService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,7 +14,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.math.BigDecimal;
-import java.util.List;
 import javax.validation.Valid;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotBlank;
@@ -83,40 +83,63 @@ public class AlbumController
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through all albums", description = "Retrieves albums one slice at a time, "
+            + "ordered by the sort key and then ID. Pass nextCursor back as cursor for the following slice. "
+            + "Unlike the paged listing, no total count is computed and deep slices are as fast as the first. "
+            + "Default slice size is 20.")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Albums retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or size")})
+    public ResponseEntity<CursorPageResponse<AlbumResponse>> scrollAlbums(
+            @Parameter(description = "Sort key, id or title", example = "title") @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "nextCursor of the previous slice; omit for the first slice") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100", example = "20") @RequestParam(value = "size", defaultValue = "20") int size)
+    {
+        CursorPageResponse<AlbumResponse> response = albumService.scrollAlbums(sort, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
-    @Operation(summary = "Search albums", description = "Searches albums by title or artist name using a case-insensitive partial match")
+    @Operation(summary = "Search albums", description = "Searches albums by title or artist name using a case-insensitive partial match. "
+            + "Results are ranked by relevance and paginated. Default page size is 20.")
     @ApiResponses(value =
     {@ApiResponse(responseCode = "200", description = "Search completed successfully"),
             @ApiResponse(responseCode = "400", description = "Search query cannot be empty")})
-    public ResponseEntity<List<AlbumResponse>> searchAlbums(
-            @Parameter(description = "Search query string", example = "Beatles", required = true) @RequestParam("q") @NotBlank String query)
+    public ResponseEntity<Page<AlbumResponse>> searchAlbums(
+            @Parameter(description = "Search query string", example = "Beatles", required = true) @RequestParam("q") @NotBlank String query,
+            @Parameter(description = "Pagination parameters (page, size)") @PageableDefault(size = 20) Pageable pageable)
     {
-        List<AlbumResponse> response = albumService.searchAlbums(query);
+        Page<AlbumResponse> response = albumService.searchAlbums(query, pageable);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/genre/{genreId}")
-    @Operation(summary = "Get albums by genre", description = "Retrieves all albums belonging to a specific genre")
+    @Operation(summary = "Get albums by genre", description = "Retrieves albums belonging to a specific genre with pagination support. "
+            + "Default page size is 20, sorted by title.")
     @ApiResponses(value =
     {@ApiResponse(responseCode = "200", description = "Albums retrieved successfully"),
             @ApiResponse(responseCode = "404", description = "Genre not found")})
-    public ResponseEntity<List<AlbumResponse>> getAlbumsByGenre(
-            @Parameter(description = "Genre ID", example = "1", required = true) @PathVariable Long genreId)
+    public ResponseEntity<Page<AlbumResponse>> getAlbumsByGenre(
+            @Parameter(description = "Genre ID", example = "1", required = true) @PathVariable Long genreId,
+            @Parameter(description = "Pagination parameters (page, size, sort)") @PageableDefault(size = 20, sort = "title") Pageable pageable)
     {
-        List<AlbumResponse> response = albumService.getAlbumsByGenre(genreId);
+        Page<AlbumResponse> response = albumService.getAlbumsByGenre(genreId, pageable);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/price-range")
-    @Operation(summary = "Get albums by price range", description = "Retrieves albums within a specific price range (inclusive)")
+    @Operation(summary = "Get albums by price range", description = "Retrieves albums within a specific price range (inclusive) with pagination support. "
+            + "Default page size is 20, sorted by price.")
     @ApiResponses(value =
     {@ApiResponse(responseCode = "200", description = "Albums retrieved successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid price range")})
-    public ResponseEntity<List<AlbumResponse>> getAlbumsByPriceRange(
+    public ResponseEntity<Page<AlbumResponse>> getAlbumsByPriceRange(
             @Parameter(description = "Minimum price", example = "10.00", required = true) @RequestParam("min") @NotNull @DecimalMin("0.0") BigDecimal minPrice,
-            @Parameter(description = "Maximum price", example = "50.00", required = true) @RequestParam("max") @NotNull @DecimalMin("0.0") BigDecimal maxPrice)
+            @Parameter(description = "Maximum price", example = "50.00", required = true) @RequestParam("max") @NotNull @DecimalMin("0.0") BigDecimal maxPrice,
+            @Parameter(description = "Pagination parameters (page, size, sort)") @PageableDefault(size = 20, sort = "price") Pageable pageable)
     {
-        List<AlbumResponse> response = albumService.getAlbumsByPriceRange(minPrice, maxPrice);
+        Page<AlbumResponse> response = albumService.getAlbumsByPriceRange(minPrice, maxPrice, pageable);
         return ResponseEntity.ok(response);
     }
 
@@ -4,17 +4,19 @@ import com.music.music_inventory_api.dto.request.CreateArtistRequest;
 import com.music.music_inventory_api.dto.request.UpdateArtistRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
 import com.music.music_inventory_api.dto.response.ArtistResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.service.ArtistService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.util.List;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -95,6 +98,35 @@ public class ArtistController
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get all artists one slice at a time (keyset pagination).
+     *
+     * @param sort
+     *            sort key, {@code id} or {@code name}
+     * @param cursor
+     *            cursor of the previous slice, or null for the first slice
+     * @param size
+     *            slice size
+     * @return slice of artists
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through all artists", description = "Retrieves artists one slice at a time, "
+            + "ordered by the sort key and then ID. Pass nextCursor back as cursor for the following slice. "
+            + "Unlike the paged listing, no total count is computed and deep slices are as fast as the first. "
+            + "Default slice size is 20.")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Artists retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or size")})
+    public ResponseEntity<CursorPageResponse<ArtistResponse>> scrollArtists(
+            @Parameter(description = "Sort key, id or name", example = "name") @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "nextCursor of the previous slice; omit for the first slice") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100", example = "20") @RequestParam(value = "size", defaultValue = "20") int size)
+    {
+        log.info("Scrolling artists by {}", sort);
+        CursorPageResponse<ArtistResponse> response = artistService.scrollArtists(sort, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update an existing artist.
      *
@@ -138,21 +170,24 @@ public class ArtistController
     }
 
     /**
-     * Get all albums by an artist.
+     * Get a page of albums by an artist.
      *
      * @param id
      *            the artist ID
-     * @return list of albums
+     * @param pageable
+     *            pagination parameters
+     * @return page of albums
      */
     @GetMapping("/{id}/albums")
-    @Operation(summary = "Get artist albums", description = "Retrieves all albums by a specific artist")
+    @Operation(summary = "Get artist albums", description = "Retrieves a page of albums by a specific artist")
     @ApiResponses(value =
     {@ApiResponse(responseCode = "200", description = "Albums retrieved successfully"),
             @ApiResponse(responseCode = "404", description = "Artist not found")})
-    public ResponseEntity<List<AlbumResponse>> getArtistAlbums(@PathVariable Long id)
+    public ResponseEntity<Page<AlbumResponse>> getArtistAlbums(@PathVariable Long id,
+            @PageableDefault(size = 20, sort = "title") Pageable pageable)
     {
         log.info("Fetching albums for artist with ID: {}", id);
-        List<AlbumResponse> response = artistService.getAlbumsByArtist(id);
+        Page<AlbumResponse> response = artistService.getAlbumsByArtist(id, pageable);
         return ResponseEntity.ok(response);
     }
 }
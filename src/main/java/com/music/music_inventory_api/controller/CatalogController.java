@@ -0,0 +1,71 @@
+package com.music.music_inventory_api.controller;
+
+import com.music.music_inventory_api.dto.response.CatalogImportResponse;
+import com.music.music_inventory_api.dto.response.SuggestionResponse;
+import com.music.music_inventory_api.enums.DataFormat;
+import com.music.music_inventory_api.search.CatalogSuggester;
+import com.music.music_inventory_api.service.CatalogImportService;
+import com.music.music_inventory_api.service.CatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for operations across the whole catalog.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+@Tag(name = "Catalog", description = "Catalog-wide APIs - Typeahead suggestions and bulk import")
+public class CatalogController
+{
+
+    private final CatalogService catalogService;
+    private final CatalogImportService catalogImportService;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest catalog entries", description = "Returns albums, artists, songs and genres whose title or name, "
+            + "or one of its words, starts with the query. Intended for typeahead; at most "
+            + CatalogSuggester.MAX_SUGGESTIONS + " suggestions are returned.")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Suggestions returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Query cannot be empty")})
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @Parameter(description = "Text typed so far", example = "abb", required = true) @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of suggestions", example = "10") @RequestParam(value = "limit", defaultValue = "10") int limit)
+    {
+        List<SuggestionResponse> response = catalogService.suggest(query, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Import albums in bulk", description = "Reads albums with their artists, genres and songs "
+            + "from the request body, as NDJSON (one album per line) or CSV (one row per song). Missing artists and "
+            + "genres are created. Invalid rows are reported and skipped; the rest of the file is still imported.")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Import finished; the response lists rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unknown format or invalid CSV header")})
+    public ResponseEntity<CatalogImportResponse> importCatalog(
+            @Parameter(description = "Format of the request body", example = "NDJSON")
+            @RequestParam(value = "format", defaultValue = "NDJSON") DataFormat format,
+            InputStream body) throws IOException
+    {
+        log.info("Importing catalog as {}", format);
+        CatalogImportResponse response = catalogImportService.importCatalog(format, body);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,6 +2,8 @@ package com.music.music_inventory_api.controller;
 
 import com.music.music_inventory_api.dto.request.CreateCustomerRequest;
 import com.music.music_inventory_api.dto.request.UpdateCustomerRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import com.music.music_inventory_api.dto.response.CustomerOrderStatsResponse;
 import com.music.music_inventory_api.dto.response.CustomerResponse;
 import com.music.music_inventory_api.dto.response.OrderResponse;
 import com.music.music_inventory_api.service.CustomerService;
@@ -10,12 +12,14 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +30,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /** REST controller for Customer operations. */
@@ -68,6 +73,23 @@ public class CustomerController
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through all customers", description = "Retrieves customers one slice at a time, "
+            + "ordered by the sort key and then ID. Pass nextCursor back as cursor for the following slice. "
+            + "Unlike the paged listing, no total count is computed and deep slices are as fast as the first. "
+            + "Default slice size is 20.")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Customers retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or size")})
+    public ResponseEntity<CursorPageResponse<CustomerResponse>> scrollCustomers(
+            @Parameter(description = "Sort key, id or email", example = "email") @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "nextCursor of the previous slice; omit for the first slice") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100", example = "20") @RequestParam(value = "size", defaultValue = "20") int size)
+    {
+        CursorPageResponse<CustomerResponse> response = customerService.scrollCustomers(sort, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/email/{email}")
     @Operation(summary = "Get customer by email", description = "Retrieves customer information by email address")
     @ApiResponse(responseCode = "200", description = "Customer found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerResponse.class)))
@@ -104,13 +126,37 @@ public class CustomerController
     }
 
     @GetMapping("/{id}/orders")
-    @Operation(summary = "Get customer orders", description = "Retrieves all orders for a specific customer")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved customer orders", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class)))
+    @Operation(summary = "Get customer orders", description = "Retrieves a page of orders for a specific customer, newest first")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved customer orders", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    public ResponseEntity<Page<OrderResponse>> getCustomerOrders(
+            @Parameter(description = "Customer ID", example = "1") @PathVariable Long id,
+            @Parameter(description = "Pagination parameters (page, size, sort)") @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable)
+    {
+        Page<OrderResponse> response = customerService.getCustomerOrders(id, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get customer order stats", description = "Retrieves a customer's order count, lifetime spend, average order value and last order time")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved order stats", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerOrderStatsResponse.class)))
     @ApiResponse(responseCode = "404", description = "Customer not found")
-    public ResponseEntity<List<OrderResponse>> getCustomerOrders(
+    public ResponseEntity<CustomerOrderStatsResponse> getCustomerOrderStats(
             @Parameter(description = "Customer ID", example = "1") @PathVariable Long id)
     {
-        List<OrderResponse> response = customerService.getCustomerOrders(id);
+        CustomerOrderStatsResponse response = customerService.getCustomerOrderStats(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/leaderboard")
+    @Operation(summary = "Get customer leaderboard", description = "Retrieves the top customers by order count or lifetime spend, excluding cancelled orders")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard")
+    @ApiResponse(responseCode = "400", description = "Unsupported ranking or limit outside 1-100")
+    public ResponseEntity<List<CustomerOrderStatsResponse>> getOrderLeaderboard(
+            @Parameter(description = "Ranking: orders or spend", example = "orders") @RequestParam(defaultValue = "orders") String by,
+            @Parameter(description = "Number of customers (1-100)", example = "10") @RequestParam(defaultValue = "10") int limit)
+    {
+        List<CustomerOrderStatsResponse> response = customerService.getOrderLeaderboard(by, limit);
         return ResponseEntity.ok(response);
     }
 }
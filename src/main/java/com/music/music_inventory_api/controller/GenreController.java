@@ -3,18 +3,20 @@ package com.music.music_inventory_api.controller;
 import com.music.music_inventory_api.dto.request.CreateGenreRequest;
 import com.music.music_inventory_api.dto.request.UpdateGenreRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.GenreResponse;
 import com.music.music_inventory_api.service.GenreService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.util.List;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -95,6 +98,35 @@ public class GenreController
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get all genres one slice at a time (keyset pagination).
+     *
+     * @param sort
+     *            sort key, {@code id} or {@code name}
+     * @param cursor
+     *            cursor of the previous slice, or null for the first slice
+     * @param size
+     *            slice size
+     * @return slice of genres
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through all genres", description = "Retrieves genres one slice at a time, "
+            + "ordered by the sort key and then ID. Pass nextCursor back as cursor for the following slice. "
+            + "Unlike the paged listing, no total count is computed and deep slices are as fast as the first. "
+            + "Default slice size is 20.")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Genres retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or size")})
+    public ResponseEntity<CursorPageResponse<GenreResponse>> scrollGenres(
+            @Parameter(description = "Sort key, id or name", example = "name") @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "nextCursor of the previous slice; omit for the first slice") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100", example = "20") @RequestParam(value = "size", defaultValue = "20") int size)
+    {
+        log.info("Scrolling genres by {}", sort);
+        CursorPageResponse<GenreResponse> response = genreService.scrollGenres(sort, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update an existing genre.
      *
@@ -138,21 +170,24 @@ public class GenreController
     }
 
     /**
-     * Get all albums for a specific genre.
+     * Get albums for a specific genre with pagination.
      *
      * @param id
      *            the genre ID
-     * @return list of albums
+     * @param pageable
+     *            pagination parameters
+     * @return page of albums
      */
     @GetMapping("/{id}/albums")
-    @Operation(summary = "Get albums by genre", description = "Retrieves all albums for a specific genre")
+    @Operation(summary = "Get albums by genre", description = "Retrieves albums for a specific genre with pagination")
     @ApiResponses(value =
     {@ApiResponse(responseCode = "200", description = "Albums retrieved successfully"),
             @ApiResponse(responseCode = "404", description = "Genre not found")})
-    public ResponseEntity<List<AlbumResponse>> getAlbumsByGenre(@PathVariable Long id)
+    public ResponseEntity<Page<AlbumResponse>> getAlbumsByGenre(@PathVariable Long id,
+            @PageableDefault(size = 20, sort = "title") Pageable pageable)
     {
         log.info("Fetching albums for genre ID: {}", id);
-        List<AlbumResponse> response = genreService.getAlbumsByGenre(id);
+        Page<AlbumResponse> response = genreService.getAlbumsByGenre(id, pageable);
         return ResponseEntity.ok(response);
     }
 }
@@ -2,19 +2,29 @@ package com.music.music_inventory_api.controller;
 
 import com.music.music_inventory_api.dto.request.CreateOrderRequest;
 import com.music.music_inventory_api.dto.response.OrderResponse;
+import com.music.music_inventory_api.dto.response.RevenueResponse;
+import com.music.music_inventory_api.enums.DataFormat;
 import com.music.music_inventory_api.enums.OrderStatus;
 import com.music.music_inventory_api.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.util.List;
+import java.time.LocalDateTime;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /** REST controller for Order management. */
 @RestController
@@ -71,19 +81,77 @@ public class OrderController
      *
      * @param customerId
      *            the customer ID
-     * @return list of customer orders
+     * @param pageable
+     *            pagination parameters
+     * @return page of customer orders, newest first
      */
     @GetMapping("/customer/{customerId}")
-    @Operation(summary = "Get customer orders", description = "Retrieves all orders for a specific customer")
+    @Operation(summary = "Get customer orders", description = "Retrieves a page of orders for a specific customer")
     @ApiResponses(value =
     {@ApiResponse(responseCode = "200", description = "Orders retrieved successfully")})
-    public ResponseEntity<List<OrderResponse>> getOrdersByCustomer(@PathVariable Long customerId)
+    public ResponseEntity<Page<OrderResponse>> getOrdersByCustomer(@PathVariable Long customerId,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable)
     {
         log.info("Fetching orders for customer ID: {}", customerId);
-        List<OrderResponse> responses = orderService.getOrdersByCustomer(customerId);
+        Page<OrderResponse> responses = orderService.getOrdersByCustomer(customerId, pageable);
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Get revenue for a time range.
+     *
+     * @param from
+     *            start of the range, inclusive
+     * @param to
+     *            end of the range, inclusive
+     * @return the range and its revenue
+     */
+    @GetMapping("/revenue")
+    @Operation(summary = "Get revenue", description = "Calculates the revenue of orders created in a time range, "
+            + "excluding cancelled orders")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Revenue calculated successfully"),
+            @ApiResponse(responseCode = "400", description = "Range ends before it starts")})
+    public ResponseEntity<RevenueResponse> getRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to)
+    {
+        log.info("Calculating revenue from {} to {}", from, to);
+        RevenueResponse response = orderService.getRevenue(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export orders with their items.
+     *
+     * @param format
+     *            NDJSON (one order per line) or CSV (one row per item)
+     * @param status
+     *            only export orders with this status
+     * @param from
+     *            start of the range, inclusive
+     * @param to
+     *            end of the range, inclusive
+     * @return the export, written while it is read from the database
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export orders", description = "Streams the orders created in a time range, oldest first, "
+            + "with their items, as NDJSON (one order per line) or CSV (one row per item)")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unknown format or status")})
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "NDJSON") DataFormat format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to)
+    {
+        log.info("Exporting orders as {} with status {} from {} to {}", format, status, from, to);
+        StreamingResponseBody body = out -> orderService.exportOrders(format, status, from, to, out);
+        String disposition = "attachment; filename=\"orders." + format.getExtension() + "\"";
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition).body(body);
+    }
+
     /**
      * Update order status.
      *
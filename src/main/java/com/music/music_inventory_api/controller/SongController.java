@@ -2,9 +2,11 @@ package com.music.music_inventory_api.controller;
 
 import com.music.music_inventory_api.dto.request.CreateSongRequest;
 import com.music.music_inventory_api.dto.request.UpdateSongRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.SongResponse;
 import com.music.music_inventory_api.service.SongService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -94,6 +97,35 @@ public class SongController
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get all songs one slice at a time (keyset pagination).
+     *
+     * @param sort
+     *            sort key, {@code id} or {@code title}
+     * @param cursor
+     *            cursor of the previous slice, or null for the first slice
+     * @param size
+     *            slice size
+     * @return slice of songs
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through all songs", description = "Retrieves songs one slice at a time, "
+            + "ordered by the sort key and then ID. Pass nextCursor back as cursor for the following slice. "
+            + "Unlike the paged listing, no total count is computed and deep slices are as fast as the first. "
+            + "Default slice size is 20.")
+    @ApiResponses(value =
+    {@ApiResponse(responseCode = "200", description = "Songs retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or size")})
+    public ResponseEntity<CursorPageResponse<SongResponse>> scrollSongs(
+            @Parameter(description = "Sort key, id or title", example = "title") @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @Parameter(description = "nextCursor of the previous slice; omit for the first slice") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100", example = "20") @RequestParam(value = "size", defaultValue = "20") int size)
+    {
+        log.info("Scrolling songs by {}", sort);
+        CursorPageResponse<SongResponse> response = songService.scrollSongs(sort, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update an existing song.
      *
@@ -0,0 +1,59 @@
+package com.music.music_inventory_api.dto.request;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one album of a bulk catalog import, with its artist and genres by
+ * name and its songs. Missing artists and genres are created.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportAlbumRequest
+{
+
+    @NotBlank(message = "Artist name is required")
+    @Size(max = 255, message = "Artist name must not exceed 255 characters")
+    private String artist;
+
+    @NotBlank(message = "Album title is required")
+    @Size(min = 1, max = 255, message = "Album title must be between 1 and 255 characters")
+    private String title;
+
+    private LocalDate releaseDate;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private BigDecimal price;
+
+    @NotNull(message = "Stock quantity is required")
+    @Min(value = 0, message = "Stock quantity cannot be negative")
+    private Integer stockQuantity;
+
+    @Size(max = 255, message = "Cover image URL must not exceed 255 characters")
+    private String coverImageUrl;
+
+    private String description;
+
+    @Builder.Default
+    private List<@NotBlank(message = "Genre name is required") @Size(max = 100,
+            message = "Genre name must not exceed 100 characters") String> genres = new ArrayList<>();
+
+    @Valid
+    @Builder.Default
+    private List<ImportSongRequest> songs = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.music.music_inventory_api.dto.request;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for a song of an imported album. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSongRequest
+{
+
+    @NotBlank(message = "Song title is required")
+    @Size(min = 1, max = 255, message = "Song title must be between 1 and 255 characters")
+    private String title;
+
+    @NotNull(message = "Track number is required")
+    @Min(value = 1, message = "Track number must be at least 1")
+    private Integer trackNumber;
+
+    @Min(value = 0, message = "Duration in seconds cannot be negative")
+    private Integer durationSeconds;
+}
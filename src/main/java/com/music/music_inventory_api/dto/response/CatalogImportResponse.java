@@ -0,0 +1,36 @@
+package com.music.music_inventory_api.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of a bulk catalog import. Rejected rows are counted in
+ * full, but only the first errors are listed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportResponse
+{
+
+    private long albumsImported;
+    private long songsImported;
+    private long artistsCreated;
+    private long genresCreated;
+    private long rowsRejected;
+    private List<RowError> errors;
+
+    /** A rejected row: the line its album starts on, and why. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError
+    {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.music.music_inventory_api.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one slice of a keyset-paginated listing. Pass {@code nextCursor}
+ * back as {@code cursor} to fetch the following slice; it is null on the last
+ * one. No total count is computed.
+ *
+ * @param <T>
+ *            the element type
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T>
+{
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.music.music_inventory_api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for a customer's order totals. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderStatsResponse
+{
+
+    private Long customerId;
+    private String firstName;
+    private String lastName;
+    private long orderCount;
+    private BigDecimal lifetimeSpend;
+    private BigDecimal averageOrderValue;
+    private LocalDateTime lastOrderAt;
+}
@@ -0,0 +1,21 @@
+package com.music.music_inventory_api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for the revenue of a time range. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueResponse
+{
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private BigDecimal revenue;
+}
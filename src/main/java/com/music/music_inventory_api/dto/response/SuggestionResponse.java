@@ -0,0 +1,20 @@
+package com.music.music_inventory_api.dto.response;
+
+import com.music.music_inventory_api.enums.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO for a typeahead suggestion. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse
+{
+
+    private SuggestionType type;
+    private Long id;
+    private String label;
+}
@@ -14,10 +14,12 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Min;
@@ -28,23 +30,34 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-/** Entity representing a music album. */
+/**
+ * Entity representing a music album. Lazy album references are batch-loaded so
+ * that mapping a page of order items resolves their albums in one query.
+ */
 @Entity
-@Table(name = "albums")
+@Table(name = "albums", indexes =
+{@Index(name = "idx_albums_price", columnList = "price"),
+        @Index(name = "idx_albums_title_id", columnList = "title, id"),
+        @Index(name = "idx_albums_artist_release", columnList = "artist_id, release_date"),
+        @Index(name = "idx_albums_release_date", columnList = "release_date"),
+        @Index(name = "idx_albums_in_stock", columnList = "stock_quantity")})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@BatchSize(size = 100)
 public class Album
 {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "album_seq")
+    @SequenceGenerator(name = "album_seq", sequenceName = "albums_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Album title is required")
@@ -88,9 +101,12 @@ public class Album
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Batch-loaded so that mapping a page of albums initialises all genres at once
     @ManyToMany(cascade =
     {CascadeType.PERSIST, CascadeType.MERGE})
-    @JoinTable(name = "album_genres", joinColumns = @JoinColumn(name = "album_id"), inverseJoinColumns = @JoinColumn(name = "genre_id"))
+    @BatchSize(size = 100)
+    @JoinTable(name = "album_genres", joinColumns = @JoinColumn(name = "album_id"), inverseJoinColumns = @JoinColumn(name = "genre_id"), indexes =
+    {@Index(name = "idx_album_genres_genre", columnList = "genre_id")})
     @Builder.Default
     private Set<Genre> genres = new HashSet<>();
 
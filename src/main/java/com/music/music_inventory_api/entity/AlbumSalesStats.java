@@ -0,0 +1,89 @@
+package com.music.music_inventory_api.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Running sales totals for one album, counting items of orders that are not
+ * cancelled. Rows are maintained by
+ * {@link com.music.music_inventory_api.repository.AlbumSalesRecorder} in the
+ * transaction that places or cancels the order, so rankings and per-album
+ * totals are read from here instead of aggregating {@code order_items}.
+ */
+@Entity
+@Table(name = "album_sales_stats", indexes =
+{@Index(name = "idx_album_sales_stats_units", columnList = "units_sold, album_id"),
+        @Index(name = "idx_album_sales_stats_revenue", columnList = "revenue, album_id")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumSalesStats
+{
+
+    @Id
+    @Column(name = "album_id")
+    private Long albumId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "album_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Album album;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "last_sold_at")
+    private LocalDateTime lastSoldAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        AlbumSalesStats that = (AlbumSalesStats) o;
+        return Objects.equals(albumId, that.albumId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(albumId);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AlbumSalesStats{" + "albumId=" + albumId + ", unitsSold=" + unitsSold + ", revenue=" + revenue
+                + ", lastSoldAt=" + lastSoldAt + '}';
+    }
+}
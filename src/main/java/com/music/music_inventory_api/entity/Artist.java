@@ -8,6 +8,8 @@ import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
@@ -21,7 +23,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /** Entity representing an artist in the music store. */
 @Entity
-@Table(name = "artists")
+@Table(name = "artists", indexes =
+{@Index(name = "idx_artists_name_id", columnList = "name, id")})
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,7 +34,8 @@ public class Artist
 {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artist_seq")
+    @SequenceGenerator(name = "artist_seq", sequenceName = "artists_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Artist name is required")
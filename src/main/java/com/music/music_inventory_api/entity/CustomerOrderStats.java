@@ -0,0 +1,98 @@
+package com.music.music_inventory_api.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Running order totals for one customer, counting orders that are not
+ * cancelled. Rows are maintained by
+ * {@link com.music.music_inventory_api.repository.CustomerOrderStatsRecorder}
+ * in the transaction that places, cancels or updates the order.
+ */
+@Entity
+@Table(name = "customer_order_stats", indexes =
+{@Index(name = "idx_customer_order_stats_count", columnList = "order_count, customer_id"),
+        @Index(name = "idx_customer_order_stats_spend", columnList = "lifetime_spend, customer_id")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderStats
+{
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Customer customer;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "lifetime_spend", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lifetimeSpend;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BigDecimal getAverageOrderValue()
+    {
+        if (orderCount == 0)
+        {
+            return BigDecimal.ZERO;
+        }
+        return lifetimeSpend.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        CustomerOrderStats that = (CustomerOrderStats) o;
+        return Objects.equals(customerId, that.customerId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(customerId);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CustomerOrderStats{" + "customerId=" + customerId + ", orderCount=" + orderCount + ", lifetimeSpend="
+                + lifetimeSpend + ", lastOrderAt=" + lastOrderAt + '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.music.music_inventory_api.entity;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Number of albums in one genre, and how many of them are in stock. The row is
+ * created with the genre and maintained by
+ * {@link com.music.music_inventory_api.repository.GenreAlbumStatsRecorder}
+ * whenever an album is created, changes genres or stock, or is deleted, so
+ * genre rankings read this table instead of counting {@code album_genres}.
+ */
+@Entity
+@Table(name = "genre_album_stats", indexes =
+{@Index(name = "idx_genre_album_stats_albums", columnList = "album_count, genre_id"),
+        @Index(name = "idx_genre_album_stats_in_stock", columnList = "in_stock_count, genre_id")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenreAlbumStats
+{
+
+    @Id
+    @Column(name = "genre_id")
+    private Long genreId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "genre_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Genre genre;
+
+    @Column(name = "album_count", nullable = false)
+    private long albumCount;
+
+    @Column(name = "in_stock_count", nullable = false)
+    private long inStockCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        GenreAlbumStats that = (GenreAlbumStats) o;
+        return Objects.equals(genreId, that.genreId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(genreId);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "GenreAlbumStats{" + "genreId=" + genreId + ", albumCount=" + albumCount + ", inStockCount="
+                + inStockCount + '}';
+    }
+}
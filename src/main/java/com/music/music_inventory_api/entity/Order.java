@@ -16,9 +16,11 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotNull;
@@ -26,13 +28,18 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /** Entity representing a customer order. */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes =
+{@Index(name = "idx_orders_created_at", columnList = "created_at"),
+        @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at"),
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_orders_total_amount", columnList = "total_amount")})
 @Data
 @Builder
 @NoArgsConstructor
@@ -42,7 +49,8 @@ public class Order
 {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Customer is required")
@@ -76,7 +84,9 @@ public class Order
     @Column(name = "shipping_postal_code", length = 20)
     private String shippingPostalCode;
 
+    // Batch-loaded so that mapping a page of orders initialises all items at once
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<OrderItem> orderItems = new ArrayList<>();
 
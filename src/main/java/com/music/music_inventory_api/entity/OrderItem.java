@@ -10,8 +10,10 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Min;
@@ -26,7 +28,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /** Entity representing an item in an order. */
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes =
+{@Index(name = "idx_order_items_order", columnList = "order_id"),
+        @Index(name = "idx_order_items_album", columnList = "album_id")})
 @Data
 @Builder
 @NoArgsConstructor
@@ -36,7 +40,8 @@ public class OrderItem
 {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Order is required")
@@ -0,0 +1,87 @@
+package com.music.music_inventory_api.entity;
+
+import com.music.music_inventory_api.enums.RevenueGranularity;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Revenue and order count of the orders created within one hour or one day,
+ * counting orders that are not cancelled. Rows are maintained by
+ * {@link com.music.music_inventory_api.repository.RevenueBucketRecorder} in
+ * the transaction that places or cancels the order, so revenue over a range is
+ * a sum of buckets instead of a scan of {@code orders}. A bucket is spread over
+ * several rows, one per {@code shard}, so that concurrent orders do not wait
+ * on each other; its totals are the sums over its shards.
+ */
+@Entity
+@Table(name = "revenue_buckets")
+@IdClass(RevenueBucketId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueBucket
+{
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 5)
+    private RevenueGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    private int shard;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+        RevenueBucket that = (RevenueBucket) o;
+        return granularity == that.granularity && Objects.equals(bucketStart, that.bucketStart)
+                && shard == that.shard;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(granularity, bucketStart, shard);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RevenueBucket{" + "granularity=" + granularity + ", bucketStart=" + bucketStart + ", shard=" + shard
+                + ", revenue=" + revenue + ", orderCount=" + orderCount + '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.music.music_inventory_api.entity;
+
+import com.music.music_inventory_api.enums.RevenueGranularity;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Primary key of a {@link RevenueBucket}. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueBucketId implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private RevenueGranularity granularity;
+    private LocalDateTime bucketStart;
+    private int shard;
+}
@@ -9,8 +9,10 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
@@ -26,7 +28,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /** Entity representing a song/track in an album. */
 @Entity
-@Table(name = "songs")
+@Table(name = "songs", indexes =
+{@Index(name = "idx_songs_title_id", columnList = "title, id"),
+        @Index(name = "idx_songs_album_track", columnList = "album_id, track_number"),
+        @Index(name = "idx_songs_duration", columnList = "duration_seconds")})
 @Data
 @Builder
 @NoArgsConstructor
@@ -36,7 +41,8 @@ public class Song
 {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "song_seq")
+    @SequenceGenerator(name = "song_seq", sequenceName = "songs_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Song title is required")
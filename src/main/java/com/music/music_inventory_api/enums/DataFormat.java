@@ -0,0 +1,26 @@
+package com.music.music_inventory_api.enums;
+
+/** Line-oriented format of a bulk export or import. */
+public enum DataFormat
+{
+    NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    DataFormat(String mediaType, String extension)
+    {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType()
+    {
+        return mediaType;
+    }
+
+    public String getExtension()
+    {
+        return extension;
+    }
+}
@@ -0,0 +1,21 @@
+package com.music.music_inventory_api.enums;
+
+import java.time.temporal.ChronoUnit;
+
+/** Width of a revenue bucket. */
+public enum RevenueGranularity
+{
+    HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RevenueGranularity(ChronoUnit unit)
+    {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit()
+    {
+        return unit;
+    }
+}
@@ -0,0 +1,7 @@
+package com.music.music_inventory_api.enums;
+
+/** Kind of catalog entry a typeahead suggestion points to. */
+public enum SuggestionType
+{
+    ALBUM, ARTIST, SONG, GENRE
+}
@@ -0,0 +1,18 @@
+package com.music.music_inventory_api.exception;
+
+/**
+ * Exception thrown when a bounded resource is saturated and the request should
+ * be retried later.
+ */
+public class ServiceUnavailableException extends RuntimeException
+{
+    public ServiceUnavailableException(String message)
+    {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause)
+    {
+        super(message, cause);
+    }
+}
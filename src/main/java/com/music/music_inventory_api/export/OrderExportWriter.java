@@ -0,0 +1,135 @@
+package com.music.music_inventory_api.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.music.music_inventory_api.entity.Order;
+import com.music.music_inventory_api.entity.OrderItem;
+import com.music.music_inventory_api.enums.DataFormat;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes orders one at a time, so an export holds only the current order in
+ * memory. NDJSON has one order per line with its items nested; CSV has one row
+ * per item, repeating the order columns, and one row with empty item columns
+ * for an order without items. Every exported value is a number, a status or a
+ * timestamp, so CSV fields need no quoting.
+ */
+public class OrderExportWriter implements Flushable
+{
+    static final String CSV_HEADER = "order_id,customer_id,status,order_date,created_at,total_amount,"
+            + "item_id,album_id,quantity,unit_price,subtotal";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator json;
+    private final Writer csv;
+
+    /**
+     * Starts an export, writing the CSV header if needed. The stream is flushed
+     * but never closed.
+     *
+     * @param format
+     *            the export format
+     * @param out
+     *            the stream to write to
+     * @throws IOException
+     *             if writing fails
+     */
+    public OrderExportWriter(DataFormat format, OutputStream out) throws IOException
+    {
+        if (format == DataFormat.CSV)
+        {
+            json = null;
+            csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            csv.write(CSV_HEADER);
+            csv.write('\n');
+        } else
+        {
+            csv = null;
+            json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+        }
+    }
+
+    /**
+     * Writes one order with its items.
+     *
+     * @param order
+     *            the order, with its items loaded
+     * @throws IOException
+     *             if writing fails
+     */
+    public void write(Order order) throws IOException
+    {
+        if (json != null)
+        {
+            writeJson(order);
+        } else
+        {
+            writeCsv(order);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        if (json != null)
+        {
+            json.flush();
+        } else
+        {
+            csv.flush();
+        }
+    }
+
+    private void writeJson(Order order) throws IOException
+    {
+        json.writeStartObject();
+        json.writeNumberField("id", order.getId());
+        json.writeNumberField("customerId", order.getCustomer().getId());
+        json.writeStringField("status", order.getStatus().name());
+        json.writeStringField("orderDate", String.valueOf(order.getOrderDate()));
+        json.writeStringField("createdAt", String.valueOf(order.getCreatedAt()));
+        json.writeNumberField("totalAmount", order.getTotalAmount());
+        json.writeArrayFieldStart("items");
+        for (OrderItem item : order.getOrderItems())
+        {
+            json.writeStartObject();
+            json.writeNumberField("id", item.getId());
+            json.writeNumberField("albumId", item.getAlbum().getId());
+            json.writeNumberField("quantity", item.getQuantity());
+            json.writeNumberField("unitPrice", item.getUnitPrice());
+            json.writeNumberField("subtotal", item.getSubtotal());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsv(Order order) throws IOException
+    {
+        String orderColumns = order.getId() + "," + order.getCustomer().getId() + "," + order.getStatus() + ","
+                + order.getOrderDate() + "," + order.getCreatedAt() + "," + order.getTotalAmount().toPlainString();
+        if (order.getOrderItems().isEmpty())
+        {
+            csv.write(orderColumns);
+            csv.write(",,,,,\n");
+            return;
+        }
+        for (OrderItem item : order.getOrderItems())
+        {
+            csv.write(orderColumns);
+            csv.write("," + item.getId() + "," + item.getAlbum().getId() + "," + item.getQuantity() + ","
+                    + item.getUnitPrice().toPlainString() + "," + item.getSubtotal().toPlainString() + "\n");
+        }
+    }
+}
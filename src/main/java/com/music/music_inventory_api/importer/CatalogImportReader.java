@@ -0,0 +1,325 @@
+package com.music.music_inventory_api.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.music.music_inventory_api.dto.request.ImportAlbumRequest;
+import com.music.music_inventory_api.dto.request.ImportSongRequest;
+import com.music.music_inventory_api.enums.DataFormat;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reads the albums of a bulk catalog import one at a time, so an import holds
+ * only the current album in memory. NDJSON has one album per line with its
+ * genres and songs nested. CSV has a header row and one row per song,
+ * repeating the album columns; consecutive rows with the same artist and title
+ * are one album, and a row with empty song columns is an album without songs.
+ * Genres are separated by {@value #GENRE_SEPARATOR}. CSV fields may be quoted,
+ * but must not span lines.
+ */
+public class CatalogImportReader implements Closeable
+{
+    static final String GENRE_SEPARATOR = "|";
+
+    static final Set<String> CSV_COLUMNS = Set.of("artist", "title", "release_date", "price", "stock_quantity",
+            "cover_image_url", "description", "genres", "track_number", "song_title", "duration_seconds");
+
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of("artist", "title", "price", "stock_quantity");
+
+    private final BufferedReader in;
+    private final ObjectReader json;
+    private final Map<String, Integer> columns;
+
+    private long lineNumber;
+    private long line;
+    private List<String> pendingRow;
+    private long pendingLine;
+
+    /**
+     * Starts an import, reading the CSV header if needed. The stream is closed
+     * with the reader.
+     *
+     * @param format
+     *            the import format
+     * @param in
+     *            the stream to read from
+     * @param objectMapper
+     *            mapper for NDJSON albums
+     * @throws IOException
+     *             if reading fails
+     * @throws IllegalArgumentException
+     *             if the CSV header is missing, has an unknown or repeated
+     *             column, or lacks a required one
+     */
+    public CatalogImportReader(DataFormat format, InputStream in, ObjectMapper objectMapper) throws IOException
+    {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (format == DataFormat.CSV)
+        {
+            json = null;
+            columns = readHeader();
+        } else
+        {
+            json = objectMapper.readerFor(ImportAlbumRequest.class);
+            columns = null;
+        }
+    }
+
+    /**
+     * Reads the next album. A malformed album is skipped, so reading can carry
+     * on after the exception.
+     *
+     * @return the album, or {@code null} at the end of the stream
+     * @throws IOException
+     *             if reading fails
+     * @throws IllegalArgumentException
+     *             if the album is malformed
+     */
+    public ImportAlbumRequest next() throws IOException
+    {
+        return json != null ? nextJson() : nextCsv();
+    }
+
+    /**
+     * Returns the line the last album read, or rejected, starts on.
+     *
+     * @return the 1-based line number
+     */
+    public long getLine()
+    {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+
+    private ImportAlbumRequest nextJson() throws IOException
+    {
+        String text = readNonBlankLine();
+        if (text == null)
+        {
+            return null;
+        }
+        line = lineNumber;
+
+        try
+        {
+            return json.readValue(text);
+        } catch (JsonProcessingException ex)
+        {
+            throw new IllegalArgumentException("Malformed album: " + ex.getOriginalMessage());
+        }
+    }
+
+    private ImportAlbumRequest nextCsv() throws IOException
+    {
+        List<String> row = pendingRow != null ? pendingRow : readCsvRow();
+        line = pendingRow != null ? pendingLine : lineNumber;
+        pendingRow = null;
+        if (row == null)
+        {
+            return null;
+        }
+
+        // Every row of the album is read before a malformed one is reported,
+        // so the next call starts on the next album
+        String error = null;
+        ImportAlbumRequest album = null;
+        try
+        {
+            album = toAlbum(row);
+            addSong(album, row);
+        } catch (IllegalArgumentException ex)
+        {
+            error = ex.getMessage();
+        }
+
+        List<String> albumKey = Arrays.asList(field(row, "artist"), field(row, "title"));
+        List<String> next;
+        while ((next = readCsvRow()) != null
+                && Arrays.asList(field(next, "artist"), field(next, "title")).equals(albumKey))
+        {
+            try
+            {
+                if (error == null)
+                {
+                    addSong(album, next);
+                }
+            } catch (IllegalArgumentException ex)
+            {
+                error = ex.getMessage() + " on line " + lineNumber;
+            }
+        }
+        pendingRow = next;
+        pendingLine = lineNumber;
+
+        if (error != null)
+        {
+            throw new IllegalArgumentException(error);
+        }
+        return album;
+    }
+
+    private Map<String, Integer> readHeader() throws IOException
+    {
+        String header = readNonBlankLine();
+        if (header == null)
+        {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++)
+        {
+            String name = names.get(i).trim().toLowerCase();
+            if (!CSV_COLUMNS.contains(name))
+            {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+            if (positions.put(name, i) != null)
+            {
+                throw new IllegalArgumentException("Repeated CSV column: " + name);
+            }
+        }
+        for (String required : REQUIRED_CSV_COLUMNS)
+        {
+            if (!positions.containsKey(required))
+            {
+                throw new IllegalArgumentException("Missing CSV column: " + required);
+            }
+        }
+        return positions;
+    }
+
+    private ImportAlbumRequest toAlbum(List<String> row)
+    {
+        if (row.size() != columns.size())
+        {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + row.size());
+        }
+
+        List<String> genres = new ArrayList<>();
+        String genreNames = field(row, "genres");
+        if (genreNames != null)
+        {
+            for (String genre : genreNames.split("\\" + GENRE_SEPARATOR))
+            {
+                if (!genre.isBlank())
+                {
+                    genres.add(genre.trim());
+                }
+            }
+        }
+
+        return ImportAlbumRequest.builder().artist(field(row, "artist")).title(field(row, "title"))
+                .releaseDate(parse(row, "release_date", LocalDate::parse)).price(parse(row, "price", BigDecimal::new))
+                .stockQuantity(parse(row, "stock_quantity", Integer::valueOf))
+                .coverImageUrl(field(row, "cover_image_url")).description(field(row, "description")).genres(genres)
+                .build();
+    }
+
+    private void addSong(ImportAlbumRequest album, List<String> row)
+    {
+        if (row.size() != columns.size())
+        {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + row.size());
+        }
+
+        Integer trackNumber = parse(row, "track_number", Integer::valueOf);
+        String title = field(row, "song_title");
+        if (trackNumber != null || title != null)
+        {
+            album.getSongs().add(ImportSongRequest.builder().title(title).trackNumber(trackNumber)
+                    .durationSeconds(parse(row, "duration_seconds", Integer::valueOf)).build());
+        }
+    }
+
+    /** A trimmed field, or {@code null} when it is empty or its column is absent. */
+    private String field(List<String> row, String column)
+    {
+        Integer position = columns.get(column);
+        if (position == null || position >= row.size())
+        {
+            return null;
+        }
+        String value = row.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T parse(List<String> row, String column, Function<String, T> parser)
+    {
+        String value = field(row, column);
+        try
+        {
+            return value == null ? null : parser.apply(value);
+        } catch (NumberFormatException | DateTimeParseException ex)
+        {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private List<String> readCsvRow() throws IOException
+    {
+        String text = readNonBlankLine();
+        return text == null ? null : split(text);
+    }
+
+    private String readNonBlankLine() throws IOException
+    {
+        String text;
+        do
+        {
+            text = in.readLine();
+            lineNumber++;
+        } while (text != null && text.isBlank());
+        return text;
+    }
+
+    /** Splits a CSV line; quoted fields may contain commas and doubled quotes. */
+    static List<String> split(String text)
+    {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (quoted && c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"')
+            {
+                field.append(c);
+                i++;
+            } else if (c == '"')
+            {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted)
+            {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else
+            {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -3,8 +3,10 @@ package com.music.music_inventory_api.mapper;
 import com.music.music_inventory_api.dto.request.CreateCustomerRequest;
 import com.music.music_inventory_api.dto.request.UpdateCustomerRequest;
 import com.music.music_inventory_api.dto.response.CustomerDetailResponse;
+import com.music.music_inventory_api.dto.response.CustomerOrderStatsResponse;
 import com.music.music_inventory_api.dto.response.CustomerResponse;
 import com.music.music_inventory_api.entity.Customer;
+import com.music.music_inventory_api.entity.CustomerOrderStats;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -33,4 +35,8 @@ public interface CustomerMapper
     void updateEntityFromRequest(UpdateCustomerRequest request, @MappingTarget Customer customer);
 
     List<CustomerResponse> toResponseList(List<Customer> customers);
+
+    @Mapping(source = "customer.firstName", target = "firstName")
+    @Mapping(source = "customer.lastName", target = "lastName")
+    CustomerOrderStatsResponse toOrderStatsResponse(CustomerOrderStats stats);
 }
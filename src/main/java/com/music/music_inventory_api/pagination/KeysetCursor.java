@@ -0,0 +1,154 @@
+package com.music.music_inventory_api.pagination;
+
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import lombok.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and ID of the last row
+ * returned. Listings are ordered by {@code (sort key, id)} ascending, and the
+ * next slice is read with {@code WHERE (key, id) > (value, id)} instead of an
+ * {@code OFFSET}, so every slice costs the same however deep it is.
+ *
+ * <p>
+ * Clients only see the cursor as an opaque token; it is tied to the sort it
+ * was issued for.
+ */
+@Value
+public class KeysetCursor
+{
+    /** Sort on the ID alone. */
+    public static final String ID = "id";
+
+    /** Largest slice a listing returns. */
+    public static final int MAX_SIZE = 100;
+
+    private static final char SEPARATOR = ':';
+
+    String sort;
+    Long id;
+    String value;
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token
+     *            the token from a previous slice, or null for the first slice
+     * @param sort
+     *            the sort of the current request
+     * @return the cursor, or null if no token was given
+     * @throws IllegalArgumentException
+     *             if the token is malformed or was issued for another sort
+     */
+    public static KeysetCursor decode(String token, String sort)
+    {
+        if (token == null || token.isEmpty())
+        {
+            return null;
+        }
+
+        KeysetCursor cursor;
+        try
+        {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = decoded.indexOf(SEPARATOR);
+            int second = decoded.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0)
+            {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            cursor = new KeysetCursor(decoded.substring(0, first), Long.valueOf(decoded.substring(first + 1, second)),
+                    decoded.substring(second + 1));
+        } catch (IllegalArgumentException ex)
+        {
+            // Also covers bad Base64 and a non-numeric ID
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+
+        if (!cursor.sort.equals(sort))
+        {
+            throw new IllegalArgumentException("Cursor was issued for sort: " + cursor.sort);
+        }
+        return cursor;
+    }
+
+    /**
+     * Builds the request for the rows of one slice: one row more than the slice
+     * size, ordered by the sort property and then the ID.
+     *
+     * @param sort
+     *            the requested sort, {@link #ID} or the listing's sort key
+     * @param sortKey
+     *            the entity property the listing can also be sorted on
+     * @param size
+     *            the slice size
+     * @return the first {@code size + 1} rows in keyset order
+     * @throws IllegalArgumentException
+     *             if the sort is not supported or the size is not between 1
+     *             and {@link #MAX_SIZE}
+     */
+    public static Pageable rows(String sort, String sortKey, int size)
+    {
+        if (!ID.equals(sort) && !sortKey.equals(sort))
+        {
+            throw new IllegalArgumentException("Sort must be " + ID + " or " + sortKey);
+        }
+        if (size < 1 || size > MAX_SIZE)
+        {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SIZE);
+        }
+        Sort order = ID.equals(sort) ? Sort.by(ID) : Sort.by(sort, ID);
+        return PageRequest.of(0, size + 1, order);
+    }
+
+    /**
+     * Turns the rows read with {@link #rows(String, String, int)} into a slice.
+     *
+     * @param rows
+     *            up to {@code size + 1} rows in keyset order
+     * @param size
+     *            the slice size
+     * @param mapper
+     *            maps a row to its response
+     * @param cursorOf
+     *            the cursor positioned at a row
+     * @param <E>
+     *            the row type
+     * @param <R>
+     *            the response type
+     * @return the slice, with a cursor to the next one if more rows exist
+     */
+    public static <E, R> CursorPageResponse<R> slice(List<E> rows, int size, Function<E, R> mapper,
+            Function<E, KeysetCursor> cursorOf)
+    {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+
+        List<R> content = new ArrayList<>(page.size());
+        for (E row : page)
+        {
+            content.add(mapper.apply(row));
+        }
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return CursorPageResponse.<R>builder().content(content).size(size).hasNext(hasNext).nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode()
+    {
+        String raw = sort + SEPARATOR + id + SEPARATOR + (ID.equals(sort) || value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,17 @@
+package com.music.music_inventory_api.repository;
+
+import java.time.LocalDateTime;
+import lombok.Value;
+
+/**
+ * A genre of an album, as read for a page of album list responses.
+ */
+@Value
+public class AlbumGenreRow
+{
+    Long albumId;
+    Long genreId;
+    String name;
+    String description;
+    LocalDateTime createdAt;
+}
@@ -1,21 +1,143 @@
 package com.music.music_inventory_api.repository;
 
 import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.search.AlbumSearchEntry;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import javax.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository interface for Album entity. Provides CRUD operations and custom
- * queries for album data access.
+ * queries for album data access. List queries fetch the artist in the same
+ * statement; genres are batch-loaded per page (see {@link Album#getGenres()}).
+ * Stock changes go through {@link AlbumStockRepository}.
  */
 @Repository
-public interface AlbumRepository extends JpaRepository<Album, Long>
+public interface AlbumRepository extends JpaRepository<Album, Long>, AlbumStockRepository
 {
-    List<Album> findByArtistId(Long artistId);
+    String TRIGRAM_MATCHES = "SELECT a.id, a.title FROM albums a "
+            + "WHERE lower(a.title) LIKE '%' || lower(:keyword) || '%' " + "UNION "
+            + "SELECT a.id, a.title FROM albums a JOIN artists ar ON ar.id = a.artist_id "
+            + "WHERE lower(ar.name) LIKE '%' || lower(:keyword) || '%'";
+
+    /**
+     * Selects album list rows straight from the columns, so list queries
+     * neither hydrate entities nor keep them in the persistence context. The
+     * rows are tuples, read by alias rather than by position. Genres are added
+     * per page with {@link #findGenreRowsByAlbumIdIn}.
+     */
+    String ROW_SELECT = "SELECT a.id AS id, a.title AS title, ar.id AS artistId, ar.name AS artistName, "
+            + "a.releaseDate AS releaseDate, a.price AS price, a.stockQuantity AS stockQuantity, "
+            + "a.coverImageUrl AS coverImageUrl, a.description AS description, a.createdAt AS createdAt, "
+            + "a.updatedAt AS updatedAt FROM Album a JOIN a.artist ar";
+
+    @Override
+    @EntityGraph(attributePaths = "artist")
+    Page<Album> findAll(Pageable pageable);
+
+    /**
+     * Page of album list rows, one tuple per album.
+     *
+     * @param pageable
+     *            pagination information
+     * @return page of albums
+     */
+    @Query(value = ROW_SELECT, countQuery = "SELECT COUNT(a) FROM Album a")
+    Page<Tuple> findRows(Pageable pageable);
+
+    /**
+     * Genres of a page of albums, read with one query.
+     *
+     * @param albumIds
+     *            the album IDs
+     * @return one row per album and genre, in no particular order
+     */
+    @Query("SELECT new com.music.music_inventory_api.repository.AlbumGenreRow(a.id, g.id, g.name, g.description, "
+            + "g.createdAt) FROM Album a JOIN a.genres g WHERE a.id IN :albumIds")
+    List<AlbumGenreRow> findGenreRowsByAlbumIdIn(@Param("albumIds") Collection<Long> albumIds);
+
+    /**
+     * First slice of a keyset-paginated listing, as list rows. Returns a
+     * list, so no count query is run.
+     *
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the first albums
+     */
+    @Query(ROW_SELECT)
+    List<Tuple> findSlice(Pageable pageable);
+
+    /**
+     * Next slice of a listing in ID order.
+     *
+     * @param id
+     *            ID of the last album already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the albums after that ID
+     */
+    @Query(ROW_SELECT + " WHERE a.id > :id")
+    List<Tuple> findSliceAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Next slice of a listing in title order, ties broken by ID. The leading
+     * {@code >=} lets the database start a range scan at the cursor.
+     *
+     * @param title
+     *            title of the last album already returned
+     * @param id
+     *            ID of the last album already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the albums after that position
+     */
+    @Query(ROW_SELECT + " WHERE a.title >= :title AND (a.title > :title OR a.id > :id)")
+    List<Tuple> findSliceAfterTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "artist")
+    Page<Album> findByArtistId(Long artistId, Pageable pageable);
+
+    /**
+     * Find albums whose price lies within the given range (inclusive). The filter
+     * runs in the database against the price index, so only the requested page is
+     * loaded.
+     *
+     * @param minPrice
+     *            minimum price
+     * @param maxPrice
+     *            maximum price
+     * @param pageable
+     *            pagination information
+     * @return page of albums in the price range
+     */
+    @EntityGraph(attributePaths = "artist")
+    Page<Album> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    /**
+     * Custom query to find albums belonging to a genre, paginated. Filters on
+     * album_genres.genre_id directly so the genre name never has to be resolved.
+     *
+     * @param genreId
+     *            the genre ID
+     * @param pageable
+     *            pagination information
+     * @return page of albums in the genre
+     */
+    @EntityGraph(attributePaths = "artist")
+    @Query(value = "SELECT a FROM Album a JOIN a.genres g WHERE g.id = :genreId", countQuery = "SELECT COUNT(a) FROM Album a JOIN a.genres g WHERE g.id = :genreId")
+    Page<Album> findByGenreId(@Param("genreId") Long genreId, Pageable pageable);
 
     /**
      * Custom query to search albums by genre and price range. One of the
@@ -27,20 +149,31 @@ public interface AlbumRepository extends JpaRepository<Album, Long>
      *            minimum price
      * @param maxPrice
      *            maximum price
-     * @return list of albums matching the criteria
+     * @param pageable
+     *            pagination information
+     * @return page of albums matching the criteria
      */
-    @Query("SELECT DISTINCT a FROM Album a " + "JOIN a.genres g " + "WHERE LOWER(g.name) = LOWER(:genreName) "
-            + "AND a.price BETWEEN :minPrice AND :maxPrice " + "ORDER BY a.price ASC")
-    List<Album> searchByGenreAndPriceRange(@Param("genreName") String genreName, @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice);
+    @EntityGraph(attributePaths = "artist")
+    @Query(value = "SELECT DISTINCT a FROM Album a " + "JOIN a.genres g " + "WHERE LOWER(g.name) = LOWER(:genreName) "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice " + "ORDER BY a.price ASC",
+            countQuery = "SELECT COUNT(DISTINCT a) FROM Album a " + "JOIN a.genres g "
+                    + "WHERE LOWER(g.name) = LOWER(:genreName) " + "AND a.price BETWEEN :minPrice AND :maxPrice")
+    Page<Album> searchByGenreAndPriceRange(@Param("genreName") String genreName, @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
 
     /**
      * Custom query to find top-selling albums. One of the required @Query examples.
+     * Reads the maintained sales totals in index order rather than aggregating
+     * every order item.
      *
-     * @return list of top-selling albums ordered by total quantity sold
+     * @param pageable
+     *            pagination information
+     * @return the requested page of top-selling albums ordered by total quantity
+     *         sold
      */
-    @Query("SELECT oi.album FROM OrderItem oi " + "GROUP BY oi.album " + "ORDER BY SUM(oi.quantity) DESC")
-    List<Album> findTopSellingAlbums();
+    @Query("SELECT s.album FROM AlbumSalesStats s " + "WHERE s.unitsSold > 0 "
+            + "ORDER BY s.unitsSold DESC, s.albumId DESC")
+    List<Album> findTopSellingAlbums(Pageable pageable);
 
     /**
      * Custom query to find albums by artist with available stock. One of the
@@ -48,11 +181,14 @@ public interface AlbumRepository extends JpaRepository<Album, Long>
      *
      * @param artistId
      *            the artist ID
-     * @return list of albums by the artist that are in stock
+     * @param pageable
+     *            pagination information
+     * @return page of albums by the artist that are in stock
      */
+    @EntityGraph(attributePaths = "artist")
     @Query("SELECT a FROM Album a " + "WHERE a.artist.id = :artistId " + "AND a.stockQuantity > 0 "
             + "ORDER BY a.releaseDate DESC")
-    List<Album> findByArtistWithStock(@Param("artistId") Long artistId);
+    Page<Album> findByArtistWithStock(@Param("artistId") Long artistId, Pageable pageable);
 
     /**
      * Custom query to search albums by title or artist name. One of the
@@ -60,32 +196,150 @@ public interface AlbumRepository extends JpaRepository<Album, Long>
      *
      * @param keyword
      *            the search keyword
-     * @return list of albums matching the search criteria
+     * @param pageable
+     *            pagination information
+     * @return page of albums matching the search criteria
      */
+    @EntityGraph(attributePaths = "artist")
     @Query("SELECT a FROM Album a " + "WHERE LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
             + "OR LOWER(a.artist.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " + "ORDER BY a.title ASC")
-    List<Album> searchByTitleOrArtistName(@Param("keyword") String keyword);
+    Page<Album> searchByTitleOrArtistName(@Param("keyword") String keyword, Pageable pageable);
 
     /**
-     * Custom query to find albums released in a specific year.
+     * Custom query to find the IDs of albums whose title or artist name contains
+     * a keyword (case-insensitive), ordered by title. Portable, but scans the
+     * albums table.
+     *
+     * @param keyword
+     *            the search keyword
+     * @param pageable
+     *            pagination information
+     * @return page of matching album IDs
+     */
+    @Query(value = "SELECT a.id FROM Album a " + "WHERE LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(a.artist.name) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "ORDER BY a.title ASC, a.id ASC", countQuery = "SELECT COUNT(a) FROM Album a "
+                    + "WHERE LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+                    + "OR LOWER(a.artist.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<Long> searchIdsByTitleOrArtistName(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * Same as {@link #searchIdsByTitleOrArtistName(String, Pageable)}, written
+     * for PostgreSQL's trigram indexes on {@code lower(albums.title)} and
+     * {@code lower(artists.name)}. The title and artist conditions are separate
+     * branches of a UNION so that each one can use its own index, which a single
+     * OR across the join would prevent.
+     *
+     * @param keyword
+     *            the search keyword
+     * @param pageable
+     *            pagination information
+     * @return page of matching album IDs, as the numeric type of the JDBC driver
+     */
+    @Query(value = "SELECT m.id FROM (" + TRIGRAM_MATCHES + ") m ORDER BY m.title ASC, m.id ASC",
+            countQuery = "SELECT COUNT(*) FROM (" + TRIGRAM_MATCHES + ") m", nativeQuery = true)
+    Page<Number> searchIdsByTitleOrArtistNameIndexed(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * Find albums by ID together with their artist. Used to load a page of
+     * keyword search results.
+     *
+     * @param ids
+     *            the album IDs
+     * @return the albums found, in no particular order
+     */
+    @EntityGraph(attributePaths = "artist")
+    List<Album> findWithArtistByIdIn(Collection<Long> ids);
+
+    /**
+     * Find an album together with its artist and genres in one statement, for
+     * the album detail response; its songs are the only other statement.
+     *
+     * @param id
+     *            the album ID
+     * @return the album, if it exists
+     */
+    @Query("SELECT a FROM Album a JOIN FETCH a.artist LEFT JOIN FETCH a.genres WHERE a.id = :id")
+    Optional<Album> findDetailById(@Param("id") Long id);
+
+    /**
+     * Find an album and lock its row until the transaction ends, so that orders
+     * cannot change its stock while it is being edited or deleted.
+     *
+     * @param id
+     *            the album ID
+     * @return the album, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Album a WHERE a.id = :id")
+    Optional<Album> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Custom query to read the searchable fields of every album, without loading
+     * the entities. Used to build the in-memory search index.
+     *
+     * @return list of search entries
+     */
+    @Query("SELECT a.id AS id, a.title AS title, ar.name AS artistName FROM Album a JOIN a.artist ar")
+    List<AlbumSearchEntry> findAllSearchEntries();
+
+    /**
+     * Find albums released in a specific year, as a release date range so that
+     * the release date index can serve it.
      *
      * @param year
      *            the release year
-     * @return list of albums released in the specified year
+     * @param pageable
+     *            pagination information
+     * @return page of albums released in the specified year
+     */
+    default Page<Album> findByReleaseYear(int year, Pageable pageable)
+    {
+        return findByReleaseDateRange(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1), pageable);
+    }
+
+    /**
+     * Custom query to find albums released from one date up to, but not
+     * including, another.
+     *
+     * @param from
+     *            the first release date
+     * @param until
+     *            the release date after the last one
+     * @param pageable
+     *            pagination information
+     * @return page of albums released in the range
      */
-    @Query("SELECT a FROM Album a " + "WHERE YEAR(a.releaseDate) = :year " + "ORDER BY a.releaseDate ASC")
-    List<Album> findByReleaseYear(@Param("year") int year);
+    @EntityGraph(attributePaths = "artist")
+    @Query("SELECT a FROM Album a " + "WHERE a.releaseDate >= :from AND a.releaseDate < :until "
+            + "ORDER BY a.releaseDate ASC")
+    Page<Album> findByReleaseDateRange(@Param("from") LocalDate from, @Param("until") LocalDate until,
+            Pageable pageable);
 
     /**
      * Custom query to find albums with low stock (below threshold).
      *
      * @param threshold
      *            the stock threshold
-     * @return list of albums with stock below the threshold
+     * @param pageable
+     *            pagination information
+     * @return page of albums with stock below the threshold
      */
+    @EntityGraph(attributePaths = "artist")
     @Query("SELECT a FROM Album a " + "WHERE a.stockQuantity < :threshold AND a.stockQuantity > 0 "
             + "ORDER BY a.stockQuantity ASC")
-    List<Album> findLowStockAlbums(@Param("threshold") int threshold);
+    Page<Album> findLowStockAlbums(@Param("threshold") int threshold, Pageable pageable);
 
-    List<Album> findByStockQuantity(int stockQuantity);
+    @EntityGraph(attributePaths = "artist")
+    Page<Album> findByStockQuantity(int stockQuantity, Pageable pageable);
+
+    /**
+     * Custom query to find the IDs of all albums by an artist.
+     *
+     * @param artistId
+     *            the artist ID
+     * @return list of album IDs
+     */
+    @Query("SELECT a.id FROM Album a WHERE a.artist.id = :artistId")
+    List<Long> findIdsByArtistId(@Param("artistId") Long artistId);
 }
@@ -0,0 +1,45 @@
+package com.music.music_inventory_api.repository;
+
+import com.music.music_inventory_api.entity.OrderItem;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Maintains the {@code album_sales_stats} aggregate. Each call sends one JDBC
+ * batch and touches rows in ascending album ID order, like
+ * {@link AlbumStockRepository}.
+ */
+public interface AlbumSalesRecorder
+{
+    /**
+     * Adds the items of a placed order to the sales totals of their albums,
+     * creating a row for albums sold for the first time. The last-sold time
+     * only moves forward, whatever order concurrent orders commit in.
+     * Concurrent first sales of an album are settled as for the other counter
+     * tables (see {@code FirstRowInserts}).
+     *
+     * @param items
+     *            items of the placed order
+     * @param soldAt
+     *            when the order was placed
+     */
+    void recordSales(Collection<OrderItem> items, LocalDateTime soldAt);
+
+    /**
+     * Removes the items of a cancelled order from the sales totals of their
+     * albums. The last-sold time is left unchanged. An album without a row is
+     * logged as drift and skipped.
+     *
+     * @param items
+     *            items of the cancelled order
+     */
+    void reverseSales(Collection<OrderItem> items);
+
+    /**
+     * Recomputes every row from the order items of orders that are not
+     * cancelled, e.g. to backfill the table or repair drift.
+     *
+     * @return number of albums with sales
+     */
+    int rebuild();
+}
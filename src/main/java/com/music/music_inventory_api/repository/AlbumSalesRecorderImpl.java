@@ -0,0 +1,115 @@
+package com.music.music_inventory_api.repository;
+
+import com.music.music_inventory_api.entity.OrderItem;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** JDBC implementation of {@link AlbumSalesRecorder}. */
+@RequiredArgsConstructor
+@Slf4j
+public class AlbumSalesRecorderImpl implements AlbumSalesRecorder
+{
+    private static final String RECORD_SQL = "UPDATE album_sales_stats SET units_sold = units_sold + ?, "
+            + "revenue = revenue + ?, last_sold_at = GREATEST(last_sold_at, ?), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE album_id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO album_sales_stats "
+            + "(album_id, units_sold, revenue, last_sold_at, updated_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String REVERSE_SQL = "UPDATE album_sales_stats SET units_sold = units_sold - ?, "
+            + "revenue = revenue - ?, updated_at = CURRENT_TIMESTAMP WHERE album_id = ?";
+
+    private static final String REBUILD_SQL = "INSERT INTO album_sales_stats "
+            + "(album_id, units_sold, revenue, last_sold_at, updated_at) "
+            + "SELECT oi.album_id, SUM(oi.quantity), SUM(oi.subtotal), MAX(o.order_date), CURRENT_TIMESTAMP "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id WHERE o.status <> 'CANCELLED' "
+            + "GROUP BY oi.album_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void recordSales(Collection<OrderItem> items, LocalDateTime soldAt)
+    {
+        List<AlbumSale> sales = salesByAlbum(items);
+        Timestamp soldAtTimestamp = Timestamp.valueOf(soldAt);
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(RECORD_SQL, sales.stream().map(sale -> new Object[]
+        {sale.units, sale.revenue, soldAtTimestamp, sale.albumId}).collect(Collectors.toList()));
+
+        // First sales of an album are rare, so they are inserted one at a time
+        for (int i = 0; i < updatedRows.length; i++)
+        {
+            AlbumSale sale = sales.get(i);
+            if (updatedRows[i] == 0 && !FirstRowInserts.insertIfAbsent(jdbcTemplate, INSERT_SQL, sale.albumId,
+                    sale.units, sale.revenue, soldAtTimestamp))
+            {
+                jdbcTemplate.update(RECORD_SQL, sale.units, sale.revenue, soldAtTimestamp, sale.albumId);
+            }
+        }
+    }
+
+    @Override
+    public void reverseSales(Collection<OrderItem> items)
+    {
+        List<AlbumSale> sales = salesByAlbum(items);
+        int[] updatedRows = jdbcTemplate.batchUpdate(REVERSE_SQL, sales.stream().map(sale -> new Object[]
+        {sale.units, sale.revenue, sale.albumId}).collect(Collectors.toList()));
+
+        // Every sold album has a row, so a missing one means the table has drifted
+        for (int i = 0; i < updatedRows.length; i++)
+        {
+            if (updatedRows[i] == 0)
+            {
+                AlbumSale sale = sales.get(i);
+                log.warn("Album sales stats drift: no row for album ID {} while reversing {} units / {}; "
+                        + "rebuild album_sales_stats to repair", sale.albumId, sale.units, sale.revenue);
+            }
+        }
+    }
+
+    @Override
+    public int rebuild()
+    {
+        // The rebuild reads order rows, so pending changes must be written first
+        entityManager.flush();
+        jdbcTemplate.update("DELETE FROM album_sales_stats");
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    private static List<AlbumSale> salesByAlbum(Collection<OrderItem> items)
+    {
+        Map<Long, AlbumSale> sales = new TreeMap<>();
+        for (OrderItem item : items)
+        {
+            Long albumId = item.getAlbum().getId();
+            AlbumSale sale = sales.computeIfAbsent(albumId, AlbumSale::new);
+            sale.units += item.getQuantity();
+            sale.revenue = sale.revenue.add(item.getSubtotal());
+        }
+        return new ArrayList<>(sales.values());
+    }
+
+    private static final class AlbumSale
+    {
+        private final Long albumId;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private AlbumSale(Long albumId)
+        {
+            this.albumId = albumId;
+        }
+    }
+}
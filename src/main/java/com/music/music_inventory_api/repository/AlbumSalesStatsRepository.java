@@ -0,0 +1,38 @@
+package com.music.music_inventory_api.repository;
+
+import com.music.music_inventory_api.entity.AlbumSalesStats;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the per-album sales aggregate. Reads are primary-key lookups
+ * or index range scans; writes go through {@link AlbumSalesRecorder}.
+ */
+@Repository
+public interface AlbumSalesStatsRepository extends JpaRepository<AlbumSalesStats, Long>, AlbumSalesRecorder
+{
+    /**
+     * Find the albums with the most units sold, read in order from the units
+     * index.
+     *
+     * @param pageable
+     *            pagination information
+     * @return the requested page of sales totals, most units sold first
+     */
+    @Query("SELECT s FROM AlbumSalesStats s WHERE s.unitsSold > 0 ORDER BY s.unitsSold DESC, s.albumId DESC")
+    List<AlbumSalesStats> findTopByUnitsSold(Pageable pageable);
+
+    /**
+     * Find the albums with the highest revenue, read in order from the revenue
+     * index.
+     *
+     * @param pageable
+     *            pagination information
+     * @return the requested page of sales totals, highest revenue first
+     */
+    @Query("SELECT s FROM AlbumSalesStats s WHERE s.revenue > 0 ORDER BY s.revenue DESC, s.albumId DESC")
+    List<AlbumSalesStats> findTopByRevenue(Pageable pageable);
+}
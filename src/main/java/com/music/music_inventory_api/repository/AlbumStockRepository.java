@@ -0,0 +1,32 @@
+package com.music.music_inventory_api.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock operations for albums that bypass the persistence context. Each call
+ * sends one JDBC batch and touches rows in ascending album ID order, so
+ * concurrent orders always lock albums in the same order.
+ */
+public interface AlbumStockRepository
+{
+    /**
+     * Atomically takes stock from several albums. Each row is decremented only if
+     * it holds enough stock, so concurrent orders cannot oversell.
+     *
+     * @param quantitiesByAlbumId
+     *            number of units to take per album ID
+     * @return IDs of the albums that did not have enough stock (empty if all
+     *         were decremented)
+     */
+    List<Long> decrementStock(Map<Long, Integer> quantitiesByAlbumId);
+
+    /**
+     * Atomically returns stock to several albums, e.g. when an order is
+     * cancelled.
+     *
+     * @param quantitiesByAlbumId
+     *            number of units to return per album ID
+     */
+    void incrementStock(Map<Long, Integer> quantitiesByAlbumId);
+}
@@ -0,0 +1,56 @@
+package com.music.music_inventory_api.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** JDBC implementation of {@link AlbumStockRepository}. */
+@RequiredArgsConstructor
+public class AlbumStockRepositoryImpl implements AlbumStockRepository
+{
+    private static final String DECREMENT_SQL = "UPDATE albums SET stock_quantity = stock_quantity - ?, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String INCREMENT_SQL = "UPDATE albums SET stock_quantity = stock_quantity + ?, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> decrementStock(Map<Long, Integer> quantitiesByAlbumId)
+    {
+        // Pending entity changes must reach the database before the batch, as
+        // they would for a JPQL bulk update
+        entityManager.flush();
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(new TreeMap<>(quantitiesByAlbumId).entrySet());
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(DECREMENT_SQL,
+                entries.stream().map(entry -> new Object[]
+                {entry.getValue(), entry.getKey(), entry.getValue()}).collect(Collectors.toList()));
+
+        List<Long> insufficientAlbumIds = new ArrayList<>();
+        for (int i = 0; i < updatedRows.length; i++)
+        {
+            if (updatedRows[i] == 0)
+            {
+                insufficientAlbumIds.add(entries.get(i).getKey());
+            }
+        }
+        return insufficientAlbumIds;
+    }
+
+    @Override
+    public void incrementStock(Map<Long, Integer> quantitiesByAlbumId)
+    {
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, new TreeMap<>(quantitiesByAlbumId).entrySet().stream()
+                .map(entry -> new Object[]
+                {entry.getValue(), entry.getKey()}).collect(Collectors.toList()));
+    }
+}
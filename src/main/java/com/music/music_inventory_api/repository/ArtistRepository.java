@@ -1,8 +1,12 @@
 package com.music.music_inventory_api.repository;
 
+import com.music.music_inventory_api.dto.response.ArtistResponse;
 import com.music.music_inventory_api.entity.Artist;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,44 +19,122 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ArtistRepository extends JpaRepository<Artist, Long>
 {
+    /**
+     * Selects artist list responses straight from the columns, so list queries
+     * neither hydrate entities nor keep them in the persistence context.
+     */
+    String RESPONSE_SELECT = "SELECT new com.music.music_inventory_api.dto.response.ArtistResponse(a.id, a.name, "
+            + "a.country, a.biography, a.createdAt, a.updatedAt) FROM Artist a";
+
     Optional<Artist> findByNameIgnoreCase(String name);
 
+    /**
+     * Page of artist list responses.
+     *
+     * @param pageable
+     *            pagination information
+     * @return page of artists
+     */
+    @Query(value = RESPONSE_SELECT, countQuery = "SELECT COUNT(a) FROM Artist a")
+    Page<ArtistResponse> findResponses(Pageable pageable);
+
+    /**
+     * Bulk form of {@link #findByNameIgnoreCase}, resolving the names of an
+     * import batch with one query. Artist names are not unique, so the oldest
+     * artist comes first.
+     *
+     * @param names
+     *            lower-case artist names
+     * @return the artists with any of these names
+     */
+    @Query("SELECT a FROM Artist a WHERE LOWER(a.name) IN :names ORDER BY a.id")
+    List<Artist> findByLowerNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * First slice of a keyset-paginated listing, as responses. Returns a list,
+     * so no count query is run.
+     *
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the first artists
+     */
+    @Query(RESPONSE_SELECT)
+    List<ArtistResponse> findSlice(Pageable pageable);
+
+    /**
+     * Next slice of a listing in ID order.
+     *
+     * @param id
+     *            ID of the last artist already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the artists after that ID
+     */
+    @Query(RESPONSE_SELECT + " WHERE a.id > :id")
+    List<ArtistResponse> findSliceAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Next slice of a listing in name order, ties broken by ID. The leading
+     * {@code >=} lets the database start a range scan at the cursor.
+     *
+     * @param name
+     *            name of the last artist already returned
+     * @param id
+     *            ID of the last artist already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the artists after that position
+     */
+    @Query(RESPONSE_SELECT + " WHERE a.name >= :name AND (a.name > :name OR a.id > :id)")
+    List<ArtistResponse> findSliceAfterName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
     /**
      * Custom query to search artists by country.
      *
      * @param country
      *            the country to search for
-     * @return list of artists from the specified country
+     * @param pageable
+     *            pagination information
+     * @return page of artists from the specified country
      */
     @Query("SELECT a FROM Artist a WHERE LOWER(a.country) = LOWER(:country)")
-    List<Artist> findByCountry(@Param("country") String country);
+    Page<Artist> findByCountry(@Param("country") String country, Pageable pageable);
 
     /**
      * Custom query to search artists by name containing a keyword
-     * (case-insensitive).
+     * (case-insensitive). On PostgreSQL the filter is served by the trigram index
+     * on {@code lower(name)}.
      *
      * @param keyword
      *            the keyword to search for in artist names
-     * @return list of artists matching the search criteria
+     * @param pageable
+     *            pagination information
+     * @return page of artists matching the search criteria
      */
     @Query("SELECT a FROM Artist a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Artist> searchByName(@Param("keyword") String keyword);
+    Page<Artist> searchByName(@Param("keyword") String keyword, Pageable pageable);
 
     /**
      * Custom query to find artists with albums in stock.
      *
-     * @return list of artists who have albums with stock quantity greater than 0
+     * @param pageable
+     *            pagination information
+     * @return page of artists who have albums with stock quantity greater than 0
      */
-    @Query("SELECT DISTINCT al.artist FROM Album al " + "WHERE al.stockQuantity > 0")
-    List<Artist> findArtistsWithAvailableStock();
+    @Query(value = "SELECT DISTINCT al.artist FROM Album al " + "WHERE al.stockQuantity > 0",
+            countQuery = "SELECT COUNT(DISTINCT al.artist) FROM Album al " + "WHERE al.stockQuantity > 0")
+    Page<Artist> findArtistsWithAvailableStock(Pageable pageable);
 
     /**
      * Custom query to find artists with their album count. Returns artists ordered
      * by album count descending.
      *
-     * @return list of artists with at least one album, ordered by album count
+     * @param pageable
+     *            pagination information
+     * @return the requested page of artists with at least one album, ordered by
+     *         album count
      */
     @Query("SELECT al.artist FROM Album al " + "GROUP BY al.artist " + "HAVING COUNT(al) > 0 "
             + "ORDER BY COUNT(al) DESC")
-    List<Artist> findArtistsOrderedByAlbumCount();
+    List<Artist> findArtistsOrderedByAlbumCount(Pageable pageable);
 }
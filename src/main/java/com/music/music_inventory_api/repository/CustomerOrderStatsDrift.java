@@ -0,0 +1,18 @@
+package com.music.music_inventory_api.repository;
+
+import java.math.BigDecimal;
+import lombok.Value;
+
+/**
+ * A customer whose maintained order totals differ from the totals computed
+ * from their orders.
+ */
+@Value
+public class CustomerOrderStatsDrift
+{
+    Long customerId;
+    long storedOrderCount;
+    long actualOrderCount;
+    BigDecimal storedLifetimeSpend;
+    BigDecimal actualLifetimeSpend;
+}
@@ -0,0 +1,56 @@
+package com.music.music_inventory_api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/** Maintains and reconciles the {@code customer_order_stats} rollup. */
+public interface CustomerOrderStatsRecorder
+{
+    /**
+     * Adds a placed order to its customer's totals, creating the row on the
+     * customer's first order (concurrent first orders are settled as described
+     * in {@code FirstRowInserts}).
+     *
+     * @param customerId
+     *            the customer ID
+     * @param amount
+     *            the order total
+     * @param orderedAt
+     *            when the order was placed
+     */
+    void recordOrder(Long customerId, BigDecimal amount, LocalDateTime orderedAt);
+
+    /**
+     * Removes a cancelled order from its customer's totals. The last order time
+     * becomes that of the customer's latest other order that is not cancelled,
+     * or null if there is none.
+     *
+     * @param customerId
+     *            the customer ID
+     * @param orderId
+     *            the cancelled order
+     * @param amount
+     *            the order total
+     */
+    void reverseOrder(Long customerId, Long orderId, BigDecimal amount);
+
+    /**
+     * Compares every row with the totals computed from the orders that are not
+     * cancelled. Last order times are not compared.
+     *
+     * @return customers whose order count or lifetime spend differ
+     */
+    List<CustomerOrderStatsDrift> findDrift();
+
+    /**
+     * Overwrites the rows of the given customers with the totals computed from
+     * their orders. The customers' rows are locked first, so that no order of
+     * theirs commits in between.
+     *
+     * @param customerIds
+     *            the customers to recompute
+     */
+    void recompute(Collection<Long> customerIds);
+}
@@ -0,0 +1,118 @@
+package com.music.music_inventory_api.repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/** JDBC implementation of {@link CustomerOrderStatsRecorder}. */
+@RequiredArgsConstructor
+public class CustomerOrderStatsRecorderImpl implements CustomerOrderStatsRecorder
+{
+    private static final String RECORD_SQL = "UPDATE customer_order_stats SET order_count = order_count + 1, "
+            + "lifetime_spend = lifetime_spend + ?, last_order_at = GREATEST(last_order_at, ?), "
+            + "updated_at = CURRENT_TIMESTAMP WHERE customer_id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO customer_order_stats "
+            + "(customer_id, order_count, lifetime_spend, last_order_at, updated_at) "
+            + "VALUES (?, 1, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String REVERSE_SQL = "UPDATE customer_order_stats SET order_count = order_count - 1, "
+            + "lifetime_spend = lifetime_spend - ?, last_order_at = (SELECT MAX(order_date) FROM orders "
+            + "WHERE customer_id = ? AND id <> ? AND status <> 'CANCELLED'), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE customer_id = ?";
+
+    private static final String ACTUAL_TOTALS = "SELECT customer_id, COUNT(*) AS order_count, "
+            + "SUM(total_amount) AS lifetime_spend FROM orders WHERE status <> 'CANCELLED' GROUP BY customer_id";
+
+    private static final String DRIFTED_SQL = "SELECT a.customer_id, COALESCE(s.order_count, 0) AS stored_count, "
+            + "a.order_count AS actual_count, COALESCE(s.lifetime_spend, 0) AS stored_spend, "
+            + "a.lifetime_spend AS actual_spend FROM (" + ACTUAL_TOTALS + ") a "
+            + "LEFT JOIN customer_order_stats s ON s.customer_id = a.customer_id "
+            + "WHERE s.customer_id IS NULL OR s.order_count <> a.order_count OR s.lifetime_spend <> a.lifetime_spend";
+
+    private static final String STALE_SQL = "SELECT s.customer_id, s.order_count AS stored_count, "
+            + "0 AS actual_count, s.lifetime_spend AS stored_spend, 0 AS actual_spend FROM customer_order_stats s "
+            + "WHERE (s.order_count <> 0 OR s.lifetime_spend <> 0) AND NOT EXISTS (SELECT 1 FROM orders o "
+            + "WHERE o.customer_id = s.customer_id AND o.status <> 'CANCELLED')";
+
+    private static final String LOCK_CUSTOMERS_SQL = "SELECT id FROM customers WHERE id IN (%s) ORDER BY id "
+            + "FOR UPDATE";
+
+    private static final String DELETE_SQL = "DELETE FROM customer_order_stats WHERE customer_id = ?";
+
+    private static final String RECOMPUTE_SQL = "INSERT INTO customer_order_stats "
+            + "(customer_id, order_count, lifetime_spend, last_order_at, updated_at) "
+            + "SELECT customer_id, COUNT(*), SUM(total_amount), MAX(order_date), CURRENT_TIMESTAMP FROM orders "
+            + "WHERE customer_id = ? AND status <> 'CANCELLED' GROUP BY customer_id";
+
+    private static final RowMapper<CustomerOrderStatsDrift> DRIFT_MAPPER = (rs, rowNum) -> new CustomerOrderStatsDrift(
+            rs.getLong("customer_id"), rs.getLong("stored_count"), rs.getLong("actual_count"),
+            rs.getBigDecimal("stored_spend"), rs.getBigDecimal("actual_spend"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void recordOrder(Long customerId, BigDecimal amount, LocalDateTime orderedAt)
+    {
+        Timestamp orderedAtTimestamp = Timestamp.valueOf(orderedAt);
+        if (jdbcTemplate.update(RECORD_SQL, amount, orderedAtTimestamp, customerId) == 0
+                && !FirstRowInserts.insertIfAbsent(jdbcTemplate, INSERT_SQL, customerId, amount, orderedAtTimestamp))
+        {
+            jdbcTemplate.update(RECORD_SQL, amount, orderedAtTimestamp, customerId);
+        }
+    }
+
+    @Override
+    public void reverseOrder(Long customerId, Long orderId, BigDecimal amount)
+    {
+        // The last order time is read from order rows, so pending changes must be
+        // written first
+        entityManager.flush();
+        jdbcTemplate.update(REVERSE_SQL, amount, customerId, orderId, customerId);
+    }
+
+    @Override
+    public List<CustomerOrderStatsDrift> findDrift()
+    {
+        // The comparison reads order rows, so pending changes must be written first
+        entityManager.flush();
+        List<CustomerOrderStatsDrift> drift = new ArrayList<>(jdbcTemplate.query(DRIFTED_SQL, DRIFT_MAPPER));
+        drift.addAll(jdbcTemplate.query(STALE_SQL, DRIFT_MAPPER));
+        return drift;
+    }
+
+    @Override
+    public void recompute(Collection<Long> customerIds)
+    {
+        if (customerIds.isEmpty())
+        {
+            return;
+        }
+
+        entityManager.flush();
+        TreeSet<Long> sortedIds = new TreeSet<>(customerIds);
+
+        // Orders reference the customer row, so locking it waits for orders in
+        // flight and holds off new ones until the rows below are rewritten;
+        // otherwise an order committing between the DELETE and the INSERT ...
+        // SELECT could be counted twice or not at all
+        String placeholders = String.join(", ", Collections.nCopies(sortedIds.size(), "?"));
+        jdbcTemplate.queryForList(String.format(LOCK_CUSTOMERS_SQL, placeholders), Long.class, sortedIds.toArray());
+
+        List<Object[]> ids = sortedIds.stream().map(id -> new Object[]
+        {id}).collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids);
+        jdbcTemplate.batchUpdate(RECOMPUTE_SQL, ids);
+    }
+}
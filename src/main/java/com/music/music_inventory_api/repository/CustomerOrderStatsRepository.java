@@ -0,0 +1,41 @@
+package com.music.music_inventory_api.repository;
+
+import com.music.music_inventory_api.entity.CustomerOrderStats;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the per-customer order rollup. Leaderboards read the first
+ * rows of the count or spend index; writes go through
+ * {@link CustomerOrderStatsRecorder}.
+ */
+@Repository
+public interface CustomerOrderStatsRepository
+        extends JpaRepository<CustomerOrderStats, Long>, CustomerOrderStatsRecorder
+{
+    /**
+     * Find the customers with the most orders, with their customer loaded.
+     *
+     * @param pageable
+     *            pagination information
+     * @return the requested page of order totals, most orders first
+     */
+    @Query("SELECT s FROM CustomerOrderStats s JOIN FETCH s.customer " + "WHERE s.orderCount > 0 "
+            + "ORDER BY s.orderCount DESC, s.customerId DESC")
+    List<CustomerOrderStats> findTopByOrderCount(Pageable pageable);
+
+    /**
+     * Find the customers with the highest lifetime spend, with their customer
+     * loaded.
+     *
+     * @param pageable
+     *            pagination information
+     * @return the requested page of order totals, highest spend first
+     */
+    @Query("SELECT s FROM CustomerOrderStats s JOIN FETCH s.customer " + "WHERE s.lifetimeSpend > 0 "
+            + "ORDER BY s.lifetimeSpend DESC, s.customerId DESC")
+    List<CustomerOrderStats> findTopByLifetimeSpend(Pageable pageable);
+}
@@ -4,6 +4,8 @@ import com.music.music_inventory_api.entity.Customer;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,41 +21,92 @@ public interface CustomerRepository extends JpaRepository<Customer, Long>
     Optional<Customer> findByEmailIgnoreCase(String email);
 
     /**
-     * Custom query to search customers by name.
+     * First slice of a keyset-paginated listing. Returns a list, so no count
+     * query is run.
+     *
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the first customers
+     */
+    @Query("SELECT c FROM Customer c")
+    List<Customer> findSlice(Pageable pageable);
+
+    /**
+     * Next slice of a listing in ID order.
+     *
+     * @param id
+     *            ID of the last customer already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the customers after that ID
+     */
+    @Query("SELECT c FROM Customer c WHERE c.id > :id")
+    List<Customer> findSliceAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Next slice of a listing in email order, ties broken by ID. The leading
+     * {@code >=} lets the database start a range scan at the cursor.
+     *
+     * @param email
+     *            email of the last customer already returned
+     * @param id
+     *            ID of the last customer already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the customers after that position
+     */
+    @Query("SELECT c FROM Customer c WHERE c.email >= :email AND (c.email > :email OR c.id > :id)")
+    List<Customer> findSliceAfterEmail(@Param("email") String email, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Custom query to search customers by name. On PostgreSQL each name filter is
+     * served by its trigram index on {@code lower(...)}.
      *
      * @param keyword
      *            the search keyword
-     * @return list of customers matching the search criteria
+     * @param pageable
+     *            pagination information
+     * @return page of customers matching the search criteria
      */
     @Query("SELECT c FROM Customer c " + "WHERE LOWER(c.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) "
             + "OR LOWER(c.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) "
             + "ORDER BY c.lastName ASC, c.firstName ASC")
-    List<Customer> searchByName(@Param("keyword") String keyword);
+    Page<Customer> searchByName(@Param("keyword") String keyword, Pageable pageable);
 
     /**
      * Custom query to find customers who placed orders after a specific date.
      *
      * @param date
      *            the date to filter by
-     * @return list of customers with orders after the specified date
+     * @param pageable
+     *            pagination information
+     * @return page of customers with orders after the specified date
      */
-    @Query("SELECT DISTINCT o.customer FROM Order o " + "WHERE o.createdAt > :date "
-            + "ORDER BY o.customer.lastName ASC")
-    List<Customer> findCustomersWithOrdersAfter(@Param("date") LocalDateTime date);
+    @Query(value = "SELECT DISTINCT o.customer FROM Order o " + "WHERE o.createdAt > :date "
+            + "ORDER BY o.customer.lastName ASC",
+            countQuery = "SELECT COUNT(DISTINCT o.customer) FROM Order o " + "WHERE o.createdAt > :date")
+    Page<Customer> findCustomersWithOrdersAfter(@Param("date") LocalDateTime date, Pageable pageable);
 
     /**
      * Custom query to find customers with no orders.
      *
-     * @return list of customers who have never placed an order
+     * @param pageable
+     *            pagination information
+     * @return page of customers who have never placed an order
      */
     @Query("SELECT c FROM Customer c " + "WHERE NOT EXISTS (SELECT 1 FROM Order o WHERE o.customer.id = c.id)")
-    List<Customer> findCustomersWithNoOrders();
+    Page<Customer> findCustomersWithNoOrders(Pageable pageable);
 
     /**
-     * Custom query to find top customers by order count.
+     * Custom query to find top customers by order count. Reads the maintained
+     * order totals in index order rather than grouping every order.
      *
-     * @return list of customers ordered by number of orders descending
+     * @param pageable
+     *            pagination information
+     * @return the requested page of customers ordered by number of orders
+     *         descending
      */
-    @Query("SELECT o.customer FROM Order o " + "GROUP BY o.customer " + "ORDER BY COUNT(o) DESC")
-    List<Customer> findTopCustomersByOrderCount();
+    @Query("SELECT s.customer FROM CustomerOrderStats s " + "WHERE s.orderCount > 0 "
+            + "ORDER BY s.orderCount DESC, s.customerId DESC")
+    List<Customer> findTopCustomersByOrderCount(Pageable pageable);
 }
@@ -0,0 +1,65 @@
+package com.music.music_inventory_api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Creates the first row of a counter table, for the recorders that keep
+ * running totals with {@code UPDATE ... SET x = x + ?}.
+ *
+ * <p>
+ * Each recorder updates first and only inserts when no row was updated, so
+ * two transactions can both find no row and both insert. The insert runs
+ * inside a JDBC savepoint: the loser gets a unique violation (SQLState 23505)
+ * once the winner commits, rolls back just its insert and reports that the row
+ * exists, and the recorder retries its update against the winner's row. The
+ * rest of the transaction is kept, which rolling back the whole order would
+ * not do, and no lock is taken on unrelated rows. {@code ON CONFLICT} would do
+ * the same in one statement but is PostgreSQL-only, and the tests run on H2.
+ */
+final class FirstRowInserts
+{
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private FirstRowInserts()
+    {
+    }
+
+    /**
+     * Runs an insert inside a savepoint of the current transaction.
+     *
+     * @param jdbcTemplate
+     *            the template bound to the transaction
+     * @param insertSql
+     *            the insert
+     * @param args
+     *            the insert arguments
+     * @return false if a row with the same key already exists
+     */
+    static boolean insertIfAbsent(JdbcTemplate jdbcTemplate, String insertSql, Object... args)
+    {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+        {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(insertSql))
+            {
+                new ArgumentPreparedStatementSetter(args).setValues(insert);
+                insert.executeUpdate();
+            } catch (SQLException e)
+            {
+                connection.rollback(savepoint);
+                if (UNIQUE_VIOLATION.equals(e.getSQLState()))
+                {
+                    return false;
+                }
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.music.music_inventory_api.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Maintains the {@code genre_album_stats} counters. Every genre has a row from
+ * the moment it is created, so updates never have to insert one. Each call
+ * sends at most one JDBC batch of updates and touches rows in ascending genre
+ * ID order, so concurrent writers always lock genres in the same order.
+ */
+public interface GenreAlbumStatsRecorder
+{
+    /**
+     * Creates the zeroed counters of a new genre.
+     *
+     * @param genreId
+     *            ID of the genre
+     */
+    void createStats(Long genreId);
+
+    /**
+     * Moves an album between genres and in or out of stock. Creating an album is
+     * a change from no genres, deleting it a change to no genres. The caller
+     * must hold the album's row lock, so that the stock it saw cannot change
+     * underneath it.
+     *
+     * @param oldGenreIds
+     *            genres the album was in
+     * @param wasInStock
+     *            whether the album was in stock
+     * @param newGenreIds
+     *            genres the album is in now
+     * @param inStock
+     *            whether the album is in stock now
+     */
+    void recordAlbumChange(Collection<Long> oldGenreIds, boolean wasInStock, Collection<Long> newGenreIds,
+            boolean inStock);
+
+    /**
+     * Counts albums that an order has just sold out as out of stock in their
+     * genres. Call after {@link AlbumStockRepository#decrementStock}, which holds
+     * the albums' row locks.
+     *
+     * @param quantitiesByAlbumId
+     *            number of units taken per album ID
+     */
+    void recordStockTaken(Map<Long, Integer> quantitiesByAlbumId);
+
+    /**
+     * Counts albums that were sold out and have just had stock returned as in
+     * stock again. Call after {@link AlbumStockRepository#incrementStock}.
+     *
+     * @param quantitiesByAlbumId
+     *            number of units returned per album ID
+     */
+    void recordStockReturned(Map<Long, Integer> quantitiesByAlbumId);
+
+    /**
+     * Counts new albums in their genres, reading genres and stock from the
+     * database; the bulk form of {@link #recordAlbumChange} for albums that did
+     * not exist before.
+     *
+     * @param albumIds
+     *            IDs of the new albums
+     */
+    void recordAlbumsAdded(Collection<Long> albumIds);
+
+    /**
+     * Recomputes every row from {@code album_genres}, e.g. to backfill the table
+     * or repair drift.
+     *
+     * @return number of genres
+     */
+    int rebuild();
+}
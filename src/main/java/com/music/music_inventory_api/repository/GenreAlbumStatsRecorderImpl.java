@@ -0,0 +1,139 @@
+package com.music.music_inventory_api.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/** JDBC implementation of {@link GenreAlbumStatsRecorder}. */
+@RequiredArgsConstructor
+public class GenreAlbumStatsRecorderImpl implements GenreAlbumStatsRecorder
+{
+    private static final String CREATE_SQL = "INSERT INTO genre_album_stats "
+            + "(genre_id, album_count, in_stock_count, updated_at) VALUES (?, 0, 0, CURRENT_TIMESTAMP)";
+
+    private static final String ADJUST_SQL = "UPDATE genre_album_stats SET album_count = album_count + ?, "
+            + "in_stock_count = in_stock_count + ?, updated_at = CURRENT_TIMESTAMP WHERE genre_id = ?";
+
+    private static final String ALBUM_STOCK_SQL = "SELECT a.id, a.stock_quantity, ag.genre_id FROM albums a "
+            + "JOIN album_genres ag ON ag.album_id = a.id WHERE a.id IN (%s)";
+
+    private static final String REBUILD_SQL = "INSERT INTO genre_album_stats "
+            + "(genre_id, album_count, in_stock_count, updated_at) "
+            + "SELECT g.id, COUNT(a.id), COUNT(CASE WHEN a.stock_quantity > 0 THEN 1 END), CURRENT_TIMESTAMP "
+            + "FROM genres g LEFT JOIN album_genres ag ON ag.genre_id = g.id "
+            + "LEFT JOIN albums a ON a.id = ag.album_id GROUP BY g.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void createStats(Long genreId)
+    {
+        // The new genre row has to be written first
+        entityManager.flush();
+        jdbcTemplate.update(CREATE_SQL, genreId);
+    }
+
+    @Override
+    public void recordAlbumChange(Collection<Long> oldGenreIds, boolean wasInStock, Collection<Long> newGenreIds,
+            boolean inStock)
+    {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (Long genreId : oldGenreIds)
+        {
+            long[] delta = deltas.computeIfAbsent(genreId, id -> new long[2]);
+            delta[0]--;
+            delta[1] -= wasInStock ? 1 : 0;
+        }
+        for (Long genreId : newGenreIds)
+        {
+            long[] delta = deltas.computeIfAbsent(genreId, id -> new long[2]);
+            delta[0]++;
+            delta[1] += inStock ? 1 : 0;
+        }
+        adjust(deltas);
+    }
+
+    @Override
+    public void recordStockTaken(Map<Long, Integer> quantitiesByAlbumId)
+    {
+        // Every album had stock before, so an album at zero has just sold out
+        recordStockCrossings(quantitiesByAlbumId, albumId -> 0, -1);
+    }
+
+    @Override
+    public void recordStockReturned(Map<Long, Integer> quantitiesByAlbumId)
+    {
+        // An album holding exactly the returned units was sold out before
+        recordStockCrossings(quantitiesByAlbumId, quantitiesByAlbumId::get, 1);
+    }
+
+    @Override
+    public void recordAlbumsAdded(Collection<Long> albumIds)
+    {
+        if (albumIds.isEmpty())
+        {
+            return;
+        }
+
+        // The new album rows have to be written first
+        entityManager.flush();
+        String placeholders = String.join(", ", Collections.nCopies(albumIds.size(), "?"));
+        Map<Long, long[]> deltas = new TreeMap<>();
+        jdbcTemplate.query(String.format(ALBUM_STOCK_SQL, placeholders), (RowCallbackHandler) rs ->
+        {
+            long[] delta = deltas.computeIfAbsent(rs.getLong(3), id -> new long[2]);
+            delta[0]++;
+            delta[1] += rs.getInt(2) > 0 ? 1 : 0;
+        }, albumIds.toArray());
+        adjust(deltas);
+    }
+
+    @Override
+    public int rebuild()
+    {
+        // The rebuild reads album and genre rows, so pending changes must be
+        // written first
+        entityManager.flush();
+        jdbcTemplate.update("DELETE FROM genre_album_stats");
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    private void recordStockCrossings(Map<Long, Integer> quantitiesByAlbumId,
+            Function<Long, Integer> crossedAt, long inStockDelta)
+    {
+        if (quantitiesByAlbumId.isEmpty())
+        {
+            return;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(quantitiesByAlbumId.size(), "?"));
+        Map<Long, long[]> deltas = new TreeMap<>();
+        jdbcTemplate.query(String.format(ALBUM_STOCK_SQL, placeholders), (RowCallbackHandler) rs ->
+        {
+            if (rs.getInt(2) == crossedAt.apply(rs.getLong(1)))
+            {
+                deltas.computeIfAbsent(rs.getLong(3), id -> new long[2])[1] += inStockDelta;
+            }
+        }, quantitiesByAlbumId.keySet().toArray());
+        adjust(deltas);
+    }
+
+    private void adjust(Map<Long, long[]> deltasByGenreId)
+    {
+        deltasByGenreId.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0);
+        if (deltasByGenreId.isEmpty())
+        {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADJUST_SQL, deltasByGenreId.entrySet().stream().map(entry -> new Object[]
+        {entry.getValue()[0], entry.getValue()[1], entry.getKey()}).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.music.music_inventory_api.repository;
+
+import com.music.music_inventory_api.entity.GenreAlbumStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the per-genre album counters. Genre rankings read them
+ * through {@link GenreRepository}; writes go through
+ * {@link GenreAlbumStatsRecorder}.
+ */
+@Repository
+public interface GenreAlbumStatsRepository extends JpaRepository<GenreAlbumStats, Long>, GenreAlbumStatsRecorder
+{
+}
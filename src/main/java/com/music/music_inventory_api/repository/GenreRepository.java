@@ -1,8 +1,11 @@
 package com.music.music_inventory_api.repository;
 
 import com.music.music_inventory_api.entity.Genre;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,33 +20,90 @@ public interface GenreRepository extends JpaRepository<Genre, Long>
 {
     Optional<Genre> findByNameIgnoreCase(String name);
 
+    /**
+     * Bulk form of {@link #findByNameIgnoreCase}, resolving the names of an
+     * import batch with one query.
+     *
+     * @param names
+     *            lower-case genre names
+     * @return the genres with any of these names
+     */
+    @Query("SELECT g FROM Genre g WHERE LOWER(g.name) IN :names ORDER BY g.id")
+    List<Genre> findByLowerNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * First slice of a keyset-paginated listing. Returns a list, so no count
+     * query is run.
+     *
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the first genres
+     */
+    @Query("SELECT g FROM Genre g")
+    List<Genre> findSlice(Pageable pageable);
+
+    /**
+     * Next slice of a listing in ID order.
+     *
+     * @param id
+     *            ID of the last genre already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the genres after that ID
+     */
+    @Query("SELECT g FROM Genre g WHERE g.id > :id")
+    List<Genre> findSliceAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Next slice of a listing in name order, ties broken by ID. The leading
+     * {@code >=} lets the database start a range scan at the cursor.
+     *
+     * @param name
+     *            name of the last genre already returned
+     * @param id
+     *            ID of the last genre already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the genres after that position
+     */
+    @Query("SELECT g FROM Genre g WHERE g.name >= :name AND (g.name > :name OR g.id > :id)")
+    List<Genre> findSliceAfterName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
     /**
      * Custom query to search genres by name containing a keyword.
      *
      * @param keyword
      *            the search keyword
-     * @return list of genres matching the search criteria
+     * @param pageable
+     *            pagination information
+     * @return page of genres matching the search criteria
      */
     @Query("SELECT g FROM Genre g " + "WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :keyword, '%')) "
             + "OR LOWER(g.description) LIKE LOWER(CONCAT('%', :keyword, '%')) " + "ORDER BY g.name ASC")
-    List<Genre> searchByKeyword(@Param("keyword") String keyword);
+    Page<Genre> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
     /**
-     * Custom query to find genres with their album count.
+     * Find genres ordered by their number of albums, read in order from the
+     * album count index of {@code genre_album_stats}. Genres without albums
+     * come last.
      *
-     * @return list of genres ordered by album count descending
+     * @param pageable
+     *            pagination information
+     * @return the requested page of genres ordered by album count descending
      */
-    @Query("SELECT g FROM Genre g " + "LEFT JOIN Album a ON EXISTS (" + "  SELECT 1 FROM Album al2 "
-            + "  JOIN al2.genres g2 " + "  WHERE g2.id = g.id AND al2.id = a.id" + ") " + "GROUP BY g.id "
-            + "ORDER BY COUNT(a) DESC")
-    List<Genre> findGenresOrderedByAlbumCount();
+    @Query("SELECT g FROM GenreAlbumStats s JOIN s.genre g ORDER BY s.albumCount DESC, s.genreId DESC")
+    List<Genre> findGenresOrderedByAlbumCount(Pageable pageable);
 
     /**
-     * Custom query to find genres that have albums in stock.
+     * Find genres that have albums in stock, those with the most albums in stock
+     * first, from the in-stock index of {@code genre_album_stats}.
      *
-     * @return list of genres with at least one album in stock
+     * @param pageable
+     *            pagination information
+     * @return page of genres with at least one album in stock
      */
-    @Query("SELECT DISTINCT g FROM Genre g " + "JOIN Album a ON EXISTS (" + "  SELECT 1 FROM Album al2 "
-            + "  JOIN al2.genres g2 " + "  WHERE g2.id = g.id AND al2.id = a.id" + ") " + "WHERE a.stockQuantity > 0")
-    List<Genre> findGenresWithAvailableStock();
+    @Query(value = "SELECT g FROM GenreAlbumStats s JOIN s.genre g WHERE s.inStockCount > 0 "
+            + "ORDER BY s.inStockCount DESC, s.genreId DESC",
+            countQuery = "SELECT COUNT(s) FROM GenreAlbumStats s WHERE s.inStockCount > 0")
+    Page<Genre> findGenresWithAvailableStock(Pageable pageable);
 }
@@ -1,12 +1,19 @@
 package com.music.music_inventory_api.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import com.music.music_inventory_api.entity.Order;
 import com.music.music_inventory_api.enums.OrderStatus;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,22 +24,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long>
 {
-    List<Order> findByCustomerId(Long customerId);
+    /** Rows fetched per round trip by the export streams. */
+    String EXPORT_FETCH_SIZE = "500";
 
-    List<Order> findByStatus(OrderStatus status);
+    Page<Order> findByCustomerId(Long customerId, Pageable pageable);
 
-    /**
-     * Custom query to get customer order statistics. One of the required @Query
-     * examples. Returns total order count, total amount spent, and average order
-     * value.
-     *
-     * @param customerId
-     *            the customer ID
-     * @return array containing [orderCount, totalAmount, avgOrderValue]
-     */
-    @Query("SELECT COUNT(o), " + "COALESCE(SUM(o.totalAmount), 0), " + "COALESCE(AVG(o.totalAmount), 0) "
-            + "FROM Order o " + "WHERE o.customer.id = :customerId")
-    Object[] getCustomerOrderStatistics(@Param("customerId") Long customerId);
+    Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
     /**
      * Custom query to find orders by date range.
@@ -41,11 +38,14 @@ public interface OrderRepository extends JpaRepository<Order, Long>
      *            start date
      * @param endDate
      *            end date
-     * @return list of orders within the date range
+     * @param pageable
+     *            pagination information
+     * @return page of orders within the date range
      */
     @Query("SELECT o FROM Order o " + "WHERE o.createdAt BETWEEN :startDate AND :endDate "
             + "ORDER BY o.createdAt DESC")
-    List<Order> findByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    Page<Order> findByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
 
     /**
      * Custom query to find orders by customer and status.
@@ -54,24 +54,31 @@ public interface OrderRepository extends JpaRepository<Order, Long>
      *            the customer ID
      * @param status
      *            the order status
-     * @return list of orders matching the criteria
+     * @param pageable
+     *            pagination information
+     * @return page of orders matching the criteria
      */
     @Query("SELECT o FROM Order o " + "WHERE o.customer.id = :customerId " + "AND o.status = :status "
             + "ORDER BY o.createdAt DESC")
-    List<Order> findByCustomerAndStatus(@Param("customerId") Long customerId, @Param("status") OrderStatus status);
+    Page<Order> findByCustomerAndStatus(@Param("customerId") Long customerId, @Param("status") OrderStatus status,
+            Pageable pageable);
 
     /**
      * Custom query to find orders with total amount greater than a threshold.
      *
      * @param threshold
      *            minimum order amount
-     * @return list of orders above the threshold
+     * @param pageable
+     *            pagination information
+     * @return page of orders above the threshold
      */
     @Query("SELECT o FROM Order o " + "WHERE o.totalAmount > :threshold " + "ORDER BY o.totalAmount DESC")
-    List<Order> findOrdersAboveAmount(@Param("threshold") BigDecimal threshold);
+    Page<Order> findOrdersAboveAmount(@Param("threshold") BigDecimal threshold, Pageable pageable);
 
     /**
-     * Custom query to calculate total revenue in a date range.
+     * Custom query to calculate total revenue in a date range by scanning the
+     * orders in it. {@link RevenueBucketRecorder#sumRevenue} returns the same
+     * total from the revenue buckets and should be used for long ranges.
      *
      * @param startDate
      *            start date
@@ -83,4 +90,43 @@ public interface OrderRepository extends JpaRepository<Order, Long>
             + "AND o.status != 'CANCELLED'")
     BigDecimal calculateTotalRevenue(@Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Stream the orders created in a date range, oldest first, with their items.
+     * Same range as {@link #findByDateRange}. Rows are read through a
+     * forward-only cursor {@link #EXPORT_FETCH_SIZE} at a time and the orders
+     * are read-only, so the caller must consume the stream inside a transaction,
+     * close it, and detach each order once it is done with it.
+     *
+     * @param startDate
+     *            start date
+     * @param endDate
+     *            end date
+     * @return stream of orders within the date range
+     */
+    @QueryHints(
+    {@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems " + "WHERE o.createdAt BETWEEN :startDate AND :endDate "
+            + "ORDER BY o.createdAt ASC, o.id ASC")
+    Stream<Order> streamByDateRange(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Stream the orders with one status created in a date range, oldest first,
+     * with their items, like {@link #streamByDateRange}.
+     *
+     * @param status
+     *            the order status
+     * @param startDate
+     *            start date
+     * @param endDate
+     *            end date
+     * @return stream of orders with the status within the date range
+     */
+    @QueryHints(
+    {@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems " + "WHERE o.status = :status "
+            + "AND o.createdAt BETWEEN :startDate AND :endDate " + "ORDER BY o.createdAt ASC, o.id ASC")
+    Stream<Order> streamByStatusAndDateRange(@Param("status") OrderStatus status,
+            @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
@@ -0,0 +1,49 @@
+package com.music.music_inventory_api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Maintains and reads the hourly and daily {@code revenue_buckets}. */
+public interface RevenueBucketRecorder
+{
+    /**
+     * Adds a placed order to the hour and day buckets it was created in.
+     *
+     * @param createdAt
+     *            when the order was created
+     * @param amount
+     *            the order total
+     */
+    void recordRevenue(LocalDateTime createdAt, BigDecimal amount);
+
+    /**
+     * Removes a cancelled order from the hour and day buckets it was created
+     * in.
+     *
+     * @param createdAt
+     *            when the order was created
+     * @param amount
+     *            the order total
+     */
+    void reverseRevenue(LocalDateTime createdAt, BigDecimal amount);
+
+    /**
+     * Revenue of the orders created between the two instants, inclusive,
+     * excluding cancelled orders. Whole days and hours are read from the
+     * buckets; only the partial hours at either end are summed from orders.
+     *
+     * @param start
+     *            start of the range
+     * @param end
+     *            end of the range
+     * @return total revenue
+     */
+    BigDecimal sumRevenue(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Replaces every bucket with totals computed from the orders table.
+     *
+     * @return the number of buckets written
+     */
+    int rebuild();
+}
@@ -0,0 +1,148 @@
+package com.music.music_inventory_api.repository;
+
+import com.music.music_inventory_api.enums.RevenueGranularity;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link RevenueBucketRecorder}.
+ *
+ * <p>
+ * Every order placed in the same hour adds to the same hour and day bucket,
+ * and each update holds the row lock until its order commits, so concurrent
+ * orders would queue behind each other on those two rows. Each bucket is
+ * therefore split into {@link #SHARDS} rows keyed by {@code shard}, picked
+ * from the recording thread, and every read sums over the shards. A request
+ * thread runs one transaction at a time, so transactions on different
+ * threads mostly write different rows.
+ */
+@RequiredArgsConstructor
+public class RevenueBucketRecorderImpl implements RevenueBucketRecorder
+{
+    /** Rows per bucket. */
+    static final int SHARDS = 8;
+
+    private static final String RECORD_SQL = "UPDATE revenue_buckets SET revenue = revenue + ?, "
+            + "order_count = order_count + ?, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE granularity = ? AND bucket_start = ? AND shard = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO revenue_buckets "
+            + "(granularity, bucket_start, shard, revenue, order_count, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String BUCKETS_SQL = "SELECT COALESCE(SUM(revenue), 0) FROM ("
+            + "SELECT revenue FROM revenue_buckets "
+            + "WHERE granularity = 'DAY' AND bucket_start >= ? AND bucket_start < ? "
+            + "UNION ALL SELECT revenue FROM revenue_buckets "
+            + "WHERE granularity = 'HOUR' AND bucket_start >= ? AND bucket_start < ? "
+            + "UNION ALL SELECT revenue FROM revenue_buckets "
+            + "WHERE granularity = 'HOUR' AND bucket_start >= ? AND bucket_start < ?) b";
+
+    private static final String EDGES_SQL = "SELECT COALESCE(SUM(total_amount), 0) FROM ("
+            + "SELECT total_amount FROM orders WHERE created_at >= ? AND created_at < ? AND status <> 'CANCELLED' "
+            + "UNION ALL SELECT total_amount FROM orders "
+            + "WHERE created_at >= ? AND created_at <= ? AND status <> 'CANCELLED') e";
+
+    private static final String REBUILD_SQL = "INSERT INTO revenue_buckets "
+            + "(granularity, bucket_start, shard, revenue, order_count, updated_at) "
+            + "SELECT ?, DATE_TRUNC('%1$s', created_at), 0, SUM(total_amount), COUNT(*), CURRENT_TIMESTAMP "
+            + "FROM orders WHERE status <> 'CANCELLED' GROUP BY DATE_TRUNC('%1$s', created_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void recordRevenue(LocalDateTime createdAt, BigDecimal amount)
+    {
+        add(createdAt, amount, 1);
+    }
+
+    @Override
+    public void reverseRevenue(LocalDateTime createdAt, BigDecimal amount)
+    {
+        // The order may have been added through another shard; only the sum
+        // over the shards has to come out right
+        add(createdAt, amount.negate(), -1);
+    }
+
+    @Override
+    public BigDecimal sumRevenue(LocalDateTime start, LocalDateTime end)
+    {
+        // The edges read order rows, so pending changes must be written first
+        entityManager.flush();
+
+        // Whole hours are [firstHour, lastHour) and whole days [firstDay, lastDay)
+        // within them; an empty range collapses onto lastHour
+        LocalDateTime firstHour = ceiling(start, ChronoUnit.HOURS);
+        LocalDateTime lastHour = end.truncatedTo(ChronoUnit.HOURS);
+        if (!firstHour.isBefore(lastHour))
+        {
+            firstHour = end;
+            lastHour = end;
+        }
+        LocalDateTime firstDay = ceiling(firstHour, ChronoUnit.DAYS);
+        LocalDateTime lastDay = lastHour.truncatedTo(ChronoUnit.DAYS);
+        if (!firstDay.isBefore(lastDay))
+        {
+            firstDay = lastHour;
+            lastDay = lastHour;
+        }
+
+        BigDecimal buckets = jdbcTemplate.queryForObject(BUCKETS_SQL, BigDecimal.class, Timestamp.valueOf(firstDay),
+                Timestamp.valueOf(lastDay), Timestamp.valueOf(firstHour), Timestamp.valueOf(firstDay),
+                Timestamp.valueOf(lastDay), Timestamp.valueOf(lastHour));
+        BigDecimal edges = jdbcTemplate.queryForObject(EDGES_SQL, BigDecimal.class, Timestamp.valueOf(start),
+                Timestamp.valueOf(firstHour), Timestamp.valueOf(lastHour), Timestamp.valueOf(end));
+        return buckets.add(edges);
+    }
+
+    @Override
+    public int rebuild()
+    {
+        // The rebuild reads order rows, so pending changes must be written first
+        entityManager.flush();
+        jdbcTemplate.update("DELETE FROM revenue_buckets");
+        int buckets = 0;
+        for (RevenueGranularity granularity : RevenueGranularity.values())
+        {
+            buckets += jdbcTemplate.update(String.format(REBUILD_SQL, granularity.name()), granularity.name());
+        }
+        return buckets;
+    }
+
+    /**
+     * The shard the current thread writes to.
+     *
+     * @return a shard between 0 and {@link #SHARDS} - 1
+     */
+    static int currentShard()
+    {
+        return (int) (Thread.currentThread().getId() % SHARDS);
+    }
+
+    private void add(LocalDateTime createdAt, BigDecimal amount, int orders)
+    {
+        int shard = currentShard();
+        for (RevenueGranularity granularity : RevenueGranularity.values())
+        {
+            Timestamp bucketStart = Timestamp.valueOf(createdAt.truncatedTo(granularity.getUnit()));
+            if (jdbcTemplate.update(RECORD_SQL, amount, orders, granularity.name(), bucketStart, shard) == 0
+                    && !FirstRowInserts.insertIfAbsent(jdbcTemplate, INSERT_SQL, granularity.name(), bucketStart,
+                            shard, amount, orders))
+            {
+                jdbcTemplate.update(RECORD_SQL, amount, orders, granularity.name(), bucketStart, shard);
+            }
+        }
+    }
+
+    private static LocalDateTime ceiling(LocalDateTime time, ChronoUnit unit)
+    {
+        LocalDateTime floor = time.truncatedTo(unit);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+}
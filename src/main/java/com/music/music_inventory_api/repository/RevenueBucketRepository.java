@@ -0,0 +1,15 @@
+package com.music.music_inventory_api.repository;
+
+import com.music.music_inventory_api.entity.RevenueBucket;
+import com.music.music_inventory_api.entity.RevenueBucketId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the hourly and daily revenue rollup. Writes and range sums go
+ * through {@link RevenueBucketRecorder}.
+ */
+@Repository
+public interface RevenueBucketRepository extends JpaRepository<RevenueBucket, RevenueBucketId>, RevenueBucketRecorder
+{
+}
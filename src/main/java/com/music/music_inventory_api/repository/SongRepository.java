@@ -1,7 +1,11 @@
 package com.music.music_inventory_api.repository;
 
+import com.music.music_inventory_api.dto.response.SongResponse;
 import com.music.music_inventory_api.entity.Song;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,8 +18,73 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface SongRepository extends JpaRepository<Song, Long>
 {
+    /**
+     * Selects song list responses straight from the columns, so list queries
+     * neither hydrate entities nor keep them in the persistence context.
+     */
+    String RESPONSE_SELECT = "SELECT new com.music.music_inventory_api.dto.response.SongResponse(s.id, s.title, "
+            + "s.album.id, s.trackNumber, s.durationSeconds, s.createdAt, s.updatedAt) FROM Song s";
+
     List<Song> findByAlbumId(Long albumId);
 
+    /**
+     * Page of song list responses.
+     *
+     * @param pageable
+     *            pagination information
+     * @return page of songs
+     */
+    @Query(value = RESPONSE_SELECT, countQuery = "SELECT COUNT(s) FROM Song s")
+    Page<SongResponse> findResponses(Pageable pageable);
+
+    /**
+     * First slice of a keyset-paginated listing, as responses. Returns a list,
+     * so no count query is run.
+     *
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the first songs
+     */
+    @Query(RESPONSE_SELECT)
+    List<SongResponse> findSlice(Pageable pageable);
+
+    /**
+     * Next slice of a listing in ID order.
+     *
+     * @param id
+     *            ID of the last song already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the songs after that ID
+     */
+    @Query(RESPONSE_SELECT + " WHERE s.id > :id")
+    List<SongResponse> findSliceAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Next slice of a listing in title order, ties broken by ID. The leading
+     * {@code >=} lets the database start a range scan at the cursor.
+     *
+     * @param title
+     *            title of the last song already returned
+     * @param id
+     *            ID of the last song already returned
+     * @param pageable
+     *            the slice size and keyset order
+     * @return the songs after that position
+     */
+    @Query(RESPONSE_SELECT + " WHERE s.title >= :title AND (s.title > :title OR s.id > :id)")
+    List<SongResponse> findSliceAfterTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Custom query to find the album ID of a song without loading the song.
+     *
+     * @param songId
+     *            the song ID
+     * @return the album ID, or empty if the song does not exist
+     */
+    @Query("SELECT s.album.id FROM Song s WHERE s.id = :songId")
+    Optional<Long> findAlbumIdById(@Param("songId") Long songId);
+
     /**
      * Custom query to find songs by duration range.
      *
@@ -23,41 +92,50 @@ public interface SongRepository extends JpaRepository<Song, Long>
      *            minimum duration in seconds
      * @param maxDuration
      *            maximum duration in seconds
-     * @return list of songs within the duration range
+     * @param pageable
+     *            pagination information
+     * @return page of songs within the duration range
      */
     @Query("SELECT s FROM Song s " + "WHERE s.durationSeconds BETWEEN :minDuration AND :maxDuration "
             + "ORDER BY s.durationSeconds ASC")
-    List<Song> findByDurationRange(@Param("minDuration") int minDuration, @Param("maxDuration") int maxDuration);
+    Page<Song> findByDurationRange(@Param("minDuration") int minDuration, @Param("maxDuration") int maxDuration,
+            Pageable pageable);
 
     /**
-     * Custom query to search songs by title (case-insensitive).
+     * Custom query to search songs by title (case-insensitive). On PostgreSQL the
+     * filter is served by the trigram index on {@code lower(title)}.
      *
      * @param keyword
      *            the search keyword
-     * @return list of songs matching the search criteria
+     * @param pageable
+     *            pagination information
+     * @return page of songs matching the search criteria
      */
     @Query("SELECT s FROM Song s " + "WHERE LOWER(s.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
             + "ORDER BY s.title ASC")
-    List<Song> searchByTitle(@Param("keyword") String keyword);
+    Page<Song> searchByTitle(@Param("keyword") String keyword, Pageable pageable);
 
     /**
      * Custom query to find songs by artist name.
      *
      * @param artistName
      *            the artist name
-     * @return list of songs by the specified artist
+     * @param pageable
+     *            pagination information
+     * @return page of songs by the specified artist
      */
     @Query("SELECT s FROM Song s " + "JOIN s.album a " + "JOIN a.artist ar "
             + "WHERE LOWER(ar.name) = LOWER(:artistName) " + "ORDER BY s.trackNumber ASC")
-    List<Song> findByArtistName(@Param("artistName") String artistName);
+    Page<Song> findByArtistName(@Param("artistName") String artistName, Pageable pageable);
 
     /**
-     * Custom query to find songs ordered by track number.
+     * Custom query to find songs ordered by track number. Ties are broken by
+     * ID, so the order is stable.
      *
      * @param albumId
      *            the album ID
      * @return list of songs ordered by track number
      */
-    @Query("SELECT s FROM Song s " + "WHERE s.album.id = :albumId " + "ORDER BY s.trackNumber ASC")
+    @Query("SELECT s FROM Song s " + "WHERE s.album.id = :albumId " + "ORDER BY s.trackNumber ASC, s.id ASC")
     List<Song> findByAlbumOrderedByTrackNumber(@Param("albumId") Long albumId);
 }
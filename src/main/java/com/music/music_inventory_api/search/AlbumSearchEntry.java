@@ -0,0 +1,13 @@
+package com.music.music_inventory_api.search;
+
+/**
+ * Projection of the album fields that are indexed for keyword search.
+ */
+public interface AlbumSearchEntry
+{
+    Long getId();
+
+    String getTitle();
+
+    String getArtistName();
+}
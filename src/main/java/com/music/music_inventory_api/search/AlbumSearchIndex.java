@@ -0,0 +1,123 @@
+package com.music.music_inventory_api.search;
+
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory keyword index over album titles and artist names, used by album
+ * search instead of {@code LIKE '%keyword%'} table scans. Built from the
+ * database at startup and kept current by the album and artist services,
+ * after their transactions commit; changes committed during a rebuild are
+ * replayed on the rebuilt index (see {@link RebuildableIndex}). Stays empty unless
+ * {@code catalog.search.mode} is {@link AlbumSearchMode#MEMORY}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlbumSearchIndex
+{
+    private static final int ARTIST_NAME = 1;
+
+    private final AlbumRepository albumRepository;
+
+    @Value("${catalog.search.mode:memory}")
+    private AlbumSearchMode searchMode = AlbumSearchMode.MEMORY;
+
+    private final RebuildableIndex<NGramIndex> index = new RebuildableIndex<>(new NGramIndex(2));
+
+    /**
+     * Rebuilds the index from all albums in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild()
+    {
+        if (searchMode != AlbumSearchMode.MEMORY)
+        {
+            log.info("Album search index disabled, search mode is {}", searchMode);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+
+        NGramIndex rebuilt = index.rebuild(() ->
+        {
+            NGramIndex loaded = new NGramIndex(2);
+            for (AlbumSearchEntry entry : albumRepository.findAllSearchEntries())
+            {
+                loaded.put(entry.getId(), entry.getTitle(), entry.getArtistName());
+            }
+            return loaded;
+        });
+
+        log.info("Indexed {} albums for search in {} ms", rebuilt.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Finds albums whose title or artist name contains the search term.
+     *
+     * @param searchTerm
+     *            the search term
+     * @return IDs of all matching albums, best match first
+     */
+    public List<Long> search(String searchTerm)
+    {
+        return index.get().search(searchTerm);
+    }
+
+    /**
+     * Adds or re-indexes an album. The artist must be set.
+     *
+     * @param album
+     *            the saved album
+     */
+    public void index(Album album)
+    {
+        Long id = album.getId();
+        String title = album.getTitle();
+        String artistName = album.getArtist().getName();
+        afterCommit(target -> target.put(id, title, artistName));
+    }
+
+    /**
+     * Re-indexes the albums of a renamed artist.
+     *
+     * @param albumIds
+     *            IDs of the artist's albums
+     * @param artistName
+     *            the new artist name
+     */
+    public void renameArtist(Collection<Long> albumIds, String artistName)
+    {
+        afterCommit(target -> target.putField(albumIds, ARTIST_NAME, artistName));
+    }
+
+    /**
+     * Removes an album from the index.
+     *
+     * @param albumId
+     *            the album ID
+     */
+    public void remove(Long albumId)
+    {
+        afterCommit(target -> target.remove(albumId));
+    }
+
+    private void afterCommit(Consumer<NGramIndex> change)
+    {
+        if (searchMode == AlbumSearchMode.MEMORY)
+        {
+            TransactionCallbacks.afterCommit(() -> index.apply(change));
+        }
+    }
+}
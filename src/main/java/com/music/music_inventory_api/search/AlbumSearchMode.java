@@ -0,0 +1,20 @@
+package com.music.music_inventory_api.search;
+
+/**
+ * How album keyword search finds its matches, set with
+ * {@code catalog.search.mode}.
+ */
+public enum AlbumSearchMode
+{
+    /** Ranked lookup in the in-memory {@link AlbumSearchIndex}. */
+    MEMORY,
+
+    /** Portable JPQL {@code LIKE} query; scans the albums table. */
+    LIKE,
+
+    /**
+     * PostgreSQL query shaped for the {@code pg_trgm} GIN indexes from
+     * {@code docs/migrations/003_trigram_search_indexes.sql}.
+     */
+    TRIGRAM
+}
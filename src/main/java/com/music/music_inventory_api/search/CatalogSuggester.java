@@ -0,0 +1,107 @@
+package com.music.music_inventory_api.search;
+
+import com.music.music_inventory_api.enums.SuggestionType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typeahead suggestions over album titles, artist names, song titles and genre
+ * names, served from an in-memory {@link PrefixTrie}. Built at startup with
+ * plain JDBC and kept current by the catalog services after their transactions
+ * commit, so lookups never touch Hibernate or the database. Changes committed
+ * during a rebuild are replayed on the rebuilt trie (see
+ * {@link RebuildableIndex}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSuggester
+{
+    /** Largest number of suggestions returned for one prefix. */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RebuildableIndex<PrefixTrie> trie = new RebuildableIndex<>(new PrefixTrie(MAX_SUGGESTIONS));
+
+    /**
+     * Rebuilds the suggestions from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild()
+    {
+        long startNanos = System.nanoTime();
+
+        PrefixTrie rebuilt = trie.rebuild(() ->
+        {
+            PrefixTrie loaded = new PrefixTrie(MAX_SUGGESTIONS);
+            load(loaded, SuggestionType.ALBUM, "SELECT id, title FROM albums");
+            load(loaded, SuggestionType.ARTIST, "SELECT id, name FROM artists");
+            load(loaded, SuggestionType.SONG, "SELECT id, title FROM songs");
+            load(loaded, SuggestionType.GENRE, "SELECT id, name FROM genres");
+            return loaded;
+        });
+
+        log.info("Loaded {} catalog suggestions in {} ms", rebuilt.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Finds the best suggestions for a prefix.
+     *
+     * @param prefix
+     *            the text typed so far
+     * @param limit
+     *            maximum number of suggestions, capped at
+     *            {@link #MAX_SUGGESTIONS}
+     * @return matching suggestions, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit)
+    {
+        return trie.get().suggest(prefix, limit);
+    }
+
+    /**
+     * Adds or relabels a catalog entry.
+     *
+     * @param type
+     *            the entry type
+     * @param id
+     *            the entry ID
+     * @param label
+     *            the title or name
+     */
+    public void put(SuggestionType type, Long id, String label)
+    {
+        Suggestion suggestion = new Suggestion(type, id, label);
+        TransactionCallbacks.afterCommit(() -> trie.apply(target -> target.put(suggestion)));
+    }
+
+    /**
+     * Removes a catalog entry.
+     *
+     * @param type
+     *            the entry type
+     * @param id
+     *            the entry ID
+     */
+    public void remove(SuggestionType type, Long id)
+    {
+        Suggestion.Key key = new Suggestion.Key(type, id);
+        TransactionCallbacks.afterCommit(() -> trie.apply(target -> target.remove(key)));
+    }
+
+    private void load(PrefixTrie target, SuggestionType type, String sql)
+    {
+        jdbcTemplate.query(sql, row ->
+        {
+            target.put(new Suggestion(type, row.getLong(1), row.getString(2)));
+        });
+    }
+}
@@ -0,0 +1,349 @@
+package com.music.music_inventory_api.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Thread-safe in-memory inverted index from character trigrams to document IDs.
+ * Each document has a fixed number of text fields, in descending order of
+ * importance. A query matches a document when it is a case- and
+ * accent-insensitive substring of one of its fields, the same semantics as
+ * {@code LOWER(field) LIKE '%query%'}.
+ *
+ * <p>
+ * Queries of at least {@value #GRAM_LENGTH} characters only look at documents
+ * that contain every trigram of the query; shorter queries scan all documents.
+ * Matches are ranked by how well the query matches (whole field, field prefix,
+ * word prefix, anywhere), then by field, then by the first field alphabetically.
+ */
+public class NGramIndex
+{
+    static final int GRAM_LENGTH = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int INFIX = 3;
+
+    private final int fieldCount;
+    private final Map<Long, String[]> fieldsById = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param fieldCount
+     *            number of text fields per document
+     */
+    public NGramIndex(int fieldCount)
+    {
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Adds a document, or replaces it if the ID is already indexed.
+     *
+     * @param id
+     *            the document ID
+     * @param fields
+     *            the field values; null values are indexed as empty
+     */
+    public void put(Long id, String... fields)
+    {
+        if (fields.length != fieldCount)
+        {
+            throw new IllegalArgumentException("Expected " + fieldCount + " fields but got " + fields.length);
+        }
+
+        String[] normalized = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++)
+        {
+            normalized[i] = normalize(fields[i]);
+        }
+
+        lock.writeLock().lock();
+        try
+        {
+            removeUnlocked(id);
+            fieldsById.put(id, normalized);
+            for (String gram : grams(normalized))
+            {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces one field of the given documents, keeping their other fields.
+     * IDs that are not indexed are ignored.
+     *
+     * @param ids
+     *            the document IDs
+     * @param field
+     *            index of the field to replace
+     * @param value
+     *            the new field value
+     */
+    public void putField(Collection<Long> ids, int field, String value)
+    {
+        String normalized = normalize(value);
+
+        lock.writeLock().lock();
+        try
+        {
+            for (Long id : ids)
+            {
+                String[] current = fieldsById.get(id);
+                if (current == null)
+                {
+                    continue;
+                }
+
+                String[] updated = Arrays.copyOf(current, fieldCount);
+                updated[field] = normalized;
+                removeUnlocked(id);
+                fieldsById.put(id, updated);
+                for (String gram : grams(updated))
+                {
+                    postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+                }
+            }
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document. Unknown IDs are ignored.
+     *
+     * @param id
+     *            the document ID
+     */
+    public void remove(Long id)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            removeUnlocked(id);
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents matching a query.
+     *
+     * @param query
+     *            the search text
+     * @return IDs of all matching documents, best match first
+     */
+    public List<Long> search(String query)
+    {
+        String normalized = normalize(query).trim();
+        if (normalized.isEmpty())
+        {
+            return List.of();
+        }
+
+        List<long[]> matches = new ArrayList<>();
+        Map<Long, String> sortKeys = new HashMap<>();
+
+        lock.readLock().lock();
+        try
+        {
+            for (Long id : candidates(normalized))
+            {
+                String[] fields = fieldsById.get(id);
+                int rank = rank(fields, normalized);
+                if (rank >= 0)
+                {
+                    matches.add(new long[]
+                    {id, rank});
+                    sortKeys.put(id, fields[0]);
+                }
+            }
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.<long[]>comparingLong(match -> match[1])
+                .thenComparing(match -> sortKeys.get(match[0])).thenComparingLong(match -> match[0]));
+
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (long[] match : matches)
+        {
+            ids.add(match[0]);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     *
+     * @return the document count
+     */
+    public int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return fieldsById.size();
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases text and strips accents, so that e.g. "Beyoncé" and "beyonce"
+     * index the same.
+     *
+     * @param text
+     *            the text, may be null
+     * @return the normalized text, never null
+     */
+    static String normalize(String text)
+    {
+        if (text == null)
+        {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private Collection<Long> candidates(String query)
+    {
+        if (query.length() < GRAM_LENGTH)
+        {
+            return fieldsById.keySet();
+        }
+
+        // Walk the rarest trigram's postings and keep IDs present in all others
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query))
+        {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null)
+            {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> result = new ArrayList<>();
+        for (Long id : lists.get(0))
+        {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++)
+            {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll)
+            {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private int rank(String[] fields, String query)
+    {
+        int best = -1;
+        for (int field = 0; field < fields.length; field++)
+        {
+            int match = match(fields[field], query);
+            if (match >= 0)
+            {
+                int rank = match * fieldCount + field;
+                if (best < 0 || rank < best)
+                {
+                    best = rank;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int match(String field, String query)
+    {
+        int position = field.indexOf(query);
+        if (position < 0)
+        {
+            return -1;
+        }
+        if (position == 0)
+        {
+            return field.length() == query.length() ? EXACT : PREFIX;
+        }
+
+        // Any later occurrence may start a word even if the first does not
+        while (position > 0)
+        {
+            if (!Character.isLetterOrDigit(field.charAt(position - 1)))
+            {
+                return WORD_PREFIX;
+            }
+            position = field.indexOf(query, position + 1);
+        }
+        return INFIX;
+    }
+
+    private void removeUnlocked(Long id)
+    {
+        String[] fields = fieldsById.remove(id);
+        if (fields == null)
+        {
+            return;
+        }
+
+        for (String gram : grams(fields))
+        {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null)
+            {
+                ids.remove(id);
+                if (ids.isEmpty())
+                {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String... texts)
+    {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String text : texts)
+        {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++)
+            {
+                grams.add(text.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+}
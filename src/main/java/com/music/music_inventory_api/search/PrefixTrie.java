@@ -0,0 +1,470 @@
+package com.music.music_inventory_api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe prefix trie of catalog suggestions for typeahead. Every
+ * suggestion is reachable from the start of its label and from the start of
+ * each later word, so "road" suggests "Abbey Road". Matching ignores case and
+ * accents.
+ *
+ * <p>
+ * The trie is path-compressed: chains of single-child nodes are merged into
+ * one edge, so unique endings cost one node rather than one per character.
+ * Each node keeps its best suggestions, so a lookup costs one step per edge of
+ * the prefix and never walks the subtree below it. Suggestions whose label
+ * starts with the prefix come first, then shorter labels, then labels in
+ * alphabetical order. Only the first {@value #MAX_KEY_LENGTH} characters of a
+ * key are stored; longer prefixes are matched on those.
+ */
+public class PrefixTrie
+{
+    static final int MAX_KEY_LENGTH = 32;
+
+    private static final Comparator<Match> RANKING = Comparator.comparing((Match match) -> match.wordMatch)
+            .thenComparingInt(match -> match.normalizedLabel.length())
+            .thenComparing(match -> match.normalizedLabel)
+            .thenComparing(match -> match.suggestion.getType())
+            .thenComparing(match -> match.suggestion.getId());
+
+    private final int capacity;
+    private final Node root = new Node();
+    private final Map<Suggestion.Key, Suggestion> suggestions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates an empty trie.
+     *
+     * @param capacity
+     *            the largest number of suggestions a lookup can return
+     */
+    public PrefixTrie(int capacity)
+    {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a suggestion, or replaces the one with the same type and ID.
+     *
+     * @param suggestion
+     *            the suggestion
+     */
+    public void put(Suggestion suggestion)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            removeUnlocked(suggestion.key());
+            suggestions.put(suggestion.key(), suggestion);
+
+            String label = NGramIndex.normalize(suggestion.getLabel());
+            for (int start : wordStarts(label))
+            {
+                insert(key(label, start), new Match(suggestion, label, start > 0));
+            }
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a suggestion. Unknown keys are ignored.
+     *
+     * @param key
+     *            type and ID of the suggestion
+     */
+    public void remove(Suggestion.Key key)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            removeUnlocked(key);
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best suggestions for a prefix.
+     *
+     * @param prefix
+     *            the text typed so far
+     * @param limit
+     *            maximum number of suggestions, capped at the trie capacity
+     * @return matching suggestions, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit)
+    {
+        String key = NGramIndex.normalize(prefix).stripLeading();
+        if (key.isEmpty() || limit <= 0)
+        {
+            return List.of();
+        }
+        key = key(key, 0);
+
+        lock.readLock().lock();
+        try
+        {
+            // A prefix ending inside an edge selects the node below it
+            Node node = root;
+            int position = 0;
+            while (position < key.length())
+            {
+                node = node.child(key.charAt(position));
+                if (node == null)
+                {
+                    return List.of();
+                }
+                int length = Math.min(node.edge.length(), key.length() - position);
+                if (!node.edge.regionMatches(0, key, position, length))
+                {
+                    return List.of();
+                }
+                position += length;
+            }
+
+            int count = Math.min(Math.min(limit, capacity), node.top.length);
+            List<Suggestion> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++)
+            {
+                result.add(node.top[i].suggestion);
+            }
+            return result;
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of suggestions in the trie.
+     *
+     * @return the suggestion count
+     */
+    public int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return suggestions.size();
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String key, Match match)
+    {
+        Node node = root;
+        node.offer(match, capacity);
+        int position = 0;
+        while (position < key.length())
+        {
+            char first = key.charAt(position);
+            Node child = node.child(first);
+            if (child == null)
+            {
+                child = new Node(key.substring(position));
+                node.putChild(first, child);
+                child.offer(match, capacity);
+                node = child;
+                break;
+            }
+
+            int common = commonPrefixLength(child.edge, key, position);
+            if (common < child.edge.length())
+            {
+                // Split the edge where the new key leaves it
+                Node middle = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                middle.putChild(child.edge.charAt(0), child);
+                middle.top = child.top;
+                node.putChild(first, middle);
+                child = middle;
+            }
+            child.offer(match, capacity);
+            node = child;
+            position += common;
+        }
+        node.addTerminal(match);
+    }
+
+    private void removeUnlocked(Suggestion.Key key)
+    {
+        Suggestion previous = suggestions.remove(key);
+        if (previous == null)
+        {
+            return;
+        }
+
+        String label = NGramIndex.normalize(previous.getLabel());
+        for (int start : wordStarts(label))
+        {
+            delete(key(label, start), key);
+        }
+    }
+
+    private void delete(String key, Suggestion.Key suggestionKey)
+    {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        int position = 0;
+        while (position < key.length())
+        {
+            Node child = path.get(path.size() - 1).child(key.charAt(position));
+            if (child == null || !key.startsWith(child.edge, position))
+            {
+                return;
+            }
+            path.add(child);
+            position += child.edge.length();
+        }
+        path.get(path.size() - 1).removeTerminal(suggestionKey);
+
+        // Recompute the best suggestions bottom-up, pruning emptied nodes and
+        // merging nodes left with a single child into it
+        for (int depth = path.size() - 1; depth >= 0; depth--)
+        {
+            Node node = path.get(depth);
+            Node parent = depth > 0 ? path.get(depth - 1) : null;
+            if (parent != null && node.terminals == null && node.children.length == 0)
+            {
+                parent.removeChild(node.edge.charAt(0));
+                continue;
+            }
+            if (parent != null && node.terminals == null && node.children.length == 1)
+            {
+                Node only = node.children[0];
+                only.edge = node.edge + only.edge;
+                parent.putChild(only.edge.charAt(0), only);
+                continue;
+            }
+            if (node.contains(suggestionKey))
+            {
+                node.recompute(capacity);
+            }
+        }
+    }
+
+    private static int commonPrefixLength(String edge, String key, int position)
+    {
+        int length = Math.min(edge.length(), key.length() - position);
+        int common = 0;
+        while (common < length && edge.charAt(common) == key.charAt(position + common))
+        {
+            common++;
+        }
+        return common;
+    }
+
+    private static List<Integer> wordStarts(String label)
+    {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < label.length(); i++)
+        {
+            boolean wordChar = Character.isLetterOrDigit(label.charAt(i));
+            if (wordChar && (i == 0 || !Character.isLetterOrDigit(label.charAt(i - 1))))
+            {
+                starts.add(i);
+            }
+        }
+        if (starts.isEmpty() && !label.isEmpty())
+        {
+            starts.add(0);
+        }
+        return starts;
+    }
+
+    private static String key(String label, int start)
+    {
+        return label.substring(start, Math.min(label.length(), start + MAX_KEY_LENGTH));
+    }
+
+    /** A suggestion reached through one of its keys. */
+    private static final class Match
+    {
+        private final Suggestion suggestion;
+        private final String normalizedLabel;
+        private final boolean wordMatch;
+
+        private Match(Suggestion suggestion, String normalizedLabel, boolean wordMatch)
+        {
+            this.suggestion = suggestion;
+            this.normalizedLabel = normalizedLabel;
+            this.wordMatch = wordMatch;
+        }
+    }
+
+    /**
+     * Trie node reached through an edge of one or more characters. Children are
+     * kept sorted by the first character of their edge.
+     */
+    private static final class Node
+    {
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+        private static final Match[] NO_MATCHES = new Match[0];
+
+        private String edge;
+        private char[] chars = NO_CHARS;
+        private Node[] children = NO_NODES;
+        private Match[] top = NO_MATCHES;
+        private List<Match> terminals;
+
+        private Node()
+        {
+            this("");
+        }
+
+        private Node(String edge)
+        {
+            this.edge = edge;
+        }
+
+        private Node child(char c)
+        {
+            int index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /** Adds a child, or replaces the one whose edge starts with the same character. */
+        private void putChild(char c, Node child)
+        {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0)
+            {
+                children[index] = child;
+                return;
+            }
+
+            int insertAt = -index - 1;
+            char[] newChars = new char[chars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newChars[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(chars, insertAt, newChars, insertAt + 1, chars.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            chars = newChars;
+            children = newChildren;
+        }
+
+        private void removeChild(char c)
+        {
+            int index = Arrays.binarySearch(chars, c);
+            if (index < 0)
+            {
+                return;
+            }
+
+            char[] newChars = new char[chars.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(chars, index + 1, newChars, index, chars.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            chars = newChars;
+            children = newChildren;
+        }
+
+        private void addTerminal(Match match)
+        {
+            if (terminals == null)
+            {
+                terminals = new ArrayList<>(1);
+            }
+            terminals.add(match);
+        }
+
+        private void removeTerminal(Suggestion.Key key)
+        {
+            if (terminals != null)
+            {
+                terminals.removeIf(match -> match.suggestion.key().equals(key));
+                if (terminals.isEmpty())
+                {
+                    terminals = null;
+                }
+            }
+        }
+
+        private boolean contains(Suggestion.Key key)
+        {
+            for (Match match : top)
+            {
+                if (match.suggestion.key().equals(key))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Adds a match to the best list if it ranks high enough. */
+        private void offer(Match match, int capacity)
+        {
+            List<Match> merged = new ArrayList<>(top.length + 1);
+            boolean placed = false;
+            for (Match existing : top)
+            {
+                if (existing.suggestion.key().equals(match.suggestion.key()))
+                {
+                    if (RANKING.compare(existing, match) <= 0)
+                    {
+                        return;
+                    }
+                    continue;
+                }
+                if (!placed && RANKING.compare(match, existing) < 0)
+                {
+                    merged.add(match);
+                    placed = true;
+                }
+                merged.add(existing);
+            }
+            if (!placed)
+            {
+                merged.add(match);
+            }
+            top = merged.subList(0, Math.min(capacity, merged.size())).toArray(NO_MATCHES);
+        }
+
+        /** Rebuilds the best list from this node's own matches and its children's. */
+        private void recompute(int capacity)
+        {
+            List<Match> candidates = terminals == null ? new ArrayList<>() : new ArrayList<>(terminals);
+            for (Node child : children)
+            {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+
+            List<Match> best = new ArrayList<>(capacity);
+            Set<Suggestion.Key> seen = new HashSet<>();
+            for (Match candidate : candidates)
+            {
+                if (best.size() == capacity)
+                {
+                    break;
+                }
+                if (seen.add(candidate.suggestion.key()))
+                {
+                    best.add(candidate);
+                }
+            }
+            top = best.toArray(NO_MATCHES);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.music.music_inventory_api.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds an in-memory index that is rebuilt from the database while committed
+ * changes keep arriving.
+ *
+ * <p>
+ * A rebuild reads the database without blocking changes, so a change that
+ * commits after the read has started may be missing from the rebuilt index.
+ * Every change applied during a rebuild is therefore also buffered and
+ * replayed on the rebuilt index just before it replaces the live one. The
+ * changes are puts and removes of a whole entry or field, so replaying one the
+ * read already saw leaves the entry as it was.
+ *
+ * @param <T>
+ *            the index type
+ */
+final class RebuildableIndex<T>
+{
+    private final Object changeLock = new Object();
+
+    private volatile T current;
+
+    // Changes applied since the running rebuild started; null when none runs
+    private List<Consumer<T>> pendingChanges;
+
+    RebuildableIndex(T initial)
+    {
+        this.current = initial;
+    }
+
+    /**
+     * The live index, for lookups.
+     *
+     * @return the index
+     */
+    T get()
+    {
+        return current;
+    }
+
+    /**
+     * Applies a committed change to the live index, and to the one being
+     * rebuilt if any.
+     *
+     * @param change
+     *            the change
+     */
+    void apply(Consumer<T> change)
+    {
+        synchronized (changeLock)
+        {
+            change.accept(current);
+            if (pendingChanges != null)
+            {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    /**
+     * Builds a new index and swaps it in, with the changes applied meanwhile.
+     * Rebuilds run one at a time.
+     *
+     * @param loader
+     *            builds the index from the database
+     * @return the new index
+     */
+    synchronized T rebuild(Supplier<T> loader)
+    {
+        synchronized (changeLock)
+        {
+            pendingChanges = new ArrayList<>();
+        }
+
+        T rebuilt;
+        try
+        {
+            rebuilt = loader.get();
+        } catch (RuntimeException ex)
+        {
+            synchronized (changeLock)
+            {
+                pendingChanges = null;
+            }
+            throw ex;
+        }
+
+        synchronized (changeLock)
+        {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            current = rebuilt;
+        }
+        return rebuilt;
+    }
+}
@@ -0,0 +1,31 @@
+package com.music.music_inventory_api.search;
+
+import com.music.music_inventory_api.enums.SuggestionType;
+import lombok.Value;
+
+/** A catalog entry offered by typeahead, identified by its type and ID. */
+@Value
+public class Suggestion
+{
+    SuggestionType type;
+    Long id;
+    String label;
+
+    /**
+     * Returns the identity of this suggestion, independent of its label.
+     *
+     * @return the type and ID
+     */
+    public Key key()
+    {
+        return new Key(type, id);
+    }
+
+    /** Type and ID of a suggestion. */
+    @Value
+    public static class Key
+    {
+        SuggestionType type;
+        Long id;
+    }
+}
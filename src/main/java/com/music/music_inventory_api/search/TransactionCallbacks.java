@@ -0,0 +1,40 @@
+package com.music.music_inventory_api.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory changes, such as index updates, until the surrounding
+ * transaction commits, so that rolled back writes never become visible.
+ */
+public final class TransactionCallbacks
+{
+    private TransactionCallbacks()
+    {
+    }
+
+    /**
+     * Runs a change after the current transaction commits, or immediately when
+     * there is no transaction.
+     *
+     * @param change
+     *            the change to apply
+     */
+    public static void afterCommit(Runnable change)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            change.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                change.run();
+            }
+        });
+    }
+}
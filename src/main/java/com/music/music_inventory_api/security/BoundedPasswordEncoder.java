@@ -0,0 +1,130 @@
+package com.music.music_inventory_api.security;
+
+import com.music.music_inventory_api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder that runs the (deliberately slow) hashing of its delegate on
+ * a small dedicated thread pool with a bounded queue. During a login storm only
+ * a fixed number of hashes compete for CPU with the rest of the API, and
+ * requests beyond the queue capacity are rejected immediately with
+ * {@link ServiceUnavailableException} instead of piling up on request threads.
+ *
+ * <p>
+ * Queue depth and pool activity are published as {@code executor.*} metrics
+ * tagged {@code name=password.hashing}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+    private static final String METRIC_NAME = "password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout,
+            MeterRegistry meterRegistry)
+    {
+        this.delegate = delegate;
+        this.timeout = timeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable ->
+                {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Collections.emptyList()).bindTo(meterRegistry);
+        Gauge.builder("executor.queue.remaining", executor, pool -> pool.getQueue().remainingCapacity())
+                .tag("name", METRIC_NAME).description("Free slots in the password hashing queue")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword)
+    {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword)
+    {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword)
+    {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     *
+     * @param task
+     *            the hashing task
+     * @param <T>
+     *            the result type
+     * @return the task result
+     */
+    private <T> T run(Callable<T> task)
+    {
+        Future<T> future;
+        try
+        {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e)
+        {
+            LOGGER.warn("Password hashing queue is full ({} queued), rejecting request", executor.getQueue().size());
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+        }
+
+        try
+        {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e)
+        {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly", e);
+        } catch (InterruptedException e)
+        {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted", e);
+        } catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
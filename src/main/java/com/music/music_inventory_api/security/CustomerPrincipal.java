@@ -0,0 +1,61 @@
+package com.music.music_inventory_api.security;
+
+import java.util.Collection;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authenticated customer built from verified JWT claims, so requests can be
+ * authenticated without loading the customer from the database. Carries no
+ * password.
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class CustomerPrincipal implements UserDetails
+{
+    private final Long customerId;
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    @Override
+    public String getPassword()
+    {
+        return null;
+    }
+
+    @Override
+    public String getUsername()
+    {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+}
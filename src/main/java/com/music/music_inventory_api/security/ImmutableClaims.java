@@ -0,0 +1,164 @@
+package com.music.music_inventory_api.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of verified claims. The claims cache hands the same instance
+ * to every request carrying the token, so neither the claims nor the lists and
+ * objects inside them may be changed; every mutator throws
+ * {@link UnsupportedOperationException}.
+ */
+final class ImmutableClaims extends AbstractMap<String, Object> implements Claims
+{
+    private final Map<String, Object> values;
+
+    // Performs the typed and date conversions of the getters
+    private final Claims reader;
+
+    ImmutableClaims(Claims claims)
+    {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        claims.forEach((name, value) -> copy.put(name, freeze(value)));
+        this.values = Collections.unmodifiableMap(copy);
+        this.reader = Jwts.claims(values);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet()
+    {
+        return values.entrySet();
+    }
+
+    @Override
+    public Object get(Object key)
+    {
+        return values.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public String getIssuer()
+    {
+        return reader.getIssuer();
+    }
+
+    @Override
+    public String getSubject()
+    {
+        return reader.getSubject();
+    }
+
+    @Override
+    public String getAudience()
+    {
+        return reader.getAudience();
+    }
+
+    @Override
+    public Date getExpiration()
+    {
+        return reader.getExpiration();
+    }
+
+    @Override
+    public Date getNotBefore()
+    {
+        return reader.getNotBefore();
+    }
+
+    @Override
+    public Date getIssuedAt()
+    {
+        return reader.getIssuedAt();
+    }
+
+    @Override
+    public String getId()
+    {
+        return reader.getId();
+    }
+
+    @Override
+    public <T> T get(String claimName, Class<T> requiredType)
+    {
+        return reader.get(claimName, requiredType);
+    }
+
+    @Override
+    public Claims setIssuer(String iss)
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setSubject(String sub)
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setAudience(String aud)
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setExpiration(Date exp)
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setNotBefore(Date nbf)
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setIssuedAt(Date iat)
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setId(String jti)
+    {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly()
+    {
+        return new UnsupportedOperationException("Verified claims are read-only");
+    }
+
+    private static Object freeze(Object value)
+    {
+        if (value instanceof List)
+        {
+            List<Object> copy = new ArrayList<>();
+            ((List<?>) value).forEach(element -> copy.add(freeze(element)));
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Map)
+        {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((name, element) -> copy.put(name, freeze(element)));
+            return Collections.unmodifiableMap(copy);
+        }
+        return value;
+    }
+}
@@ -1,6 +1,9 @@
 package com.music.music_inventory_api.security;
 
+import com.music.music_inventory_api.service.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import java.io.IOException;
+import java.util.Optional;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -8,11 +11,11 @@ import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -21,6 +24,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 /**
  * JWT authentication filter that intercepts requests and validates JWT tokens.
  * If a valid token is found, sets the authentication in the SecurityContext.
+ * In stateless mode the principal is built from the token claims; tokens
+ * without those claims (or stateless mode switched off) fall back to a cached
+ * principal loaded by email.
  */
 @Component
 @RequiredArgsConstructor
@@ -32,7 +38,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    @Value("${jwt.stateless-authentication:true}")
+    private boolean statelessAuthentication = true;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -43,15 +52,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
         {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt))
+            // Parse and verify the token once; claims are reused for every check
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? jwtUtil.resolveClaims(jwt) : Optional.empty();
+
+            if (claims.isPresent())
             {
-                String username = jwtUtil.extractUsername(jwt);
+                String username = claims.get().getSubject();
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null)
                 {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetails userDetails = loadPrincipal(claims.get());
 
-                    if (jwtUtil.validateToken(jwt, userDetails))
+                    if (jwtUtil.validateClaims(claims.get(), userDetails))
                     {
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
@@ -71,6 +83,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolves the principal for verified claims, from the token itself when
+     * possible.
+     *
+     * @param claims
+     *            the verified claims
+     * @return the user details
+     */
+    private UserDetails loadPrincipal(Claims claims)
+    {
+        if (statelessAuthentication)
+        {
+            Optional<CustomerPrincipal> principal = jwtUtil.extractPrincipal(claims);
+            if (principal.isPresent())
+            {
+                return principal.get();
+            }
+        }
+        return userDetailsService.loadPrincipal(claims.getSubject());
+    }
+
     /**
      * Extracts JWT token from the Authorization header.
      *
@@ -1,28 +1,44 @@
 package com.music.music_inventory_api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 /**
  * Utility class for JWT token operations including generation, validation, and
- * extraction of claims.
+ * extraction of claims. Verified claims are cached per token (keyed by the
+ * token's SHA-256 hash) until the token expires, so a token presented on every
+ * request is only parsed and verified once.
  */
 @Component
 public class JwtUtil
@@ -30,19 +46,72 @@ public class JwtUtil
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtUtil.class);
 
+    /** Claim holding the customer ID. */
+    public static final String CUSTOMER_ID_CLAIM = "customerId";
+
+    /** Claim holding the granted role names. */
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.claims-cache.maximum-size:10000}")
+    private long claimsCacheMaximumSize = 10000;
+
     private Key signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> claimsCache;
 
     @PostConstruct
     public void init()
     {
         // Generate a secure key from the secret string
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        // Parsers are immutable and thread-safe, so one instance serves all requests
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.claimsCache = Caffeine.newBuilder().maximumSize(claimsCacheMaximumSize).expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Parses and verifies the JWT token once, returning its claims. Results are
+     * cached until the token expires, so repeated calls with the same token skip
+     * the signature check. The claims are shared between those calls and are
+     * therefore read-only.
+     *
+     * @param token
+     *            the JWT token
+     * @return the verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<Claims> resolveClaims(String token)
+    {
+        String cacheKey = hash(token);
+        Claims cached = claimsCache.getIfPresent(cacheKey);
+        if (cached != null)
+        {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = parseClaims(token).map(ImmutableClaims::new);
+        claims.ifPresent(verified -> claimsCache.put(cacheKey, verified));
+        return claims;
+    }
+
+    /**
+     * Checks already verified claims against the user details.
+     *
+     * @param claims
+     *            claims obtained from {@link #resolveClaims(String)}
+     * @param userDetails
+     *            the user details to validate against
+     * @return true if the claims belong to the user and have not expired
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails)
+    {
+        return userDetails.getUsername().equals(claims.getSubject()) && !claims.getExpiration().before(new Date());
     }
 
     /**
@@ -95,34 +164,64 @@ public class JwtUtil
      */
     private Claims extractAllClaims(String token)
     {
-        return Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(token).getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     /**
-     * Checks if the token has expired.
+     * Generates a JWT token for the given user details.
      *
-     * @param token
-     *            the JWT token
-     * @return true if the token has expired
+     * @param userDetails
+     *            the user details
+     * @return the generated JWT token
      */
-    private Boolean isTokenExpired(String token)
+    public String generateToken(UserDetails userDetails)
     {
-        return extractExpiration(token).before(new Date());
+        Map<String, Object> claims = new HashMap<>();
+        return createToken(claims, userDetails.getUsername());
     }
 
     /**
-     * Generates a JWT token for the given user details.
+     * Generates a JWT token that also carries the customer ID and roles, so the
+     * principal can later be rebuilt from the token alone (see
+     * {@link #extractPrincipal(Claims)}).
      *
      * @param userDetails
      *            the user details
+     * @param customerId
+     *            the customer ID
      * @return the generated JWT token
      */
-    public String generateToken(UserDetails userDetails)
+    public String generateToken(UserDetails userDetails, Long customerId)
     {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(CUSTOMER_ID_CLAIM, customerId);
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Builds the principal from verified claims without a database lookup.
+     *
+     * @param claims
+     *            claims obtained from {@link #resolveClaims(String)}
+     * @return the principal, or empty if the token predates the customer ID and
+     *         roles claims
+     */
+    public Optional<CustomerPrincipal> extractPrincipal(Claims claims)
+    {
+        Number customerId = claims.get(CUSTOMER_ID_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (customerId == null || roles == null || claims.getSubject() == null)
+        {
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> authorities = roles.stream().map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+        return Optional.of(new CustomerPrincipal(customerId.longValue(), claims.getSubject(), authorities));
+    }
+
     /**
      * Generates a JWT token with custom claims for the given username.
      *
@@ -168,27 +267,7 @@ public class JwtUtil
      */
     public Boolean validateToken(String token, UserDetails userDetails)
     {
-        try
-        {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (SignatureException e)
-        {
-            LOGGER.error("Invalid JWT signature: {}", e.getMessage());
-        } catch (MalformedJwtException e)
-        {
-            LOGGER.error("Invalid JWT token: {}", e.getMessage());
-        } catch (ExpiredJwtException e)
-        {
-            LOGGER.error("JWT token is expired: {}", e.getMessage());
-        } catch (UnsupportedJwtException e)
-        {
-            LOGGER.error("JWT token is unsupported: {}", e.getMessage());
-        } catch (IllegalArgumentException e)
-        {
-            LOGGER.error("JWT claims string is empty: {}", e.getMessage());
-        }
-        return false;
+        return resolveClaims(token).map(claims -> validateClaims(claims, userDetails)).orElse(false);
     }
 
     /**
@@ -200,11 +279,22 @@ public class JwtUtil
      * @return true if the token format and signature are valid
      */
     public Boolean validateToken(String token)
+    {
+        return resolveClaims(token).isPresent();
+    }
+
+    /**
+     * Parses and verifies the JWT token, logging why it was rejected.
+     *
+     * @param token
+     *            the JWT token
+     * @return the claims, or empty if the token is invalid
+     */
+    private Optional<Claims> parseClaims(String token)
     {
         try
         {
-            Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(extractAllClaims(token));
         } catch (SignatureException e)
         {
             LOGGER.error("Invalid JWT signature: {}", e.getMessage());
@@ -221,7 +311,7 @@ public class JwtUtil
         {
             LOGGER.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     /**
@@ -233,4 +323,48 @@ public class JwtUtil
     {
         return expiration;
     }
+
+    /**
+     * Hashes the token so the cache never holds raw bearer tokens.
+     *
+     * @param token
+     *            the JWT token
+     * @return the Base64-encoded SHA-256 hash of the token
+     */
+    private static String hash(String token)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Expires cached claims together with the token they came from. */
+    private static class UntilTokenExpiry implements Expiry<String, Claims>
+    {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime)
+        {
+            long remainingMillis = claims.getExpiration() == null
+                    ? 0
+                    : claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration)
+        {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration)
+        {
+            return currentDuration;
+        }
+    }
 }
@@ -4,8 +4,8 @@ import com.music.music_inventory_api.dto.request.CreateAlbumRequest;
 import com.music.music_inventory_api.dto.request.UpdateAlbumRequest;
 import com.music.music_inventory_api.dto.response.AlbumDetailResponse;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import java.math.BigDecimal;
-import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -43,33 +43,55 @@ public interface AlbumService
     Page<AlbumResponse> getAllAlbums(Pageable pageable);
 
     /**
-     * Search albums by title or artist name.
+     * Get all albums one slice at a time. Each slice continues from the cursor of
+     * the previous one instead of an offset, and no total count is computed, so
+     * deep slices cost the same as the first.
+     *
+     * @param sort
+     *            {@code id} or {@code title}, ties broken by ID
+     * @param cursor
+     *            cursor of the previous slice, or null for the first slice
+     * @param size
+     *            slice size
+     * @return slice of album responses
+     */
+    CursorPageResponse<AlbumResponse> scrollAlbums(String sort, String cursor, int size);
+
+    /**
+     * Search albums by title or artist name. Results are ranked by relevance, so
+     * any sort in the pagination information is ignored.
      *
      * @param searchTerm
      *            the search term
-     * @return list of matching albums
+     * @param pageable
+     *            pagination information
+     * @return page of matching albums, best match first
      */
-    List<AlbumResponse> searchAlbums(String searchTerm);
+    Page<AlbumResponse> searchAlbums(String searchTerm, Pageable pageable);
 
     /**
-     * Get albums by genre.
+     * Get albums by genre with pagination.
      *
      * @param genreId
      *            the genre ID
-     * @return list of albums in the genre
+     * @param pageable
+     *            pagination information
+     * @return page of albums in the genre
      */
-    List<AlbumResponse> getAlbumsByGenre(Long genreId);
+    Page<AlbumResponse> getAlbumsByGenre(Long genreId, Pageable pageable);
 
     /**
-     * Get albums by price range.
+     * Get albums by price range with pagination.
      *
      * @param minPrice
      *            minimum price
      * @param maxPrice
      *            maximum price
-     * @return list of albums in the price range
+     * @param pageable
+     *            pagination information
+     * @return page of albums in the price range
      */
-    List<AlbumResponse> getAlbumsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
+    Page<AlbumResponse> getAlbumsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
     /**
      * Update an existing album.
@@ -4,7 +4,7 @@ import com.music.music_inventory_api.dto.request.CreateArtistRequest;
 import com.music.music_inventory_api.dto.request.UpdateArtistRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
 import com.music.music_inventory_api.dto.response.ArtistResponse;
-import java.util.List;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -44,6 +44,21 @@ public interface ArtistService
      */
     Page<ArtistResponse> getAllArtists(Pageable pageable);
 
+    /**
+     * Get all artists one slice at a time. Each slice continues from the cursor of
+     * the previous one instead of an offset, and no total count is computed, so
+     * deep slices cost the same as the first.
+     *
+     * @param sort
+     *            {@code id} or {@code name}, ties broken by ID
+     * @param cursor
+     *            cursor of the previous slice, or null for the first slice
+     * @param size
+     *            slice size
+     * @return slice of artist responses
+     */
+    CursorPageResponse<ArtistResponse> scrollArtists(String sort, String cursor, int size);
+
     /**
      * Update an existing artist.
      *
@@ -68,13 +83,15 @@ public interface ArtistService
     void deleteArtist(Long id);
 
     /**
-     * Get all albums by artist ID.
+     * Get a page of albums by artist ID.
      *
      * @param artistId
      *            the artist ID
-     * @return list of album responses
+     * @param pageable
+     *            pagination information
+     * @return page of album responses
      * @throws com.music.music_inventory_api.exception.EntityNotFoundException
      *             if artist not found
      */
-    List<AlbumResponse> getAlbumsByArtist(Long artistId);
+    Page<AlbumResponse> getAlbumsByArtist(Long artistId, Pageable pageable);
 }
@@ -0,0 +1,33 @@
+package com.music.music_inventory_api.service;
+
+import com.music.music_inventory_api.dto.response.CatalogImportResponse;
+import com.music.music_inventory_api.enums.DataFormat;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk loading albums, with their artists, genres and
+ * songs, into the catalog.
+ */
+public interface CatalogImportService
+{
+
+    /**
+     * Import albums from a stream. Artists and genres are matched by name,
+     * ignoring case, and created if missing. Albums are written in batches,
+     * each in its own transaction; a malformed or invalid album is rejected
+     * without stopping the import, and so is every album of a batch that fails
+     * to write.
+     *
+     * @param format
+     *            the import format
+     * @param in
+     *            the albums, read to the end
+     * @return counts of imported and created rows, and the rejected rows
+     * @throws IOException
+     *             if reading the stream fails
+     * @throws IllegalArgumentException
+     *             if the CSV header is invalid
+     */
+    CatalogImportResponse importCatalog(DataFormat format, InputStream in) throws IOException;
+}
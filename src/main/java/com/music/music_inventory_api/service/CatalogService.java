@@ -0,0 +1,23 @@
+package com.music.music_inventory_api.service;
+
+import com.music.music_inventory_api.dto.response.SuggestionResponse;
+import java.util.List;
+
+/**
+ * Service interface for operations that span the whole catalog.
+ */
+public interface CatalogService
+{
+
+    /**
+     * Suggest albums, artists, songs and genres whose title or name, or one of
+     * its words, starts with the given prefix.
+     *
+     * @param prefix
+     *            the text typed so far
+     * @param limit
+     *            maximum number of suggestions
+     * @return matching suggestions, best first
+     */
+    List<SuggestionResponse> suggest(String prefix, int limit);
+}
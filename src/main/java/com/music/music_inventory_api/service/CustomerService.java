@@ -2,6 +2,8 @@ package com.music.music_inventory_api.service;
 
 import com.music.music_inventory_api.dto.request.CreateCustomerRequest;
 import com.music.music_inventory_api.dto.request.UpdateCustomerRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import com.music.music_inventory_api.dto.response.CustomerOrderStatsResponse;
 import com.music.music_inventory_api.dto.response.CustomerResponse;
 import com.music.music_inventory_api.dto.response.OrderResponse;
 import java.util.List;
@@ -23,12 +25,21 @@ public interface CustomerService
     /** Get all customers with pagination. */
     Page<CustomerResponse> getAllCustomers(Pageable pageable);
 
+    /** Get customers one slice at a time by keyset, sorted by id or email. */
+    CursorPageResponse<CustomerResponse> scrollCustomers(String sort, String cursor, int size);
+
     /** Update an existing customer. */
     CustomerResponse updateCustomer(Long id, UpdateCustomerRequest request);
 
     /** Delete a customer. */
     void deleteCustomer(Long id);
 
-    /** Get all orders for a customer. */
-    List<OrderResponse> getCustomerOrders(Long customerId);
+    /** Get a page of orders for a customer. */
+    Page<OrderResponse> getCustomerOrders(Long customerId, Pageable pageable);
+
+    /** Get a customer's order count, lifetime spend and last order time. */
+    CustomerOrderStatsResponse getCustomerOrderStats(Long customerId);
+
+    /** Get the top customers by order count ("orders") or lifetime spend ("spend"). */
+    List<CustomerOrderStatsResponse> getOrderLeaderboard(String by, int limit);
 }
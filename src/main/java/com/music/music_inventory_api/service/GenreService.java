@@ -3,8 +3,8 @@ package com.music.music_inventory_api.service;
 import com.music.music_inventory_api.dto.request.CreateGenreRequest;
 import com.music.music_inventory_api.dto.request.UpdateGenreRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.GenreResponse;
-import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -44,6 +44,21 @@ public interface GenreService
      */
     Page<GenreResponse> getAllGenres(Pageable pageable);
 
+    /**
+     * Get all genres one slice at a time. Each slice continues from the cursor of
+     * the previous one instead of an offset, and no total count is computed, so
+     * deep slices cost the same as the first.
+     *
+     * @param sort
+     *            {@code id} or {@code name}, ties broken by ID
+     * @param cursor
+     *            cursor of the previous slice, or null for the first slice
+     * @param size
+     *            slice size
+     * @return slice of genre responses
+     */
+    CursorPageResponse<GenreResponse> scrollGenres(String sort, String cursor, int size);
+
     /**
      * Update an existing genre.
      *
@@ -68,13 +83,15 @@ public interface GenreService
     void deleteGenre(Long id);
 
     /**
-     * Get all albums by genre ID.
+     * Get albums by genre ID with pagination.
      *
      * @param genreId
      *            the genre ID
-     * @return list of album responses
+     * @param pageable
+     *            pagination information
+     * @return page of album responses
      * @throws com.music.music_inventory_api.exception.EntityNotFoundException
      *             if genre not found
      */
-    List<AlbumResponse> getAlbumsByGenre(Long genreId);
+    Page<AlbumResponse> getAlbumsByGenre(Long genreId, Pageable pageable);
 }
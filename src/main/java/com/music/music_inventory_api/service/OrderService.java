@@ -2,8 +2,14 @@ package com.music.music_inventory_api.service;
 
 import com.music.music_inventory_api.dto.request.CreateOrderRequest;
 import com.music.music_inventory_api.dto.response.OrderResponse;
+import com.music.music_inventory_api.dto.response.RevenueResponse;
+import com.music.music_inventory_api.enums.DataFormat;
 import com.music.music_inventory_api.enums.OrderStatus;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Service interface for Order entity operations. Provides business logic for
@@ -38,13 +44,15 @@ public interface OrderService
     OrderResponse getOrderById(Long id);
 
     /**
-     * Retrieves all orders for a specific customer.
+     * Retrieves a page of orders for a specific customer.
      *
      * @param customerId
      *            the customer ID
-     * @return list of order responses
+     * @param pageable
+     *            pagination information
+     * @return page of order responses
      */
-    List<OrderResponse> getOrdersByCustomer(Long customerId);
+    Page<OrderResponse> getOrdersByCustomer(Long customerId, Pageable pageable);
 
     /**
      * Updates the status of an order.
@@ -72,4 +80,39 @@ public interface OrderService
      *             if order cannot be cancelled
      */
     void cancelOrder(Long id);
+
+    /**
+     * Calculates the revenue of the orders created in a time range, excluding
+     * cancelled orders.
+     *
+     * @param from
+     *            start of the range, inclusive
+     * @param to
+     *            end of the range, inclusive
+     * @return the range and its revenue
+     * @throws IllegalArgumentException
+     *             if the range ends before it starts
+     */
+    RevenueResponse getRevenue(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Writes the orders created in a time range, with their items, oldest first.
+     * Orders are streamed from the database and written one at a time, so memory
+     * use does not grow with the number of orders.
+     *
+     * @param format
+     *            the export format
+     * @param status
+     *            only export orders with this status, or {@code null} for all
+     * @param from
+     *            start of the range, inclusive, or {@code null} for no lower bound
+     * @param to
+     *            end of the range, inclusive, or {@code null} for no upper bound
+     * @param out
+     *            the stream to write to; flushed but not closed
+     * @throws IOException
+     *             if writing fails
+     */
+    void exportOrders(DataFormat format, OrderStatus status, LocalDateTime from, LocalDateTime to, OutputStream out)
+            throws IOException;
 }
@@ -2,6 +2,7 @@ package com.music.music_inventory_api.service;
 
 import com.music.music_inventory_api.dto.request.CreateSongRequest;
 import com.music.music_inventory_api.dto.request.UpdateSongRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.SongResponse;
 import java.util.List;
 import org.springframework.data.domain.Page;
@@ -43,6 +44,21 @@ public interface SongService
      */
     Page<SongResponse> getAllSongs(Pageable pageable);
 
+    /**
+     * Get all songs one slice at a time. Each slice continues from the cursor of
+     * the previous one instead of an offset, and no total count is computed, so
+     * deep slices cost the same as the first.
+     *
+     * @param sort
+     *            {@code id} or {@code title}, ties broken by ID
+     * @param cursor
+     *            cursor of the previous slice, or null for the first slice
+     * @param size
+     *            slice size
+     * @return slice of song responses
+     */
+    CursorPageResponse<SongResponse> scrollSongs(String sort, String cursor, int size);
+
     /**
      * Update an existing song.
      *
@@ -1,30 +1,54 @@
 package com.music.music_inventory_api.service.impl;
 
+import com.music.music_inventory_api.config.CacheConfig;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateAlbumRequest;
 import com.music.music_inventory_api.dto.request.UpdateAlbumRequest;
 import com.music.music_inventory_api.dto.response.AlbumDetailResponse;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import com.music.music_inventory_api.dto.response.GenreResponse;
 import com.music.music_inventory_api.dto.response.SongResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Artist;
 import com.music.music_inventory_api.entity.Genre;
 import com.music.music_inventory_api.entity.Song;
+import com.music.music_inventory_api.enums.SuggestionType;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.AlbumMapper;
 import com.music.music_inventory_api.mapper.SongMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
+import com.music.music_inventory_api.repository.AlbumGenreRow;
 import com.music.music_inventory_api.repository.AlbumRepository;
 import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
 import com.music.music_inventory_api.repository.GenreRepository;
 import com.music.music_inventory_api.repository.SongRepository;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.AlbumSearchMode;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import com.music.music_inventory_api.service.AlbumService;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,9 +67,16 @@ public class AlbumServiceImpl implements AlbumService
     private final AlbumRepository albumRepository;
     private final ArtistRepository artistRepository;
     private final GenreRepository genreRepository;
+    private final GenreAlbumStatsRepository genreAlbumStatsRepository;
     private final SongRepository songRepository;
     private final AlbumMapper albumMapper;
     private final SongMapper songMapper;
+    private final AlbumSearchIndex albumSearchIndex;
+    private final CatalogSuggester catalogSuggester;
+    private final CatalogVersion catalogVersion;
+
+    @Value("${catalog.search.mode:memory}")
+    private AlbumSearchMode searchMode = AlbumSearchMode.MEMORY;
 
     @Override
     @Transactional
@@ -81,21 +112,25 @@ public class AlbumServiceImpl implements AlbumService
 
         // Save album
         Album savedAlbum = albumRepository.save(album);
+        genreAlbumStatsRepository.recordAlbumChange(Set.of(), false, genreIds(savedAlbum), isInStock(savedAlbum));
+        albumSearchIndex.index(savedAlbum);
+        catalogSuggester.put(SuggestionType.ALBUM, savedAlbum.getId(), savedAlbum.getTitle());
+        catalogVersion.changed();
         log.info("Created album with ID: {}", savedAlbum.getId());
 
         return albumMapper.toResponse(savedAlbum);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ALBUMS, key = "#id")
     public AlbumDetailResponse getAlbumById(Long id)
     {
         log.debug("Fetching album by ID: {}", id);
 
-        Album album = albumRepository.findById(id)
+        // Two statements: the album with its artist and genres, then its songs
+        Album album = albumRepository.findDetailById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Album not found with ID: " + id));
-
-        // Fetch songs for this album
-        List<Song> songs = songRepository.findByAlbumId(id);
+        List<Song> songs = songRepository.findByAlbumOrderedByTrackNumber(id);
         List<SongResponse> songResponses = songMapper.toResponseList(songs);
 
         // Map to detail response
@@ -110,42 +145,113 @@ public class AlbumServiceImpl implements AlbumService
     {
         log.debug("Fetching all albums with pagination: {}", pageable);
 
-        Page<Album> albumPage = albumRepository.findAll(pageable);
-        return albumPage.map(albumMapper::toResponse);
+        Page<AlbumResponse> albumPage = albumRepository.findRows(pageable).map(AlbumServiceImpl::toResponse);
+        addGenres(albumPage.getContent());
+        return albumPage;
+    }
+
+    @Override
+    public CursorPageResponse<AlbumResponse> scrollAlbums(String sort, String cursor, int size)
+    {
+        log.debug("Scrolling albums by {} after cursor {}, size {}", sort, cursor, size);
+
+        Pageable rows = KeysetCursor.rows(sort, "title", size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        List<Tuple> albumRows;
+        if (after == null)
+        {
+            albumRows = albumRepository.findSlice(rows);
+        } else if (KeysetCursor.ID.equals(sort))
+        {
+            albumRows = albumRepository.findSliceAfterId(after.getId(), rows);
+        } else
+        {
+            albumRows = albumRepository.findSliceAfterTitle(after.getValue(), after.getId(), rows);
+        }
+        List<AlbumResponse> albums = albumRows.stream().map(AlbumServiceImpl::toResponse).collect(Collectors.toList());
+        addGenres(albums);
+        return KeysetCursor.slice(albums, size, Function.identity(),
+                album -> new KeysetCursor(sort, album.getId(), album.getTitle()));
     }
 
     @Override
-    public List<AlbumResponse> searchAlbums(String searchTerm)
+    public Page<AlbumResponse> searchAlbums(String searchTerm, Pageable pageable)
     {
-        log.debug("Searching albums with term: {}", searchTerm);
+        log.debug("Searching albums with term: {}, mode: {}, pagination: {}", searchTerm, searchMode, pageable);
 
         if (searchTerm == null || searchTerm.trim().isEmpty())
         {
             throw new IllegalArgumentException("Search term cannot be empty");
         }
 
-        List<Album> albums = albumRepository.searchByTitleOrArtistName(searchTerm);
-        return albumMapper.toResponseList(albums);
+        // Matches come ranked, so any requested sort is dropped
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Long> idPage;
+        switch (searchMode)
+        {
+            case LIKE:
+                idPage = albumRepository.searchIdsByTitleOrArtistName(searchTerm, unsorted);
+                break;
+            case TRIGRAM:
+                idPage = albumRepository.searchIdsByTitleOrArtistNameIndexed(searchTerm, unsorted)
+                        .map(Number::longValue);
+                break;
+            default:
+                idPage = rankedPage(albumSearchIndex.search(searchTerm), unsorted);
+                break;
+        }
+
+        // Load only the requested page, keeping the match order
+        List<Long> pageIds = idPage.getContent();
+        if (pageIds.isEmpty())
+        {
+            return new PageImpl<>(List.of(), unsorted, idPage.getTotalElements());
+        }
+
+        Map<Long, Album> albumsById = new HashMap<>();
+        for (Album album : albumRepository.findWithArtistByIdIn(pageIds))
+        {
+            albumsById.put(album.getId(), album);
+        }
+
+        List<AlbumResponse> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds)
+        {
+            Album album = albumsById.get(id);
+            if (album != null)
+            {
+                content.add(albumMapper.toResponse(album));
+            }
+        }
+        return new PageImpl<>(content, unsorted, idPage.getTotalElements());
+    }
+
+    private static Page<Long> rankedPage(List<Long> rankedIds, Pageable pageable)
+    {
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        return new PageImpl<>(rankedIds.subList(from, to), pageable, rankedIds.size());
     }
 
     @Override
-    public List<AlbumResponse> getAlbumsByGenre(Long genreId)
+    public Page<AlbumResponse> getAlbumsByGenre(Long genreId, Pageable pageable)
     {
-        log.debug("Fetching albums by genre ID: {}", genreId);
+        log.debug("Fetching albums by genre ID: {}, pagination: {}", genreId, pageable);
 
-        // Fetch genre to get its name
-        Genre genre = genreRepository.findById(genreId)
-                .orElseThrow(() -> new EntityNotFoundException("Genre not found with ID: " + genreId));
+        // Verify genre exists
+        if (!genreRepository.existsById(genreId))
+        {
+            throw new EntityNotFoundException("Genre not found with ID: " + genreId);
+        }
 
-        List<Album> albums = albumRepository.searchByGenreAndPriceRange(genre.getName(), BigDecimal.ZERO,
-                new BigDecimal("99999.99"));
-        return albumMapper.toResponseList(albums);
+        Page<Album> albumPage = albumRepository.findByGenreId(genreId, pageable);
+        return albumPage.map(albumMapper::toResponse);
     }
 
     @Override
-    public List<AlbumResponse> getAlbumsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice)
+    public Page<AlbumResponse> getAlbumsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable)
     {
-        log.debug("Fetching albums by price range: {} - {}", minPrice, maxPrice);
+        log.debug("Fetching albums by price range: {} - {}, pagination: {}", minPrice, maxPrice, pageable);
 
         if (minPrice == null || maxPrice == null)
         {
@@ -157,21 +263,23 @@ public class AlbumServiceImpl implements AlbumService
             throw new IllegalArgumentException("Minimum price cannot be greater than maximum price");
         }
 
-        List<Album> albums = albumRepository.findAll().stream()
-                .filter(album -> album.getPrice().compareTo(minPrice) >= 0 && album.getPrice().compareTo(maxPrice) <= 0)
-                .collect(Collectors.toList());
-
-        return albumMapper.toResponseList(albums);
+        Page<Album> albumPage = albumRepository.findByPriceBetween(minPrice, maxPrice, pageable);
+        return albumPage.map(albumMapper::toResponse);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ALBUMS, key = "#id")
     public AlbumResponse updateAlbum(Long id, UpdateAlbumRequest request)
     {
         log.debug("Updating album with ID: {}", id);
 
-        Album album = albumRepository.findById(id)
+        // Locked, so that the stock read here is still current when the genre
+        // counters are adjusted
+        Album album = albumRepository.findForUpdateById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Album not found with ID: " + id));
+        Set<Long> oldGenreIds = genreIds(album);
+        boolean wasInStock = isInStock(album);
 
         // Use mapper to update entity from request
         albumMapper.updateEntityFromRequest(request, album);
@@ -198,6 +306,11 @@ public class AlbumServiceImpl implements AlbumService
         }
 
         Album updatedAlbum = albumRepository.save(album);
+        genreAlbumStatsRepository.recordAlbumChange(oldGenreIds, wasInStock, genreIds(updatedAlbum),
+                isInStock(updatedAlbum));
+        albumSearchIndex.index(updatedAlbum);
+        catalogSuggester.put(SuggestionType.ALBUM, updatedAlbum.getId(), updatedAlbum.getTitle());
+        catalogVersion.changed();
         log.info("Updated album with ID: {}", updatedAlbum.getId());
 
         return albumMapper.toResponse(updatedAlbum);
@@ -205,18 +318,82 @@ public class AlbumServiceImpl implements AlbumService
 
     @Override
     @Transactional
+    @Caching(evict =
+    {@CacheEvict(cacheNames = CacheConfig.ALBUMS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ALBUM_SONGS, key = "#id")})
     public void deleteAlbum(Long id)
     {
         log.debug("Deleting album with ID: {}", id);
 
-        Album album = albumRepository.findById(id)
+        Album album = albumRepository.findForUpdateById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Album not found with ID: " + id));
+        genreAlbumStatsRepository.recordAlbumChange(genreIds(album), isInStock(album), Set.of(), false);
 
         // Clear genre relationships before deletion
         album.getGenres().clear();
         albumRepository.save(album);
 
         albumRepository.deleteById(id);
+        albumSearchIndex.remove(id);
+        catalogSuggester.remove(SuggestionType.ALBUM, id);
+        catalogVersion.changed();
         log.info("Deleted album with ID: {}", id);
     }
+
+    /**
+     * Builds a list response, without genres, from a row selected by
+     * {@link AlbumRepository#ROW_SELECT}.
+     */
+    private static AlbumResponse toResponse(Tuple row)
+    {
+        return AlbumResponse.builder().id(row.get("id", Long.class)).title(row.get("title", String.class))
+                .artistId(row.get("artistId", Long.class)).artistName(row.get("artistName", String.class))
+                .releaseDate(row.get("releaseDate", LocalDate.class)).price(row.get("price", BigDecimal.class))
+                .stockQuantity(row.get("stockQuantity", Integer.class))
+                .coverImageUrl(row.get("coverImageUrl", String.class))
+                .description(row.get("description", String.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+                .updatedAt(row.get("updatedAt", LocalDateTime.class)).build();
+    }
+
+    /**
+     * Fills in the genres of album responses read by projection, with one
+     * query for the whole page; albums of the same genre share its response.
+     */
+    private void addGenres(List<AlbumResponse> albums)
+    {
+        Map<Long, AlbumResponse> albumsById = new HashMap<>();
+        for (AlbumResponse album : albums)
+        {
+            album.setGenres(new HashSet<>());
+            albumsById.put(album.getId(), album);
+        }
+        if (albumsById.isEmpty())
+        {
+            return;
+        }
+
+        Map<Long, GenreResponse> genresById = new HashMap<>();
+        for (AlbumGenreRow row : albumRepository.findGenreRowsByAlbumIdIn(albumsById.keySet()))
+        {
+            GenreResponse genre = genresById.computeIfAbsent(row.getGenreId(),
+                    id -> new GenreResponse(id, row.getName(), row.getDescription(), row.getCreatedAt()));
+            albumsById.get(row.getAlbumId()).getGenres().add(genre);
+        }
+    }
+
+    private static Set<Long> genreIds(Album album)
+    {
+        Set<Long> ids = new HashSet<>();
+        for (Genre genre : album.getGenres())
+        {
+            ids.add(genre.getId());
+        }
+        return ids;
+    }
+
+    private static boolean isInStock(Album album)
+    {
+        return album.getStockQuantity() != null && album.getStockQuantity() > 0;
+    }
 }
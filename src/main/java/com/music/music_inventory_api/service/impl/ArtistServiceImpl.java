@@ -1,20 +1,30 @@
 package com.music.music_inventory_api.service.impl;
 
+import com.music.music_inventory_api.config.CacheConfig;
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateArtistRequest;
 import com.music.music_inventory_api.dto.request.UpdateArtistRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
 import com.music.music_inventory_api.dto.response.ArtistResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.enums.SuggestionType;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.AlbumMapper;
 import com.music.music_inventory_api.mapper.ArtistMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
 import com.music.music_inventory_api.repository.AlbumRepository;
 import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import com.music.music_inventory_api.service.ArtistService;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -35,6 +45,10 @@ public class ArtistServiceImpl implements ArtistService
     private final AlbumRepository albumRepository;
     private final ArtistMapper artistMapper;
     private final AlbumMapper albumMapper;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final AlbumSearchIndex albumSearchIndex;
+    private final CatalogSuggester catalogSuggester;
+    private final CatalogVersion catalogVersion;
 
     @Override
     @Transactional
@@ -44,12 +58,15 @@ public class ArtistServiceImpl implements ArtistService
 
         Artist artist = artistMapper.toEntity(request);
         Artist savedArtist = artistRepository.save(artist);
+        catalogSuggester.put(SuggestionType.ARTIST, savedArtist.getId(), savedArtist.getName());
 
+        catalogVersion.changed();
         log.info("Successfully created artist with ID: {}", savedArtist.getId());
         return artistMapper.toResponse(savedArtist);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ARTISTS, key = "#id")
     public ArtistResponse getArtistById(Long id)
     {
         log.info("Fetching artist with ID: {}", id);
@@ -64,14 +81,37 @@ public class ArtistServiceImpl implements ArtistService
     {
         log.info("Fetching all artists - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Artist> artists = artistRepository.findAll(pageable);
+        Page<ArtistResponse> artists = artistRepository.findResponses(pageable);
 
         log.info("Found {} artists", artists.getTotalElements());
-        return artists.map(artistMapper::toResponse);
+        return artists;
+    }
+
+    @Override
+    public CursorPageResponse<ArtistResponse> scrollArtists(String sort, String cursor, int size)
+    {
+        log.debug("Scrolling artists by {} after cursor {}, size {}", sort, cursor, size);
+
+        Pageable rows = KeysetCursor.rows(sort, "name", size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        List<ArtistResponse> artists;
+        if (after == null)
+        {
+            artists = artistRepository.findSlice(rows);
+        } else if (KeysetCursor.ID.equals(sort))
+        {
+            artists = artistRepository.findSliceAfterId(after.getId(), rows);
+        } else
+        {
+            artists = artistRepository.findSliceAfterName(after.getValue(), after.getId(), rows);
+        }
+        return KeysetCursor.slice(artists, size, Function.identity(),
+                artist -> new KeysetCursor(sort, artist.getId(), artist.getName()));
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ARTISTS, key = "#id")
     public ArtistResponse updateArtist(Long id, UpdateArtistRequest request)
     {
         log.info("Updating artist with ID: {}", id);
@@ -83,12 +123,20 @@ public class ArtistServiceImpl implements ArtistService
 
         Artist updatedArtist = artistRepository.save(artist);
 
+        // Album details and the search index embed the artist
+        List<Long> albumIds = albumRepository.findIdsByArtistId(id);
+        catalogCacheEvictor.evictAlbumDetails(albumIds);
+        albumSearchIndex.renameArtist(albumIds, updatedArtist.getName());
+        catalogSuggester.put(SuggestionType.ARTIST, updatedArtist.getId(), updatedArtist.getName());
+
+        catalogVersion.changed();
         log.info("Successfully updated artist with ID: {}", id);
         return artistMapper.toResponse(updatedArtist);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ARTISTS, key = "#id")
     public void deleteArtist(Long id)
     {
         log.info("Deleting artist with ID: {}", id);
@@ -99,11 +147,13 @@ public class ArtistServiceImpl implements ArtistService
         }
 
         artistRepository.deleteById(id);
+        catalogSuggester.remove(SuggestionType.ARTIST, id);
+        catalogVersion.changed();
         log.info("Successfully deleted artist with ID: {}", id);
     }
 
     @Override
-    public List<AlbumResponse> getAlbumsByArtist(Long artistId)
+    public Page<AlbumResponse> getAlbumsByArtist(Long artistId, Pageable pageable)
     {
         log.info("Fetching albums for artist ID: {}", artistId);
 
@@ -113,10 +163,9 @@ public class ArtistServiceImpl implements ArtistService
             throw new EntityNotFoundException("Artist", artistId);
         }
 
-        List<AlbumResponse> albums = albumRepository.findByArtistId(artistId).stream().map(albumMapper::toResponse)
-                .collect(Collectors.toList());
+        Page<AlbumResponse> albums = albumRepository.findByArtistId(artistId, pageable).map(albumMapper::toResponse);
 
-        log.info("Found {} albums for artist ID: {}", albums.size(), artistId);
+        log.info("Found {} albums for artist ID: {}", albums.getTotalElements(), artistId);
         return albums;
     }
 }
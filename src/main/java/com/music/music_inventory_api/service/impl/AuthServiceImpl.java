@@ -11,12 +11,12 @@ import com.music.music_inventory_api.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /** Implementation of AuthService for handling authentication operations. */
 @Service
@@ -30,8 +30,11 @@ public class AuthServiceImpl implements AuthService
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
 
+    // Not transactional: the lookup and the insert each run in their own repository
+    // transaction, so no pooled connection is held while the password is hashed, which
+    // may wait for a slot on the hashing pool. A concurrent registration of the same
+    // email is caught by the unique constraint on save instead.
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request)
     {
         LOGGER.info("Registering new customer with email: {}", request.getEmail());
@@ -48,12 +51,23 @@ public class AuthServiceImpl implements AuthService
                 .lastName(request.getLastName()).phone(request.getPhone()).address(request.getAddress())
                 .city(request.getCity()).country(request.getCountry()).postalCode(request.getPostalCode()).build();
 
-        customer = customerRepository.save(customer);
+        try
+        {
+            customer = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException ex)
+        {
+            // Only a concurrent registration of the same email is the caller's error
+            if (customerRepository.findByEmailIgnoreCase(request.getEmail()).isPresent())
+            {
+                throw new IllegalArgumentException("Email already registered: " + request.getEmail(), ex);
+            }
+            throw ex;
+        }
         LOGGER.info("Successfully registered customer with ID: {}", customer.getId());
 
         // Generate JWT token
         UserDetails userDetails = createUserDetails(customer);
-        String token = jwtUtil.generateToken(userDetails);
+        String token = jwtUtil.generateToken(userDetails, customer.getId());
 
         return buildAuthResponse(customer, token);
     }
@@ -78,7 +92,7 @@ public class AuthServiceImpl implements AuthService
 
         // Generate JWT token
         UserDetails userDetails = createUserDetails(customer);
-        String token = jwtUtil.generateToken(userDetails);
+        String token = jwtUtil.generateToken(userDetails, customer.getId());
 
         return buildAuthResponse(customer, token);
     }
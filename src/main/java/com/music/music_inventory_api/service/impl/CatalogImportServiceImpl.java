@@ -0,0 +1,283 @@
+package com.music.music_inventory_api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.music_inventory_api.config.CatalogVersion;
+import com.music.music_inventory_api.dto.request.ImportAlbumRequest;
+import com.music.music_inventory_api.dto.request.ImportSongRequest;
+import com.music.music_inventory_api.dto.response.CatalogImportResponse;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.entity.Genre;
+import com.music.music_inventory_api.entity.Song;
+import com.music.music_inventory_api.enums.DataFormat;
+import com.music.music_inventory_api.enums.SuggestionType;
+import com.music.music_inventory_api.importer.CatalogImportReader;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
+import com.music.music_inventory_api.repository.GenreRepository;
+import com.music.music_inventory_api.repository.SongRepository;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.CatalogSuggester;
+import com.music.music_inventory_api.service.CatalogImportService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of CatalogImportService. Not transactional itself: each batch
+ * of {@code catalog.import.batch-size} albums is written in its own
+ * transaction, with its artists and genres resolved by one query each, and the
+ * persistence context is cleared after every batch, so memory stays flat
+ * however large the import is.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogImportServiceImpl implements CatalogImportService
+{
+    /** Largest number of rejected rows listed in a response; all are counted. */
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ArtistRepository artistRepository;
+    private final GenreRepository genreRepository;
+    private final GenreAlbumStatsRepository genreAlbumStatsRepository;
+    private final AlbumRepository albumRepository;
+    private final SongRepository songRepository;
+    private final AlbumSearchIndex albumSearchIndex;
+    private final CatalogSuggester catalogSuggester;
+    private final CatalogVersion catalogVersion;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.import.batch-size:500}")
+    private int batchSize = 500;
+
+    @Override
+    public CatalogImportResponse importCatalog(DataFormat format, InputStream in) throws IOException
+    {
+        log.info("Importing catalog from {} in batches of {} albums", format, batchSize);
+
+        long startNanos = System.nanoTime();
+        ImportTotals totals = new ImportTotals();
+        // Albums of the current batch by the line they start on
+        Map<Long, ImportAlbumRequest> batch = new LinkedHashMap<>();
+        try (CatalogImportReader reader = new CatalogImportReader(format, in, objectMapper))
+        {
+            for (ImportAlbumRequest album = nextValidAlbum(reader, totals); album != null; album = nextValidAlbum(
+                    reader, totals))
+            {
+                batch.put(reader.getLine(), album);
+                if (batch.size() == batchSize)
+                {
+                    importBatch(batch, totals, startNanos);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty())
+        {
+            importBatch(batch, totals, startNanos);
+        }
+
+        log.info("Imported {} albums and {} songs, created {} artists and {} genres, rejected {} rows in {} ms",
+                totals.albums, totals.songs, totals.artists, totals.genres, totals.rejected,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return totals.toResponse();
+    }
+
+    /** Reads up to the next album that parses and is valid, rejecting the others. */
+    private ImportAlbumRequest nextValidAlbum(CatalogImportReader reader, ImportTotals totals) throws IOException
+    {
+        while (true)
+        {
+            try
+            {
+                ImportAlbumRequest album = reader.next();
+                if (album == null)
+                {
+                    return null;
+                }
+
+                if (album.getGenres() == null)
+                {
+                    album.setGenres(new ArrayList<>());
+                }
+                if (album.getSongs() == null)
+                {
+                    album.setSongs(new ArrayList<>());
+                }
+                Set<ConstraintViolation<ImportAlbumRequest>> violations = validator.validate(album);
+                if (violations.isEmpty())
+                {
+                    return album;
+                }
+                totals.reject(reader.getLine(), violations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .distinct().collect(Collectors.joining("; ")));
+            } catch (IllegalArgumentException ex)
+            {
+                totals.reject(reader.getLine(), ex.getMessage());
+            }
+        }
+    }
+
+    private void importBatch(Map<Long, ImportAlbumRequest> batch, ImportTotals totals, long startNanos)
+    {
+        try
+        {
+            totals.add(transactionTemplate.execute(status -> writeBatch(batch.values())));
+        } catch (RuntimeException ex)
+        {
+            // The batch was rolled back as a whole, so each of its albums is
+            // rejected; the import carries on with the next batch
+            long firstLine = batch.keySet().iterator().next();
+            log.warn("Import batch starting on line {} failed", firstLine, ex);
+            String message = "Batch failed: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            batch.keySet().forEach(line -> totals.reject(line, message));
+        }
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.info("Import progress: {} albums and {} songs imported, {} rows rejected, {} albums/s", totals.albums,
+                totals.songs, totals.rejected, totals.albums * 1000 / elapsedMillis);
+    }
+
+    private ImportTotals writeBatch(Collection<ImportAlbumRequest> albums)
+    {
+        ImportTotals written = new ImportTotals();
+
+        // Resolve every artist and genre of the batch with one query each
+        Set<String> artistNames = new HashSet<>();
+        Set<String> genreNames = new HashSet<>();
+        for (ImportAlbumRequest album : albums)
+        {
+            artistNames.add(key(album.getArtist()));
+            album.getGenres().forEach(name -> genreNames.add(key(name)));
+        }
+        Map<String, Artist> artists = new HashMap<>();
+        for (Artist artist : artistRepository.findByLowerNameIn(artistNames))
+        {
+            artists.putIfAbsent(key(artist.getName()), artist);
+        }
+        Map<String, Genre> genres = new HashMap<>();
+        if (!genreNames.isEmpty())
+        {
+            genreRepository.findByLowerNameIn(genreNames).forEach(genre -> genres.put(key(genre.getName()), genre));
+        }
+
+        List<Long> albumIds = new ArrayList<>(albums.size());
+        for (ImportAlbumRequest request : albums)
+        {
+            Artist artist = artists.computeIfAbsent(key(request.getArtist()),
+                    name -> createArtist(request.getArtist(), written));
+            Album album = Album.builder().title(request.getTitle()).artist(artist)
+                    .releaseDate(request.getReleaseDate()).price(request.getPrice())
+                    .stockQuantity(request.getStockQuantity()).coverImageUrl(request.getCoverImageUrl())
+                    .description(request.getDescription()).build();
+            for (String genreName : request.getGenres())
+            {
+                album.addGenre(genres.computeIfAbsent(key(genreName), name -> createGenre(genreName, written)));
+            }
+
+            Album savedAlbum = albumRepository.save(album);
+            albumIds.add(savedAlbum.getId());
+            albumSearchIndex.index(savedAlbum);
+            catalogSuggester.put(SuggestionType.ALBUM, savedAlbum.getId(), savedAlbum.getTitle());
+            for (ImportSongRequest songRequest : request.getSongs())
+            {
+                Song savedSong = songRepository.save(Song.builder().title(songRequest.getTitle()).album(savedAlbum)
+                        .trackNumber(songRequest.getTrackNumber())
+                        .durationSeconds(songRequest.getDurationSeconds()).build());
+                catalogSuggester.put(SuggestionType.SONG, savedSong.getId(), savedSong.getTitle());
+            }
+            written.albums++;
+            written.songs += request.getSongs().size();
+        }
+
+        // Flushes the batch, then frees its entities
+        genreAlbumStatsRepository.recordAlbumsAdded(albumIds);
+        catalogVersion.changed();
+        entityManager.clear();
+        return written;
+    }
+
+    private Artist createArtist(String name, ImportTotals written)
+    {
+        Artist artist = artistRepository.save(Artist.builder().name(name).build());
+        catalogSuggester.put(SuggestionType.ARTIST, artist.getId(), artist.getName());
+        written.artists++;
+        return artist;
+    }
+
+    private Genre createGenre(String name, ImportTotals written)
+    {
+        Genre genre = genreRepository.save(Genre.builder().name(name).build());
+        genreAlbumStatsRepository.createStats(genre.getId());
+        catalogSuggester.put(SuggestionType.GENRE, genre.getId(), genre.getName());
+        written.genres++;
+        return genre;
+    }
+
+    /** Matches names the way {@code LOWER(name)} does in the lookups. */
+    private static String key(String name)
+    {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /** Running counts of an import, or of one batch. */
+    private static final class ImportTotals
+    {
+        private long albums;
+        private long songs;
+        private long artists;
+        private long genres;
+        private long rejected;
+        private final List<CatalogImportResponse.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message)
+        {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS)
+            {
+                errors.add(new CatalogImportResponse.RowError(line, message));
+            }
+        }
+
+        void add(ImportTotals batch)
+        {
+            albums += batch.albums;
+            songs += batch.songs;
+            artists += batch.artists;
+            genres += batch.genres;
+        }
+
+        CatalogImportResponse toResponse()
+        {
+            // Albums of a failed batch are rejected after the rows read past it
+            errors.sort(Comparator.comparingLong(CatalogImportResponse.RowError::getLine));
+            return CatalogImportResponse.builder().albumsImported(albums).songsImported(songs).artistsCreated(artists)
+                    .genresCreated(genres).rowsRejected(rejected).errors(errors).build();
+        }
+    }
+}
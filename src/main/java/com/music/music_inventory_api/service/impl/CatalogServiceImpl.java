@@ -0,0 +1,49 @@
+package com.music.music_inventory_api.service.impl;
+
+import com.music.music_inventory_api.dto.response.SuggestionResponse;
+import com.music.music_inventory_api.search.CatalogSuggester;
+import com.music.music_inventory_api.search.Suggestion;
+import com.music.music_inventory_api.service.CatalogService;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of CatalogService. Not transactional: suggestions are served
+ * from memory and must not hold a database connection.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogServiceImpl implements CatalogService
+{
+
+    private final CatalogSuggester catalogSuggester;
+
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, int limit)
+    {
+        log.debug("Suggesting catalog entries for prefix: {}, limit: {}", prefix, limit);
+
+        if (prefix == null || prefix.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Search term cannot be empty");
+        }
+
+        if (limit < 1)
+        {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+
+        List<Suggestion> suggestions = catalogSuggester.suggest(prefix, limit);
+        List<SuggestionResponse> responses = new ArrayList<>(suggestions.size());
+        for (Suggestion suggestion : suggestions)
+        {
+            responses.add(SuggestionResponse.builder().type(suggestion.getType()).id(suggestion.getId())
+                    .label(suggestion.getLabel()).build());
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,52 @@
+package com.music.music_inventory_api.service.impl;
+
+import com.music.music_inventory_api.repository.CustomerOrderStatsDrift;
+import com.music.music_inventory_api.repository.CustomerOrderStatsRepository;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Periodically checks the customer order rollup against the orders table.
+ * Every drifted customer is logged and their row is recomputed from their
+ * orders, so a missed update cannot persist past the next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerOrderStatsReconciler
+{
+    private final CustomerOrderStatsRepository customerOrderStatsRepository;
+
+    /**
+     * Recompute the rows that differ from their orders.
+     *
+     * @return the drift found before the repair
+     */
+    @Scheduled(cron = "${customer.order-stats.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public List<CustomerOrderStatsDrift> reconcile()
+    {
+        List<CustomerOrderStatsDrift> drift = customerOrderStatsRepository.findDrift();
+        if (drift.isEmpty())
+        {
+            log.info("Customer order stats match the orders table");
+            return drift;
+        }
+
+        for (CustomerOrderStatsDrift entry : drift)
+        {
+            log.warn("Customer order stats drift for customer ID {}: stored {} orders / {}, actual {} orders / {}",
+                    entry.getCustomerId(), entry.getStoredOrderCount(), entry.getStoredLifetimeSpend(),
+                    entry.getActualOrderCount(), entry.getActualLifetimeSpend());
+        }
+        customerOrderStatsRepository
+                .recompute(drift.stream().map(CustomerOrderStatsDrift::getCustomerId).collect(Collectors.toList()));
+        log.warn("Recomputed order stats for {} customers", drift.size());
+        return drift;
+    }
+}
@@ -2,22 +2,29 @@ package com.music.music_inventory_api.service.impl;
 
 import com.music.music_inventory_api.dto.request.CreateCustomerRequest;
 import com.music.music_inventory_api.dto.request.UpdateCustomerRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import com.music.music_inventory_api.dto.response.CustomerOrderStatsResponse;
 import com.music.music_inventory_api.dto.response.CustomerResponse;
 import com.music.music_inventory_api.dto.response.OrderResponse;
 import com.music.music_inventory_api.entity.Customer;
+import com.music.music_inventory_api.entity.CustomerOrderStats;
 import com.music.music_inventory_api.entity.Order;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.CustomerMapper;
 import com.music.music_inventory_api.mapper.OrderMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
+import com.music.music_inventory_api.repository.CustomerOrderStatsRepository;
 import com.music.music_inventory_api.repository.CustomerRepository;
 import com.music.music_inventory_api.repository.OrderRepository;
 import com.music.music_inventory_api.service.CustomerService;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,10 +36,16 @@ import org.springframework.transaction.annotation.Transactional;
 @SuppressWarnings("null") // Suppress false-positive null warnings from IDE
 public class CustomerServiceImpl implements CustomerService
 {
+    static final String LEADERBOARD_BY_ORDERS = "orders";
+    static final String LEADERBOARD_BY_SPEND = "spend";
+    static final int MAX_LEADERBOARD_SIZE = 100;
+
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
+    private final CustomerOrderStatsRepository customerOrderStatsRepository;
     private final CustomerMapper customerMapper;
     private final OrderMapper orderMapper;
+    private final UserDetailsServiceImpl userDetailsService;
 
     @Override
     @Transactional
@@ -90,6 +103,28 @@ public class CustomerServiceImpl implements CustomerService
         return customers.map(customerMapper::toResponse);
     }
 
+    @Override
+    public CursorPageResponse<CustomerResponse> scrollCustomers(String sort, String cursor, int size)
+    {
+        log.debug("Scrolling customers by {} after cursor {}, size {}", sort, cursor, size);
+
+        Pageable rows = KeysetCursor.rows(sort, "email", size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        List<Customer> customers;
+        if (after == null)
+        {
+            customers = customerRepository.findSlice(rows);
+        } else if (KeysetCursor.ID.equals(sort))
+        {
+            customers = customerRepository.findSliceAfterId(after.getId(), rows);
+        } else
+        {
+            customers = customerRepository.findSliceAfterEmail(after.getValue(), after.getId(), rows);
+        }
+        return KeysetCursor.slice(customers, size, customerMapper::toResponse,
+                customer -> new KeysetCursor(sort, customer.getId(), customer.getEmail()));
+    }
+
     @Override
     @Transactional
     public CustomerResponse updateCustomer(Long id, UpdateCustomerRequest request)
@@ -109,6 +144,13 @@ public class CustomerServiceImpl implements CustomerService
             }
         }
 
+        // Cached principals are keyed by email; the new one too, in case a token for it was seen
+        userDetailsService.evictUser(existingCustomer.getEmail());
+        if (request.getEmail() != null)
+        {
+            userDetailsService.evictUser(request.getEmail());
+        }
+
         customerMapper.updateEntityFromRequest(request, existingCustomer);
         Customer updatedCustomer = customerRepository.save(existingCustomer);
 
@@ -122,18 +164,17 @@ public class CustomerServiceImpl implements CustomerService
     {
         log.info("Deleting customer with ID: {}", id);
 
-        if (!customerRepository.existsById(id))
-        {
-            throw new EntityNotFoundException("Customer not found with ID: " + id);
-        }
+        Customer customer = customerRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with ID: " + id));
 
-        customerRepository.deleteById(id);
+        customerRepository.delete(customer);
+        userDetailsService.evictUser(customer.getEmail());
         log.info("Successfully deleted customer with ID: {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponse> getCustomerOrders(Long customerId)
+    public Page<OrderResponse> getCustomerOrders(Long customerId, Pageable pageable)
     {
         log.info("Fetching orders for customer ID: {}", customerId);
 
@@ -143,9 +184,51 @@ public class CustomerServiceImpl implements CustomerService
             throw new EntityNotFoundException("Customer not found with ID: " + customerId);
         }
 
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
+        Page<Order> orders = orderRepository.findByCustomerId(customerId, pageable);
+
+        log.info("Found {} orders for customer ID: {}", orders.getTotalElements(), customerId);
+        return orders.map(orderMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerOrderStatsResponse getCustomerOrderStats(Long customerId)
+    {
+        log.info("Fetching order stats for customer ID: {}", customerId);
+
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with ID: " + customerId));
+
+        // Customers who never ordered have no row
+        return customerOrderStatsRepository.findById(customerId).map(customerMapper::toOrderStatsResponse)
+                .orElseGet(() -> CustomerOrderStatsResponse.builder().customerId(customerId)
+                        .firstName(customer.getFirstName()).lastName(customer.getLastName())
+                        .lifetimeSpend(BigDecimal.ZERO).averageOrderValue(BigDecimal.ZERO).build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerOrderStatsResponse> getOrderLeaderboard(String by, int limit)
+    {
+        if (limit < 1 || limit > MAX_LEADERBOARD_SIZE)
+        {
+            throw new IllegalArgumentException("Leaderboard limit must be between 1 and " + MAX_LEADERBOARD_SIZE);
+        }
+        log.info("Fetching top {} customers by {}", limit, by);
 
-        log.info("Found {} orders for customer ID: {}", orders.size(), customerId);
-        return orders.stream().map(orderMapper::toResponse).collect(Collectors.toList());
+        Pageable top = PageRequest.of(0, limit);
+        List<CustomerOrderStats> stats;
+        if (LEADERBOARD_BY_ORDERS.equals(by))
+        {
+            stats = customerOrderStatsRepository.findTopByOrderCount(top);
+        } else if (LEADERBOARD_BY_SPEND.equals(by))
+        {
+            stats = customerOrderStatsRepository.findTopByLifetimeSpend(top);
+        } else
+        {
+            throw new IllegalArgumentException("Unsupported leaderboard: " + by + ". Use "
+                    + LEADERBOARD_BY_ORDERS + " or " + LEADERBOARD_BY_SPEND);
+        }
+        return stats.stream().map(customerMapper::toOrderStatsResponse).collect(Collectors.toList());
     }
 }
@@ -1,21 +1,30 @@
 package com.music.music_inventory_api.service.impl;
 
+import com.music.music_inventory_api.config.CacheConfig;
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateGenreRequest;
 import com.music.music_inventory_api.dto.request.UpdateGenreRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.GenreResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Genre;
+import com.music.music_inventory_api.enums.SuggestionType;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.AlbumMapper;
 import com.music.music_inventory_api.mapper.GenreMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
 import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
 import com.music.music_inventory_api.repository.GenreRepository;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import com.music.music_inventory_api.service.GenreService;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -33,9 +42,13 @@ public class GenreServiceImpl implements GenreService
 {
 
     private final GenreRepository genreRepository;
+    private final GenreAlbumStatsRepository genreAlbumStatsRepository;
     private final AlbumRepository albumRepository;
     private final GenreMapper genreMapper;
     private final AlbumMapper albumMapper;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final CatalogSuggester catalogSuggester;
+    private final CatalogVersion catalogVersion;
 
     @Override
     @Transactional
@@ -45,12 +58,16 @@ public class GenreServiceImpl implements GenreService
 
         Genre genre = genreMapper.toEntity(request);
         Genre savedGenre = genreRepository.save(genre);
+        genreAlbumStatsRepository.createStats(savedGenre.getId());
+        catalogSuggester.put(SuggestionType.GENRE, savedGenre.getId(), savedGenre.getName());
 
+        catalogVersion.changed();
         log.info("Successfully created genre with ID: {}", savedGenre.getId());
         return genreMapper.toResponse(savedGenre);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GENRES, key = "#id")
     public GenreResponse getGenreById(Long id)
     {
         log.info("Fetching genre with ID: {}", id);
@@ -71,8 +88,31 @@ public class GenreServiceImpl implements GenreService
         return genresPage.map(genreMapper::toResponse);
     }
 
+    @Override
+    public CursorPageResponse<GenreResponse> scrollGenres(String sort, String cursor, int size)
+    {
+        log.debug("Scrolling genres by {} after cursor {}, size {}", sort, cursor, size);
+
+        Pageable rows = KeysetCursor.rows(sort, "name", size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        List<Genre> genres;
+        if (after == null)
+        {
+            genres = genreRepository.findSlice(rows);
+        } else if (KeysetCursor.ID.equals(sort))
+        {
+            genres = genreRepository.findSliceAfterId(after.getId(), rows);
+        } else
+        {
+            genres = genreRepository.findSliceAfterName(after.getValue(), after.getId(), rows);
+        }
+        return KeysetCursor.slice(genres, size, genreMapper::toResponse,
+                genre -> new KeysetCursor(sort, genre.getId(), genre.getName()));
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRES, key = "#id")
     public GenreResponse updateGenre(Long id, UpdateGenreRequest request)
     {
         log.info("Updating genre with ID: {}", id);
@@ -83,13 +123,19 @@ public class GenreServiceImpl implements GenreService
         genreMapper.updateEntityFromRequest(request, genre);
 
         Genre updatedGenre = genreRepository.save(genre);
+        catalogSuggester.put(SuggestionType.GENRE, updatedGenre.getId(), updatedGenre.getName());
 
+        // Album details embed their genres
+        catalogCacheEvictor.evictAllAlbumDetails();
+
+        catalogVersion.changed();
         log.info("Successfully updated genre with ID: {}", id);
         return genreMapper.toResponse(updatedGenre);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRES, key = "#id")
     public void deleteGenre(Long id)
     {
         log.info("Deleting genre with ID: {}", id);
@@ -99,24 +145,28 @@ public class GenreServiceImpl implements GenreService
             throw new EntityNotFoundException("Genre", id);
         }
 
+        catalogCacheEvictor.evictAllAlbumDetails();
         genreRepository.deleteById(id);
+        catalogSuggester.remove(SuggestionType.GENRE, id);
+        catalogVersion.changed();
         log.info("Successfully deleted genre with ID: {}", id);
     }
 
     @Override
-    public List<AlbumResponse> getAlbumsByGenre(Long genreId)
+    public Page<AlbumResponse> getAlbumsByGenre(Long genreId, Pageable pageable)
     {
-        log.info("Fetching albums for genre ID: {}", genreId);
+        log.info("Fetching albums for genre ID: {} - Page: {}, Size: {}", genreId, pageable.getPageNumber(),
+                pageable.getPageSize());
 
         // Verify genre exists
-        genreRepository.findById(genreId).orElseThrow(() -> new EntityNotFoundException("Genre", genreId));
+        if (!genreRepository.existsById(genreId))
+        {
+            throw new EntityNotFoundException("Genre", genreId);
+        }
 
-        // Find all albums that have this genre
-        List<Album> albums = albumRepository.findAll().stream()
-                .filter(album -> album.getGenres().stream().anyMatch(g -> g.getId().equals(genreId)))
-                .collect(Collectors.toList());
+        Page<Album> albums = albumRepository.findByGenreId(genreId, pageable);
 
-        log.info("Found {} albums for genre ID: {}", albums.size(), genreId);
-        return albumMapper.toResponseList(albums);
+        log.info("Found {} albums for genre ID: {}", albums.getTotalElements(), genreId);
+        return albums.map(albumMapper::toResponse);
     }
 }
@@ -1,25 +1,46 @@
 package com.music.music_inventory_api.service.impl;
 
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateOrderItemRequest;
 import com.music.music_inventory_api.dto.request.CreateOrderRequest;
 import com.music.music_inventory_api.dto.response.OrderResponse;
+import com.music.music_inventory_api.dto.response.RevenueResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Customer;
 import com.music.music_inventory_api.entity.Order;
 import com.music.music_inventory_api.entity.OrderItem;
+import com.music.music_inventory_api.enums.DataFormat;
 import com.music.music_inventory_api.enums.OrderStatus;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
+import com.music.music_inventory_api.exception.InsufficientStockException;
+import com.music.music_inventory_api.export.OrderExportWriter;
 import com.music.music_inventory_api.mapper.OrderMapper;
 import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.AlbumSalesStatsRepository;
+import com.music.music_inventory_api.repository.CustomerOrderStatsRepository;
 import com.music.music_inventory_api.repository.CustomerRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
 import com.music.music_inventory_api.repository.OrderRepository;
+import com.music.music_inventory_api.repository.RevenueBucketRepository;
 import com.music.music_inventory_api.service.OrderService;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 /** Implementation of OrderService interface. */
@@ -29,11 +50,21 @@ import org.springframework.stereotype.Service;
 @Transactional
 public class OrderServiceImpl implements OrderService
 {
+    // Bounds of an export range left open, within what PostgreSQL timestamps hold
+    private static final LocalDateTime EXPORT_START = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime EXPORT_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final AlbumRepository albumRepository;
+    private final AlbumSalesStatsRepository albumSalesStatsRepository;
+    private final GenreAlbumStatsRepository genreAlbumStatsRepository;
+    private final CustomerOrderStatsRepository customerOrderStatsRepository;
+    private final RevenueBucketRepository revenueBucketRepository;
     private final OrderMapper orderMapper;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final CatalogVersion catalogVersion;
+    private final EntityManager entityManager;
 
     @Override
     public OrderResponse createOrder(CreateOrderRequest request)
@@ -48,20 +79,38 @@ public class OrderServiceImpl implements OrderService
         Order order = Order.builder().customer(customer).status(OrderStatus.PENDING).orderDate(LocalDateTime.now())
                 .totalAmount(BigDecimal.ZERO).build();
 
-        // Process order items
-        BigDecimal total = BigDecimal.ZERO;
+        // Load every requested album in one query
+        Map<Long, Integer> quantitiesByAlbumId = new HashMap<>();
         for (CreateOrderItemRequest itemRequest : request.getItems())
         {
-            // Validate album exists
-            Album album = albumRepository.findById(itemRequest.getAlbumId())
-                    .orElseThrow(() -> new EntityNotFoundException("Album", itemRequest.getAlbumId()));
-
-            // Validate stock
-            if (album.getStockQuantity() < itemRequest.getQuantity())
+            quantitiesByAlbumId.merge(itemRequest.getAlbumId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        Map<Long, Album> albumsById = albumRepository.findAllById(quantitiesByAlbumId.keySet()).stream()
+                .collect(Collectors.toMap(Album::getId, Function.identity()));
+        for (CreateOrderItemRequest itemRequest : request.getItems())
+        {
+            if (!albumsById.containsKey(itemRequest.getAlbumId()))
             {
-                throw new IllegalArgumentException("Insufficient stock for album: " + album.getTitle() + ". Available: "
-                        + album.getStockQuantity() + ", Requested: " + itemRequest.getQuantity());
+                throw new EntityNotFoundException("Album", itemRequest.getAlbumId());
             }
+        }
+
+        // Reserve stock in one batch; the conditional updates fail instead of
+        // overselling
+        List<Long> insufficientAlbumIds = albumRepository.decrementStock(quantitiesByAlbumId);
+        if (!insufficientAlbumIds.isEmpty())
+        {
+            Long albumId = insufficientAlbumIds.get(0);
+            throw new InsufficientStockException("Insufficient stock for album: " + albumsById.get(albumId).getTitle()
+                    + ". Requested: " + quantitiesByAlbumId.get(albumId));
+        }
+        genreAlbumStatsRepository.recordStockTaken(quantitiesByAlbumId);
+
+        // Process order items
+        BigDecimal total = BigDecimal.ZERO;
+        for (CreateOrderItemRequest itemRequest : request.getItems())
+        {
+            Album album = albumsById.get(itemRequest.getAlbumId());
 
             // Calculate subtotal
             BigDecimal subtotal = album.getPrice().multiply(new BigDecimal(itemRequest.getQuantity()));
@@ -72,10 +121,6 @@ public class OrderServiceImpl implements OrderService
 
             order.addOrderItem(orderItem);
 
-            // Reduce stock
-            album.setStockQuantity(album.getStockQuantity() - itemRequest.getQuantity());
-            albumRepository.save(album);
-
             // Add to total
             total = total.add(subtotal);
 
@@ -86,6 +131,16 @@ public class OrderServiceImpl implements OrderService
         order.setTotalAmount(total);
         Order savedOrder = orderRepository.save(order);
 
+        // Sales totals change with the order, in the same transaction
+        albumSalesStatsRepository.recordSales(savedOrder.getOrderItems(), savedOrder.getOrderDate());
+        customerOrderStatsRepository.recordOrder(customer.getId(), savedOrder.getTotalAmount(),
+                savedOrder.getOrderDate());
+        revenueBucketRepository.recordRevenue(savedOrder.getCreatedAt(), savedOrder.getTotalAmount());
+
+        // Album details show stock quantity
+        catalogCacheEvictor.evictAlbumDetails(quantitiesByAlbumId.keySet());
+        catalogVersion.stockChanged();
+
         log.info("Successfully created order with ID: {}, Total: {}", savedOrder.getId(), total);
         return orderMapper.toResponse(savedOrder);
     }
@@ -99,12 +154,12 @@ public class OrderServiceImpl implements OrderService
     }
 
     @Override
-    public List<OrderResponse> getOrdersByCustomer(Long customerId)
+    public Page<OrderResponse> getOrdersByCustomer(Long customerId, Pageable pageable)
     {
         log.info("Fetching orders for customer ID: {}", customerId);
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
-        log.info("Found {} orders for customer ID: {}", orders.size(), customerId);
-        return orderMapper.toResponseList(orders);
+        Page<Order> orders = orderRepository.findByCustomerId(customerId, pageable);
+        log.info("Found {} orders for customer ID: {}", orders.getTotalElements(), customerId);
+        return orders.map(orderMapper::toResponse);
     }
 
     @Override
@@ -121,6 +176,15 @@ public class OrderServiceImpl implements OrderService
                     "Cannot update status of " + order.getStatus() + " order. Current status: " + order.getStatus());
         }
 
+        // Cancelling returns the stock too, exactly as cancelOrder does
+        if (status == OrderStatus.CANCELLED)
+        {
+            checkCancellable(order);
+            Order cancelledOrder = cancel(order);
+            log.info("Successfully updated order ID: {} to status: {}", id, status);
+            return orderMapper.toResponse(cancelledOrder);
+        }
+
         order.setStatus(status);
         Order updatedOrder = orderRepository.save(order);
 
@@ -136,11 +200,7 @@ public class OrderServiceImpl implements OrderService
         Order order = orderRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Order", id));
 
         // Validate order can be cancelled
-        if (order.getStatus() == OrderStatus.SHIPPED || order.getStatus() == OrderStatus.DELIVERED)
-        {
-            throw new IllegalStateException(
-                    "Cannot cancel order with status: " + order.getStatus() + ". Order already shipped or delivered.");
-        }
+        checkCancellable(order);
 
         if (order.getStatus() == OrderStatus.CANCELLED)
         {
@@ -148,18 +208,88 @@ public class OrderServiceImpl implements OrderService
             return;
         }
 
+        cancel(order);
+        log.info("Successfully cancelled order with ID: {}", id);
+    }
+
+    private static void checkCancellable(Order order)
+    {
+        if (order.getStatus() == OrderStatus.SHIPPED || order.getStatus() == OrderStatus.DELIVERED)
+        {
+            throw new IllegalStateException(
+                    "Cannot cancel order with status: " + order.getStatus() + ". Order already shipped or delivered.");
+        }
+    }
+
+    /**
+     * Cancels an order: returns its stock and takes it out of every sales
+     * aggregate.
+     *
+     * @param order
+     *            an order that is not shipped, delivered or cancelled
+     * @return the saved order
+     */
+    private Order cancel(Order order)
+    {
         // Restore stock for all items
+        Map<Long, Integer> quantitiesByAlbumId = new HashMap<>();
         for (OrderItem item : order.getOrderItems())
         {
-            Album album = item.getAlbum();
-            album.setStockQuantity(album.getStockQuantity() + item.getQuantity());
-            albumRepository.save(album);
-            log.debug("Restored {} units of album: {}", item.getQuantity(), album.getTitle());
+            quantitiesByAlbumId.merge(item.getAlbum().getId(), item.getQuantity(), Integer::sum);
         }
+        albumRepository.incrementStock(quantitiesByAlbumId);
+        genreAlbumStatsRepository.recordStockReturned(quantitiesByAlbumId);
+        log.debug("Restored stock for albums: {}", quantitiesByAlbumId);
+        albumSalesStatsRepository.reverseSales(order.getOrderItems());
+        customerOrderStatsRepository.reverseOrder(order.getCustomer().getId(), order.getId(),
+                order.getTotalAmount());
+        revenueBucketRepository.reverseRevenue(order.getCreatedAt(), order.getTotalAmount());
 
         order.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        Order cancelledOrder = orderRepository.save(order);
+        catalogCacheEvictor.evictAlbumDetails(quantitiesByAlbumId.keySet());
+        catalogVersion.stockChanged();
+        return cancelledOrder;
+    }
 
-        log.info("Successfully cancelled order with ID: {}", id);
+    @Override
+    public RevenueResponse getRevenue(LocalDateTime from, LocalDateTime to)
+    {
+        if (to.isBefore(from))
+        {
+            throw new IllegalArgumentException("Revenue range must not end before it starts");
+        }
+        log.info("Calculating revenue from {} to {}", from, to);
+
+        BigDecimal revenue = revenueBucketRepository.sumRevenue(from, to);
+        return RevenueResponse.builder().from(from).to(to).revenue(revenue).build();
+    }
+
+    @Override
+    public void exportOrders(DataFormat format, OrderStatus status, LocalDateTime from, LocalDateTime to,
+            OutputStream out) throws IOException
+    {
+        LocalDateTime start = from != null ? from : EXPORT_START;
+        LocalDateTime end = to != null ? to : EXPORT_END;
+        log.info("Exporting orders as {} with status {} from {} to {}", format, status, start, end);
+
+        OrderExportWriter writer = new OrderExportWriter(format, out);
+        long exported = 0;
+        try (Stream<Order> orders = status == null ? orderRepository.streamByDateRange(start, end)
+                : orderRepository.streamByStatusAndDateRange(status, start, end))
+        {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext())
+            {
+                Order order = iterator.next();
+                writer.write(order);
+                // Detaching the order (and through cascading its items) keeps the
+                // persistence context from growing with the export
+                entityManager.detach(order);
+                exported++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} orders", exported);
     }
 }
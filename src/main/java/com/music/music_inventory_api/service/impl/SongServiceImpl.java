@@ -1,18 +1,27 @@
 package com.music.music_inventory_api.service.impl;
 
+import com.music.music_inventory_api.config.CacheConfig;
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateSongRequest;
 import com.music.music_inventory_api.dto.request.UpdateSongRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.SongResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Song;
+import com.music.music_inventory_api.enums.SuggestionType;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.SongMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
 import com.music.music_inventory_api.repository.AlbumRepository;
 import com.music.music_inventory_api.repository.SongRepository;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import com.music.music_inventory_api.service.SongService;
 import java.util.List;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +41,9 @@ public class SongServiceImpl implements SongService
     private final SongRepository songRepository;
     private final AlbumRepository albumRepository;
     private final SongMapper songMapper;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final CatalogSuggester catalogSuggester;
+    private final CatalogVersion catalogVersion;
 
     @Override
     @Transactional
@@ -46,7 +58,10 @@ public class SongServiceImpl implements SongService
         Song song = songMapper.toEntity(request);
         song.setAlbum(album);
         Song savedSong = songRepository.save(song);
+        catalogSuggester.put(SuggestionType.SONG, savedSong.getId(), savedSong.getTitle());
+        catalogCacheEvictor.evictAlbumSongs(album.getId());
 
+        catalogVersion.changed();
         log.info("Successfully created song with ID: {}", savedSong.getId());
         return songMapper.toResponse(savedSong);
     }
@@ -66,10 +81,32 @@ public class SongServiceImpl implements SongService
     {
         log.info("Fetching all songs - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Song> songsPage = songRepository.findAll(pageable);
+        Page<SongResponse> songsPage = songRepository.findResponses(pageable);
 
         log.info("Found {} songs", songsPage.getTotalElements());
-        return songsPage.map(songMapper::toResponse);
+        return songsPage;
+    }
+
+    @Override
+    public CursorPageResponse<SongResponse> scrollSongs(String sort, String cursor, int size)
+    {
+        log.debug("Scrolling songs by {} after cursor {}, size {}", sort, cursor, size);
+
+        Pageable rows = KeysetCursor.rows(sort, "title", size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        List<SongResponse> songs;
+        if (after == null)
+        {
+            songs = songRepository.findSlice(rows);
+        } else if (KeysetCursor.ID.equals(sort))
+        {
+            songs = songRepository.findSliceAfterId(after.getId(), rows);
+        } else
+        {
+            songs = songRepository.findSliceAfterTitle(after.getValue(), after.getId(), rows);
+        }
+        return KeysetCursor.slice(songs, size, Function.identity(),
+                song -> new KeysetCursor(sort, song.getId(), song.getTitle()));
     }
 
     @Override
@@ -79,6 +116,7 @@ public class SongServiceImpl implements SongService
         log.info("Updating song with ID: {}", id);
 
         Song song = songRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Song", id));
+        Long previousAlbumId = song.getAlbum().getId();
 
         // If albumId is being updated, verify it exists
         if (request.getAlbumId() != null && !request.getAlbumId().equals(song.getAlbum().getId()))
@@ -92,7 +130,11 @@ public class SongServiceImpl implements SongService
         songMapper.updateEntityFromRequest(request, song);
 
         Song updatedSong = songRepository.save(song);
+        catalogSuggester.put(SuggestionType.SONG, updatedSong.getId(), updatedSong.getTitle());
+        catalogCacheEvictor.evictAlbumSongs(previousAlbumId);
+        catalogCacheEvictor.evictAlbumSongs(updatedSong.getAlbum().getId());
 
+        catalogVersion.changed();
         log.info("Successfully updated song with ID: {}", id);
         return songMapper.toResponse(updatedSong);
     }
@@ -103,16 +145,17 @@ public class SongServiceImpl implements SongService
     {
         log.info("Deleting song with ID: {}", id);
 
-        if (!songRepository.existsById(id))
-        {
-            throw new EntityNotFoundException("Song", id);
-        }
+        Long albumId = songRepository.findAlbumIdById(id).orElseThrow(() -> new EntityNotFoundException("Song", id));
 
         songRepository.deleteById(id);
+        catalogSuggester.remove(SuggestionType.SONG, id);
+        catalogCacheEvictor.evictAlbumSongs(albumId);
+        catalogVersion.changed();
         log.info("Successfully deleted song with ID: {}", id);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ALBUM_SONGS, key = "#albumId")
     public List<SongResponse> getSongsByAlbum(Long albumId)
     {
         log.info("Fetching songs for album ID: {}", albumId);
@@ -120,7 +163,7 @@ public class SongServiceImpl implements SongService
         // Verify album exists
         albumRepository.findById(albumId).orElseThrow(() -> new EntityNotFoundException("Album", albumId));
 
-        List<Song> songs = songRepository.findByAlbumId(albumId);
+        List<Song> songs = songRepository.findByAlbumOrderedByTrackNumber(albumId);
 
         log.info("Found {} songs for album ID: {}", songs.size(), albumId);
         return songMapper.toResponseList(songs);
@@ -1,10 +1,15 @@
 package com.music.music_inventory_api.service.impl;
 
+import com.music.music_inventory_api.config.CacheConfig;
 import com.music.music_inventory_api.entity.Customer;
 import com.music.music_inventory_api.repository.CustomerRepository;
+import com.music.music_inventory_api.security.CustomerPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,7 +18,9 @@ import org.springframework.stereotype.Service;
 
 /**
  * Implementation of UserDetailsService for loading user-specific data during
- * authentication.
+ * authentication. Principals for requests carrying a token are cached briefly
+ * (see {@link CacheConfig#PRINCIPALS}) and evicted when the customer changes;
+ * they carry no password, so the hash is only read when one is checked.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,6 +28,7 @@ public class UserDetailsServiceImpl implements UserDetailsService
 {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
+    private static final String ROLE_CUSTOMER = "ROLE_CUSTOMER";
 
     private final CustomerRepository customerRepository;
 
@@ -29,10 +37,48 @@ public class UserDetailsServiceImpl implements UserDetailsService
     {
         LOGGER.debug("Loading user by email: {}", email);
 
-        Customer customer = customerRepository.findByEmailIgnoreCase(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        Customer customer = findCustomer(email);
 
         return User.builder().username(customer.getEmail()).password(customer.getPassword())
-                .authorities("ROLE_CUSTOMER").build();
+                .authorities(ROLE_CUSTOMER).build();
+    }
+
+    /**
+     * Loads the principal for an already verified token, without the password.
+     *
+     * @param email
+     *            the customer email
+     * @return the principal
+     * @throws UsernameNotFoundException
+     *             if no customer has the email
+     */
+    @Cacheable(cacheNames = CacheConfig.PRINCIPALS, key = "#email.toLowerCase()")
+    public CustomerPrincipal loadPrincipal(String email)
+    {
+        LOGGER.debug("Loading principal by email: {}", email);
+
+        Customer customer = findCustomer(email);
+
+        return new CustomerPrincipal(customer.getId(), customer.getEmail(),
+                AuthorityUtils.createAuthorityList(ROLE_CUSTOMER));
+    }
+
+    /**
+     * Evicts the cached user details for an email, e.g. after the customer was
+     * updated or deleted.
+     *
+     * @param email
+     *            the customer email
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRINCIPALS, key = "#email.toLowerCase()")
+    public void evictUser(String email)
+    {
+        LOGGER.debug("Evicting cached user: {}", email);
+    }
+
+    private Customer findCustomer(String email)
+    {
+        return customerRepository.findByEmailIgnoreCase(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 }
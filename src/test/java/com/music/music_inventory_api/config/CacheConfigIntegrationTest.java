@@ -0,0 +1,181 @@
+package com.music.music_inventory_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.music.music_inventory_api.dto.request.CreateSongRequest;
+import com.music.music_inventory_api.dto.request.UpdateAlbumRequest;
+import com.music.music_inventory_api.dto.response.AlbumDetailResponse;
+import com.music.music_inventory_api.dto.response.GenreResponse;
+import com.music.music_inventory_api.dto.response.SongResponse;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.entity.Genre;
+import com.music.music_inventory_api.entity.Song;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.GenreRepository;
+import com.music.music_inventory_api.repository.SongRepository;
+import com.music.music_inventory_api.service.AlbumService;
+import com.music.music_inventory_api.service.SongService;
+import java.math.BigDecimal;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for the catalog cache. Not transactional on purpose: the
+ * caches are transaction-aware, so puts and evictions only happen once the
+ * surrounding transaction commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheConfigIntegrationTest
+{
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private SongService songService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Artist artist;
+    private Album album;
+    private List<Genre> genres;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp()
+    {
+        clearCaches();
+        artist = artistRepository.save(Artist.builder().name("Cached Artist").build());
+        genres = genreRepository.saveAll(List.of(Genre.builder().name("Cached Genre 1").build(),
+                Genre.builder().name("Cached Genre 2").build()));
+        album = albumRepository.save(Album.builder().title("Cached Album").artist(artist)
+                .price(new BigDecimal("12.99")).stockQuantity(10).build());
+        genres.forEach(genre -> jdbcTemplate.update("INSERT INTO album_genres (album_id, genre_id) VALUES (?, ?)",
+                album.getId(), genre.getId()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        songRepository.findByAlbumId(album.getId()).forEach(song -> songService.deleteSong(song.getId()));
+        jdbcTemplate.update("DELETE FROM album_genres WHERE album_id = ?", album.getId());
+        albumRepository.deleteById(album.getId());
+        genreRepository.deleteAll(genres);
+        artistRepository.deleteById(artist.getId());
+        clearCaches();
+    }
+
+    @Test
+    void getAlbumById_calledTwice_shouldServeSecondCallFromCache()
+    {
+        // Arrange
+        long hitsBefore = nativeAlbumCache().stats().hitCount();
+
+        // Act
+        AlbumDetailResponse first = albumService.getAlbumById(album.getId());
+        long statementsAfterFirstCall = statistics.getPrepareStatementCount();
+        AlbumDetailResponse second = albumService.getAlbumById(album.getId());
+
+        // Assert
+        assertThat(statementsAfterFirstCall).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstCall);
+        assertThat(second).isEqualTo(first);
+        assertThat(nativeAlbumCache().stats().hitCount()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void getAlbumById_onCacheMiss_shouldLoadDetailInTwoStatementsWithSongsInTrackOrder()
+    {
+        // Arrange
+        songRepository.saveAll(List.of(Song.builder().title("Third").album(album).trackNumber(3).build(),
+                Song.builder().title("Second").album(album).trackNumber(2).build(),
+                Song.builder().title("First").album(album).trackNumber(1).build()));
+        statistics.clear();
+
+        // Act
+        AlbumDetailResponse detail = albumService.getAlbumById(album.getId());
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(detail.getArtist().getName()).isEqualTo("Cached Artist");
+        assertThat(detail.getGenres()).extracting(GenreResponse::getName).containsExactlyInAnyOrder("Cached Genre 1",
+                "Cached Genre 2");
+        assertThat(detail.getSongs()).extracting(SongResponse::getTitle).containsExactly("First", "Second",
+                "Third");
+    }
+
+    @Test
+    void createSong_shouldEvictCachedDetail()
+    {
+        // Arrange
+        albumService.getAlbumById(album.getId());
+
+        // Act
+        songService.createSong(CreateSongRequest.builder().title("New Track").albumId(album.getId()).trackNumber(1)
+                .durationSeconds(180).build());
+
+        // Assert
+        assertThat(albumService.getAlbumById(album.getId()).getSongs()).extracting(SongResponse::getTitle)
+                .containsExactly("New Track");
+    }
+
+    @Test
+    void updateAlbum_shouldEvictCachedDetail()
+    {
+        // Arrange
+        albumService.getAlbumById(album.getId());
+
+        // Act
+        albumService.updateAlbum(album.getId(), UpdateAlbumRequest.builder().title("Renamed Album")
+                .artistId(artist.getId()).price(new BigDecimal("12.99")).stockQuantity(10).build());
+
+        // Assert
+        assertThat(albumService.getAlbumById(album.getId()).getTitle()).isEqualTo("Renamed Album");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeAlbumCache()
+    {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfig.ALBUMS).getNativeCache();
+    }
+
+    private void clearCaches()
+    {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+}
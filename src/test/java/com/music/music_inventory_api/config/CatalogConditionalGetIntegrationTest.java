@@ -0,0 +1,146 @@
+package com.music.music_inventory_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.music.music_inventory_api.dto.request.CreateGenreRequest;
+import com.music.music_inventory_api.dto.request.UpdateGenreRequest;
+import com.music.music_inventory_api.dto.response.GenreResponse;
+import com.music.music_inventory_api.service.GenreService;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for conditional GETs on catalog endpoints. Not
+ * transactional, so catalog changes commit and move the version on as they do
+ * in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogConditionalGetIntegrationTest
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private GenreResponse genre;
+
+    @BeforeEach
+    void setUp()
+    {
+        genre = genreService.createGenre(CreateGenreRequest.builder().name("Conditional Get Genre").build());
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        genreService.deleteGenre(genre.getId());
+    }
+
+    @Test
+    void get_withCurrentETag_shouldAnswerNotModifiedWithoutQueries() throws Exception
+    {
+        // Arrange
+        String eTag = mockMvc.perform(get("/api/genres/{id}", genre.getId())).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED)).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/genres/{id}", genre.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified()).andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/genres").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void get_afterCommittedChange_shouldAnswerWithNewETag() throws Exception
+    {
+        // Arrange
+        String eTag = catalogVersion.getETag(false);
+
+        // Act
+        genreService.updateGenre(genre.getId(), UpdateGenreRequest.builder().name("Conditional Get Renamed").build());
+
+        // Assert
+        assertThat(catalogVersion.getETag(false)).isNotEqualTo(eTag);
+        mockMvc.perform(get("/api/genres/{id}", genre.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersion.getETag(false)));
+    }
+
+    @Test
+    void get_afterStockChange_shouldOnlyAnswerAlbumRequestsWithNewETag() throws Exception
+    {
+        // Arrange
+        String genreETag = mockMvc.perform(get("/api/genres/{id}", genre.getId())).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        String albumsETag = mockMvc.perform(get("/api/genres/{id}/albums", genre.getId())).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act - as placing or cancelling an order does
+        catalogVersion.stockChanged();
+
+        // Assert
+        mockMvc.perform(get("/api/genres/{id}", genre.getId()).header(HttpHeaders.IF_NONE_MATCH, genreETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/genres/{id}/albums", genre.getId()).header(HttpHeaders.IF_NONE_MATCH, albumsETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void changed_inRolledBackTransaction_shouldKeepVersion()
+    {
+        // Arrange
+        String eTag = catalogVersion.getETag(true);
+
+        // Act
+        transactionTemplate.executeWithoutResult(status ->
+        {
+            catalogVersion.changed();
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(catalogVersion.getETag(true)).isEqualTo(eTag);
+    }
+
+    @Test
+    void get_withAuthorizationHeader_shouldOnlyAllowPrivateCaching() throws Exception
+    {
+        // Act & Assert
+        mockMvc.perform(get("/api/genres/{id}", genre.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer invalid"))
+                .andExpect(status().isOk()).andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+}
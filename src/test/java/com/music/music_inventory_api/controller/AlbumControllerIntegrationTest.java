@@ -0,0 +1,208 @@
+package com.music.music_inventory_api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.entity.Genre;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.GenreRepository;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for AlbumController list endpoints. Uses Hibernate
+ * statistics to check that a page of albums is loaded in a constant number of
+ * statements, regardless of how many albums, artists and genres it contains.
+ * Search results come from the in-memory index, which is rebuilt around each
+ * test since the test data is never committed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@Transactional
+class AlbumControllerIntegrationTest
+{
+    private static final int ALBUM_COUNT = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private AlbumSearchIndex albumSearchIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Artist firstArtist;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp()
+    {
+        albumRepository.deleteAll();
+
+        Genre rock = genreRepository.save(Genre.builder().name("Rock").build());
+        Genre blues = genreRepository.save(Genre.builder().name("Blues").build());
+
+        // Every album gets its own artist and two genres, so any lazy loading
+        // during mapping would show up as extra statements per album
+        for (int i = 0; i < ALBUM_COUNT; i++)
+        {
+            Artist artist = artistRepository.save(Artist.builder().name("Artist " + i).build());
+            if (firstArtist == null)
+            {
+                firstArtist = artist;
+            }
+
+            Album album = Album.builder().title("Album " + i).artist(artist).price(new BigDecimal("12.99"))
+                    .stockQuantity(10).build();
+            album.addGenre(rock);
+            album.addGenre(blues);
+            albumRepository.save(album);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // Index the uncommitted test data
+        albumSearchIndex.rebuild();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterTransaction
+    void rebuildIndex()
+    {
+        // Drop the rolled back test data from the index
+        albumSearchIndex.rebuild();
+    }
+
+    @Test
+    void getAllAlbums_withFullPage_shouldLoadInConstantStatements() throws Exception
+    {
+        // Act
+        mockMvc.perform(get("/api/albums").param("size", "100")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(ALBUM_COUNT))
+                .andExpect(jsonPath("$.content[0].artistName").exists())
+                .andExpect(jsonPath("$.content[0].genres.length()").value(2));
+
+        // Assert - page query (with artist) and one batched genre load
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void scrollAlbums_byTitle_shouldWalkEveryAlbumInOrderWithoutCounting() throws Exception
+    {
+        // Arrange
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < ALBUM_COUNT; i++)
+        {
+            expected.add("Album " + i);
+        }
+        Collections.sort(expected);
+
+        // Act
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+        do
+        {
+            MockHttpServletRequestBuilder request = get("/api/albums/scroll").param("sort", "title").param("size",
+                    "7");
+            if (cursor != null)
+            {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].artistName").exists()).andReturn().getResponse()
+                    .getContentAsString();
+            titles.addAll(JsonPath.read(body, "$.content[*].title"));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            slices++;
+        } while (cursor != null);
+
+        // Assert - one slice query (with artist) and one batched genre load per
+        // slice, and no count query
+        assertThat(titles).isEqualTo(expected);
+        assertThat(slices).isEqualTo((ALBUM_COUNT + 6) / 7);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * slices);
+    }
+
+    @Test
+    void searchAlbums_withManyMatches_shouldLoadInConstantStatements() throws Exception
+    {
+        // Act
+        mockMvc.perform(get("/api/albums/search").param("q", "album").param("size", "100"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.content.length()").value(ALBUM_COUNT))
+                .andExpect(jsonPath("$.totalElements").value(ALBUM_COUNT));
+
+        // Assert - page query (with artist) and one batched genre load
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void searchAlbums_withExactTitle_shouldRankItFirst() throws Exception
+    {
+        // Act & Assert - "Album 1" also prefixes "Album 10" to "Album 19"
+        mockMvc.perform(get("/api/albums/search").param("q", "ALBUM 1").param("size", "5")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5)).andExpect(jsonPath("$.totalElements").value(11))
+                .andExpect(jsonPath("$.content[0].title").value("Album 1"))
+                .andExpect(jsonPath("$.content[1].title").value("Album 10"));
+    }
+
+    @Test
+    void searchAlbums_byArtistInfix_shouldMatchWithoutDatabaseScan() throws Exception
+    {
+        // Act
+        mockMvc.perform(get("/api/albums/search").param("q", "tist 3")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(11))
+                .andExpect(jsonPath("$.content[0].artistName").value("Artist 3"));
+
+        // Assert - the keyword query never runs
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getArtistAlbums_shouldLoadInConstantStatements() throws Exception
+    {
+        // Act
+        mockMvc.perform(get("/api/artists/{id}/albums", firstArtist.getId())).andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        // Assert - existence check, album query (with artist), genre load; a short
+        // first page needs no count query
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+}
@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateAlbumRequest;
 import com.music.music_inventory_api.dto.request.UpdateAlbumRequest;
 import com.music.music_inventory_api.dto.response.AlbumDetailResponse;
@@ -30,6 +31,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -60,6 +62,9 @@ class AlbumControllerTest
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private CatalogVersion catalogVersion;
+
     private CreateAlbumRequest createRequest;
     private UpdateAlbumRequest updateRequest;
     private AlbumResponse albumResponse;
@@ -179,20 +184,22 @@ class AlbumControllerTest
     void searchAlbums_withValidQuery_shouldReturnMatchingAlbums() throws Exception
     {
         // Arrange
-        List<AlbumResponse> albums = Collections.singletonList(albumResponse);
-        when(albumService.searchAlbums("Beatles")).thenReturn(albums);
+        Page<AlbumResponse> albumPage = new PageImpl<>(Collections.singletonList(albumResponse), PageRequest.of(0, 20),
+                1);
+        when(albumService.searchAlbums(eq("Beatles"), any(Pageable.class))).thenReturn(albumPage);
 
         // Act & Assert
         mockMvc.perform(get("/api/albums/search").param("q", "Beatles")).andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1))).andExpect(jsonPath("$[0].title").value("Abbey Road"));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Abbey Road"));
 
-        verify(albumService).searchAlbums("Beatles");
+        verify(albumService).searchAlbums(eq("Beatles"), any(Pageable.class));
     }
 
     @Test
     void searchAlbums_withEmptyQuery_shouldReturnBadRequest() throws Exception {
         // Arrange
-        when(albumService.searchAlbums(anyString()))
+        when(albumService.searchAlbums(anyString(), any(Pageable.class)))
                 .thenThrow(new IllegalArgumentException("Search term cannot be empty"));
 
         // Act & Assert
@@ -205,48 +212,53 @@ class AlbumControllerTest
     void getAlbumsByGenre_withValidGenreId_shouldReturnAlbums() throws Exception
     {
         // Arrange
-        List<AlbumResponse> albums = Collections.singletonList(albumResponse);
-        when(albumService.getAlbumsByGenre(1L)).thenReturn(albums);
+        Page<AlbumResponse> albumPage = new PageImpl<>(Collections.singletonList(albumResponse), PageRequest.of(0, 20),
+                1);
+        when(albumService.getAlbumsByGenre(eq(1L), any(Pageable.class))).thenReturn(albumPage);
 
         // Act & Assert
-        mockMvc.perform(get("/api/albums/genre/1")).andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].title").value("Abbey Road"));
+        mockMvc.perform(get("/api/albums/genre/1")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Abbey Road"));
 
-        verify(albumService).getAlbumsByGenre(1L);
+        verify(albumService).getAlbumsByGenre(eq(1L), any(Pageable.class));
     }
 
     @Test
     void getAlbumsByGenre_withNonExistentGenreId_shouldReturnNotFound() throws Exception {
         // Arrange
-        when(albumService.getAlbumsByGenre(999L))
+        when(albumService.getAlbumsByGenre(eq(999L), any(Pageable.class)))
                 .thenThrow(new EntityNotFoundException("Genre not found with ID: 999"));
 
         // Act & Assert
         mockMvc.perform(get("/api/albums/genre/999"))
                 .andExpect(status().isNotFound());
 
-        verify(albumService).getAlbumsByGenre(999L);
+        verify(albumService).getAlbumsByGenre(eq(999L), any(Pageable.class));
     }
 
     @Test
     void getAlbumsByPriceRange_withValidRange_shouldReturnAlbums() throws Exception
     {
         // Arrange
-        List<AlbumResponse> albums = Collections.singletonList(albumResponse);
-        when(albumService.getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class))).thenReturn(albums);
+        Page<AlbumResponse> albumPage = new PageImpl<>(Collections.singletonList(albumResponse), PageRequest.of(0, 20),
+                1);
+        when(albumService.getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class), any(Pageable.class)))
+                .thenReturn(albumPage);
 
         // Act & Assert
         mockMvc.perform(get("/api/albums/price-range").param("min", "10.00").param("max", "30.00"))
-                .andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].title").value("Abbey Road"));
+                .andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Abbey Road"))
+                .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(albumService).getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class));
+        verify(albumService).getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class), any(Pageable.class));
     }
 
     @Test
     void getAlbumsByPriceRange_withInvalidRange_shouldReturnBadRequest() throws Exception {
         // Arrange
-        when(albumService.getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class)))
+        when(albumService.getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class), any(Pageable.class)))
                 .thenThrow(new IllegalArgumentException("Minimum price cannot be greater than maximum price"));
 
         // Act & Assert
@@ -255,7 +267,7 @@ class AlbumControllerTest
                         .param("max", "10.00"))
                 .andExpect(status().isBadRequest());
 
-        verify(albumService).getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class));
+        verify(albumService).getAlbumsByPriceRange(any(BigDecimal.class), any(BigDecimal.class), any(Pageable.class));
     }
 
     @Test
@@ -187,7 +187,7 @@ public class ArtistControllerIntegrationTest
         // Note: This test assumes albums can be added separately
         // For now, it should return empty list
         mockMvc.perform(get("/api/artists/{id}/albums", artist.getId())).andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray());
     }
 
     @Test
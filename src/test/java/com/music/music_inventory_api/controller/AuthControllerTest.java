@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.LoginRequest;
 import com.music.music_inventory_api.dto.request.RegisterRequest;
 import com.music.music_inventory_api.dto.response.AuthResponse;
@@ -46,6 +47,9 @@ class AuthControllerTest
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private CatalogVersion catalogVersion;
+
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
     private AuthResponse authResponse;
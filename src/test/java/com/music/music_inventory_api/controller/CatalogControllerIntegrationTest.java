@@ -0,0 +1,93 @@
+package com.music.music_inventory_api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.music.music_inventory_api.dto.request.CreateGenreRequest;
+import com.music.music_inventory_api.dto.request.UpdateGenreRequest;
+import com.music.music_inventory_api.dto.response.GenreResponse;
+import com.music.music_inventory_api.service.GenreService;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for CatalogController. Not transactional, so catalog
+ * changes commit and reach the suggestions as they do in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class CatalogControllerIntegrationTest
+{
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void suggest_shouldFollowCommittedCatalogChanges() throws Exception
+    {
+        // Arrange
+        GenreResponse genre = genreService
+                .createGenre(CreateGenreRequest.builder().name("Zydeco Suggest Test").build());
+
+        try
+        {
+            // Act & Assert - created entries are suggested from any word
+            mockMvc.perform(get("/api/catalog/suggest").param("q", "zydeco sugg")).andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1))).andExpect(jsonPath("$[0].type").value("GENRE"))
+                    .andExpect(jsonPath("$[0].id").value(genre.getId()));
+            mockMvc.perform(get("/api/catalog/suggest").param("q", "SUGGEST t")).andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].label").value("Zydeco Suggest Test"));
+
+            // Act & Assert - renamed entries drop their old keys
+            genreService.updateGenre(genre.getId(), UpdateGenreRequest.builder().name("Zouk Suggest Test").build());
+            mockMvc.perform(get("/api/catalog/suggest").param("q", "zydeco sugg"))
+                    .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get("/api/catalog/suggest").param("q", "zouk sugg"))
+                    .andExpect(jsonPath("$[0].label").value("Zouk Suggest Test"));
+        } finally
+        {
+            genreService.deleteGenre(genre.getId());
+        }
+
+        // Assert - deleted entries are no longer suggested
+        mockMvc.perform(get("/api/catalog/suggest").param("q", "zouk sugg")).andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void suggest_shouldNotQueryTheDatabase() throws Exception
+    {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        mockMvc.perform(get("/api/catalog/suggest").param("q", "a").param("limit", "5")).andExpect(status().isOk());
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void suggest_withBlankQuery_shouldReturnBadRequest() throws Exception
+    {
+        // Act & Assert
+        mockMvc.perform(get("/api/catalog/suggest").param("q", " ")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,110 @@
+package com.music.music_inventory_api.controller;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.music.music_inventory_api.config.CatalogVersion;
+import com.music.music_inventory_api.dto.response.CatalogImportResponse;
+import com.music.music_inventory_api.dto.response.SuggestionResponse;
+import com.music.music_inventory_api.enums.DataFormat;
+import com.music.music_inventory_api.enums.SuggestionType;
+import com.music.music_inventory_api.security.JwtAuthenticationFilter;
+import com.music.music_inventory_api.security.JwtUtil;
+import com.music.music_inventory_api.service.CatalogImportService;
+import com.music.music_inventory_api.service.CatalogService;
+import java.io.InputStream;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Unit tests for CatalogController.
+ */
+@WebMvcTest(controllers = CatalogController.class, excludeAutoConfiguration =
+{org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration.class})
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class CatalogControllerTest
+{
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CatalogService catalogService;
+
+    @MockBean
+    private CatalogImportService catalogImportService;
+
+    @MockBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private CatalogVersion catalogVersion;
+
+    @Test
+    void suggest_withQuery_shouldReturnSuggestions() throws Exception
+    {
+        // Arrange
+        when(catalogService.suggest("abb", 10)).thenReturn(
+                List.of(SuggestionResponse.builder().type(SuggestionType.ALBUM).id(1L).label("Abbey Road").build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/catalog/suggest").param("q", "abb")).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1))).andExpect(jsonPath("$[0].type").value("ALBUM"))
+                .andExpect(jsonPath("$[0].label").value("Abbey Road"));
+
+        verify(catalogService).suggest("abb", 10);
+    }
+
+    @Test
+    void suggest_withEmptyQuery_shouldReturnBadRequest() throws Exception
+    {
+        // Arrange
+        when(catalogService.suggest(anyString(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Search term cannot be empty"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/catalog/suggest").param("q", "")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importCatalog_withCsvBody_shouldReturnImportCounts() throws Exception
+    {
+        // Arrange
+        when(catalogImportService.importCatalog(eq(DataFormat.CSV), any(InputStream.class)))
+                .thenReturn(CatalogImportResponse.builder().albumsImported(2).songsImported(5).rowsRejected(1)
+                        .errors(List.of(new CatalogImportResponse.RowError(4, "Invalid price 'free'"))).build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/catalog/import").param("format", "CSV").contentType("text/csv")
+                .content("artist,title,price,stock_quantity\n")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.albumsImported").value(2)).andExpect(jsonPath("$.songsImported").value(5))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("Invalid price 'free'"));
+    }
+
+    @Test
+    void importCatalog_withUnknownFormat_shouldReturnBadRequest() throws Exception
+    {
+        // Act & Assert
+        mockMvc.perform(post("/api/catalog/import").param("format", "XML").content("<albums/>"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(catalogImportService);
+    }
+}
@@ -1,5 +1,6 @@
 package com.music.music_inventory_api.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -10,7 +11,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.music.music_inventory_api.dto.request.CreateGenreRequest;
 import com.music.music_inventory_api.dto.request.UpdateGenreRequest;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.entity.Genre;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.ArtistRepository;
 import com.music.music_inventory_api.repository.GenreRepository;
+import java.math.BigDecimal;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +50,15 @@ public class GenreControllerIntegrationTest
     @Autowired
     private GenreRepository genreRepository;
 
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     public void setUp()
     {
@@ -203,7 +222,44 @@ public class GenreControllerIntegrationTest
 
         // Act & Assert
         mockMvc.perform(get("/api/genres/{id}/albums", genreId)).andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray()).andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    public void getAlbumsByGenre_withLargeCatalog_shouldNotScaleQueriesWithAlbumCount() throws Exception
+    {
+        // Arrange - one album in Jazz, many albums in other genres
+        Artist artist = artistRepository.save(Artist.builder().name("Miles Davis").build());
+        Genre jazz = genreRepository.save(Genre.builder().name("Jazz").build());
+        Genre rock = genreRepository.save(Genre.builder().name("Rock").build());
+
+        Album kindOfBlue = Album.builder().title("Kind of Blue").artist(artist).price(new BigDecimal("14.99"))
+                .stockQuantity(10).build();
+        kindOfBlue.addGenre(jazz);
+        albumRepository.save(kindOfBlue);
+
+        for (int i = 0; i < 30; i++)
+        {
+            Album album = Album.builder().title("Rock Album " + i).artist(artist).price(new BigDecimal("9.99"))
+                    .stockQuantity(5).build();
+            album.addGenre(rock);
+            albumRepository.save(album);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        mockMvc.perform(get("/api/genres/{id}/albums", jazz.getId())).andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Kind of Blue"));
+
+        // Assert - the previous findAll() scan issued one genre lookup per album
+        // in the catalog
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
     }
 
     @Test
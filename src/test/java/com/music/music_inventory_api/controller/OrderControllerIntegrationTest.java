@@ -3,16 +3,22 @@ package com.music.music_inventory_api.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.music.music_inventory_api.dto.request.CreateOrderItemRequest;
 import com.music.music_inventory_api.dto.request.CreateOrderRequest;
 import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.AlbumSalesStats;
 import com.music.music_inventory_api.entity.Artist;
 import com.music.music_inventory_api.entity.Customer;
 import com.music.music_inventory_api.entity.Genre;
@@ -20,24 +26,32 @@ import com.music.music_inventory_api.entity.Order;
 import com.music.music_inventory_api.entity.OrderItem;
 import com.music.music_inventory_api.enums.OrderStatus;
 import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.AlbumSalesStatsRepository;
 import com.music.music_inventory_api.repository.ArtistRepository;
 import com.music.music_inventory_api.repository.CustomerRepository;
 import com.music.music_inventory_api.repository.GenreRepository;
 import com.music.music_inventory_api.repository.OrderItemRepository;
 import com.music.music_inventory_api.repository.OrderRepository;
+import com.music.music_inventory_api.service.impl.CustomerOrderStatsReconciler;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
@@ -45,6 +59,11 @@ import org.springframework.test.web.servlet.MockMvc;
 @Transactional
 class OrderControllerIntegrationTest
 {
+    private static final int SEEDED_ORDERS = 1000;
+
+    // spring.data.web.pageable.max-page-size
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -69,6 +88,15 @@ class OrderControllerIntegrationTest
     @Autowired
     private GenreRepository genreRepository;
 
+    @Autowired
+    private AlbumSalesStatsRepository albumSalesStatsRepository;
+
+    @Autowired
+    private CustomerOrderStatsReconciler customerOrderStatsReconciler;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private Customer testCustomer;
     private Album testAlbum1;
     private Album testAlbum2;
@@ -148,13 +176,123 @@ class OrderControllerIntegrationTest
                 .andExpect(jsonPath("$.customerName", is("John Doe"))).andExpect(jsonPath("$.status", is("PENDING")))
                 .andExpect(jsonPath("$.totalAmount", is(64.97))).andExpect(jsonPath("$.items", hasSize(2)));
 
-        // Verify stock was reduced
+        // Verify stock was reduced (stock is updated in the database, not on the
+        // cached entities)
+        entityManager.clear();
         Album updatedAlbum1 = albumRepository.findById(testAlbum1.getId()).orElseThrow();
         Album updatedAlbum2 = albumRepository.findById(testAlbum2.getId()).orElseThrow();
         assertThat(updatedAlbum1.getStockQuantity()).isEqualTo(8);
         assertThat(updatedAlbum2.getStockQuantity()).isEqualTo(4);
     }
 
+    @Test
+    void createOrder_thenCancel_shouldKeepSalesStatsInStepWithOrders() throws Exception
+    {
+        // Arrange
+        CreateOrderItemRequest item = CreateOrderItemRequest.builder().albumId(testAlbum1.getId()).quantity(2).build();
+        CreateOrderRequest request = CreateOrderRequest.builder().customerId(testCustomer.getId())
+                .items(Arrays.asList(item)).build();
+
+        // Act
+        String created = mockMvc
+                .perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        entityManager.flush();
+        entityManager.clear();
+        AlbumSalesStats afterOrder = albumSalesStatsRepository.findById(testAlbum1.getId()).orElseThrow();
+        List<Album> topSelling = albumRepository.findTopSellingAlbums(PageRequest.of(0, 5));
+
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(post("/api/orders/{id}/cancel", orderId)).andExpect(status().isNoContent());
+        entityManager.clear();
+        AlbumSalesStats afterCancel = albumSalesStatsRepository.findById(testAlbum1.getId()).orElseThrow();
+
+        // Assert
+        assertThat(afterOrder.getUnitsSold()).isEqualTo(2);
+        assertThat(afterOrder.getRevenue()).isEqualByComparingTo("39.98");
+        assertThat(topSelling).extracting(Album::getId).containsExactly(testAlbum1.getId());
+        assertThat(afterCancel.getUnitsSold()).isZero();
+        assertThat(afterCancel.getRevenue()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void createOrder_thenCancel_shouldKeepCustomerStatsInStepWithOrders() throws Exception
+    {
+        // Arrange
+        CreateOrderRequest first = CreateOrderRequest.builder().customerId(testCustomer.getId())
+                .items(Arrays.asList(CreateOrderItemRequest.builder().albumId(testAlbum1.getId()).quantity(1).build()))
+                .build();
+        CreateOrderRequest second = CreateOrderRequest.builder().customerId(testCustomer.getId())
+                .items(Arrays.asList(CreateOrderItemRequest.builder().albumId(testAlbum2.getId()).quantity(2).build()))
+                .build();
+
+        // Act
+        String created = mockMvc
+                .perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second))).andExpect(status().isCreated());
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(post("/api/orders/{id}/cancel", orderId)).andExpect(status().isNoContent());
+
+        // Assert
+        mockMvc.perform(get("/api/customers/{id}/stats", testCustomer.getId())).andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount", is(1))).andExpect(jsonPath("$.lifetimeSpend", is(49.98)))
+                .andExpect(jsonPath("$.averageOrderValue", is(49.98)));
+        mockMvc.perform(get("/api/customers/leaderboard").param("by", "spend").param("limit", "5"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].customerId", is(testCustomer.getId().intValue())))
+                .andExpect(jsonPath("$[0].firstName", is("John")));
+        assertThat(customerOrderStatsReconciler.reconcile()).isEmpty();
+    }
+
+    @Test
+    void getRevenue_afterOrderAndCancel_shouldCountOnlyOpenOrders() throws Exception
+    {
+        // Arrange
+        CreateOrderRequest first = CreateOrderRequest.builder().customerId(testCustomer.getId())
+                .items(Arrays.asList(CreateOrderItemRequest.builder().albumId(testAlbum1.getId()).quantity(1).build()))
+                .build();
+        CreateOrderRequest second = CreateOrderRequest.builder().customerId(testCustomer.getId())
+                .items(Arrays.asList(CreateOrderItemRequest.builder().albumId(testAlbum2.getId()).quantity(1).build()))
+                .build();
+        LocalDateTime from = LocalDateTime.now().minusDays(2);
+        LocalDateTime to = LocalDateTime.now().plusDays(2);
+
+        // Act
+        String created = mockMvc
+                .perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second))).andExpect(status().isCreated());
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(put("/api/orders/{id}/status", orderId).param("status", "CANCELLED"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/api/orders/revenue").param("from", from.toString()).param("to", to.toString()))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.revenue", is(24.99)));
+        assertThat(orderRepository.calculateTotalRevenue(from, to)).isEqualByComparingTo("24.99");
+    }
+
+    @Test
+    void getRevenue_withRangeEndingBeforeStart_shouldReturnBadRequest() throws Exception
+    {
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/revenue").param("from", "2024-02-01T00:00:00").param("to",
+                "2024-01-01T00:00:00")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCustomerLeaderboard_withLimitAboveMax_shouldReturnBadRequest() throws Exception
+    {
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/leaderboard").param("limit", "101")).andExpect(status().isBadRequest());
+    }
+
     @Test
     void createOrder_withNonExistentCustomer_shouldReturnNotFound() throws Exception
     {
@@ -210,6 +348,27 @@ class OrderControllerIntegrationTest
                 .andExpect(jsonPath("$.customerName", is("John Doe"))).andExpect(jsonPath("$.status", is("PENDING")));
     }
 
+    @Test
+    void exportOrders_asCsv_shouldStreamAttachmentWithCsvHeader() throws Exception
+    {
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/orders/export").param("format", "CSV")
+                .param("status", "DELIVERED")).andExpect(request().asyncStarted()).andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andExpect(content().string(startsWith("order_id,customer_id,status,")));
+    }
+
+    @Test
+    void exportOrders_withUnknownFormat_shouldReturnBadRequest() throws Exception
+    {
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/export").param("format", "XML")).andExpect(status().isBadRequest());
+    }
+
     @Test
     void getOrderById_withNonExistentId_shouldReturnNotFound() throws Exception
     {
@@ -226,9 +385,9 @@ class OrderControllerIntegrationTest
 
         // Act & Assert
         mockMvc.perform(get("/api/orders/customer/{customerId}", testCustomer.getId())).andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].customerId", is(testCustomer.getId().intValue())))
-                .andExpect(jsonPath("$[1].customerId", is(testCustomer.getId().intValue())));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].customerId", is(testCustomer.getId().intValue())))
+                .andExpect(jsonPath("$.content[1].customerId", is(testCustomer.getId().intValue())));
     }
 
     @Test
@@ -236,7 +395,43 @@ class OrderControllerIntegrationTest
     {
         // Act & Assert
         mockMvc.perform(get("/api/orders/customer/{customerId}", testCustomer.getId())).andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void getOrdersByCustomer_withOversizedPageRequest_shouldLoadAtMostMaxPageSize() throws Exception
+    {
+        // Arrange
+        seedOrders(SEEDED_ORDERS);
+        Statistics statistics = clearedStatistics();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/customer/{customerId}", testCustomer.getId()).param("size", "100000"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(MAX_PAGE_SIZE)))
+                .andExpect(jsonPath("$.size", is(MAX_PAGE_SIZE)))
+                .andExpect(jsonPath("$.totalElements", is(SEEDED_ORDERS)));
+
+        // Assert - one page of orders and their items, plus the shared customer and
+        // album; orders, count, batched items, customer, album
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2L * MAX_PAGE_SIZE + 2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void getCustomerOrders_withOversizedPageRequest_shouldLoadAtMostMaxPageSize() throws Exception
+    {
+        // Arrange
+        seedOrders(SEEDED_ORDERS);
+        Statistics statistics = clearedStatistics();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/{id}/orders", testCustomer.getId()).param("size", "100000"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(MAX_PAGE_SIZE)))
+                .andExpect(jsonPath("$.totalElements", is(SEEDED_ORDERS)));
+
+        // Assert - as above, plus the customer existence check
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2L * MAX_PAGE_SIZE + 2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
     }
 
     @Test
@@ -279,6 +474,7 @@ class OrderControllerIntegrationTest
         assertThat(cancelledOrder.getStatus()).isEqualTo(OrderStatus.CANCELLED);
 
         // Verify stock was restored
+        entityManager.clear();
         Album updatedAlbum = albumRepository.findById(testAlbum1.getId()).orElseThrow();
         assertThat(updatedAlbum.getStockQuantity()).isEqualTo(initialStock + 2);
     }
@@ -302,6 +498,34 @@ class OrderControllerIntegrationTest
         mockMvc.perform(post("/api/orders/{id}/cancel", 999L)).andExpect(status().isNotFound());
     }
 
+    private void seedOrders(int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            Order order = Order.builder().customer(entityManager.getReference(Customer.class, testCustomer.getId()))
+                    .status(OrderStatus.DELIVERED).orderDate(LocalDateTime.now()).totalAmount(new BigDecimal("19.99"))
+                    .build();
+            order.getOrderItems().add(OrderItem.builder().order(order)
+                    .album(entityManager.getReference(Album.class, testAlbum1.getId())).quantity(1)
+                    .unitPrice(new BigDecimal("19.99")).subtotal(new BigDecimal("19.99")).build());
+            entityManager.persist(order);
+            if (i % 100 == 99)
+            {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Statistics clearedStatistics()
+    {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
     private Order createTestOrder()
     {
         Order order = new Order();
@@ -0,0 +1,144 @@
+package com.music.music_inventory_api.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.music_inventory_api.dto.request.ImportAlbumRequest;
+import com.music.music_inventory_api.dto.request.ImportSongRequest;
+import com.music.music_inventory_api.enums.DataFormat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for CatalogImportReader. */
+class CatalogImportReaderTest
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private static final String CSV_HEADER = "artist,title,release_date,price,stock_quantity,genres,track_number,"
+            + "song_title,duration_seconds\n";
+
+    @Test
+    void next_withNdjson_shouldReadOneAlbumPerLineAndSkipBlankLines() throws IOException
+    {
+        // Arrange
+        CatalogImportReader reader = reader(DataFormat.NDJSON,
+                "{\"artist\":\"The Beatles\",\"title\":\"Abbey Road\",\"releaseDate\":\"1969-09-26\",\"price\":19.99,"
+                        + "\"stockQuantity\":5,\"genres\":[\"Rock\"],"
+                        + "\"songs\":[{\"title\":\"Come Together\",\"trackNumber\":1,\"durationSeconds\":259}]}\n"
+                        + "\n"
+                        + "{\"artist\":\"Miles Davis\",\"title\":\"Kind of Blue\",\"price\":15,\"stockQuantity\":0}\n");
+
+        // Act
+        ImportAlbumRequest first = reader.next();
+        long firstLine = reader.getLine();
+        ImportAlbumRequest second = reader.next();
+        long secondLine = reader.getLine();
+
+        // Assert
+        assertEquals("Abbey Road", first.getTitle());
+        assertEquals(LocalDate.of(1969, 9, 26), first.getReleaseDate());
+        assertEquals(List.of("Rock"), first.getGenres());
+        assertEquals(List.of(ImportSongRequest.builder().title("Come Together").trackNumber(1).durationSeconds(259)
+                .build()), first.getSongs());
+        assertEquals(1, firstLine);
+        assertEquals("Kind of Blue", second.getTitle());
+        assertTrue(second.getSongs().isEmpty());
+        assertEquals(3, secondLine);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_withMalformedNdjsonLine_shouldRejectItAndCarryOn() throws IOException
+    {
+        // Arrange
+        CatalogImportReader reader = reader(DataFormat.NDJSON, "{\"artist\":\"A\",\"title\":\n"
+                + "{\"artist\":\"A\",\"title\":\"T\",\"price\":1,\"stockQuantity\":1}\n");
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(ex.getMessage().startsWith("Malformed album"));
+        assertEquals(1, reader.getLine());
+        assertEquals("T", reader.next().getTitle());
+        assertEquals(2, reader.getLine());
+    }
+
+    @Test
+    void next_withCsv_shouldGroupConsecutiveSongRowsIntoAlbums() throws IOException
+    {
+        // Arrange
+        CatalogImportReader reader = reader(DataFormat.CSV, CSV_HEADER
+                + "The Beatles,Abbey Road,1969-09-26,19.99,5,Rock|Pop,1,Come Together,259\n"
+                + "The Beatles,Abbey Road,1969-09-26,19.99,5,Rock|Pop,2,Something,182\n"
+                + "\"Crosby, Stills & Nash\",\"Crosby, Stills & Nash\",,12.50,0,,,,\n"
+                + "The Beatles,\"Let It Be\",,9.99,1,Rock,1,\"Two of Us \"\"Live\"\"\",\n");
+
+        // Act
+        ImportAlbumRequest abbeyRoad = reader.next();
+        long abbeyRoadLine = reader.getLine();
+        ImportAlbumRequest csn = reader.next();
+        long csnLine = reader.getLine();
+        ImportAlbumRequest letItBe = reader.next();
+
+        // Assert
+        assertEquals(2, abbeyRoadLine);
+        assertEquals(new BigDecimal("19.99"), abbeyRoad.getPrice());
+        assertEquals(List.of("Rock", "Pop"), abbeyRoad.getGenres());
+        assertEquals(List.of(1, 2), abbeyRoad.getSongs().stream().map(ImportSongRequest::getTrackNumber)
+                .collect(Collectors.toList()));
+        assertEquals(4, csnLine);
+        assertEquals("Crosby, Stills & Nash", csn.getArtist());
+        assertNull(csn.getReleaseDate());
+        assertTrue(csn.getGenres().isEmpty());
+        assertTrue(csn.getSongs().isEmpty());
+        assertEquals("Two of Us \"Live\"", letItBe.getSongs().get(0).getTitle());
+        assertNull(letItBe.getSongs().get(0).getDurationSeconds());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_withInvalidCsvSongRow_shouldRejectWholeAlbumAndCarryOn() throws IOException
+    {
+        // Arrange
+        CatalogImportReader reader = reader(DataFormat.CSV, CSV_HEADER
+                + "A,First,,1,1,,1,One,\n"
+                + "A,First,,1,1,,two,Two,\n"
+                + "A,Second,,1,1,,1,One,\n");
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("Invalid track_number 'two' on line 3", ex.getMessage());
+        assertEquals(2, reader.getLine());
+        assertEquals("Second", reader.next().getTitle());
+        assertEquals(4, reader.getLine());
+    }
+
+    @Test
+    void constructor_withCsvHeaderMissingRequiredColumn_shouldThrowIllegalArgumentException()
+    {
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> reader(DataFormat.CSV, "artist,title,price\nA,T,1\n"));
+        assertEquals("Missing CSV column: stock_quantity", ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> reader(DataFormat.CSV, "artist,title,price,label\n"));
+    }
+
+    @Test
+    void split_shouldHonourQuotedCommasAndDoubledQuotes()
+    {
+        // Act & Assert
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""),
+                CatalogImportReader.split("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static CatalogImportReader reader(DataFormat format, String content) throws IOException
+    {
+        return new CatalogImportReader(format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                OBJECT_MAPPER);
+    }
+}
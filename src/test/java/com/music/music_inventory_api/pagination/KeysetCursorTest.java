@@ -0,0 +1,90 @@
+package com.music.music_inventory_api.pagination;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/** Unit tests for KeysetCursor. */
+class KeysetCursorTest
+{
+
+    @Test
+    void encode_shouldRoundTripThroughDecode()
+    {
+        // Arrange
+        KeysetCursor cursor = new KeysetCursor("title", 42L, "Café: Live / Part 2");
+
+        // Act
+        String token = cursor.encode();
+
+        // Assert
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, KeysetCursor.decode(token, "title"));
+    }
+
+    @Test
+    void decode_withoutToken_shouldReturnNull()
+    {
+        // Act & Assert
+        assertNull(KeysetCursor.decode(null, "id"));
+        assertNull(KeysetCursor.decode("", "id"));
+    }
+
+    @Test
+    void decode_withMalformedToken_shouldThrowIllegalArgumentException()
+    {
+        // Arrange
+        String notANumber = Base64.getUrlEncoder().encodeToString("id:abc:".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not base64!", "id"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("aWQ", "id"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(notANumber, "id"));
+    }
+
+    @Test
+    void decode_withCursorOfOtherSort_shouldThrowIllegalArgumentException()
+    {
+        // Arrange
+        String token = new KeysetCursor("title", 1L, "Abbey Road").encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token, "id"));
+    }
+
+    @Test
+    void rows_shouldReadOneExtraRowInKeysetOrder()
+    {
+        // Act & Assert
+        assertEquals(PageRequest.of(0, 21, Sort.by("id")), KeysetCursor.rows("id", "title", 20));
+        assertEquals(PageRequest.of(0, 21, Sort.by("title", "id")), KeysetCursor.rows("title", "title", 20));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.rows("price", "title", 20));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.rows("id", "title", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.rows("id", "title", KeysetCursor.MAX_SIZE + 1));
+    }
+
+    @Test
+    void slice_shouldDropExtraRowAndPointAtLastReturned()
+    {
+        // Act
+        CursorPageResponse<String> full = KeysetCursor.slice(List.of(1L, 2L, 3L), 2, String::valueOf,
+                id -> new KeysetCursor("id", id, null));
+        CursorPageResponse<String> last = KeysetCursor.slice(List.of(1L, 2L), 2, String::valueOf,
+                id -> new KeysetCursor("id", id, null));
+
+        // Assert
+        assertEquals(List.of("1", "2"), full.getContent());
+        assertTrue(full.isHasNext());
+        assertEquals(2L, KeysetCursor.decode(full.getNextCursor(), "id").getId());
+        assertEquals(List.of("1", "2"), last.getContent());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+    }
+}
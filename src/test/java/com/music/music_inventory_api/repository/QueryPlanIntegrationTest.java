@@ -0,0 +1,400 @@
+package com.music.music_inventory_api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.enums.OrderStatus;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs every repository {@code @Query} method against a seeded catalog, asks
+ * the database for the plan of each SQL statement it sent, and fails on any
+ * full table scan that is not listed in {@link #EXPECTED_SCANS}. H2 indexes
+ * every foreign key on its own and PostgreSQL does not, so a plan that reads
+ * one of those implicit indexes counts as a scan too, unless a declared index
+ * leads with the same column. A new query needs a sample value for each of its
+ * parameters in {@link #SAMPLE_ARGUMENTS}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.music.music_inventory_api.repository.QueryPlanIntegrationTest$SqlRecorder")
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class QueryPlanIntegrationTest
+{
+    private static final long FIRST_ID = 40_000_000L;
+    private static final int ARTISTS = 200;
+    private static final int ALBUMS = 2_000;
+    private static final int SONGS_PER_ALBUM = 4;
+    private static final int GENRES = 20;
+    private static final int CUSTOMERS = 1_000;
+    private static final int ORDERS = 5_000;
+    private static final LocalDateTime FIRST_ORDER = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+    private static final Pattern FOREIGN_KEY_INDEX = Pattern.compile("/\\* PUBLIC\\.(FK\\w+_INDEX_\\w+)");
+
+    // Table of an implicit foreign key index, unless another index leads with its column
+    private static final String UNINDEXED_FOREIGN_KEY_SQL = "SELECT LOWER(f.TABLE_NAME) "
+            + "FROM INFORMATION_SCHEMA.INDEX_COLUMNS f WHERE f.INDEX_NAME = ? AND f.ORDINAL_POSITION = 1 "
+            + "AND NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.INDEX_COLUMNS d WHERE d.TABLE_NAME = f.TABLE_NAME "
+            + "AND d.COLUMN_NAME = f.COLUMN_NAME AND d.ORDINAL_POSITION = 1 AND d.INDEX_NAME <> f.INDEX_NAME)";
+
+    private static final Map<String, Object> SAMPLE_ARGUMENTS = new TreeMap<>();
+
+    static
+    {
+        for (String id : List.of("id", "artistId", "genreId", "customerId", "albumId", "songId"))
+        {
+            SAMPLE_ARGUMENTS.put(id, FIRST_ID);
+        }
+        for (String key : List.of("title", "name", "email"))
+        {
+            SAMPLE_ARGUMENTS.put(key, "");
+        }
+        SAMPLE_ARGUMENTS.put("names", List.of("artist 1", "genre 1"));
+        SAMPLE_ARGUMENTS.put("albumIds", List.of(FIRST_ID, FIRST_ID + 1));
+        SAMPLE_ARGUMENTS.put("keyword", "17");
+        SAMPLE_ARGUMENTS.put("genreName", "Genre 1");
+        SAMPLE_ARGUMENTS.put("artistName", "Artist 1");
+        SAMPLE_ARGUMENTS.put("country", "Country 1");
+        SAMPLE_ARGUMENTS.put("minPrice", 10);
+        SAMPLE_ARGUMENTS.put("maxPrice", 12);
+        SAMPLE_ARGUMENTS.put("threshold", 5);
+        SAMPLE_ARGUMENTS.put("from", LocalDate.of(2020, 1, 1));
+        SAMPLE_ARGUMENTS.put("until", LocalDate.of(2021, 1, 1));
+        SAMPLE_ARGUMENTS.put("minDuration", 200);
+        SAMPLE_ARGUMENTS.put("maxDuration", 210);
+        SAMPLE_ARGUMENTS.put("status", OrderStatus.PENDING);
+        SAMPLE_ARGUMENTS.put("startDate", FIRST_ORDER.plusDays(10));
+        SAMPLE_ARGUMENTS.put("endDate", FIRST_ORDER.plusDays(11));
+        SAMPLE_ARGUMENTS.put("date", FIRST_ORDER.plusDays(360));
+    }
+
+    /**
+     * Table scans allowed per query ({@code Repository.method table}), with the
+     * reason. Keep this short: every entry reads a whole table on each call, at
+     * least on H2.
+     */
+    private static final Map<String, String> EXPECTED_SCANS = new TreeMap<>();
+
+    static
+    {
+        String infix = "infix LIKE; served by the pg_trgm indexes of migration 003 on PostgreSQL";
+        for (String scan : List.of("AlbumRepository.searchByTitleOrArtistName albums",
+                "AlbumRepository.searchByTitleOrArtistName artists",
+                "AlbumRepository.searchIdsByTitleOrArtistName albums",
+                "AlbumRepository.searchIdsByTitleOrArtistName artists",
+                "AlbumRepository.searchIdsByTitleOrArtistNameIndexed albums",
+                "AlbumRepository.searchIdsByTitleOrArtistNameIndexed artists",
+                "ArtistRepository.searchByName artists",
+                "CustomerRepository.searchByName customers",
+                "SongRepository.searchByTitle songs"))
+        {
+            EXPECTED_SCANS.put(scan, infix);
+        }
+        String lower = "lower(...) equality; served by the expression indexes of migration 008 on PostgreSQL";
+        EXPECTED_SCANS.put("ArtistRepository.findByCountry artists", lower);
+        EXPECTED_SCANS.put("ArtistRepository.findByLowerNameIn artists", lower);
+        EXPECTED_SCANS.put("GenreRepository.findByLowerNameIn genres",
+                "lower(...) IN; served by the expression index of migration 010 on PostgreSQL");
+        EXPECTED_SCANS.put("SongRepository.findByArtistName artists", lower);
+        String artistsFirst = "H2 starts the join from the smaller artists table; albums are read by artist";
+        EXPECTED_SCANS.put("AlbumRepository.findSlice artists", artistsFirst);
+        EXPECTED_SCANS.put("AlbumRepository.findSliceAfterTitle artists", artistsFirst);
+        EXPECTED_SCANS.put("AlbumRepository.findByGenreId albums",
+                "H2 starts the join from albums; album_genres is read by idx_album_genres_genre");
+        EXPECTED_SCANS.put("AlbumRepository.findAllSearchEntries albums",
+                "reads every album on purpose, to build the in-memory search index");
+        EXPECTED_SCANS.put("ArtistRepository.findArtistsOrderedByAlbumCount artists",
+                "ranks every artist by album count; albums are read by idx_albums_artist_release");
+        EXPECTED_SCANS.put("CustomerRepository.findCustomersWithNoOrders customers",
+                "lists customers, probing idx_orders_customer_created for each");
+        EXPECTED_SCANS.put("CustomerRepository.findCustomersWithOrdersAfter customers",
+                "H2 starts the join from customers; orders are read by idx_orders_customer_created");
+        EXPECTED_SCANS.put("GenreRepository.findGenresOrderedByAlbumCount genre_album_stats",
+                "ranks every genre, including those without albums; one row per genre");
+        EXPECTED_SCANS.put("GenreRepository.searchByKeyword genres", "infix LIKE over the small genres table");
+        String listing = "lists the whole table page by page; its count query reads every row";
+        EXPECTED_SCANS.put("ArtistRepository.findResponses artists", listing);
+        EXPECTED_SCANS.put("SongRepository.findResponses songs", listing);
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void repositoryQueries_onSeededCatalog_shouldNotScanTables()
+    {
+        // Arrange
+        seedCatalog();
+        seedOrders();
+        jdbcTemplate.execute("ANALYZE");
+
+        // Act
+        Set<String> unexpectedScans = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories)
+        {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType)
+                    .getRepositoryInterface();
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            List<Method> queries = new ArrayList<>();
+            for (Method method : repositoryInterface.getMethods())
+            {
+                if (method.isAnnotationPresent(Query.class))
+                {
+                    queries.add(method);
+                }
+            }
+            queries.sort(Comparator.comparing(Method::getName));
+
+            for (Method query : queries)
+            {
+                String name = repositoryInterface.getSimpleName() + "." + query.getName();
+                Set<String> scanned = new TreeSet<>();
+                for (String sql : run(repository, query))
+                {
+                    String plan = explain(sql);
+                    log.debug("{}: {}\n{}", name, sql, plan);
+                    scanned.addAll(scannedTables(plan));
+                    scanned.addAll(unindexedForeignKeyTables(plan));
+                }
+                for (String table : scanned)
+                {
+                    String scan = name + " " + table;
+                    log.info("{} scans {}: {}", name, table, EXPECTED_SCANS.getOrDefault(scan, "not expected"));
+                    if (!EXPECTED_SCANS.containsKey(scan))
+                    {
+                        unexpectedScans.add(scan);
+                    }
+                }
+            }
+        }
+
+        // Assert
+        assertThat(unexpectedScans).as("queries with full table scans").isEmpty();
+    }
+
+    /** Calls a query method with sample arguments and returns the SQL it sent. */
+    private List<String> run(Object repository, Method query)
+    {
+        Object[] arguments = Arrays.stream(query.getParameters())
+                .map(parameter -> sampleArgument(query, parameter)).toArray();
+        entityManager.clear();
+        SqlRecorder.start();
+        try
+        {
+            query.invoke(repository, arguments);
+        } catch (IllegalAccessException | InvocationTargetException e)
+        {
+            throw new IllegalStateException("Could not run " + query, e);
+        } finally
+        {
+            SqlRecorder.stop();
+        }
+        return SqlRecorder.recorded();
+    }
+
+    private static Object sampleArgument(Method query, Parameter parameter)
+    {
+        if (Pageable.class.equals(parameter.getType()))
+        {
+            // One row per page, so that paged queries also run their count query;
+            // scroll slices are sorted as the scroll endpoints sort them
+            return query.getName().startsWith("findSlice") ? PageRequest.of(0, 1, Sort.by("id"))
+                    : PageRequest.of(0, 1);
+        }
+
+        Param param = parameter.getAnnotation(Param.class);
+        assertThat(param).as("@Param on %s of %s", parameter, query).isNotNull();
+        Object value = SAMPLE_ARGUMENTS.get(param.value());
+        assertThat(value).as("sample value for %s of %s", param.value(), query).isNotNull();
+        if (BigDecimal.class.equals(parameter.getType()))
+        {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        return value;
+    }
+
+    private String explain(String sql)
+    {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+        {
+            // Parameters stay unbound, so the plan cannot depend on sample values
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                    ResultSet plan = statement.executeQuery())
+            {
+                StringBuilder text = new StringBuilder();
+                while (plan.next())
+                {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        });
+    }
+
+    private Set<String> unindexedForeignKeyTables(String plan)
+    {
+        Set<String> tables = new TreeSet<>();
+        Matcher matcher = FOREIGN_KEY_INDEX.matcher(plan);
+        while (matcher.find())
+        {
+            tables.addAll(jdbcTemplate.queryForList(UNINDEXED_FOREIGN_KEY_SQL, String.class, matcher.group(1)));
+        }
+        return tables;
+    }
+
+    private static Set<String> scannedTables(String plan)
+    {
+        Set<String> tables = new TreeSet<>();
+        Matcher matcher = TABLE_SCAN.matcher(plan);
+        while (matcher.find())
+        {
+            tables.add(matcher.group(1).toLowerCase());
+        }
+        return tables;
+    }
+
+    private void seedCatalog()
+    {
+        LocalDate firstRelease = LocalDate.of(1990, 1, 1);
+        insert("INSERT INTO artists (id, name, country, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)", ARTISTS,
+                i -> new Object[]
+                {FIRST_ID + i, "Artist " + i, "Country " + (i % 30)});
+        insert("INSERT INTO genres (id, name, description, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)", GENRES,
+                i -> new Object[]
+                {FIRST_ID + i, "Genre " + i, "Genre number " + i});
+        insert("INSERT INTO albums (id, title, artist_id, release_date, release_year, price, stock_quantity, "
+                + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", ALBUMS, i ->
+                {
+                    LocalDate releaseDate = firstRelease.plusDays(i * 7L);
+                    return new Object[]
+                    {FIRST_ID + i, "Album " + i, FIRST_ID + i % ARTISTS, Date.valueOf(releaseDate),
+                            releaseDate.getYear(), BigDecimal.valueOf(500 + i % 2_500, 2), i % 100};
+                });
+        insert("INSERT INTO album_genres (album_id, genre_id) VALUES (?, ?)", ALBUMS, i -> new Object[]
+        {FIRST_ID + i, FIRST_ID + i % GENRES});
+        insert("INSERT INTO songs (id, title, album_id, track_number, duration_seconds, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", ALBUMS * SONGS_PER_ALBUM, i -> new Object[]
+                {FIRST_ID + i, "Song " + i, FIRST_ID + i / SONGS_PER_ALBUM, i % SONGS_PER_ALBUM + 1,
+                        120 + i % 300});
+        jdbcTemplate.update("INSERT INTO genre_album_stats (genre_id, album_count, in_stock_count, updated_at) "
+                + "SELECT genre_id, COUNT(*), COUNT(*), CURRENT_TIMESTAMP FROM album_genres GROUP BY genre_id");
+    }
+
+    private void seedOrders()
+    {
+        insert("INSERT INTO customers (id, first_name, last_name, email, password, created_at) "
+                + "VALUES (?, ?, ?, ?, 'x', CURRENT_TIMESTAMP)", CUSTOMERS, i -> new Object[]
+                {FIRST_ID + i, "First " + i, "Last " + i, "plan" + i + "@example.com"});
+        OrderStatus[] statuses = OrderStatus.values();
+        insert("INSERT INTO orders (id, customer_id, status, total_amount, order_date, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", ORDERS, i ->
+                {
+                    Timestamp createdAt = Timestamp.valueOf(FIRST_ORDER.plusHours(i * 2L));
+                    return new Object[]
+                    {FIRST_ID + i, FIRST_ID + i % (CUSTOMERS - 100), statuses[i % statuses.length].name(),
+                            BigDecimal.valueOf(1_000 + i % 20_000, 2), createdAt, createdAt};
+                });
+        insert("INSERT INTO order_items (id, order_id, album_id, quantity, unit_price, subtotal, created_at) "
+                + "VALUES (?, ?, ?, 1, 10.00, 10.00, CURRENT_TIMESTAMP)", ORDERS * 2, i -> new Object[]
+                {FIRST_ID + i, FIRST_ID + i / 2, FIRST_ID + i % ALBUMS});
+        jdbcTemplate.update("INSERT INTO album_sales_stats (album_id, units_sold, revenue, last_sold_at, updated_at) "
+                + "SELECT album_id, SUM(quantity), SUM(subtotal), MAX(created_at), CURRENT_TIMESTAMP "
+                + "FROM order_items GROUP BY album_id");
+        jdbcTemplate.update("INSERT INTO customer_order_stats (customer_id, order_count, lifetime_spend, "
+                + "last_order_at, updated_at) SELECT customer_id, COUNT(*), SUM(total_amount), MAX(order_date), "
+                + "CURRENT_TIMESTAMP FROM orders GROUP BY customer_id");
+    }
+
+    private void insert(String sql, int rows, IntFunction<Object[]> row)
+    {
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++)
+        {
+            batch.add(row.apply(i));
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    /**
+     * Hibernate statement inspector that records the SQL sent while recording
+     * is on. Recording is per thread, so parallel tests do not interfere.
+     */
+    public static class SqlRecorder implements StatementInspector
+    {
+        private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+        private static final ThreadLocal<Boolean> RECORDING = ThreadLocal.withInitial(() -> false);
+
+        static void start()
+        {
+            RECORDED.set(new ArrayList<>());
+            RECORDING.set(true);
+        }
+
+        static void stop()
+        {
+            RECORDING.set(false);
+        }
+
+        static List<String> recorded()
+        {
+            return RECORDED.get() == null ? Collections.emptyList() : RECORDED.get();
+        }
+
+        @Override
+        public String inspect(String sql)
+        {
+            if (RECORDING.get())
+            {
+                RECORDED.get().add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -1,26 +1,44 @@
 package com.music.music_inventory_api.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.music.music_inventory_api.config.JpaAuditingConfig;
 import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.AlbumSalesStats;
 import com.music.music_inventory_api.entity.Artist;
 import com.music.music_inventory_api.entity.Customer;
+import com.music.music_inventory_api.entity.CustomerOrderStats;
 import com.music.music_inventory_api.entity.Genre;
+import com.music.music_inventory_api.entity.GenreAlbumStats;
 import com.music.music_inventory_api.entity.Order;
 import com.music.music_inventory_api.entity.OrderItem;
+import com.music.music_inventory_api.entity.RevenueBucket;
+import com.music.music_inventory_api.entity.RevenueBucketId;
 import com.music.music_inventory_api.entity.Song;
 import com.music.music_inventory_api.enums.OrderStatus;
+import com.music.music_inventory_api.enums.RevenueGranularity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 /**
@@ -31,9 +49,12 @@ import org.springframework.test.context.ActiveProfiles;
 @Import(JpaAuditingConfig.class)
 @ActiveProfiles("test")
 @SuppressWarnings("null")
+@Slf4j
 class RepositoryTest
 {
 
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10);
+
     @Autowired
     private ArtistRepository artistRepository;
 
@@ -55,6 +76,21 @@ class RepositoryTest
     @Autowired
     private OrderItemRepository orderItemRepository;
 
+    @Autowired
+    private AlbumSalesStatsRepository albumSalesStatsRepository;
+
+    @Autowired
+    private CustomerOrderStatsRepository customerOrderStatsRepository;
+
+    @Autowired
+    private RevenueBucketRepository revenueBucketRepository;
+
+    @Autowired
+    private GenreAlbumStatsRepository genreAlbumStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     // Test entities
     private Artist artist1;
     private Artist artist2;
@@ -192,6 +228,13 @@ class RepositoryTest
         orderItem2.setUnitPrice(new BigDecimal("29.99"));
         orderItem2.setSubtotal(new BigDecimal("29.99"));
         orderItem2 = orderItemRepository.save(orderItem2);
+
+        // Sales and customer totals are normally maintained by OrderService,
+        // genre counters by AlbumService
+        albumSalesStatsRepository.rebuild();
+        customerOrderStatsRepository.recompute(List.of(customer1.getId(), customer2.getId()));
+        revenueBucketRepository.rebuild();
+        genreAlbumStatsRepository.rebuild();
     }
 
     @Test
@@ -209,7 +252,7 @@ class RepositoryTest
     void findByCountry_withExistingCountry_shouldReturnArtists()
     {
         // Arrange & Act
-        List<Artist> results = artistRepository.findByCountry("United Kingdom");
+        List<Artist> results = artistRepository.findByCountry("United Kingdom", FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(2);
@@ -220,7 +263,7 @@ class RepositoryTest
     void searchByName_withKeyword_shouldReturnMatchingArtists()
     {
         // Arrange & Act
-        List<Artist> results = artistRepository.searchByName("beatles");
+        List<Artist> results = artistRepository.searchByName("beatles", FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -231,7 +274,7 @@ class RepositoryTest
     void findArtistsWithAvailableStock_whenAlbumsInStock_shouldReturnArtists()
     {
         // Arrange & Act
-        List<Artist> results = artistRepository.findArtistsWithAvailableStock();
+        List<Artist> results = artistRepository.findArtistsWithAvailableStock(FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(2);
@@ -242,7 +285,7 @@ class RepositoryTest
     void findArtistsOrderedByAlbumCount_whenArtistsHaveAlbums_shouldReturnSortedList()
     {
         // Arrange & Act
-        List<Artist> results = artistRepository.findArtistsOrderedByAlbumCount();
+        List<Artist> results = artistRepository.findArtistsOrderedByAlbumCount(FIRST_PAGE);
 
         // Assert
         assertThat(results).hasSize(2);
@@ -257,18 +300,73 @@ class RepositoryTest
         BigDecimal maxPrice = new BigDecimal("25.00");
 
         // Act
-        List<Album> results = albumRepository.searchByGenreAndPriceRange("Rock", minPrice, maxPrice);
+        List<Album> results = albumRepository.searchByGenreAndPriceRange("Rock", minPrice, maxPrice, FIRST_PAGE)
+                .getContent();
 
         // Assert
         assertThat(results).hasSize(2);
         assertThat(results).extracting(Album::getTitle).contains("Abbey Road", "Let It Be");
     }
 
+    @Test
+    void findByPriceBetween_withPageable_shouldReturnOnlyRequestedPage()
+    {
+        // Arrange
+        BigDecimal minPrice = new BigDecimal("19.99");
+        BigDecimal maxPrice = new BigDecimal("29.99");
+
+        // Act
+        Page<Album> page = albumRepository.findByPriceBetween(minPrice, maxPrice,
+                PageRequest.of(0, 2, Sort.by("price")));
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).extracting(Album::getTitle).containsExactly("Abbey Road", "Let It Be");
+    }
+
+    @Test
+    void saveAll_withLargeCatalogLoad_shouldInsertInBatches()
+    {
+        // Arrange
+        int albumCount = 500;
+        List<Album> albums = IntStream.range(0, albumCount)
+                .mapToObj(i -> Album.builder().title("Bulk Album " + i).artist(artist1).price(new BigDecimal("9.99"))
+                        .stockQuantity(1).build())
+                .collect(Collectors.toList());
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        long startNanos = System.nanoTime();
+        albumRepository.saveAll(albums);
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        // Assert - one sequence call per 50 ids and one batched INSERT statement
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(albumCount);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(albumCount / 50 + 2);
+        log.info("Bulk catalog load: {} albums in {} ms ({} inserts/s)", albumCount, elapsedNanos / 1_000_000,
+                albumCount * 1_000_000_000L / Math.max(elapsedNanos, 1));
+    }
+
+    @Test
+    void findByGenreId_withPageable_shouldReturnAlbumsInGenre()
+    {
+        // Arrange & Act
+        Page<Album> page = albumRepository.findByGenreId(genrePop.getId(), FIRST_PAGE);
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(Album::getTitle).containsExactly("Let It Be");
+    }
+
     @Test
     void findTopSellingAlbums_whenOrderItemsExist_shouldReturnTopAlbums()
     {
         // Arrange & Act
-        List<Album> results = albumRepository.findTopSellingAlbums();
+        List<Album> results = albumRepository.findTopSellingAlbums(FIRST_PAGE);
 
         // Assert
         assertThat(results).isNotEmpty();
@@ -279,7 +377,7 @@ class RepositoryTest
     void findByArtistWithStock_withArtistHavingStock_shouldReturnAlbums()
     {
         // Arrange & Act
-        List<Album> results = albumRepository.findByArtistWithStock(artist1.getId());
+        List<Album> results = albumRepository.findByArtistWithStock(artist1.getId(), FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -290,7 +388,7 @@ class RepositoryTest
     void searchByTitleOrArtistName_withKeyword_shouldReturnMatchingAlbums()
     {
         // Arrange & Act
-        List<Album> results = albumRepository.searchByTitleOrArtistName("beatles");
+        List<Album> results = albumRepository.searchByTitleOrArtistName("beatles", FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(2);
@@ -301,7 +399,7 @@ class RepositoryTest
     void findByReleaseYear_withValidYear_shouldReturnAlbums()
     {
         // Arrange & Act
-        List<Album> results = albumRepository.findByReleaseYear(1969);
+        List<Album> results = albumRepository.findByReleaseYear(1969, FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -312,7 +410,7 @@ class RepositoryTest
     void findLowStockAlbums_withThreshold_shouldReturnLowStockAlbums()
     {
         // Arrange & Act
-        List<Album> results = albumRepository.findLowStockAlbums(40);
+        List<Album> results = albumRepository.findLowStockAlbums(40, FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -334,7 +432,7 @@ class RepositoryTest
     void findByDurationRange_withValidRange_shouldReturnSongs()
     {
         // Arrange & Act
-        List<Song> results = songRepository.findByDurationRange(180, 260);
+        List<Song> results = songRepository.findByDurationRange(180, 260, FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(2);
@@ -344,7 +442,7 @@ class RepositoryTest
     void searchByTitle_withKeyword_shouldReturnMatchingSongs()
     {
         // Arrange & Act
-        List<Song> results = songRepository.searchByTitle("together");
+        List<Song> results = songRepository.searchByTitle("together", FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -355,7 +453,7 @@ class RepositoryTest
     void findByArtistName_withValidArtist_shouldReturnSongs()
     {
         // Arrange & Act
-        List<Song> results = songRepository.findByArtistName("The Beatles");
+        List<Song> results = songRepository.findByArtistName("The Beatles", FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(2);
@@ -388,7 +486,7 @@ class RepositoryTest
     void searchByKeyword_withKeyword_shouldReturnMatchingGenres()
     {
         // Arrange & Act
-        List<Genre> results = genreRepository.searchByKeyword("pop");
+        List<Genre> results = genreRepository.searchByKeyword("pop", FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -399,7 +497,7 @@ class RepositoryTest
     void findGenresOrderedByAlbumCount_whenGenresHaveAlbums_shouldReturnSortedList()
     {
         // Arrange & Act
-        List<Genre> results = genreRepository.findGenresOrderedByAlbumCount();
+        List<Genre> results = genreRepository.findGenresOrderedByAlbumCount(FIRST_PAGE);
 
         // Assert
         assertThat(results).hasSize(2);
@@ -410,13 +508,84 @@ class RepositoryTest
     void findGenresWithAvailableStock_whenAlbumsInStock_shouldReturnGenres()
     {
         // Arrange & Act
-        List<Genre> results = genreRepository.findGenresWithAvailableStock();
+        List<Genre> results = genreRepository.findGenresWithAvailableStock(FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getName()).isEqualTo("Rock");
     }
 
+    @Test
+    void findGenresWithAvailableStock_whenLastAlbumSellsOut_shouldDropGenre()
+    {
+        // Arrange
+        album2.setStockQuantity(4);
+        albumRepository.save(album2);
+        genreAlbumStatsRepository.rebuild();
+
+        // Act
+        albumRepository.decrementStock(Map.of(album2.getId(), 4));
+        genreAlbumStatsRepository.recordStockTaken(Map.of(album2.getId(), 4));
+        entityManager.clear();
+        List<Genre> soldOut = genreRepository.findGenresWithAvailableStock(FIRST_PAGE).getContent();
+
+        albumRepository.incrementStock(Map.of(album2.getId(), 1));
+        genreAlbumStatsRepository.recordStockReturned(Map.of(album2.getId(), 1));
+        entityManager.clear();
+        List<Genre> restocked = genreRepository.findGenresWithAvailableStock(FIRST_PAGE).getContent();
+
+        // Assert
+        assertThat(soldOut).extracting(Genre::getName).containsExactly("Rock");
+        assertThat(restocked).extracting(Genre::getName).containsExactlyInAnyOrder("Rock", "Pop");
+        assertThat(genreAlbumStatsRepository.findById(genreRock.getId()).orElseThrow().getInStockCount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void rebuild_withAlbumGenres_shouldCountAlbumsAndAlbumsInStock()
+    {
+        // Arrange & Act
+        GenreAlbumStats rock = genreAlbumStatsRepository.findById(genreRock.getId()).orElseThrow();
+        GenreAlbumStats pop = genreAlbumStatsRepository.findById(genrePop.getId()).orElseThrow();
+
+        // Assert
+        assertThat(rock.getAlbumCount()).isEqualTo(3);
+        assertThat(rock.getInStockCount()).isEqualTo(2);
+        assertThat(pop.getAlbumCount()).isEqualTo(1);
+        assertThat(pop.getInStockCount()).isZero();
+    }
+
+    @Test
+    void recordAlbumChange_whenAlbumMovesGenre_shouldMatchRebuild()
+    {
+        // Arrange
+        Genre genreJazz = new Genre();
+        genreJazz.setName("Jazz");
+        genreJazz = genreRepository.save(genreJazz);
+        genreAlbumStatsRepository.createStats(genreJazz.getId());
+
+        // Act
+        album1.getGenres().clear();
+        album1.addGenre(genreJazz);
+        albumRepository.saveAndFlush(album1);
+        genreAlbumStatsRepository.recordAlbumChange(Set.of(genreRock.getId()), true, Set.of(genreJazz.getId()),
+                true);
+        entityManager.clear();
+        List<GenreAlbumStats> recorded = genreAlbumStatsRepository.findAll(Sort.by("genreId"));
+
+        genreAlbumStatsRepository.rebuild();
+        entityManager.clear();
+        List<GenreAlbumStats> rebuilt = genreAlbumStatsRepository.findAll(Sort.by("genreId"));
+
+        // Assert
+        assertThat(recorded).extracting(GenreAlbumStats::getAlbumCount).containsExactly(2L, 1L, 1L);
+        assertThat(recorded).extracting(GenreAlbumStats::getInStockCount).containsExactly(1L, 0L, 1L);
+        assertThat(recorded).extracting(GenreAlbumStats::getGenreId, GenreAlbumStats::getAlbumCount,
+                GenreAlbumStats::getInStockCount).containsExactlyElementsOf(rebuilt.stream()
+                        .map(stats -> tuple(stats.getGenreId(), stats.getAlbumCount(), stats.getInStockCount()))
+                        .collect(Collectors.toList()));
+    }
+
     @Test
     void findByEmailIgnoreCase_withExistingEmail_shouldReturnCustomer()
     {
@@ -432,7 +601,7 @@ class RepositoryTest
     void searchByName_withKeyword_shouldReturnMatchingCustomers()
     {
         // Arrange & Act
-        List<Customer> results = customerRepository.searchByName("john");
+        List<Customer> results = customerRepository.searchByName("john", FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -446,7 +615,7 @@ class RepositoryTest
         LocalDateTime pastDate = LocalDateTime.now().minusDays(1);
 
         // Act
-        List<Customer> results = customerRepository.findCustomersWithOrdersAfter(pastDate);
+        List<Customer> results = customerRepository.findCustomersWithOrdersAfter(pastDate, FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -457,7 +626,7 @@ class RepositoryTest
     void findCustomersWithNoOrders_whenCustomerHasNoOrders_shouldReturnCustomers()
     {
         // Arrange & Act
-        List<Customer> results = customerRepository.findCustomersWithNoOrders();
+        List<Customer> results = customerRepository.findCustomersWithNoOrders(FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -468,7 +637,7 @@ class RepositoryTest
     void findTopCustomersByOrderCount_whenCustomersHaveOrders_shouldReturnSortedList()
     {
         // Arrange & Act
-        List<Customer> results = customerRepository.findTopCustomersByOrderCount();
+        List<Customer> results = customerRepository.findTopCustomersByOrderCount(FIRST_PAGE);
 
         // Assert
         assertThat(results).isNotEmpty();
@@ -479,7 +648,7 @@ class RepositoryTest
     void findByCustomerId_withValidCustomerId_shouldReturnOrders()
     {
         // Arrange & Act
-        List<Order> results = orderRepository.findByCustomerId(customer1.getId());
+        List<Order> results = orderRepository.findByCustomerId(customer1.getId(), FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(2);
@@ -489,7 +658,7 @@ class RepositoryTest
     void findByStatus_withValidStatus_shouldReturnOrders()
     {
         // Arrange & Act
-        List<Order> results = orderRepository.findByStatus(OrderStatus.DELIVERED);
+        List<Order> results = orderRepository.findByStatus(OrderStatus.DELIVERED, FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -497,24 +666,99 @@ class RepositoryTest
     }
 
     @Test
-    void getCustomerOrderStatistics_withValidCustomerId_shouldReturnStatistics()
+    void recompute_withOrders_shouldAggregateCountSpendAndLastOrder()
     {
         // Arrange & Act
-        Object[] statistics = orderRepository.getCustomerOrderStatistics(customer1.getId());
+        CustomerOrderStats stats = customerOrderStatsRepository.findById(customer1.getId()).orElseThrow();
 
         // Assert
-        assertThat(statistics).isNotNull();
-        assertThat(statistics.length).isGreaterThan(0);
+        assertThat(stats.getOrderCount()).isEqualTo(2);
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("69.97");
+        assertThat(stats.getAverageOrderValue()).isEqualByComparingTo("34.99");
+        assertThat(stats.getLastOrderAt()).isEqualToIgnoringNanos(order2.getOrderDate());
+        assertThat(customerOrderStatsRepository.findById(customer2.getId())).isEmpty();
+    }
+
+    @Test
+    void recordOrder_thenReverseOrder_shouldAdjustTotalsInPlace()
+    {
+        // Arrange
+        LocalDateTime orderedAt = LocalDateTime.now();
 
-        Object[] innerArray = (Object[]) statistics[0];
+        // Act
+        customerOrderStatsRepository.recordOrder(customer2.getId(), new BigDecimal("15.00"), orderedAt);
+        customerOrderStatsRepository.recordOrder(customer2.getId(), new BigDecimal("5.00"), orderedAt);
+        entityManager.clear();
+        CustomerOrderStats afterOrders = customerOrderStatsRepository.findById(customer2.getId()).orElseThrow();
 
-        Long orderCount = ((Number) innerArray[0]).longValue();
-        BigDecimal totalAmount = (BigDecimal) innerArray[1];
-        Double avgAmount = ((Number) innerArray[2]).doubleValue();
+        customerOrderStatsRepository.reverseOrder(customer2.getId(), Long.MAX_VALUE, new BigDecimal("5.00"));
+        entityManager.clear();
+        CustomerOrderStats afterCancel = customerOrderStatsRepository.findById(customer2.getId()).orElseThrow();
 
-        assertThat(orderCount).isEqualTo(2);
-        assertThat(totalAmount).isGreaterThan(BigDecimal.ZERO);
-        assertThat(avgAmount).isGreaterThan(0.0);
+        // Assert - customer2 has no order rows, so no last order remains
+        assertThat(afterOrders.getOrderCount()).isEqualTo(2);
+        assertThat(afterOrders.getLifetimeSpend()).isEqualByComparingTo("20.00");
+        assertThat(afterCancel.getOrderCount()).isEqualTo(1);
+        assertThat(afterCancel.getLifetimeSpend()).isEqualByComparingTo("15.00");
+        assertThat(afterCancel.getLastOrderAt()).isNull();
+    }
+
+    @Test
+    void reverseOrder_ofLatestOrder_shouldMoveLastOrderBackToPreviousOrder()
+    {
+        // Act
+        customerOrderStatsRepository.reverseOrder(customer1.getId(), order2.getId(), order2.getTotalAmount());
+        entityManager.clear();
+
+        // Assert
+        CustomerOrderStats stats = customerOrderStatsRepository.findById(customer1.getId()).orElseThrow();
+        assertThat(stats.getOrderCount()).isEqualTo(1);
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("39.98");
+        assertThat(stats.getLastOrderAt()).isEqualToIgnoringNanos(order1.getOrderDate());
+    }
+
+    @Test
+    void findTopByLifetimeSpend_whenCustomersHaveOrders_shouldReturnHighestSpendFirst()
+    {
+        // Arrange
+        customerOrderStatsRepository.recordOrder(customer2.getId(), new BigDecimal("100.00"), LocalDateTime.now());
+        entityManager.clear();
+
+        // Act
+        List<CustomerOrderStats> results = customerOrderStatsRepository.findTopByLifetimeSpend(FIRST_PAGE);
+
+        // Assert
+        assertThat(results).extracting(CustomerOrderStats::getCustomerId).containsExactly(customer2.getId(),
+                customer1.getId());
+        assertThat(results.get(0).getCustomer().getFirstName()).isEqualTo("Jane");
+    }
+
+    @Test
+    void findDrift_whenRowsDisagreeWithOrders_shouldReportAndRecomputeThem()
+    {
+        // Arrange - a missed cancel for customer1 and a stray row for customer2
+        order2.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(order2);
+        customerOrderStatsRepository.recordOrder(customer2.getId(), new BigDecimal("9.99"), LocalDateTime.now());
+
+        // Act
+        List<CustomerOrderStatsDrift> drift = customerOrderStatsRepository.findDrift();
+        customerOrderStatsRepository
+                .recompute(drift.stream().map(CustomerOrderStatsDrift::getCustomerId).collect(Collectors.toList()));
+        entityManager.clear();
+
+        // Assert
+        assertThat(drift).extracting(CustomerOrderStatsDrift::getCustomerId)
+                .containsExactlyInAnyOrder(customer1.getId(), customer2.getId());
+        CustomerOrderStatsDrift customer1Drift = drift.stream()
+                .filter(entry -> entry.getCustomerId().equals(customer1.getId())).findFirst().orElseThrow();
+        assertThat(customer1Drift.getStoredOrderCount()).isEqualTo(2);
+        assertThat(customer1Drift.getActualOrderCount()).isEqualTo(1);
+        assertThat(customer1Drift.getActualLifetimeSpend()).isEqualByComparingTo("39.98");
+        assertThat(customerOrderStatsRepository.findById(customer1.getId()).orElseThrow().getOrderCount())
+                .isEqualTo(1);
+        assertThat(customerOrderStatsRepository.findById(customer2.getId())).isEmpty();
+        assertThat(customerOrderStatsRepository.findDrift()).isEmpty();
     }
 
     @Test
@@ -525,7 +769,7 @@ class RepositoryTest
         LocalDateTime end = LocalDateTime.now().plusDays(1);
 
         // Act
-        List<Order> results = orderRepository.findByDateRange(start, end);
+        List<Order> results = orderRepository.findByDateRange(start, end, FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(2);
@@ -535,7 +779,8 @@ class RepositoryTest
     void findByCustomerAndStatus_withValidCriteria_shouldReturnOrders()
     {
         // Arrange & Act
-        List<Order> results = orderRepository.findByCustomerAndStatus(customer1.getId(), OrderStatus.PENDING);
+        List<Order> results = orderRepository
+                .findByCustomerAndStatus(customer1.getId(), OrderStatus.PENDING, FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -546,7 +791,7 @@ class RepositoryTest
     void findOrdersAboveAmount_withThreshold_shouldReturnOrders()
     {
         // Arrange & Act
-        List<Order> results = orderRepository.findOrdersAboveAmount(new BigDecimal("30.00"));
+        List<Order> results = orderRepository.findOrdersAboveAmount(new BigDecimal("30.00"), FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
@@ -568,6 +813,63 @@ class RepositoryTest
         assertThat(revenue).isGreaterThan(BigDecimal.ZERO);
     }
 
+    @Test
+    void sumRevenue_withWholeAndPartialBuckets_shouldMatchOrderScan()
+    {
+        // Arrange
+        LocalDateTime firstOrder = LocalDateTime.of(2024, 3, 1, 10, 15);
+        LocalDateTime secondOrder = LocalDateTime.of(2024, 3, 4, 18, 40);
+        moveOrder(order1, firstOrder);
+        moveOrder(order2, secondOrder);
+        revenueBucketRepository.rebuild();
+
+        List<LocalDateTime[]> ranges = List.of(new LocalDateTime[]
+        {firstOrder, secondOrder}, new LocalDateTime[]
+        {firstOrder.plusMinutes(1), secondOrder}, new LocalDateTime[]
+        {firstOrder, secondOrder.minusSeconds(1)}, new LocalDateTime[]
+        {LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 5, 0, 0)}, new LocalDateTime[]
+        {LocalDateTime.of(2024, 3, 1, 10, 0), LocalDateTime.of(2024, 3, 1, 10, 59)}, new LocalDateTime[]
+        {LocalDateTime.of(2024, 3, 2, 0, 0), LocalDateTime.of(2024, 3, 3, 23, 0)});
+
+        for (LocalDateTime[] range : ranges)
+        {
+            // Act
+            BigDecimal fromBuckets = revenueBucketRepository.sumRevenue(range[0], range[1]);
+
+            // Assert
+            assertThat(fromBuckets).as("%s to %s", range[0], range[1])
+                    .isEqualByComparingTo(orderRepository.calculateTotalRevenue(range[0], range[1]));
+        }
+        assertThat(revenueBucketRepository.sumRevenue(firstOrder, secondOrder)).isEqualByComparingTo("69.97");
+        assertThat(revenueBucketRepository.sumRevenue(firstOrder.plusMinutes(1), secondOrder))
+                .isEqualByComparingTo("29.99");
+    }
+
+    @Test
+    void recordRevenue_thenReverseRevenue_shouldAdjustHourAndDayBuckets()
+    {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 5, 12, 30);
+        int shard = RevenueBucketRecorderImpl.currentShard();
+        RevenueBucketId hour = new RevenueBucketId(RevenueGranularity.HOUR, LocalDateTime.of(2024, 5, 5, 12, 0),
+                shard);
+        RevenueBucketId day = new RevenueBucketId(RevenueGranularity.DAY, LocalDateTime.of(2024, 5, 5, 0, 0), shard);
+
+        // Act
+        revenueBucketRepository.recordRevenue(createdAt, new BigDecimal("10.00"));
+        revenueBucketRepository.recordRevenue(createdAt.plusMinutes(10), new BigDecimal("5.50"));
+        revenueBucketRepository.reverseRevenue(createdAt, new BigDecimal("10.00"));
+        entityManager.clear();
+
+        // Assert
+        RevenueBucket hourBucket = revenueBucketRepository.findById(hour).orElseThrow();
+        RevenueBucket dayBucket = revenueBucketRepository.findById(day).orElseThrow();
+        assertThat(hourBucket.getRevenue()).isEqualByComparingTo("5.50");
+        assertThat(hourBucket.getOrderCount()).isEqualTo(1);
+        assertThat(dayBucket.getRevenue()).isEqualByComparingTo("5.50");
+        assertThat(dayBucket.getOrderCount()).isEqualTo(1);
+    }
+
     @Test
     void findByOrderId_withValidOrderId_shouldReturnOrderItems()
     {
@@ -583,51 +885,114 @@ class RepositoryTest
     void findByAlbumId_withValidAlbumId_shouldReturnOrderItems()
     {
         // Arrange & Act
-        List<OrderItem> results = orderItemRepository.findByAlbumId(album1.getId());
+        List<OrderItem> results = orderItemRepository.findByAlbumId(album1.getId(), FIRST_PAGE).getContent();
 
         // Assert
         assertThat(results).hasSize(1);
     }
 
     @Test
-    void calculateTotalQuantitySold_withValidAlbumId_shouldReturnQuantity()
+    void findByCustomerId_withValidCustomerId_shouldReturnOrderItems()
     {
         // Arrange & Act
-        Long totalQuantity = orderItemRepository.calculateTotalQuantitySold(album1.getId());
+        List<OrderItem> results = orderItemRepository.findByCustomerId(customer1.getId(), FIRST_PAGE).getContent();
 
         // Assert
-        assertThat(totalQuantity).isEqualTo(2);
+        assertThat(results).hasSize(2);
     }
 
     @Test
-    void calculateAlbumRevenue_withValidAlbumId_shouldReturnRevenue()
+    void rebuild_withOrderItems_shouldAggregateUnitsAndRevenuePerAlbum()
     {
         // Arrange & Act
-        BigDecimal revenue = orderItemRepository.calculateAlbumRevenue(album1.getId());
+        AlbumSalesStats stats = albumSalesStatsRepository.findById(album1.getId()).orElseThrow();
 
         // Assert
-        assertThat(revenue).isNotNull();
-        assertThat(revenue).isEqualTo(new BigDecimal("39.98"));
+        assertThat(stats.getUnitsSold()).isEqualTo(2);
+        assertThat(stats.getRevenue()).isEqualByComparingTo("39.98");
+        assertThat(stats.getLastSoldAt()).isNotNull();
+        assertThat(albumSalesStatsRepository.findById(album2.getId())).isEmpty();
     }
 
     @Test
-    void findByCustomerId_withValidCustomerId_shouldReturnOrderItems()
+    void rebuild_withCancelledOrder_shouldExcludeItsItems()
     {
-        // Arrange & Act
-        List<OrderItem> results = orderItemRepository.findByCustomerId(customer1.getId());
+        // Arrange
+        order2.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(order2);
+
+        // Act
+        int albumsWithSales = albumSalesStatsRepository.rebuild();
 
         // Assert
-        assertThat(results).hasSize(2);
+        entityManager.clear();
+        assertThat(albumsWithSales).isEqualTo(1);
+        assertThat(albumSalesStatsRepository.findById(album3.getId())).isEmpty();
     }
 
     @Test
-    void findMostPopularAlbums_whenOrderItemsExist_shouldReturnPopularAlbums()
+    void findTopByUnitsSold_whenAlbumsSold_shouldReturnMostUnitsFirst()
     {
         // Arrange & Act
-        List<Object[]> results = orderItemRepository.findMostPopularAlbums();
+        List<AlbumSalesStats> results = albumSalesStatsRepository.findTopByUnitsSold(FIRST_PAGE);
 
         // Assert
-        assertThat(results).isNotEmpty();
-        assertThat(results.get(0)[1]).isNotNull();
+        assertThat(results).extracting(AlbumSalesStats::getAlbumId).containsExactly(album1.getId(),
+                album3.getId());
+    }
+
+    @Test
+    void recordSales_thenReverseSales_shouldAdjustTotalsInPlace()
+    {
+        // Arrange
+        OrderItem firstSale = OrderItem.builder().album(album2).quantity(3).unitPrice(new BigDecimal("10.00"))
+                .subtotal(new BigDecimal("30.00")).build();
+        OrderItem repeatSale = OrderItem.builder().album(album3).quantity(1).unitPrice(new BigDecimal("29.99"))
+                .subtotal(new BigDecimal("29.99")).build();
+
+        // Act
+        albumSalesStatsRepository.recordSales(List.of(firstSale, repeatSale), LocalDateTime.now());
+        entityManager.clear();
+        AlbumSalesStats afterSale = albumSalesStatsRepository.findById(album3.getId()).orElseThrow();
+        AlbumSalesStats created = albumSalesStatsRepository.findById(album2.getId()).orElseThrow();
+
+        albumSalesStatsRepository.reverseSales(List.of(repeatSale));
+        entityManager.clear();
+        AlbumSalesStats afterCancel = albumSalesStatsRepository.findById(album3.getId()).orElseThrow();
+
+        // Assert
+        assertThat(afterSale.getUnitsSold()).isEqualTo(2);
+        assertThat(afterSale.getRevenue()).isEqualByComparingTo("59.98");
+        assertThat(created.getUnitsSold()).isEqualTo(3);
+        assertThat(created.getRevenue()).isEqualByComparingTo("30.00");
+        assertThat(afterCancel.getUnitsSold()).isEqualTo(1);
+        assertThat(afterCancel.getRevenue()).isEqualByComparingTo("29.99");
+    }
+
+    @Test
+    void recordSales_withEarlierSaleRecordedLast_shouldKeepLatestLastSoldAt()
+    {
+        // Arrange - two orders whose stats updates commit out of order
+        LocalDateTime later = LocalDateTime.of(2024, 6, 1, 12, 0);
+        OrderItem sale = OrderItem.builder().album(album2).quantity(1).unitPrice(new BigDecimal("10.00"))
+                .subtotal(new BigDecimal("10.00")).build();
+
+        // Act
+        albumSalesStatsRepository.recordSales(List.of(sale), later);
+        albumSalesStatsRepository.recordSales(List.of(sale), later.minusMinutes(5));
+        entityManager.clear();
+
+        // Assert
+        AlbumSalesStats stats = albumSalesStatsRepository.findById(album2.getId()).orElseThrow();
+        assertThat(stats.getUnitsSold()).isEqualTo(2);
+        assertThat(stats.getLastSoldAt()).isEqualTo(later);
+    }
+
+    /** Sets an order's creation time, which auditing otherwise fixes at insert. */
+    private void moveOrder(Order order, LocalDateTime createdAt)
+    {
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE orders SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", createdAt).setParameter("id", order.getId()).executeUpdate();
     }
 }
@@ -0,0 +1,126 @@
+package com.music.music_inventory_api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Concurrency test for {@link RevenueBucketRecorder}. Orders placed in the
+ * same hour must not queue on one bucket row: every writer records its order
+ * and then keeps its transaction open until all the others have recorded
+ * theirs, which only completes if none of them waits on another's row lock.
+ * Not transactional, since every writer commits on its own thread.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+class RevenueBucketConcurrencyIntegrationTest
+{
+    private static final int WRITERS = 4;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2001, 2, 3, 10, 15);
+    private static final LocalDateTime HOUR = CREATED_AT.withMinute(0);
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    @Autowired
+    private RevenueBucketRepository revenueBucketRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown()
+    {
+        jdbcTemplate.update("DELETE FROM revenue_buckets WHERE bucket_start >= ? AND bucket_start < ?",
+                Timestamp.valueOf(CREATED_AT.toLocalDate().atStartOfDay()),
+                Timestamp.valueOf(CREATED_AT.toLocalDate().plusDays(1).atStartOfDay()));
+    }
+
+    @Test
+    void recordRevenue_fromConcurrentTransactions_shouldNotWaitOnEachOther() throws Exception
+    {
+        // Arrange
+        CountDownLatch recorded = new CountDownLatch(WRITERS);
+        AtomicInteger overlapped = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        Runnable writer = () ->
+        {
+            try
+            {
+                transactionTemplate.executeWithoutResult(status ->
+                {
+                    revenueBucketRepository.recordRevenue(CREATED_AT, AMOUNT);
+                    recorded.countDown();
+                    try
+                    {
+                        if (recorded.await(5, TimeUnit.SECONDS))
+                        {
+                            overlapped.incrementAndGet();
+                        }
+                    } catch (InterruptedException ex)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (RuntimeException ex)
+            {
+                failures.add(ex);
+            }
+        };
+
+        // Shards follow the thread, so keep one writer thread per shard
+        List<Thread> threads = new ArrayList<>();
+        Set<Integer> shards = new HashSet<>();
+        while (threads.size() < WRITERS)
+        {
+            Thread thread = new Thread(writer);
+            if (shards.add((int) (thread.getId() % RevenueBucketRecorderImpl.SHARDS)))
+            {
+                threads.add(thread);
+            }
+        }
+
+        // Act
+        long startNanos = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+        {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("Revenue buckets: {} concurrent orders in one hour recorded in {} ms", WRITERS, elapsedMillis);
+
+        // Assert
+        assertThat(failures).isEmpty();
+        assertThat(overlapped.get()).isEqualTo(WRITERS);
+        BigDecimal revenue = transactionTemplate.execute(
+                status -> revenueBucketRepository.sumRevenue(HOUR, HOUR.plusHours(1)));
+        assertThat(revenue).isEqualByComparingTo(AMOUNT.multiply(BigDecimal.valueOf(WRITERS)));
+        Map<String, Object> hour = jdbcTemplate.queryForMap("SELECT COUNT(*) AS shards, SUM(order_count) AS orders "
+                + "FROM revenue_buckets WHERE granularity = 'HOUR' AND bucket_start = ?",
+                Timestamp.valueOf(HOUR));
+        assertThat(((Number) hour.get("SHARDS")).intValue()).isEqualTo(WRITERS);
+        assertThat(((Number) hour.get("ORDERS")).intValue()).isEqualTo(WRITERS);
+    }
+}
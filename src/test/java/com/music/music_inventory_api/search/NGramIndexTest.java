@@ -0,0 +1,144 @@
+package com.music.music_inventory_api.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for NGramIndex. */
+@Slf4j
+class NGramIndexTest
+{
+    private NGramIndex index;
+
+    @BeforeEach
+    void setUp()
+    {
+        index = new NGramIndex(2);
+        index.put(1L, "Abbey Road", "The Beatles");
+        index.put(2L, "Let It Be", "The Beatles");
+        index.put(3L, "Road to Nowhere", "Talking Heads");
+        index.put(4L, "Beyoncé", "Beyoncé");
+    }
+
+    @Test
+    void search_withInfix_shouldMatchLikeContains()
+    {
+        // Act & Assert
+        assertEquals(List.of(1L, 2L), index.search("eatle"));
+        assertEquals(List.of(3L, 1L), index.search("road"));
+        assertTrue(index.search("roads").isEmpty());
+    }
+
+    @Test
+    void search_shouldRankExactThenPrefixThenWordThenInfix()
+    {
+        // Arrange
+        index.put(5L, "Roadhouse", "Various");
+        index.put(6L, "Railroad", "Various");
+        index.put(7L, "Road", "Various");
+
+        // Act
+        List<Long> result = index.search("road");
+
+        // Assert - exact title, title prefixes, word in title, anywhere in title
+        assertEquals(List.of(7L, 3L, 5L, 1L, 6L), result);
+    }
+
+    @Test
+    void search_shouldRankTitleMatchAboveArtistMatch()
+    {
+        // Arrange
+        index.put(5L, "Heads", "Various");
+
+        // Act & Assert
+        assertEquals(List.of(5L, 3L), index.search("heads"));
+    }
+
+    @Test
+    void search_shouldIgnoreCaseAndAccents()
+    {
+        // Act & Assert
+        assertEquals(List.of(4L), index.search("BEYONCE"));
+        assertEquals(List.of(4L), index.search("  beyoncé "));
+    }
+
+    @Test
+    void search_withShortQuery_shouldScanAllDocuments()
+    {
+        // Act & Assert
+        assertEquals(List.of(4L, 2L, 1L), index.search("be"));
+        assertEquals(List.of(), index.search(" "));
+    }
+
+    @Test
+    void put_withExistingId_shouldReplaceDocument()
+    {
+        // Act
+        index.put(1L, "Help!", "The Beatles");
+
+        // Assert
+        assertEquals(List.of(3L), index.search("road"));
+        assertEquals(List.of(1L), index.search("help"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void putField_shouldReplaceOnlyThatField()
+    {
+        // Act
+        index.putField(List.of(1L, 2L, 99L), 1, "Fab Four");
+
+        // Assert
+        assertTrue(index.search("beatles").isEmpty());
+        assertEquals(List.of(1L, 2L), index.search("fab four"));
+        assertEquals(List.of(1L), index.search("abbey"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_shouldDropDocument()
+    {
+        // Act
+        index.remove(1L);
+        index.remove(99L);
+
+        // Assert
+        assertEquals(List.of(3L), index.search("road"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void search_withLargeCatalog_shouldMeasureCostPerQuery()
+    {
+        // Arrange
+        int albums = 100_000;
+        NGramIndex large = new NGramIndex(2);
+        for (long i = 0; i < albums; i++)
+        {
+            large.put(i, "Album " + i, "Artist " + (i % 5_000));
+        }
+        String[] queries =
+        {"album 4242", "tist 17", "bum 9999", "artist 4999"};
+
+        // Act
+        int rounds = 200;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < rounds; i++)
+        {
+            large.search(queries[i % queries.length]);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        log.info("Keyword search over {} albums: {} us per query", albums,
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos / rounds));
+
+        // Assert
+        assertEquals(List.of(4242L, 42420L, 42421L, 42422L, 42423L, 42424L, 42425L, 42426L, 42427L, 42428L, 42429L),
+                large.search("album 4242"));
+        assertEquals(20, large.search("artist 4999").size());
+    }
+}
@@ -0,0 +1,145 @@
+package com.music.music_inventory_api.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.music.music_inventory_api.enums.SuggestionType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for PrefixTrie. */
+@Slf4j
+class PrefixTrieTest
+{
+    private PrefixTrie trie;
+
+    @BeforeEach
+    void setUp()
+    {
+        trie = new PrefixTrie(5);
+        trie.put(new Suggestion(SuggestionType.ALBUM, 1L, "Abbey Road"));
+        trie.put(new Suggestion(SuggestionType.ARTIST, 1L, "The Beatles"));
+        trie.put(new Suggestion(SuggestionType.SONG, 1L, "Come Together"));
+        trie.put(new Suggestion(SuggestionType.GENRE, 1L, "Rock"));
+        trie.put(new Suggestion(SuggestionType.SONG, 2L, "Road to Nowhere"));
+    }
+
+    @Test
+    void suggest_shouldMatchLabelAndWordPrefixes()
+    {
+        // Act & Assert - label prefixes first, then word prefixes
+        assertEquals(List.of("Rock", "Road to Nowhere", "Abbey Road"), labels(trie.suggest("ro", 5)));
+        assertEquals(List.of("The Beatles"), labels(trie.suggest("beat", 5)));
+        assertEquals(List.of("Come Together"), labels(trie.suggest("come tog", 5)));
+        assertTrue(trie.suggest("oad", 5).isEmpty());
+    }
+
+    @Test
+    void suggest_shouldIgnoreCaseAccentsAndLeadingSpace()
+    {
+        // Arrange
+        trie.put(new Suggestion(SuggestionType.ARTIST, 2L, "Beyoncé"));
+
+        // Act & Assert
+        assertEquals(List.of("Beyoncé"), labels(trie.suggest("  BEYONCE", 5)));
+        assertTrue(trie.suggest(" ", 5).isEmpty());
+    }
+
+    @Test
+    void suggest_shouldReturnEachEntryOnceAndRespectLimit()
+    {
+        // Arrange - both words start with "la"
+        trie.put(new Suggestion(SuggestionType.ALBUM, 2L, "La La Land"));
+
+        // Act & Assert
+        assertEquals(List.of("La La Land"), labels(trie.suggest("la", 5)));
+        assertEquals(1, trie.suggest("r", 1).size());
+        assertEquals(3, trie.suggest("r", 50).size());
+    }
+
+    @Test
+    void put_withSameTypeAndId_shouldReplaceLabel()
+    {
+        // Act
+        trie.put(new Suggestion(SuggestionType.ALBUM, 1L, "Let It Be"));
+
+        // Assert
+        assertEquals(List.of("Road to Nowhere"), labels(trie.suggest("road", 5)));
+        assertEquals(List.of("Let It Be"), labels(trie.suggest("let", 5)));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void remove_shouldRefillBestSuggestionsFromSubtree()
+    {
+        // Arrange - more "a" albums than the trie keeps per node
+        for (long id = 10; id < 20; id++)
+        {
+            trie.put(new Suggestion(SuggestionType.ALBUM, id, "Album " + id));
+        }
+        List<Suggestion> before = trie.suggest("a", 5);
+
+        // Act
+        trie.remove(before.get(0).key());
+        trie.remove(new Suggestion.Key(SuggestionType.GENRE, 99L));
+
+        // Assert
+        List<Suggestion> after = trie.suggest("a", 5);
+        assertEquals(5, after.size());
+        assertEquals(before.subList(1, 5), after.subList(0, 4));
+        assertFalse(after.contains(before.get(0)));
+        assertEquals(14, trie.size());
+    }
+
+    @Test
+    void remove_lastEntryUnderPrefix_shouldLeaveNoSuggestions()
+    {
+        // Act
+        trie.remove(new Suggestion.Key(SuggestionType.GENRE, 1L));
+
+        // Assert
+        assertTrue(trie.suggest("rock", 5).isEmpty());
+        assertEquals(List.of("Road to Nowhere", "Abbey Road"), labels(trie.suggest("ro", 5)));
+    }
+
+    @Test
+    void suggest_withLargeCatalog_shouldMeasureCostPerLookup()
+    {
+        // Arrange
+        int entries = 100_000;
+        PrefixTrie large = new PrefixTrie(10);
+        long buildStart = System.nanoTime();
+        for (long i = 0; i < entries; i++)
+        {
+            large.put(new Suggestion(SuggestionType.values()[(int) (i % 4)], i, "Title " + i + " Part " + (i % 97)));
+        }
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart);
+        String[] prefixes =
+        {"t", "title 1", "part 4", "title 9999", "x"};
+
+        // Act
+        int lookups = 100_000;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < lookups; i++)
+        {
+            large.suggest(prefixes[i % prefixes.length], 10);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        log.info("Suggestions over {} entries: built in {} ms, {} ns per lookup", entries, buildMillis,
+                elapsedNanos / lookups);
+
+        // Assert
+        assertEquals(10, large.suggest("title 1", 10).size());
+        assertEquals("Title 1 Part 1", large.suggest("title 1", 10).get(0).getLabel());
+        assertTrue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos / lookups) < 1_000);
+    }
+
+    private static List<String> labels(List<Suggestion> suggestions)
+    {
+        return suggestions.stream().map(Suggestion::getLabel).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.music.music_inventory_api.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.music.music_inventory_api.enums.SuggestionType;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for RebuildableIndex. */
+class RebuildableIndexTest
+{
+    private RebuildableIndex<PrefixTrie> index;
+
+    @BeforeEach
+    void setUp()
+    {
+        PrefixTrie initial = new PrefixTrie(5);
+        initial.put(new Suggestion(SuggestionType.ALBUM, 1L, "Abbey Road"));
+        index = new RebuildableIndex<>(initial);
+    }
+
+    @Test
+    void rebuild_withChangesCommittedDuringLoad_shouldReplayThemOnRebuiltIndex()
+    {
+        // Act - the load reads the database before the changes commit
+        PrefixTrie rebuilt = index.rebuild(() ->
+        {
+            PrefixTrie loaded = new PrefixTrie(5);
+            loaded.put(new Suggestion(SuggestionType.ALBUM, 1L, "Abbey Road"));
+            loaded.put(new Suggestion(SuggestionType.ALBUM, 2L, "Let It Be"));
+            index.apply(trie -> trie.put(new Suggestion(SuggestionType.ALBUM, 3L, "Revolver")));
+            index.apply(trie -> trie.remove(new Suggestion.Key(SuggestionType.ALBUM, 2L)));
+            assertEquals(List.of("Revolver"), labels(index.get(), "rev"));
+            return loaded;
+        });
+
+        // Assert
+        assertSame(rebuilt, index.get());
+        assertEquals(List.of("Revolver"), labels(rebuilt, "rev"));
+        assertTrue(rebuilt.suggest("let", 5).isEmpty());
+        assertEquals(List.of("Abbey Road"), labels(rebuilt, "abbey"));
+    }
+
+    @Test
+    void rebuild_whenLoadFails_shouldKeepLiveIndexAndStopBuffering()
+    {
+        // Arrange
+        PrefixTrie live = index.get();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> index.rebuild(() ->
+        {
+            throw new IllegalStateException("database unavailable");
+        }));
+        PrefixTrie afterFailure = index.get();
+        index.apply(trie -> trie.put(new Suggestion(SuggestionType.ALBUM, 3L, "Revolver")));
+        PrefixTrie rebuilt = index.rebuild(() -> new PrefixTrie(5));
+
+        // Assert - the change made between rebuilds is not replayed on the next one
+        assertSame(live, afterFailure);
+        assertEquals(List.of("Revolver"), labels(live, "rev"));
+        assertTrue(rebuilt.suggest("rev", 5).isEmpty());
+    }
+
+    private static List<String> labels(PrefixTrie trie, String prefix)
+    {
+        return trie.suggest(prefix, 5).stream().map(Suggestion::getLabel).collect(Collectors.toList());
+    }
+}
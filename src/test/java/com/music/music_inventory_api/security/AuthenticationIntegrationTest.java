@@ -0,0 +1,124 @@
+package com.music.music_inventory_api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.music_inventory_api.config.CacheConfig;
+import com.music.music_inventory_api.dto.request.RegisterRequest;
+import com.music.music_inventory_api.repository.CustomerRepository;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for JWT authentication with the security filters enabled.
+ * Uses Hibernate statistics to check how many statements a request runs before
+ * reaching the controller. Not transactional, since the registered customer
+ * must be visible to the request threads.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthenticationIntegrationTest
+{
+    private static final String EMAIL = "stateless.auth@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String token;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        RegisterRequest request = RegisterRequest.builder().email(EMAIL).password("password123").firstName("Stateless")
+                .lastName("User").build();
+        String body = mockMvc
+                .perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        JsonNode authResponse = objectMapper.readTree(body);
+        token = authResponse.get("token").asText();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        customerRepository.findByEmailIgnoreCase(EMAIL).ifPresent(customerRepository::delete);
+        cacheManager.getCache(CacheConfig.PRINCIPALS).clear();
+    }
+
+    @Test
+    void authenticatedRequest_withIssuedToken_shouldNotReadCustomer() throws Exception
+    {
+        // Act
+        mockMvc.perform(get("/api/orders/{id}", Long.MAX_VALUE).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+
+        // Assert - only the controller's order lookup
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticatedRequest_withLegacyToken_shouldLoadCustomerOnceThenUseCache() throws Exception
+    {
+        // Arrange - token issued before the customer ID and roles claims existed
+        String legacyToken = jwtUtil
+                .generateToken(User.builder().username(EMAIL).password("unused").authorities("ROLE_CUSTOMER").build());
+
+        // Act
+        mockMvc.perform(get("/api/orders/{id}", Long.MAX_VALUE).header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isNotFound());
+        long firstRequestStatements = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/api/orders/{id}", Long.MAX_VALUE).header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isNotFound());
+
+        // Assert - customer lookup plus order lookup, then the order lookup only
+        assertThat(firstRequestStatements).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstRequestStatements + 1);
+        CustomerPrincipal cached = cacheManager.getCache(CacheConfig.PRINCIPALS).get(EMAIL, CustomerPrincipal.class);
+        assertThat(cached.getCustomerId()).isEqualTo(customerRepository.findByEmailIgnoreCase(EMAIL).get().getId());
+        assertThat(cached.getPassword()).isNull();
+    }
+
+    @Test
+    void request_withoutToken_shouldBeRejected() throws Exception
+    {
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/{id}", Long.MAX_VALUE)).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,142 @@
+package com.music.music_inventory_api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.music.music_inventory_api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** Unit tests for BoundedPasswordEncoder. */
+class BoundedPasswordEncoderTest
+{
+    private CountDownLatch release;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp()
+    {
+        release = new CountDownLatch(1);
+        meterRegistry = new SimpleMeterRegistry();
+
+        // Delegate that blocks until released, to saturate the pool on demand
+        PasswordEncoder blockingDelegate = new PasswordEncoder()
+        {
+            @Override
+            public String encode(CharSequence rawPassword)
+            {
+                try
+                {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword)
+            {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blockingDelegate, 1, 1, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encode_withBCryptDelegate_shouldProduceMatchingHash()
+    {
+        // Arrange
+        BoundedPasswordEncoder bcrypt = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1,
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        // Act
+        String hash = bcrypt.encode("password123");
+
+        // Assert
+        assertTrue(bcrypt.matches("password123", hash));
+        assertFalse(bcrypt.matches("wrong", hash));
+        bcrypt.destroy();
+    }
+
+    @Test
+    void encode_whenPoolAndQueueAreFull_shouldRejectImmediately() throws Exception
+    {
+        // Arrange - one hash running, one queued
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        List<Future<String>> admitted = new ArrayList<>();
+        admitted.add(callers.submit(() -> encoder.encode("first")));
+        waitUntil(() -> meterRegistry.get("executor.active").gauge().value() == 1);
+        admitted.add(callers.submit(() -> encoder.encode("second")));
+        waitUntil(() -> meterRegistry.get("executor.queued").gauge().value() == 1);
+
+        // Act
+        long startNanos = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+        long rejectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // Assert
+        assertTrue(rejectMillis < 100, "rejection took " + rejectMillis + " ms");
+        assertEquals(0, meterRegistry.get("executor.queue.remaining").gauge().value());
+        release.countDown();
+        assertEquals("hash:first", admitted.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("hash:second", admitted.get(1).get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+
+    @Test
+    void encode_whenHashTakesLongerThanTimeout_shouldFail()
+    {
+        // Arrange
+        BoundedPasswordEncoder impatient = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4)
+        {
+            @Override
+            public String encode(CharSequence rawPassword)
+            {
+                try
+                {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        }, 1, 1, Duration.ofMillis(50), new SimpleMeterRegistry());
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> impatient.encode("password123"));
+        impatient.destroy();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+        {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not reached in time");
+    }
+}
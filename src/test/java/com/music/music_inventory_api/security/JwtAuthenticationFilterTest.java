@@ -0,0 +1,154 @@
+package com.music.music_inventory_api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.music.music_inventory_api.service.impl.UserDetailsServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for JwtAuthenticationFilter. */
+@ExtendWith(MockitoExtension.class)
+@Slf4j
+class JwtAuthenticationFilterTest
+{
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private UserDetails userDetails;
+    private CustomerPrincipal principal;
+
+    @BeforeEach
+    void setUp()
+    {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret",
+                "testSecretKeyForJWTtokenGenerationMustBeLongEnough256bitsForHS256Algorithm");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        jwtUtil.init();
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        userDetails = User.builder().username("test@example.com").password("password").authorities("ROLE_CUSTOMER")
+                .build();
+        principal = new CustomerPrincipal(42L, "test@example.com", userDetails.getAuthorities());
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_withValidToken_shouldAuthenticateUser() throws Exception
+    {
+        // Arrange
+        when(userDetailsService.loadPrincipal("test@example.com")).thenReturn(principal);
+        MockHttpServletRequest request = bearerRequest(jwtUtil.generateToken(userDetails));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(principal, authentication.getPrincipal());
+    }
+
+    @Test
+    void doFilter_withCustomerClaims_shouldAuthenticateWithoutLoadingUser() throws Exception
+    {
+        // Arrange
+        MockHttpServletRequest request = bearerRequest(jwtUtil.generateToken(userDetails, 42L));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        CustomerPrincipal authenticated = (CustomerPrincipal) authentication.getPrincipal();
+        assertEquals(42L, authenticated.getCustomerId());
+        assertEquals("test@example.com", authenticated.getUsername());
+        assertEquals("ROLE_CUSTOMER", authentication.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, never()).loadPrincipal(anyString());
+    }
+
+    @Test
+    void doFilter_withStatelessModeDisabled_shouldLoadUser() throws Exception
+    {
+        // Arrange
+        ReflectionTestUtils.setField(filter, "statelessAuthentication", false);
+        when(userDetailsService.loadPrincipal("test@example.com")).thenReturn(principal);
+        MockHttpServletRequest request = bearerRequest(jwtUtil.generateToken(userDetails, 42L));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(principal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userDetailsService).loadPrincipal("test@example.com");
+    }
+
+    @Test
+    void doFilter_withTamperedToken_shouldNotAuthenticate() throws Exception
+    {
+        // Arrange
+        String token = jwtUtil.generateToken(userDetails);
+        MockHttpServletRequest request = bearerRequest(token.substring(0, token.length() - 5) + "XXXXX");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadPrincipal(anyString());
+    }
+
+    @Test
+    void doFilter_withRepeatedToken_shouldMeasureCostPerRequest() throws Exception
+    {
+        // Arrange
+        int requests = 5_000;
+        when(userDetailsService.loadPrincipal("test@example.com")).thenReturn(principal);
+        String token = jwtUtil.generateToken(userDetails);
+
+        // Act
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < requests; i++)
+        {
+            SecurityContextHolder.clearContext();
+            filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        log.info("JWT filter: {} requests, {} ns per request", requests, elapsedNanos / requests);
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertSame(jwtUtil.resolveClaims(token).orElseThrow(), jwtUtil.resolveClaims(token).orElseThrow());
+    }
+
+    private MockHttpServletRequest bearerRequest(String token)
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -2,8 +2,11 @@ package com.music.music_inventory_api.security;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.jsonwebtoken.Claims;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
@@ -190,4 +193,64 @@ class JwtUtilTest
         // Assert
         assertFalse(isValid);
     }
+
+    @Test
+    void resolveClaims_withSameTokenTwice_shouldReuseVerifiedClaims()
+    {
+        // Arrange
+        String token = jwtUtil.generateToken(userDetails);
+
+        // Act
+        Optional<Claims> first = jwtUtil.resolveClaims(token);
+        Optional<Claims> second = jwtUtil.resolveClaims(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals("test@example.com", first.get().getSubject());
+        assertSame(first.get(), second.get());
+    }
+
+    @Test
+    void resolveClaims_whenCallerTriesToChangeClaims_shouldRejectChange()
+    {
+        // Arrange
+        Claims claims = jwtUtil.resolveClaims(jwtUtil.generateToken(userDetails, 42L)).orElseThrow();
+        List<?> roles = claims.get("roles", List.class);
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> claims.setSubject("attacker@example.com"));
+        assertThrows(UnsupportedOperationException.class, () -> claims.put("customerId", 1));
+        assertThrows(UnsupportedOperationException.class, roles::clear);
+        assertThrows(UnsupportedOperationException.class, () -> claims.entrySet().clear());
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals(42L, jwtUtil.extractPrincipal(claims).orElseThrow().getCustomerId());
+    }
+
+    @Test
+    void resolveClaims_withTamperedToken_shouldReturnEmpty()
+    {
+        // Arrange
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.resolveClaims(token);
+        String tamperedToken = token.substring(0, token.length() - 5) + "XXXXX";
+
+        // Act
+        Optional<Claims> claims = jwtUtil.resolveClaims(tamperedToken);
+
+        // Assert
+        assertTrue(claims.isEmpty());
+    }
+
+    @Test
+    void validateClaims_withDifferentUser_shouldReturnFalse()
+    {
+        // Arrange
+        Claims claims = jwtUtil.resolveClaims(jwtUtil.generateToken(userDetails)).orElseThrow();
+        UserDetails differentUser = User.builder().username("different@example.com").password("password")
+                .authorities("ROLE_CUSTOMER").build();
+
+        // Act & Assert
+        assertTrue(jwtUtil.validateClaims(claims, userDetails));
+        assertFalse(jwtUtil.validateClaims(claims, differentUser));
+    }
 }
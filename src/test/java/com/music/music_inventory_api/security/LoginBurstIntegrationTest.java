@@ -0,0 +1,169 @@
+package com.music.music_inventory_api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.music.music_inventory_api.dto.request.LoginRequest;
+import com.music.music_inventory_api.dto.request.RegisterRequest;
+import com.music.music_inventory_api.repository.CustomerRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Load test for the bounded password hashing pool. Keeps a burst of concurrent
+ * logins going against a real server for as long as catalog reads are timed,
+ * and checks that the catalog p99 stays close to its unloaded baseline and that
+ * excess logins are turned away with 503. The bound only holds with a core to
+ * spare beyond the hashing pool, so the test is skipped on smaller machines.
+ * Tagged {@code benchmark}, so it only runs with {@code -Pbenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+{"auth.hashing.threads=" + LoginBurstIntegrationTest.HASHING_THREADS, "auth.hashing.queue-capacity=2"})
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+class LoginBurstIntegrationTest
+{
+    static final int HASHING_THREADS = 1;
+    private static final String EMAIL = "login.burst@example.com";
+    private static final String PASSWORD = "password123";
+    private static final int LOGINS = 40;
+    private static final int CATALOG_READS = 200;
+    private static final long P99_SLACK_MILLIS = 50;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp()
+    {
+        RegisterRequest request = RegisterRequest.builder().email(EMAIL).password(PASSWORD).firstName("Login")
+                .lastName("Burst").build();
+        assertThat(restTemplate.postForEntity("/api/auth/register", request, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        customerRepository.findByEmailIgnoreCase(EMAIL).ifPresent(customerRepository::delete);
+    }
+
+    @Test
+    void loginBurst_shouldNotSlowDownCatalogReads() throws Exception
+    {
+        // Arrange
+        assumeTrue(Runtime.getRuntime().availableProcessors() > HASHING_THREADS,
+                "needs a core to spare beyond the hashing pool");
+        catalogReadP99();
+        long baselineP99 = catalogReadP99();
+        LoginRequest login = LoginRequest.builder().email(EMAIL).password(PASSWORD).build();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch saturated = new CountDownLatch(1);
+        ConcurrentLinkedQueue<HttpStatus> unexpected = new ConcurrentLinkedQueue<>();
+        ExecutorService clients = Executors.newFixedThreadPool(LOGINS);
+
+        // Act - every client logs in again as soon as its last login returns, or after the Retry-After of a 503
+        for (int i = 0; i < LOGINS; i++)
+        {
+            clients.execute(() ->
+            {
+                while (!stop.get())
+                {
+                    ResponseEntity<String> response = restTemplate.postForEntity("/api/auth/login", login,
+                            String.class);
+                    HttpStatus status = response.getStatusCode();
+                    if (status == HttpStatus.OK)
+                    {
+                        succeeded.incrementAndGet();
+                    } else if (status == HttpStatus.SERVICE_UNAVAILABLE)
+                    {
+                        rejected.incrementAndGet();
+                        saturated.countDown();
+                        awaitRetryAfter(response, stop);
+                    } else
+                    {
+                        unexpected.add(status);
+                    }
+                }
+            });
+        }
+        assertThat(saturated.await(30, TimeUnit.SECONDS)).isTrue();
+        long burstP99;
+        try
+        {
+            burstP99 = catalogReadP99();
+        } finally
+        {
+            stop.set(true);
+            clients.shutdown();
+        }
+        assertThat(clients.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        log.info("Catalog p99: {} ms baseline, {} ms during a burst of {} logins ({} ok, {} rejected with 503)",
+                baselineP99, burstP99, LOGINS, succeeded.get(), rejected.get());
+
+        // Assert
+        assertThat(unexpected).isEmpty();
+        assertThat(succeeded.get()).isPositive();
+        assertThat(rejected.get()).isPositive();
+        assertThat(burstP99).isLessThanOrEqualTo(2 * baselineP99 + P99_SLACK_MILLIS);
+    }
+
+    private static void awaitRetryAfter(ResponseEntity<String> response, AtomicBoolean stop)
+    {
+        long retryAfterMillis = TimeUnit.SECONDS
+                .toMillis(Long.parseLong(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+        long deadline = System.currentTimeMillis() + retryAfterMillis;
+        while (!stop.get() && System.currentTimeMillis() < deadline)
+        {
+            try
+            {
+                Thread.sleep(10);
+            } catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long catalogReadP99()
+    {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < CATALOG_READS; i++)
+        {
+            long startNanos = System.nanoTime();
+            ResponseEntity<String> response = restTemplate.getForEntity("/api/genres", String.class);
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+        Collections.sort(latencies);
+        return latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+    }
+}
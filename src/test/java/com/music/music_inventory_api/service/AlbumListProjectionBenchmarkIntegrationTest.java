@@ -0,0 +1,215 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.mapper.AlbumMapper;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import javax.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Album list pages read by projection, as {@link AlbumService#getAllAlbums}
+ * does, against the entity path they replaced ({@code findAll} and the
+ * mapper). Every album has a long description, like the TEXT columns in
+ * production. The benchmark is tagged {@code benchmark} and runs with
+ * {@code -Pbenchmark}: it logs the bytes allocated per page request and the
+ * rows read per second of both over 2,000 albums by default; pass e.g.
+ * {@code -Dprojection.benchmark.albums=20000} for more. Both also have to
+ * return the same responses, which the default build checks over a few pages.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class AlbumListProjectionBenchmarkIntegrationTest
+{
+    private static final long FIRST_ID = 80_000_000L;
+    private static final int GENRES = 20;
+    private static final int PAGE_SIZE = 100;
+    private static final int EQUIVALENCE_ALBUMS = 300;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private AlbumMapper albumMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getAllAlbums_byProjection_shouldMatchEntityPath()
+    {
+        // Arrange
+        seedCatalog(EQUIVALENCE_ALBUMS);
+        int pages = pages();
+
+        // Act
+        List<AlbumResponse> fromEntities = readAll(pages, this::entityPage);
+        List<AlbumResponse> fromProjection = readAll(pages, this::projectionPage);
+
+        // Assert
+        assertThat(fromProjection).hasSizeGreaterThanOrEqualTo(EQUIVALENCE_ALBUMS).isEqualTo(fromEntities);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount())
+                .as("entities left in the persistence context").isZero();
+    }
+
+    @Tag("benchmark")
+    @Test
+    void getAllAlbums_byProjection_shouldMatchEntityPathAndAllocateLess()
+    {
+        // Arrange
+        int albums = Integer.getInteger("projection.benchmark.albums", 2_000);
+        seedCatalog(albums);
+        int pages = pages();
+
+        // Act
+        List<AlbumResponse> fromEntities = readAll(pages, this::entityPage);
+        List<AlbumResponse> fromProjection = readAll(pages, this::projectionPage);
+        long projectionEntities = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+
+        long entityBytes = median(pages, this::entityPage, true);
+        long projectionBytes = median(pages, this::projectionPage, true);
+        long entityMicros = median(pages, this::entityPage, false);
+        long projectionMicros = median(pages, this::projectionPage, false);
+        log.info("Album list over {} albums, {} per page: entities {} bytes and {} us per page ({} rows/s), "
+                + "projection {} bytes and {} us per page ({} rows/s)", fromEntities.size(), PAGE_SIZE, entityBytes,
+                entityMicros, rowsPerSecond(entityMicros), projectionBytes, projectionMicros,
+                rowsPerSecond(projectionMicros));
+
+        // Assert
+        assertThat(fromProjection).hasSizeGreaterThanOrEqualTo(albums).isEqualTo(fromEntities);
+        assertThat(projectionEntities).as("entities left in the persistence context").isZero();
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+
+    private int pages()
+    {
+        return (int) albumRepository.count() / PAGE_SIZE + 1;
+    }
+
+    private static List<AlbumResponse> readAll(int pages, IntFunction<Page<AlbumResponse>> request)
+    {
+        List<AlbumResponse> albums = new ArrayList<>();
+        for (int page = 0; page < pages; page++)
+        {
+            albums.addAll(request.apply(page).getContent());
+        }
+        return albums;
+    }
+
+    /** A page as the entity path read it; the context is cleared as a new request would start. */
+    private Page<AlbumResponse> entityPage(int page)
+    {
+        entityManager.clear();
+        Page<Album> albums = albumRepository.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by("id")));
+        return albums.map(albumMapper::toResponse);
+    }
+
+    private Page<AlbumResponse> projectionPage(int page)
+    {
+        entityManager.clear();
+        return albumService.getAllAlbums(PageRequest.of(page, PAGE_SIZE, Sort.by("id")));
+    }
+
+    private static long rowsPerSecond(long microsPerPage)
+    {
+        return PAGE_SIZE * 1_000_000L / Math.max(1, microsPerPage);
+    }
+
+    /**
+     * Median over rounds of the bytes allocated by, or the microseconds taken
+     * by, one page request; each round reads every page.
+     */
+    private static long median(int pages, IntFunction<?> request, boolean bytes)
+    {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ROUNDS * pages; i++)
+        {
+            request.apply(i % pages);
+        }
+
+        List<Long> samples = new ArrayList<>(ROUNDS * pages);
+        for (int i = 0; i < ROUNDS * pages; i++)
+        {
+            long startBytes = threads.getThreadAllocatedBytes(threadId);
+            long startNanos = System.nanoTime();
+            request.apply(i % pages);
+            samples.add(bytes ? threads.getThreadAllocatedBytes(threadId) - startBytes
+                    : TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+        Collections.sort(samples);
+        return samples.get(samples.size() / 2);
+    }
+
+    private void seedCatalog(int albums)
+    {
+        jdbcTemplate.update("INSERT INTO artists (id, name, biography, created_at) VALUES (?, 'Projection Benchmark', "
+                + "?, CURRENT_TIMESTAMP)", FIRST_ID, "Biography ".repeat(100));
+        List<Object[]> genres = new ArrayList<>(GENRES);
+        for (int i = 0; i < GENRES; i++)
+        {
+            genres.add(new Object[]
+            {FIRST_ID + i, "Projection genre " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO genres (id, name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)", genres);
+
+        // Two genres per album, and a description of about 1 KB
+        String description = "Liner notes ".repeat(90);
+        List<Object[]> albumRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> albumGenres = new ArrayList<>(BATCH_SIZE * 2);
+        for (int i = 0; i < albums; i++)
+        {
+            long albumId = FIRST_ID + i;
+            albumRows.add(new Object[]
+            {albumId, "Projection album " + i, FIRST_ID, Date.valueOf(LocalDate.of(2000, 1, 1)), 2000,
+                    BigDecimal.TEN, i % 20, description});
+            albumGenres.add(new Object[]
+            {albumId, FIRST_ID + i % GENRES});
+            albumGenres.add(new Object[]
+            {albumId, FIRST_ID + (i + 1) % GENRES});
+            if (albumRows.size() == BATCH_SIZE || i == albums - 1)
+            {
+                jdbcTemplate.batchUpdate("INSERT INTO albums (id, title, artist_id, release_date, release_year, "
+                        + "price, stock_quantity, description, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", albumRows);
+                jdbcTemplate.batchUpdate("INSERT INTO album_genres (album_id, genre_id) VALUES (?, ?)", albumGenres);
+                albumRows.clear();
+                albumGenres.clear();
+            }
+        }
+    }
+}
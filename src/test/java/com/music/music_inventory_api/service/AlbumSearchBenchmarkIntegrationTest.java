@@ -0,0 +1,180 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.AlbumSearchMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Latency comparison of the album search modes over a generated catalog. The
+ * benchmark is tagged {@code benchmark} and runs with {@code -Pbenchmark}, at
+ * 10k albums by default; pass e.g.
+ * {@code -Dsearch.benchmark.sizes=10000,100000,1000000} for larger catalogs.
+ * On H2 the trigram mode runs the same SQL without trigram indexes; point
+ * {@code spring.datasource.*} at a PostgreSQL database with
+ * {@code docs/migrations/003_trigram_search_indexes.sql} applied to measure it
+ * for real. All modes also have to agree on the number of matches, which the
+ * default build checks over a small catalog.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class AlbumSearchBenchmarkIntegrationTest
+{
+    private static final long FIRST_ID = 10_000_000L;
+    private static final int ARTISTS = 1_000;
+    private static final int EQUIVALENCE_ALBUMS = 500;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int ROUNDS = 50;
+    private static final String[] KEYWORDS =
+    {"album 42", "artist 7", "bum 123", "no such album"};
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumSearchIndex albumSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Integer> catalogSizes()
+    {
+        return Arrays.stream(System.getProperty("search.benchmark.sizes", "10000").split(",")).map(String::trim)
+                .map(Integer::valueOf);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        setSearchMode(AlbumSearchMode.MEMORY);
+    }
+
+    @AfterTransaction
+    void rebuildIndex()
+    {
+        // Drop the rolled back catalog from the index
+        albumSearchIndex.rebuild();
+    }
+
+    @Test
+    void searchAlbums_inEachMode_shouldAgreeOnMatches()
+    {
+        compareModes(EQUIVALENCE_ALBUMS, false);
+    }
+
+    @Tag("benchmark")
+    @ParameterizedTest
+    @MethodSource("catalogSizes")
+    void searchAlbums_atBenchmarkSizes_shouldAgreeOnMatches(int albums)
+    {
+        compareModes(albums, true);
+    }
+
+    private void compareModes(int albums, boolean timed)
+    {
+        // Arrange
+        seedCatalog(albums);
+        albumSearchIndex.rebuild();
+
+        // Act
+        Map<AlbumSearchMode, List<Long>> totals = new EnumMap<>(AlbumSearchMode.class);
+        for (AlbumSearchMode mode : AlbumSearchMode.values())
+        {
+            setSearchMode(mode);
+            List<Long> modeTotals = new ArrayList<>();
+            for (String keyword : KEYWORDS)
+            {
+                modeTotals.add(search(keyword).getTotalElements());
+            }
+            totals.put(mode, modeTotals);
+            if (timed)
+            {
+                logLatencies(albums, mode);
+            }
+        }
+
+        // Assert
+        assertThat(totals.get(AlbumSearchMode.MEMORY).get(0)).isPositive();
+        assertThat(totals.get(AlbumSearchMode.MEMORY).get(KEYWORDS.length - 1)).isZero();
+        assertThat(totals.get(AlbumSearchMode.LIKE)).isEqualTo(totals.get(AlbumSearchMode.MEMORY));
+        assertThat(totals.get(AlbumSearchMode.TRIGRAM)).isEqualTo(totals.get(AlbumSearchMode.MEMORY));
+    }
+
+    private void logLatencies(int albums, AlbumSearchMode mode)
+    {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            long startNanos = System.nanoTime();
+            search(KEYWORDS[i % KEYWORDS.length]);
+            latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+        Collections.sort(latencies);
+
+        log.info("Album search over {} albums, mode {}: median {} us, p99 {} us", albums, mode,
+                latencies.get(latencies.size() / 2), latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1));
+    }
+
+    private Page<AlbumResponse> search(String keyword)
+    {
+        return albumService.searchAlbums(keyword, PageRequest.of(0, 20));
+    }
+
+    private void seedCatalog(int albums)
+    {
+        List<Object[]> artists = new ArrayList<>();
+        for (int i = 0; i < ARTISTS; i++)
+        {
+            artists.add(new Object[]
+            {FIRST_ID + i, "Artist " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO artists (id, name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                artists);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < albums; i++)
+        {
+            batch.add(new Object[]
+            {FIRST_ID + i, "Album " + i, FIRST_ID + i % ARTISTS});
+            if (batch.size() == BATCH_SIZE || i == albums - 1)
+            {
+                jdbcTemplate.batchUpdate("INSERT INTO albums (id, title, artist_id, price, stock_quantity, created_at) "
+                        + "VALUES (?, ?, ?, 9.99, 10, CURRENT_TIMESTAMP)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void setSearchMode(AlbumSearchMode mode)
+    {
+        Object target = AopTestUtils.getTargetObject(albumService);
+        ReflectionTestUtils.setField(target, "searchMode", mode);
+    }
+}
@@ -0,0 +1,202 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.music.music_inventory_api.dto.response.CatalogImportResponse;
+import com.music.music_inventory_api.enums.DataFormat;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.CatalogSuggester;
+import com.music.music_inventory_api.search.Suggestion;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for the bulk catalog import over more albums than one
+ * batch. Not transactional, so every batch commits and reaches the search
+ * index as it does in production; the imported rows are deleted afterwards.
+ * Logs the import rate, and uses Hibernate statistics to check that inserts are
+ * sent in JDBC batches.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+class CatalogImportIntegrationTest
+{
+    private static final long EXISTING_ID = 70_000_000L;
+    private static final int ALBUMS = 1_200;
+    private static final int ARTISTS = 50;
+    private static final int GENRES = 7;
+    private static final int SONGS_PER_ALBUM = 3;
+
+    // Every imported name starts with this, so the rows can be found and deleted
+    private static final String PREFIX = "Importtest";
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AlbumSearchIndex albumSearchIndex;
+
+    @Autowired
+    private CatalogSuggester catalogSuggester;
+
+    @BeforeEach
+    void setUp()
+    {
+        jdbcTemplate.update("INSERT INTO artists (id, name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                EXISTING_ID, PREFIX + " Existing");
+        jdbcTemplate.update("INSERT INTO genres (id, name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                EXISTING_ID, PREFIX + " Jazz");
+        jdbcTemplate.update("INSERT INTO genre_album_stats (genre_id, album_count, in_stock_count, updated_at) "
+                + "VALUES (?, 0, 0, CURRENT_TIMESTAMP)", EXISTING_ID);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        String albums = "SELECT id FROM albums WHERE title LIKE '" + PREFIX + "%'";
+        String genres = "SELECT id FROM genres WHERE name LIKE '" + PREFIX + "%'";
+        jdbcTemplate.update("DELETE FROM songs WHERE album_id IN (" + albums + ")");
+        jdbcTemplate.update("DELETE FROM album_genres WHERE album_id IN (" + albums + ")");
+        jdbcTemplate.update("DELETE FROM albums WHERE title LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM artists WHERE name LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM genre_album_stats WHERE genre_id IN (" + genres + ")");
+        jdbcTemplate.update("DELETE FROM genres WHERE name LIKE '" + PREFIX + "%'");
+        albumSearchIndex.rebuild();
+        catalogSuggester.rebuild();
+    }
+
+    @Test
+    void importCatalog_fromNdjson_shouldImportInBatchesAndReportRejectedRows() throws Exception
+    {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ALBUMS; i++)
+        {
+            // The first album belongs to the existing artist, spelled in upper case
+            String artist = i == 0 ? PREFIX.toUpperCase() + " EXISTING" : PREFIX + " Artist " + i % ARTISTS;
+            ndjson.append("{\"artist\":\"").append(artist).append("\",\"title\":\"").append(PREFIX)
+                    .append(" Album ").append(i).append("\",\"price\":9.99,\"stockQuantity\":").append(i % 4)
+                    .append(",\"genres\":[\"").append(PREFIX.toLowerCase()).append(" jazz\",\"").append(PREFIX)
+                    .append(" Genre ").append(i % GENRES).append("\"],\"songs\":[");
+            for (int track = 1; track <= SONGS_PER_ALBUM; track++)
+            {
+                ndjson.append(track > 1 ? "," : "").append("{\"title\":\"").append(PREFIX).append(" Song ")
+                        .append(i).append('-').append(track).append("\",\"trackNumber\":").append(track)
+                        .append(",\"durationSeconds\":200}");
+            }
+            ndjson.append("]}\n");
+            if (i == 8)
+            {
+                ndjson.append("{\"artist\":\"").append(PREFIX).append("\",\"title\":\n");
+            } else if (i == 17)
+            {
+                ndjson.append("{\"artist\":\"").append(PREFIX).append("\",\"title\":\"").append(PREFIX)
+                        .append(" Free\",\"stockQuantity\":1}\n");
+            }
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        long startNanos = System.nanoTime();
+        CatalogImportResponse response = catalogImportService.importCatalog(DataFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.info("Imported {} albums with {} songs in {} ms ({} albums/s), {} prepared statements", ALBUMS,
+                ALBUMS * SONGS_PER_ALBUM, elapsedMillis, ALBUMS * 1000L / elapsedMillis,
+                statistics.getPrepareStatementCount());
+
+        // Assert
+        assertThat(response.getAlbumsImported()).isEqualTo(ALBUMS);
+        assertThat(response.getSongsImported()).isEqualTo(ALBUMS * SONGS_PER_ALBUM);
+        assertThat(response.getArtistsCreated()).isEqualTo(ARTISTS);
+        assertThat(response.getGenresCreated()).isEqualTo(GENRES);
+        assertThat(response.getRowsRejected()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(CatalogImportResponse.RowError::getLine,
+                CatalogImportResponse.RowError::getMessage)
+                .containsExactly(tuple(10L, response.getErrors().get(0).getMessage()),
+                        tuple(20L, "Price is required"));
+        assertThat(response.getErrors().get(0).getMessage()).startsWith("Malformed album");
+
+        assertThat(count("SELECT COUNT(*) FROM albums WHERE title LIKE '" + PREFIX + "%'")).isEqualTo(ALBUMS);
+        assertThat(count("SELECT COUNT(*) FROM songs WHERE title LIKE '" + PREFIX + "%'"))
+                .isEqualTo(ALBUMS * SONGS_PER_ALBUM);
+        assertThat(count("SELECT COUNT(*) FROM albums WHERE artist_id = " + EXISTING_ID)).isOne();
+        assertThat(count("SELECT COUNT(*) FROM genres WHERE LOWER(name) = '" + PREFIX.toLowerCase() + " jazz'"))
+                .isOne();
+
+        // The counters match a count over album_genres
+        List<Map<String, Object>> drift = jdbcTemplate.queryForList("SELECT s.genre_id FROM genre_album_stats s "
+                + "JOIN genres g ON g.id = s.genre_id WHERE g.name LIKE '" + PREFIX + "%' "
+                + "AND (s.album_count <> (SELECT COUNT(*) FROM album_genres ag WHERE ag.genre_id = s.genre_id) "
+                + "OR s.in_stock_count <> (SELECT COUNT(*) FROM album_genres ag JOIN albums a ON a.id = ag.album_id "
+                + "WHERE ag.genre_id = s.genre_id AND a.stock_quantity > 0))");
+        assertThat(drift).isEmpty();
+        assertThat(count("SELECT album_count FROM genre_album_stats WHERE genre_id = " + EXISTING_ID))
+                .isEqualTo(ALBUMS);
+
+        // Inserts went out in JDBC batches rather than one statement per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ALBUMS / 2);
+
+        assertThat(albumSearchIndex.search(PREFIX + " Album 1199")).isNotEmpty();
+        assertThat(catalogSuggester.suggest(PREFIX + " Artist 49", 5)).extracting(Suggestion::getLabel)
+                .containsExactly(PREFIX + " Artist 49");
+        assertThat(catalogSuggester.suggest(PREFIX + " Genre", 20)).hasSize(GENRES);
+    }
+
+    @Test
+    void importCatalog_fromCsv_shouldGroupSongRowsIntoAlbums() throws Exception
+    {
+        // Arrange
+        String csv = "artist,title,release_date,price,stock_quantity,genres,track_number,song_title\n"
+                + PREFIX + " Quartet,\"" + PREFIX + " Blue, Live\",1959-08-17,12.50,3," + PREFIX
+                + " Jazz|" + PREFIX + " Modal,1,So What\n"
+                + PREFIX + " Quartet,\"" + PREFIX + " Blue, Live\",1959-08-17,12.50,3," + PREFIX
+                + " Jazz|" + PREFIX + " Modal,2,Freddie Freeloader\n"
+                + PREFIX + " Quartet," + PREFIX + " Silence,,8,0,,,\n"
+                + PREFIX + " Quartet," + PREFIX + " Bad Price,,free,1,,,\n";
+
+        // Act
+        CatalogImportResponse response = catalogImportService.importCatalog(DataFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(response.getAlbumsImported()).isEqualTo(2);
+        assertThat(response.getSongsImported()).isEqualTo(2);
+        assertThat(response.getArtistsCreated()).isOne();
+        assertThat(response.getGenresCreated()).isOne();
+        assertThat(response.getErrors()).extracting(CatalogImportResponse.RowError::getLine,
+                CatalogImportResponse.RowError::getMessage).containsExactly(tuple(5L, "Invalid price 'free'"));
+        assertThat(jdbcTemplate.queryForList("SELECT s.title FROM songs s JOIN albums a ON a.id = s.album_id "
+                + "WHERE a.title = ? ORDER BY s.track_number", String.class, PREFIX + " Blue, Live"))
+                .containsExactly("So What", "Freddie Freeloader");
+        assertThat(count("SELECT in_stock_count FROM genre_album_stats WHERE genre_id = " + EXISTING_ID)).isOne();
+    }
+
+    private long count(String sql)
+    {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
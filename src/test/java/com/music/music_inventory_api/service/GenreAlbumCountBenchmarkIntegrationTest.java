@@ -0,0 +1,208 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
+import com.music.music_inventory_api.repository.GenreRepository;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Genre rankings computed from albums, as {@link GenreRepository} used to
+ * (a join of every genre to every album through a correlated {@code EXISTS}),
+ * against the maintained {@code genre_album_stats} counters. The benchmark is
+ * tagged {@code benchmark} and runs with {@code -Pbenchmark}: it logs the plan
+ * and median latency of both at 500 and 2,000 albums by default; pass e.g.
+ * {@code -Dgenre.benchmark.sizes=2000,20000} for more. Both also have to rank
+ * the genres the same way, which the default build checks over a small
+ * catalog.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class GenreAlbumCountBenchmarkIntegrationTest
+{
+    private static final long FIRST_ID = 50_000_000L;
+    private static final int GENRES = 40;
+    private static final int EQUIVALENCE_ALBUMS = 200;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+
+    // SQL of the former JPQL queries; the cursor varies per call, since H2
+    // reuses the result of a repeated query with the same parameters
+    private static final String JOINED_BY_COUNT_SQL = "SELECT g.id FROM genres g LEFT JOIN albums a ON EXISTS ("
+            + "SELECT 1 FROM albums al2 JOIN album_genres ag ON ag.album_id = al2.id "
+            + "WHERE ag.genre_id = g.id AND al2.id = a.id) WHERE g.id > ? GROUP BY g.id ORDER BY COUNT(a.id) DESC";
+
+    private static final String JOINED_IN_STOCK_SQL = "SELECT DISTINCT g.id FROM genres g JOIN albums a ON EXISTS ("
+            + "SELECT 1 FROM albums al2 JOIN album_genres ag ON ag.album_id = al2.id "
+            + "WHERE ag.genre_id = g.id AND al2.id = a.id) WHERE a.stock_quantity > 0 AND g.id > ?";
+
+    // SQL of the current queries
+    private static final String STATS_BY_COUNT_SQL = "SELECT g.id FROM genre_album_stats s "
+            + "JOIN genres g ON g.id = s.genre_id WHERE s.genre_id > ? ORDER BY s.album_count DESC, s.genre_id DESC";
+
+    private static final String STATS_IN_STOCK_SQL = "SELECT g.id FROM genre_album_stats s "
+            + "JOIN genres g ON g.id = s.genre_id WHERE s.in_stock_count > 0 AND s.genre_id > ? "
+            + "ORDER BY s.in_stock_count DESC, s.genre_id DESC";
+
+    @Autowired
+    private GenreAlbumStatsRepository genreAlbumStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Integer> catalogSizes()
+    {
+        return Arrays.stream(System.getProperty("genre.benchmark.sizes", "500,2000").split(",")).map(String::trim)
+                .map(Integer::valueOf);
+    }
+
+    @Test
+    void genreRankings_fromStats_shouldMatchJoinedAlbums()
+    {
+        compareRankings(EQUIVALENCE_ALBUMS, false);
+    }
+
+    @Tag("benchmark")
+    @ParameterizedTest
+    @MethodSource("catalogSizes")
+    void genreRankings_atBenchmarkSizes_shouldMatchJoinedAlbums(int albums)
+    {
+        compareRankings(albums, true);
+    }
+
+    private void compareRankings(int albums, boolean timed)
+    {
+        // Arrange
+        seedCatalog(albums);
+        genreAlbumStatsRepository.rebuild();
+        Map<Long, Long> albumCounts = jdbcTemplate
+                .queryForList("SELECT genre_id, album_count FROM genre_album_stats").stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("genre_id")).longValue(),
+                        row -> ((Number) row.get("album_count")).longValue()));
+
+        // Act
+        List<Long> joinedByCount = genreIds(JOINED_BY_COUNT_SQL, 0);
+        List<Long> statsByCount = genreIds(STATS_BY_COUNT_SQL, 0);
+        List<Long> joinedInStock = genreIds(JOINED_IN_STOCK_SQL, 0);
+        List<Long> statsInStock = genreIds(STATS_IN_STOCK_SQL, 0);
+
+        if (timed)
+        {
+            benchmark("by album count", albums, JOINED_BY_COUNT_SQL, STATS_BY_COUNT_SQL);
+            benchmark("with stock", albums, JOINED_IN_STOCK_SQL, STATS_IN_STOCK_SQL);
+        }
+
+        // Assert
+        assertThat(statsByCount).hasSameSizeAs(joinedByCount);
+        // Genres with equal counts may come in any order from the join
+        assertThat(statsByCount.stream().map(albumCounts::get).collect(Collectors.toList()))
+                .isEqualTo(joinedByCount.stream().map(albumCounts::get).collect(Collectors.toList()));
+        assertThat(statsInStock).containsExactlyInAnyOrderElementsOf(joinedInStock);
+    }
+
+    private void benchmark(String ranking, int albums, String joinedSql, String statsSql)
+    {
+        log.info("Genres {} over {} albums, joined plan:\n{}", ranking, albums, explain(joinedSql));
+        log.info("Genres {} over {} albums, stats plan:\n{}", ranking, albums, explain(statsSql));
+        long joinedMicros = median(round -> genreIds(joinedSql, round));
+        long statsMicros = median(round -> genreIds(statsSql, round));
+        log.info("Genres {} over {} albums: joined median {} us, stats median {} us", ranking, albums, joinedMicros,
+                statsMicros);
+    }
+
+    /** Genre IDs returned by a ranking query, starting after a cursor below every seeded genre. */
+    private List<Long> genreIds(String sql, int round)
+    {
+        return jdbcTemplate.queryForList(sql, Long.class, FIRST_ID - 1 - round);
+    }
+
+    private String explain(String sql)
+    {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, FIRST_ID - 1));
+    }
+
+    private static long median(IntFunction<?> call)
+    {
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            call.apply(ROUNDS + i + 1);
+        }
+
+        List<Long> latencies = new ArrayList<>(ROUNDS);
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            long startNanos = System.nanoTime();
+            call.apply(i);
+            latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+        Collections.sort(latencies);
+        return latencies.get(latencies.size() / 2);
+    }
+
+    private void seedCatalog(int albums)
+    {
+        jdbcTemplate.update("INSERT INTO artists (id, name, created_at) VALUES (?, 'Genre Benchmark', "
+                + "CURRENT_TIMESTAMP)", FIRST_ID);
+        List<Object[]> genres = new ArrayList<>(GENRES);
+        for (int i = 0; i < GENRES; i++)
+        {
+            genres.add(new Object[]
+            {FIRST_ID + i, "Benchmark genre " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO genres (id, name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)", genres);
+
+        // Genres are skewed, so rankings have few ties; one album in five is sold out
+        Random random = new Random(42);
+        List<Object[]> albumRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> albumGenres = new ArrayList<>(BATCH_SIZE * 2);
+        for (int i = 0; i < albums; i++)
+        {
+            long albumId = FIRST_ID + i;
+            albumRows.add(new Object[]
+            {albumId, "Benchmark album " + i, FIRST_ID, Date.valueOf(LocalDate.of(2000, 1, 1)), 2000,
+                    BigDecimal.TEN, random.nextInt(5) == 0 ? 0 : 1 + random.nextInt(20)});
+            int firstGenre = (int) (GENRES * random.nextDouble() * random.nextDouble());
+            albumGenres.add(new Object[]
+            {albumId, FIRST_ID + firstGenre});
+            if (random.nextBoolean())
+            {
+                albumGenres.add(new Object[]
+                {albumId, FIRST_ID + (firstGenre + 1 + random.nextInt(GENRES - 1)) % GENRES});
+            }
+            if (albumRows.size() == BATCH_SIZE || i == albums - 1)
+            {
+                jdbcTemplate.batchUpdate("INSERT INTO albums (id, title, artist_id, release_date, release_year, "
+                        + "price, stock_quantity, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                        albumRows);
+                jdbcTemplate.batchUpdate("INSERT INTO album_genres (album_id, genre_id) VALUES (?, ?)", albumGenres);
+                albumRows.clear();
+                albumGenres.clear();
+            }
+        }
+    }
+}
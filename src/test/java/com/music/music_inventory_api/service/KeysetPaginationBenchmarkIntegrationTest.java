@@ -0,0 +1,177 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import com.music.music_inventory_api.pagination.KeysetCursor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deep-page latency of offset pagination ({@code GET /api/albums?page=n})
+ * against keyset pagination ({@code GET /api/albums/scroll}) over a generated
+ * catalog. The benchmark is tagged {@code benchmark} and runs with
+ * {@code -Pbenchmark}, at 20k albums by default; pass e.g.
+ * {@code -Dpagination.benchmark.sizes=20000,200000} for larger catalogs. Both
+ * also have to return the same albums at every depth, which the default build
+ * checks over a small catalog.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class KeysetPaginationBenchmarkIntegrationTest
+{
+    private static final long FIRST_ID = 20_000_000L;
+    private static final int PAGE_SIZE = 20;
+    private static final int EQUIVALENCE_ALBUMS = 500;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int ROUNDS = 100;
+    private static final double[] DEPTHS =
+    {0.0, 0.5, 1.0};
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    static Stream<Integer> catalogSizes()
+    {
+        return Arrays.stream(System.getProperty("pagination.benchmark.sizes", "20000").split(","))
+                .map(String::trim).map(Integer::valueOf);
+    }
+
+    @Test
+    void deepPages_withKeyset_shouldMatchOffsetPages()
+    {
+        comparePages(EQUIVALENCE_ALBUMS, false);
+    }
+
+    @Tag("benchmark")
+    @ParameterizedTest
+    @MethodSource("catalogSizes")
+    void deepPages_atBenchmarkSizes_shouldMatchOffsetPages(int albums)
+    {
+        comparePages(albums, true);
+    }
+
+    private void comparePages(int albums, boolean timed)
+    {
+        // Arrange
+        seedCatalog(albums);
+        long total = albumService.getAllAlbums(PageRequest.of(0, 1)).getTotalElements();
+        int lastPage = (int) ((total - 1) / PAGE_SIZE);
+
+        for (String sort : List.of(KeysetCursor.ID, "title"))
+        {
+            for (double depth : DEPTHS)
+            {
+                int page = (int) Math.round(depth * lastPage);
+                Sort order = KeysetCursor.ID.equals(sort) ? Sort.by(KeysetCursor.ID) : Sort.by(sort, KeysetCursor.ID);
+                String cursor = cursorBefore(page, order, sort);
+
+                // Act
+                Page<AlbumResponse> offsetPage = albumService.getAllAlbums(PageRequest.of(page, PAGE_SIZE, order));
+                CursorPageResponse<AlbumResponse> keysetSlice = albumService.scrollAlbums(sort, cursor, PAGE_SIZE);
+
+                if (timed)
+                {
+                    long offsetMicros = median(
+                            () -> albumService.getAllAlbums(PageRequest.of(page, PAGE_SIZE, order)));
+                    long keysetMicros = median(() -> albumService.scrollAlbums(sort, cursor, PAGE_SIZE));
+                    log.info("Albums by {} over {} rows, page {}: offset median {} us, keyset median {} us", sort,
+                            total, page, offsetMicros, keysetMicros);
+                }
+
+                // Assert
+                assertThat(ids(keysetSlice.getContent())).isEqualTo(ids(offsetPage.getContent()));
+                assertThat(keysetSlice.isHasNext()).isEqualTo(offsetPage.hasNext());
+            }
+        }
+    }
+
+    /** Cursor at the last album of the page before, or null for the first page. */
+    private String cursorBefore(int page, Sort order, String sort)
+    {
+        if (page == 0)
+        {
+            return null;
+        }
+        List<AlbumResponse> previous = albumService.getAllAlbums(PageRequest.of(page - 1, PAGE_SIZE, order))
+                .getContent();
+        AlbumResponse last = previous.get(previous.size() - 1);
+        return new KeysetCursor(sort, last.getId(), last.getTitle()).encode();
+    }
+
+    private long median(Supplier<?> call)
+    {
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            entityManager.clear();
+            call.get();
+        }
+
+        List<Long> latencies = new ArrayList<>(ROUNDS);
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            // Start each call with an empty persistence context, as a request would
+            entityManager.clear();
+            long startNanos = System.nanoTime();
+            call.get();
+            latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+        Collections.sort(latencies);
+        return latencies.get(latencies.size() / 2);
+    }
+
+    private static List<Long> ids(List<AlbumResponse> albums)
+    {
+        return albums.stream().map(AlbumResponse::getId).collect(Collectors.toList());
+    }
+
+    private void seedCatalog(int albums)
+    {
+        jdbcTemplate.update("INSERT INTO artists (id, name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)", FIRST_ID,
+                "Benchmark Artist");
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < albums; i++)
+        {
+            // Titles repeat, so the ID tie-break is exercised
+            batch.add(new Object[]
+            {FIRST_ID + i, "Album " + (i % (albums / 2 + 1)), FIRST_ID});
+            if (batch.size() == BATCH_SIZE || i == albums - 1)
+            {
+                jdbcTemplate.batchUpdate("INSERT INTO albums (id, title, artist_id, price, stock_quantity, created_at) "
+                        + "VALUES (?, ?, ?, 9.99, 10, CURRENT_TIMESTAMP)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.music_inventory_api.enums.DataFormat;
+import com.music.music_inventory_api.enums.OrderStatus;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the order export over more orders than one cursor
+ * fetch. Uses Hibernate statistics to check that orders and items are read
+ * with a single query and that no entity stays in the persistence context.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OrderExportIntegrationTest
+{
+    private static final long FIRST_ID = 60_000_000L;
+    private static final int ORDERS = 1_200;
+    private static final int ITEMS_PER_ORDER = 2;
+    private static final LocalDateTime FIRST_ORDER = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime LAST_ORDER = FIRST_ORDER.plusMinutes(ORDERS - 1);
+    private static final OrderStatus[] STATUSES =
+    {OrderStatus.PENDING, OrderStatus.DELIVERED, OrderStatus.CANCELLED};
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp()
+    {
+        seedOrders();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void exportOrders_asNdjson_shouldStreamEveryOrderOnceWithOneQuery() throws Exception
+    {
+        // Act
+        List<JsonNode> orders = new ArrayList<>();
+        for (String line : export(DataFormat.NDJSON, null, FIRST_ORDER, LAST_ORDER))
+        {
+            orders.add(objectMapper.readTree(line));
+        }
+
+        // Assert
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders.get(0).get("id").asLong()).isEqualTo(FIRST_ID);
+        assertThat(orders.get(ORDERS - 1).get("id").asLong()).isEqualTo(FIRST_ID + ORDERS - 1);
+        assertThat(orders.get(0).get("items")).isEmpty();
+        assertThat(orders.subList(1, ORDERS))
+                .allSatisfy(order -> assertThat(order.get("items")).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void exportOrders_withStatusAndRange_shouldMatchInclusiveBounds() throws Exception
+    {
+        // Arrange
+        // Both bounds are the creation times of delivered orders
+        LocalDateTime from = FIRST_ORDER.plusMinutes(301);
+        LocalDateTime to = FIRST_ORDER.plusMinutes(601);
+        Integer expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE status = 'DELIVERED' "
+                + "AND created_at BETWEEN ? AND ?", Integer.class, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        // Act
+        List<String> lines = export(DataFormat.NDJSON, OrderStatus.DELIVERED, from, to);
+
+        // Assert
+        assertThat(lines).hasSize(expected).allSatisfy(line -> assertThat(line).contains("\"status\":\"DELIVERED\""));
+        assertThat(objectMapper.readTree(lines.get(0)).get("createdAt").asText()).startsWith("2024-03-01T05:01");
+        assertThat(objectMapper.readTree(lines.get(lines.size() - 1)).get("createdAt").asText())
+                .startsWith("2024-03-01T10:01");
+    }
+
+    @Test
+    void exportOrders_asCsv_shouldWriteHeaderAndOneRowPerItem() throws Exception
+    {
+        // Act
+        List<String> lines = export(DataFormat.CSV, null, FIRST_ORDER, LAST_ORDER);
+
+        // Assert
+        assertThat(lines).hasSize(1 + 1 + (ORDERS - 1) * ITEMS_PER_ORDER);
+        assertThat(lines.get(0)).startsWith("order_id,customer_id,status,");
+        assertThat(lines.get(1)).startsWith(FIRST_ID + ",").endsWith(",,,,,");
+        assertThat(lines.get(2)).startsWith((FIRST_ID + 1) + ",");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private List<String> export(DataFormat format, OrderStatus status, LocalDateTime from, LocalDateTime to)
+            throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderService.exportOrders(format, status, from, to, out);
+        return List.of(out.toString(StandardCharsets.UTF_8).split("\n"));
+    }
+
+    private void seedOrders()
+    {
+        jdbcTemplate.update("INSERT INTO customers (id, first_name, last_name, email, password, created_at) "
+                + "VALUES (?, 'Export', 'Customer', 'export.customer@example.com', 'x', CURRENT_TIMESTAMP)", FIRST_ID);
+        jdbcTemplate.update("INSERT INTO artists (id, name, created_at) VALUES (?, 'Export Artist', "
+                + "CURRENT_TIMESTAMP)", FIRST_ID);
+        jdbcTemplate.update("INSERT INTO albums (id, title, artist_id, price, stock_quantity, created_at) "
+                + "VALUES (?, 'Export Album', ?, 10.00, 0, CURRENT_TIMESTAMP)", FIRST_ID, FIRST_ID);
+
+        List<Object[]> orders = new ArrayList<>(ORDERS);
+        List<Object[]> items = new ArrayList<>(ORDERS * ITEMS_PER_ORDER);
+        for (int i = 0; i < ORDERS; i++)
+        {
+            Timestamp createdAt = Timestamp.valueOf(FIRST_ORDER.plusMinutes(i));
+            orders.add(new Object[]
+            {FIRST_ID + i, FIRST_ID, STATUSES[i % STATUSES.length].name(), new BigDecimal("20.00"), createdAt,
+                    createdAt});
+            // The first order has no items, and must still be exported
+            for (int j = 0; i > 0 && j < ITEMS_PER_ORDER; j++)
+            {
+                items.add(new Object[]
+                {FIRST_ID + i * ITEMS_PER_ORDER + j, FIRST_ID + i, FIRST_ID});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, customer_id, status, total_amount, order_date, "
+                + "created_at) VALUES (?, ?, ?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, album_id, quantity, unit_price, subtotal, "
+                + "created_at) VALUES (?, ?, ?, 1, 10.00, 10.00, CURRENT_TIMESTAMP)", items);
+    }
+}
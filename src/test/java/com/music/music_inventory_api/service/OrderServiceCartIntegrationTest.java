@@ -0,0 +1,116 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.dto.request.CreateOrderItemRequest;
+import com.music.music_inventory_api.dto.request.CreateOrderRequest;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.entity.Customer;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.CustomerRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for multi-item orders. Uses Hibernate statistics to check
+ * that the albums of a cart are loaded with one query and the order items are
+ * inserted in JDBC batches, whatever the cart size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class OrderServiceCartIntegrationTest
+{
+    private static final int MAX_CART_SIZE = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Customer customer;
+    private List<Album> albums;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp()
+    {
+        customer = customerRepository.save(Customer.builder().firstName("Cart").lastName("Tester")
+                .email("cart.tester@example.com").password("password123").build());
+        Artist artist = artistRepository.save(Artist.builder().name("Cart Artist").build());
+
+        albums = new ArrayList<>();
+        for (int i = 0; i < MAX_CART_SIZE; i++)
+        {
+            albums.add(albumRepository.save(Album.builder().title("Cart Album " + i).artist(artist)
+                    .price(new BigDecimal("9.99")).stockQuantity(10).build()));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints =
+    {1, 10, MAX_CART_SIZE})
+    void createOrder_withGrowingCart_shouldLoadAlbumsInOneQuery(int cartSize)
+    {
+        // Arrange
+        List<CreateOrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < cartSize; i++)
+        {
+            items.add(CreateOrderItemRequest.builder().albumId(albums.get(i).getId()).quantity(1).build());
+        }
+        CreateOrderRequest request = CreateOrderRequest.builder().customerId(customer.getId()).items(items).build();
+
+        // Act
+        long startNanos = System.nanoTime();
+        orderService.createOrder(request);
+        entityManager.flush();
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+
+        log.info("Cart of {} items: {} us ({} item inserts/s), {} queries, {} statements", cartSize, elapsedMicros,
+                cartSize * 1_000_000L / Math.max(elapsedMicros, 1), statistics.getQueryExecutionCount(),
+                statistics.getPrepareStatementCount());
+
+        // Assert - customer lookup by ID plus a single album query
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(cartSize + 1L);
+
+        // Assert - order items are inserted in batches with pooled ids, so the
+        // statement count does not grow with the cart
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(cartSize + 1L);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+        entityManager.clear();
+        assertThat(albumRepository.findById(albums.get(0).getId()).orElseThrow().getStockQuantity()).isEqualTo(9);
+    }
+}
@@ -0,0 +1,135 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.dto.request.CreateOrderItemRequest;
+import com.music.music_inventory_api.dto.request.CreateOrderRequest;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.entity.Customer;
+import com.music.music_inventory_api.exception.InsufficientStockException;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.CustomerRepository;
+import com.music.music_inventory_api.repository.OrderRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Concurrency tests for order creation. Many threads race to buy a
+ * limited-stock album; the conditional stock update must never oversell. Not
+ * transactional, since every order has to commit on its own thread.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+class OrderServiceConcurrencyIntegrationTest
+{
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS = 200;
+    private static final int STOCK = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer customer;
+    private Artist artist;
+    private Album album;
+
+    @BeforeEach
+    void setUp()
+    {
+        customer = customerRepository.save(Customer.builder().firstName("Jane").lastName("Doe")
+                .email("jane.contention@example.com").password("password123").build());
+        artist = artistRepository.save(Artist.builder().name("Limited Artist").build());
+        album = albumRepository.save(Album.builder().title("Limited Drop").artist(artist)
+                .price(new BigDecimal("29.99")).stockQuantity(STOCK).build());
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        orderRepository.deleteAll(orderRepository.findByCustomerId(customer.getId(), Pageable.unpaged()));
+        albumRepository.deleteById(album.getId());
+        artistRepository.deleteById(artist.getId());
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    void createOrder_withConcurrentBuyers_shouldSellExactlyTheAvailableStock() throws Exception
+    {
+        // Arrange
+        CreateOrderRequest request = CreateOrderRequest.builder().customerId(customer.getId())
+                .items(List.of(CreateOrderItemRequest.builder().albumId(album.getId()).quantity(1).build())).build();
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++)
+        {
+            futures.add(executor.submit(() ->
+            {
+                start.await();
+                try
+                {
+                    orderService.createOrder(request);
+                    sold.incrementAndGet();
+                }
+                catch (InsufficientStockException ex)
+                {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures)
+        {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        executor.shutdown();
+
+        log.info("Limited drop: {} order attempts on {} threads in {} ms ({} sold, {} rejected)", ATTEMPTS, THREADS,
+                elapsedMillis, sold.get(), rejected.get());
+
+        // Assert
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - STOCK);
+        assertThat(albumRepository.findById(album.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(orderRepository.findByCustomerId(customer.getId(), Pageable.unpaged()).getTotalElements())
+                .isEqualTo(STOCK);
+    }
+}
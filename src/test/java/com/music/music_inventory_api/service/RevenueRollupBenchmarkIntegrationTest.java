@@ -0,0 +1,172 @@
+package com.music.music_inventory_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.music.music_inventory_api.repository.OrderRepository;
+import com.music.music_inventory_api.repository.RevenueBucketRepository;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Range revenue from an order scan ({@link OrderRepository#calculateTotalRevenue})
+ * against the hourly and daily buckets
+ * ({@link RevenueBucketRepository#sumRevenue}) over three years of generated
+ * orders. The benchmark is tagged {@code benchmark} and runs with
+ * {@code -Pbenchmark}, at 100k orders by default; pass e.g.
+ * {@code -Drevenue.benchmark.sizes=100000,1000000} for more. Both also have to
+ * return the same total for every range, which the default build checks over
+ * a small set of orders.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Slf4j
+class RevenueRollupBenchmarkIntegrationTest
+{
+    private static final long FIRST_ID = 30_000_000L;
+    private static final LocalDateTime FIRST_ORDER = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final long SPAN_MINUTES = TimeUnit.DAYS.toMinutes(3 * 365);
+    private static final int EQUIVALENCE_ORDERS = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 30;
+
+    // Whole years, a quarter and a month with partial edges, a few days, an hour
+    private static final LocalDateTime[][] RANGES =
+    {
+            {FIRST_ORDER, FIRST_ORDER.plusYears(3)},
+            {LocalDateTime.of(2022, 1, 1, 0, 0), LocalDateTime.of(2022, 12, 31, 23, 59, 59)},
+            {LocalDateTime.of(2022, 4, 3, 7, 21, 13), LocalDateTime.of(2022, 7, 1, 16, 5)},
+            {LocalDateTime.of(2023, 2, 11, 22, 30), LocalDateTime.of(2023, 3, 12, 1, 45)},
+            {LocalDateTime.of(2023, 9, 9, 9, 9), LocalDateTime.of(2023, 9, 12, 0, 0)},
+            {LocalDateTime.of(2021, 6, 1, 12, 10), LocalDateTime.of(2021, 6, 1, 12, 50)}};
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RevenueBucketRepository revenueBucketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    static Stream<Integer> orderCounts()
+    {
+        return Arrays.stream(System.getProperty("revenue.benchmark.sizes", "100000").split(",")).map(String::trim)
+                .map(Integer::valueOf);
+    }
+
+    @Test
+    void rangeRevenue_fromBuckets_shouldMatchOrderScan()
+    {
+        compareRanges(EQUIVALENCE_ORDERS, false);
+    }
+
+    @Tag("benchmark")
+    @ParameterizedTest
+    @MethodSource("orderCounts")
+    void rangeRevenue_atBenchmarkSizes_shouldMatchOrderScan(int orders)
+    {
+        compareRanges(orders, true);
+    }
+
+    private void compareRanges(int orders, boolean timed)
+    {
+        // Arrange
+        seedOrders(orders);
+        int buckets = revenueBucketRepository.rebuild();
+        log.info("Seeded {} orders into {} revenue buckets", orders, buckets);
+
+        for (LocalDateTime[] range : RANGES)
+        {
+            // Act
+            BigDecimal scanned = orderRepository.calculateTotalRevenue(range[0], range[1]);
+            BigDecimal summed = revenueBucketRepository.sumRevenue(range[0], range[1]);
+
+            if (timed)
+            {
+                long scanMicros = median(
+                        round -> orderRepository.calculateTotalRevenue(range[0].minusSeconds(round), range[1]));
+                long bucketMicros = median(
+                        round -> revenueBucketRepository.sumRevenue(range[0].minusSeconds(round), range[1]));
+                log.info("Revenue {} to {} over {} orders: scan median {} us, buckets median {} us", range[0],
+                        range[1], orders, scanMicros, bucketMicros);
+            }
+
+            // Assert
+            assertThat(summed).as("%s to %s", range[0], range[1]).isEqualByComparingTo(scanned);
+        }
+    }
+
+    /**
+     * Median latency over calls that each shift the range start by their round,
+     * since H2 reuses the result of a repeated query with the same parameters.
+     */
+    private long median(IntFunction<?> call)
+    {
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            call.apply(ROUNDS + i + 1);
+        }
+
+        List<Long> latencies = new ArrayList<>(ROUNDS);
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            entityManager.clear();
+            long startNanos = System.nanoTime();
+            call.apply(i);
+            latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        }
+        Collections.sort(latencies);
+        return latencies.get(latencies.size() / 2);
+    }
+
+    private void seedOrders(int orders)
+    {
+        jdbcTemplate.update("INSERT INTO customers (id, first_name, last_name, email, password, created_at) "
+                + "VALUES (?, 'Benchmark', 'Customer', 'revenue.benchmark@example.com', 'x', CURRENT_TIMESTAMP)",
+                FIRST_ID);
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < orders; i++)
+        {
+            long minute = (long) (random.nextDouble() * SPAN_MINUTES);
+            Timestamp createdAt = Timestamp.valueOf(FIRST_ORDER.plusMinutes(minute).plusSeconds(random.nextInt(60)));
+            // One order in ten is cancelled and must not count
+            String status = random.nextInt(10) == 0 ? "CANCELLED" : "DELIVERED";
+            BigDecimal total = BigDecimal.valueOf(500 + random.nextInt(20_000), 2);
+            batch.add(new Object[]
+            {FIRST_ID + i, FIRST_ID, status, total, createdAt, createdAt});
+            if (batch.size() == BATCH_SIZE || i == orders - 1)
+            {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (id, customer_id, status, total_amount, order_date, "
+                        + "created_at) VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
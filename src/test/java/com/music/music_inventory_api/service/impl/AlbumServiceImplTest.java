@@ -5,10 +5,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateAlbumRequest;
 import com.music.music_inventory_api.dto.request.UpdateAlbumRequest;
 import com.music.music_inventory_api.dto.response.AlbumDetailResponse;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import com.music.music_inventory_api.dto.response.GenreResponse;
 import com.music.music_inventory_api.dto.response.SongResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Artist;
@@ -17,12 +20,21 @@ import com.music.music_inventory_api.entity.Song;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.AlbumMapper;
 import com.music.music_inventory_api.mapper.SongMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
+import com.music.music_inventory_api.repository.AlbumGenreRow;
 import com.music.music_inventory_api.repository.AlbumRepository;
 import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
 import com.music.music_inventory_api.repository.GenreRepository;
 import com.music.music_inventory_api.repository.SongRepository;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.AlbumSearchMode;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
+import java.util.stream.Collectors;
+import javax.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +45,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * Unit tests for AlbumServiceImpl.
@@ -51,6 +65,9 @@ class AlbumServiceImplTest
     @Mock
     private GenreRepository genreRepository;
 
+    @Mock
+    private GenreAlbumStatsRepository genreAlbumStatsRepository;
+
     @Mock
     private SongRepository songRepository;
 
@@ -60,6 +77,15 @@ class AlbumServiceImplTest
     @Mock
     private SongMapper songMapper;
 
+    @Mock
+    private AlbumSearchIndex albumSearchIndex;
+
+    @Mock
+    private CatalogSuggester catalogSuggester;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private AlbumServiceImpl albumService;
 
@@ -126,6 +152,8 @@ class AlbumServiceImplTest
         verify(artistRepository).findById(1L);
         verify(genreRepository).findById(1L);
         verify(albumRepository).save(any(Album.class));
+        verify(genreAlbumStatsRepository).recordAlbumChange(Set.of(), false, Set.of(1L), true);
+        verify(albumSearchIndex).index(testAlbum);
         verify(albumMapper).toResponse(testAlbum);
     }
 
@@ -170,8 +198,8 @@ class AlbumServiceImplTest
         List<SongResponse> songResponses = Collections
                 .singletonList(SongResponse.builder().id(1L).title("Come Together").build());
 
-        when(albumRepository.findById(1L)).thenReturn(Optional.of(testAlbum));
-        when(songRepository.findByAlbumId(1L)).thenReturn(songs);
+        when(albumRepository.findDetailById(1L)).thenReturn(Optional.of(testAlbum));
+        when(songRepository.findByAlbumOrderedByTrackNumber(1L)).thenReturn(songs);
         when(songMapper.toResponseList(songs)).thenReturn(songResponses);
         when(albumMapper.toDetailResponse(testAlbum)).thenReturn(albumDetailResponse);
 
@@ -180,14 +208,14 @@ class AlbumServiceImplTest
 
         // Assert
         assertNotNull(result);
-        verify(albumRepository).findById(1L);
-        verify(songRepository).findByAlbumId(1L);
+        verify(albumRepository).findDetailById(1L);
+        verify(songRepository).findByAlbumOrderedByTrackNumber(1L);
     }
 
     @Test
     void getAlbumById_withNonExistentId_shouldThrowEntityNotFoundException() {
         // Arrange
-        when(albumRepository.findById(999L)).thenReturn(Optional.empty());
+        when(albumRepository.findDetailById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(
@@ -198,40 +226,132 @@ class AlbumServiceImplTest
     }
 
     @Test
-    void getAllAlbums_withPageable_shouldReturnPageOfAlbums()
+    void getAllAlbums_withPageable_shouldReturnProjectedPageWithGenresOfWholePage()
     {
         // Arrange
-        List<Album> albums = Collections.singletonList(testAlbum);
-        Page<Album> albumPage = new PageImpl<>(albums);
+        List<Tuple> albumRows = List.of(albumRow(1L, "Abbey Road"), albumRow(2L, "Let It Be"));
         Pageable pageable = PageRequest.of(0, 20);
 
-        when(albumRepository.findAll(pageable)).thenReturn(albumPage);
-        when(albumMapper.toResponse(testAlbum)).thenReturn(albumResponse);
+        when(albumRepository.findRows(pageable)).thenReturn(new PageImpl<>(albumRows));
+        when(albumRepository.findGenreRowsByAlbumIdIn(Set.of(1L, 2L))).thenReturn(
+                List.of(new AlbumGenreRow(1L, 1L, "Rock", null, null), new AlbumGenreRow(2L, 1L, "Rock", null, null)));
 
         // Act
         Page<AlbumResponse> result = albumService.getAllAlbums(pageable);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.getTotalElements());
-        verify(albumRepository).findAll(pageable);
+        assertEquals(2, result.getTotalElements());
+        assertEquals(albumResponse.getArtistName(), result.getContent().get(0).getArtistName());
+        GenreResponse rock = GenreResponse.builder().id(1L).name("Rock").build();
+        assertEquals(Set.of(rock), result.getContent().get(0).getGenres());
+        assertEquals(Set.of(rock), result.getContent().get(1).getGenres());
+        verify(albumRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(albumMapper);
     }
 
     @Test
-    void searchAlbums_withValidSearchTerm_shouldReturnMatchingAlbums()
+    void scrollAlbums_withMoreRows_shouldReturnSliceAndCursor()
     {
         // Arrange
-        List<Album> albums = Collections.singletonList(testAlbum);
-        when(albumRepository.searchByTitleOrArtistName("Beatles")).thenReturn(albums);
-        when(albumMapper.toResponseList(albums)).thenReturn(Collections.singletonList(albumResponse));
+        List<Tuple> albumRows = List.of(albumRow(1L, "Abbey Road"), albumRow(2L, "Let It Be"),
+                albumRow(3L, "Revolver"));
+        Pageable rows = PageRequest.of(0, 3, Sort.by("title", "id"));
+        when(albumRepository.findSlice(rows)).thenReturn(albumRows);
 
         // Act
-        List<AlbumResponse> result = albumService.searchAlbums("Beatles");
+        CursorPageResponse<AlbumResponse> result = albumService.scrollAlbums("title", null, 2);
 
         // Assert
-        assertNotNull(result);
-        assertFalse(result.isEmpty());
-        verify(albumRepository).searchByTitleOrArtistName("Beatles");
+        assertEquals(List.of(1L, 2L), ids(result.getContent()));
+        assertEquals(Set.of(), result.getContent().get(1).getGenres());
+        assertTrue(result.isHasNext());
+        assertEquals(new KeysetCursor("title", 2L, "Let It Be"), KeysetCursor.decode(result.getNextCursor(), "title"));
+        verify(albumRepository, never()).count();
+    }
+
+    @Test
+    void scrollAlbums_withCursor_shouldSeekPastIt()
+    {
+        // Arrange
+        String cursor = new KeysetCursor("title", 2L, "Let It Be").encode();
+        List<Tuple> albumRows = List.of(albumRow(1L, "Abbey Road"));
+        Pageable rows = PageRequest.of(0, 3, Sort.by("title", "id"));
+        when(albumRepository.findSliceAfterTitle("Let It Be", 2L, rows)).thenReturn(albumRows);
+
+        // Act
+        CursorPageResponse<AlbumResponse> result = albumService.scrollAlbums("title", cursor, 2);
+
+        // Assert
+        assertEquals(List.of(1L), ids(result.getContent()));
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void scrollAlbums_withUnsupportedSort_shouldThrowIllegalArgumentException()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> albumService.scrollAlbums("price", null, 20));
+        verifyNoInteractions(albumRepository);
+    }
+
+    @Test
+    void searchAlbums_withValidSearchTerm_shouldReturnRankedPage()
+    {
+        // Arrange
+        Album otherAlbum = new Album();
+        otherAlbum.setId(2L);
+        otherAlbum.setTitle("Let It Be");
+        otherAlbum.setArtist(testArtist);
+        AlbumResponse otherResponse = AlbumResponse.builder().id(2L).title("Let It Be").build();
+        Pageable pageable = PageRequest.of(0, 2);
+        when(albumSearchIndex.search("Beatles")).thenReturn(List.of(2L, 1L, 3L));
+        when(albumRepository.findWithArtistByIdIn(List.of(2L, 1L))).thenReturn(List.of(testAlbum, otherAlbum));
+        when(albumMapper.toResponse(testAlbum)).thenReturn(albumResponse);
+        when(albumMapper.toResponse(otherAlbum)).thenReturn(otherResponse);
+
+        // Act
+        Page<AlbumResponse> result = albumService.searchAlbums("Beatles", pageable);
+
+        // Assert - index order is kept and only the page is loaded
+        assertEquals(List.of(otherResponse, albumResponse), result.getContent());
+        assertEquals(3, result.getTotalElements());
+        verify(albumRepository, never()).searchByTitleOrArtistName(anyString(), any());
+    }
+
+    @Test
+    void searchAlbums_withPageBeyondResults_shouldNotQueryDatabase()
+    {
+        // Arrange
+        when(albumSearchIndex.search("Beatles")).thenReturn(List.of(1L));
+
+        // Act
+        Page<AlbumResponse> result = albumService.searchAlbums("Beatles", PageRequest.of(1, 20));
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(albumRepository);
+    }
+
+    @Test
+    void searchAlbums_inTrigramMode_shouldUseIndexedQuery()
+    {
+        // Arrange
+        ReflectionTestUtils.setField(albumService, "searchMode", AlbumSearchMode.TRIGRAM);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("price"));
+        when(albumRepository.searchIdsByTitleOrArtistNameIndexed("Beatles", PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(BigInteger.ONE), PageRequest.of(0, 20), 1));
+        when(albumRepository.findWithArtistByIdIn(List.of(1L))).thenReturn(List.of(testAlbum));
+        when(albumMapper.toResponse(testAlbum)).thenReturn(albumResponse);
+
+        // Act
+        Page<AlbumResponse> result = albumService.searchAlbums("Beatles", pageable);
+
+        // Assert - the requested sort is dropped in favour of the match order
+        assertEquals(List.of(albumResponse), result.getContent());
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(albumSearchIndex);
     }
 
     @Test
@@ -242,39 +362,41 @@ class AlbumServiceImplTest
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> albumService.searchAlbums(emptySearchTerm));
+                () -> albumService.searchAlbums(emptySearchTerm, PageRequest.of(0, 20)));
         assertTrue(exception.getMessage().contains("Search term cannot be empty"));
-        verify(albumRepository, never()).searchByTitleOrArtistName(anyString());
+        verifyNoInteractions(albumSearchIndex);
     }
 
     @Test
     void getAlbumsByGenre_withValidGenreId_shouldReturnAlbums()
     {
         // Arrange
-        List<Album> albums = Collections.singletonList(testAlbum);
-        when(genreRepository.findById(1L)).thenReturn(Optional.of(testGenre));
-        when(albumRepository.searchByGenreAndPriceRange(eq("Rock"), any(BigDecimal.class), any(BigDecimal.class)))
-                .thenReturn(albums);
-        when(albumMapper.toResponseList(albums)).thenReturn(Collections.singletonList(albumResponse));
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<Album> albumPage = new PageImpl<>(Collections.singletonList(testAlbum), pageable, 1);
+        when(genreRepository.existsById(1L)).thenReturn(true);
+        when(albumRepository.findByGenreId(1L, pageable)).thenReturn(albumPage);
+        when(albumMapper.toResponse(testAlbum)).thenReturn(albumResponse);
 
         // Act
-        List<AlbumResponse> result = albumService.getAlbumsByGenre(1L);
+        Page<AlbumResponse> result = albumService.getAlbumsByGenre(1L, pageable);
 
         // Assert
         assertNotNull(result);
         assertFalse(result.isEmpty());
-        verify(genreRepository).findById(1L);
+        verify(albumRepository).findByGenreId(1L, pageable);
+        verify(albumRepository, never()).searchByGenreAndPriceRange(anyString(), any(BigDecimal.class),
+                any(BigDecimal.class), any());
     }
 
     @Test
     void getAlbumsByGenre_withNonExistentGenreId_shouldThrowEntityNotFoundException() {
         // Arrange
-        when(genreRepository.findById(999L)).thenReturn(Optional.empty());
+        when(genreRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> albumService.getAlbumsByGenre(999L)
+                () -> albumService.getAlbumsByGenre(999L, PageRequest.of(0, 20))
         );
         assertTrue(exception.getMessage().contains("Genre not found"));
     }
@@ -285,17 +407,20 @@ class AlbumServiceImplTest
         // Arrange
         BigDecimal minPrice = new BigDecimal("10.00");
         BigDecimal maxPrice = new BigDecimal("30.00");
-        List<Album> albums = Collections.singletonList(testAlbum);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<Album> albumPage = new PageImpl<>(Collections.singletonList(testAlbum), pageable, 1);
 
-        when(albumRepository.findAll()).thenReturn(albums);
-        when(albumMapper.toResponseList(anyList())).thenReturn(Collections.singletonList(albumResponse));
+        when(albumRepository.findByPriceBetween(minPrice, maxPrice, pageable)).thenReturn(albumPage);
+        when(albumMapper.toResponse(testAlbum)).thenReturn(albumResponse);
 
         // Act
-        List<AlbumResponse> result = albumService.getAlbumsByPriceRange(minPrice, maxPrice);
+        Page<AlbumResponse> result = albumService.getAlbumsByPriceRange(minPrice, maxPrice, pageable);
 
         // Assert
         assertNotNull(result);
-        verify(albumRepository).findAll();
+        assertEquals(1, result.getTotalElements());
+        verify(albumRepository).findByPriceBetween(minPrice, maxPrice, pageable);
+        verify(albumRepository, never()).findAll();
     }
 
     @Test
@@ -307,7 +432,7 @@ class AlbumServiceImplTest
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> albumService.getAlbumsByPriceRange(minPrice, maxPrice));
+                () -> albumService.getAlbumsByPriceRange(minPrice, maxPrice, PageRequest.of(0, 20)));
         assertTrue(exception.getMessage().contains("Price range cannot be null"));
     }
 
@@ -320,14 +445,14 @@ class AlbumServiceImplTest
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> albumService.getAlbumsByPriceRange(minPrice, maxPrice));
+                () -> albumService.getAlbumsByPriceRange(minPrice, maxPrice, PageRequest.of(0, 20)));
         assertTrue(exception.getMessage().contains("Minimum price cannot be greater than maximum price"));
     }
 
     @Test
     void updateAlbum_withValidRequest_shouldUpdateAndReturnAlbum() {
         // Arrange
-        when(albumRepository.findById(1L)).thenReturn(Optional.of(testAlbum));
+        when(albumRepository.findForUpdateById(1L)).thenReturn(Optional.of(testAlbum));
         doNothing().when(albumMapper).updateEntityFromRequest(updateRequest, testAlbum);
         when(albumRepository.save(testAlbum)).thenReturn(testAlbum);
         when(albumMapper.toResponse(testAlbum)).thenReturn(albumResponse);
@@ -337,15 +462,16 @@ class AlbumServiceImplTest
 
         // Assert
         assertNotNull(result);
-        verify(albumRepository).findById(1L);
+        verify(albumRepository).findForUpdateById(1L);
         verify(albumMapper).updateEntityFromRequest(updateRequest, testAlbum);
         verify(albumRepository).save(testAlbum);
+        verify(genreAlbumStatsRepository).recordAlbumChange(Set.of(1L), true, Set.of(1L), true);
     }
 
     @Test
     void updateAlbum_withNonExistentId_shouldThrowEntityNotFoundException() {
         // Arrange
-        when(albumRepository.findById(999L)).thenReturn(Optional.empty());
+        when(albumRepository.findForUpdateById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(
@@ -359,7 +485,7 @@ class AlbumServiceImplTest
     @Test
     void deleteAlbum_withExistingId_shouldDeleteAlbum() {
         // Arrange
-        when(albumRepository.findById(1L)).thenReturn(Optional.of(testAlbum));
+        when(albumRepository.findForUpdateById(1L)).thenReturn(Optional.of(testAlbum));
         when(albumRepository.save(testAlbum)).thenReturn(testAlbum);
         doNothing().when(albumRepository).deleteById(1L);
 
@@ -367,15 +493,17 @@ class AlbumServiceImplTest
         albumService.deleteAlbum(1L);
 
         // Assert
-        verify(albumRepository).findById(1L);
+        verify(albumRepository).findForUpdateById(1L);
+        verify(genreAlbumStatsRepository).recordAlbumChange(Set.of(1L), true, Set.of(), false);
         verify(albumRepository).save(testAlbum);
         verify(albumRepository).deleteById(1L);
+        verify(albumSearchIndex).remove(1L);
     }
 
     @Test
     void deleteAlbum_withNonExistentId_shouldThrowEntityNotFoundException() {
         // Arrange
-        when(albumRepository.findById(999L)).thenReturn(Optional.empty());
+        when(albumRepository.findForUpdateById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(
@@ -385,4 +513,19 @@ class AlbumServiceImplTest
         assertTrue(exception.getMessage().contains("Album not found"));
         verify(albumRepository, never()).deleteById(anyLong());
     }
+
+    private static Tuple albumRow(Long id, String title)
+    {
+        Tuple row = mock(Tuple.class);
+        when(row.get("id", Long.class)).thenReturn(id);
+        when(row.get("title", String.class)).thenReturn(title);
+        when(row.get("artistId", Long.class)).thenReturn(1L);
+        when(row.get("artistName", String.class)).thenReturn("The Beatles");
+        return row;
+    }
+
+    private static List<Long> ids(List<AlbumResponse> albums)
+    {
+        return albums.stream().map(AlbumResponse::getId).collect(Collectors.toList());
+    }
 }
@@ -4,17 +4,23 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateArtistRequest;
 import com.music.music_inventory_api.dto.request.UpdateArtistRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
 import com.music.music_inventory_api.dto.response.ArtistResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Artist;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.AlbumMapper;
 import com.music.music_inventory_api.mapper.ArtistMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
 import com.music.music_inventory_api.repository.AlbumRepository;
 import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -31,6 +37,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ArtistService Unit Tests")
@@ -49,6 +56,18 @@ class ArtistServiceImplTest
     @Mock
     private AlbumMapper albumMapper;
 
+    @Mock
+    private CatalogCacheEvictor catalogCacheEvictor;
+
+    @Mock
+    private AlbumSearchIndex albumSearchIndex;
+
+    @Mock
+    private CatalogSuggester catalogSuggester;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private ArtistServiceImpl artistService;
 
@@ -158,35 +177,41 @@ class ArtistServiceImplTest
 
     @Test
     @DisplayName("Should get all artists with pagination")
-    void getAllArtists_withPageable_shouldReturnPagedArtists()
+    void getAllArtists_withPageable_shouldReturnProjectedPage()
     {
         // Arrange
-        Artist artist2 = new Artist();
-        artist2.setId(2L);
-        artist2.setName("Pink Floyd");
-
-        List<Artist> artists = Arrays.asList(artist, artist2);
-        Page<Artist> artistPage = new PageImpl<>(artists);
-        Pageable pageable = PageRequest.of(0, 10);
-
         ArtistResponse response2 = new ArtistResponse();
         response2.setId(2L);
         response2.setName("Pink Floyd");
+        Pageable pageable = PageRequest.of(0, 10);
 
-        when(artistRepository.findAll(pageable)).thenReturn(artistPage);
-        when(artistMapper.toResponse(artist)).thenReturn(artistResponse);
-        when(artistMapper.toResponse(artist2)).thenReturn(response2);
+        when(artistRepository.findResponses(pageable)).thenReturn(new PageImpl<>(List.of(artistResponse, response2)));
 
         // Act
         Page<ArtistResponse> result = artistService.getAllArtists(pageable);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.getContent().size());
-        assertEquals(artistResponse.getName(), result.getContent().get(0).getName());
-        assertEquals(response2.getName(), result.getContent().get(1).getName());
+        assertEquals(List.of(artistResponse, response2), result.getContent());
+        verify(artistRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(artistMapper);
+    }
+
+    @Test
+    void scrollArtists_withIdCursor_shouldSeekPastIt()
+    {
+        // Arrange
+        String cursor = new KeysetCursor("id", 0L, null).encode();
+        Pageable rows = PageRequest.of(0, 11, Sort.by("id"));
+        when(artistRepository.findSliceAfterId(0L, rows)).thenReturn(List.of(artistResponse));
+
+        // Act
+        CursorPageResponse<ArtistResponse> result = artistService.scrollArtists("id", cursor, 10);
 
-        verify(artistRepository).findAll(pageable);
+        // Assert
+        assertEquals(List.of(artistResponse), result.getContent());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(artistRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -209,6 +234,7 @@ class ArtistServiceImplTest
         verify(artistMapper).updateEntityFromRequest(updateRequest, artist);
         verify(artistRepository).save(artist);
         verify(artistMapper).toResponse(artist);
+        verify(albumSearchIndex).renameArtist(List.of(), artist.getName());
     }
 
     @Test
@@ -276,24 +302,25 @@ class ArtistServiceImplTest
         albumResponse2.setId(2L);
         albumResponse2.setTitle("Let It Be");
 
-        List<Album> albums = Arrays.asList(album, album2);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<Album> albums = new PageImpl<>(Arrays.asList(album, album2), pageable, 2);
 
         when(artistRepository.existsById(1L)).thenReturn(true);
-        when(albumRepository.findByArtistId(1L)).thenReturn(albums);
+        when(albumRepository.findByArtistId(1L, pageable)).thenReturn(albums);
         when(albumMapper.toResponse(album)).thenReturn(albumResponse);
         when(albumMapper.toResponse(album2)).thenReturn(albumResponse2);
 
         // Act
-        List<AlbumResponse> result = artistService.getAlbumsByArtist(1L);
+        Page<AlbumResponse> result = artistService.getAlbumsByArtist(1L, pageable);
 
         // Assert
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(albumResponse.getTitle(), result.get(0).getTitle());
-        assertEquals(albumResponse2.getTitle(), result.get(1).getTitle());
+        assertEquals(2, result.getContent().size());
+        assertEquals(albumResponse.getTitle(), result.getContent().get(0).getTitle());
+        assertEquals(albumResponse2.getTitle(), result.getContent().get(1).getTitle());
 
         verify(artistRepository).existsById(1L);
-        verify(albumRepository).findByArtistId(1L);
+        verify(albumRepository).findByArtistId(1L, pageable);
     }
 
     @Test
@@ -305,30 +332,31 @@ class ArtistServiceImplTest
         // Act & Assert
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> artistService.getAlbumsByArtist(999L));
+                () -> artistService.getAlbumsByArtist(999L, PageRequest.of(0, 20)));
 
         assertTrue(exception.getMessage().contains("Artist"));
         assertTrue(exception.getMessage().contains("999"));
 
         verify(artistRepository).existsById(999L);
-        verify(albumRepository, never()).findByArtistId(any());
+        verify(albumRepository, never()).findByArtistId(any(), any());
     }
 
     @Test
     @DisplayName("Should return empty list when artist has no albums")
     void getAlbumsByArtist_withArtistHavingNoAlbums_shouldReturnEmptyList() {
         // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
         when(artistRepository.existsById(1L)).thenReturn(true);
-        when(albumRepository.findByArtistId(1L)).thenReturn(Arrays.asList());
+        when(albumRepository.findByArtistId(1L, pageable)).thenReturn(Page.empty(pageable));
 
         // Act
-        List<AlbumResponse> result = artistService.getAlbumsByArtist(1L);
+        Page<AlbumResponse> result = artistService.getAlbumsByArtist(1L, pageable);
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
         verify(artistRepository).existsById(1L);
-        verify(albumRepository).findByArtistId(1L);
+        verify(albumRepository).findByArtistId(1L, pageable);
     }
 }
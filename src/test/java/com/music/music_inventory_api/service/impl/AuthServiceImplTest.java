@@ -19,7 +19,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /** Unit tests for AuthServiceImpl. */
@@ -62,7 +64,7 @@ class AuthServiceImplTest
         when(customerRepository.findByEmailIgnoreCase(anyString())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
         when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
-        when(jwtUtil.generateToken(any())).thenReturn("test-jwt-token");
+        when(jwtUtil.generateToken(any(UserDetails.class), any())).thenReturn("test-jwt-token");
         when(jwtUtil.getExpirationTime()).thenReturn(86400000L);
 
         // Act
@@ -80,7 +82,7 @@ class AuthServiceImplTest
         verify(customerRepository).findByEmailIgnoreCase("test@example.com");
         verify(passwordEncoder).encode("password123");
         verify(customerRepository).save(any(Customer.class));
-        verify(jwtUtil).generateToken(any());
+        verify(jwtUtil).generateToken(any(UserDetails.class), any());
     }
 
     @Test
@@ -98,13 +100,45 @@ class AuthServiceImplTest
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
+    @Test
+    void register_withEmailRegisteredConcurrently_shouldThrowIllegalArgumentException()
+    {
+        // Arrange
+        when(customerRepository.findByEmailIgnoreCase(anyString())).thenReturn(Optional.empty())
+                .thenReturn(Optional.of(testCustomer));
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(customerRepository.save(any(Customer.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> authService.register(registerRequest));
+
+        assertTrue(exception.getMessage().contains("Email already registered"));
+        verify(jwtUtil, never()).generateToken(any(UserDetails.class), any());
+    }
+
+    @Test
+    void register_whenSaveViolatesOtherConstraint_shouldPropagateException()
+    {
+        // Arrange
+        when(customerRepository.findByEmailIgnoreCase(anyString())).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(customerRepository.save(any(Customer.class)))
+                .thenThrow(new DataIntegrityViolationException("value too long for phone"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> authService.register(registerRequest));
+        verify(customerRepository, times(2)).findByEmailIgnoreCase("test@example.com");
+    }
+
     @Test
     void login_withValidCredentials_shouldReturnAuthResponse()
     {
         // Arrange
         when(customerRepository.findByEmailIgnoreCase(anyString())).thenReturn(Optional.of(testCustomer));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtUtil.generateToken(any())).thenReturn("test-jwt-token");
+        when(jwtUtil.generateToken(any(UserDetails.class), any())).thenReturn("test-jwt-token");
         when(jwtUtil.getExpirationTime()).thenReturn(86400000L);
 
         // Act
@@ -119,7 +153,7 @@ class AuthServiceImplTest
 
         verify(customerRepository).findByEmailIgnoreCase("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtUtil).generateToken(any());
+        verify(jwtUtil).generateToken(any(UserDetails.class), any());
     }
 
     @Test
@@ -149,6 +183,6 @@ class AuthServiceImplTest
         assertEquals("Invalid email or password", exception.getMessage());
         verify(customerRepository).findByEmailIgnoreCase("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtUtil, never()).generateToken(any());
+        verify(jwtUtil, never()).generateToken(any(UserDetails.class), any());
     }
 }
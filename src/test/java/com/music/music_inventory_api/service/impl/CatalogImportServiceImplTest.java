@@ -0,0 +1,145 @@
+package com.music.music_inventory_api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.music.music_inventory_api.config.CatalogVersion;
+import com.music.music_inventory_api.dto.response.CatalogImportResponse;
+import com.music.music_inventory_api.entity.Album;
+import com.music.music_inventory_api.entity.Artist;
+import com.music.music_inventory_api.enums.DataFormat;
+import com.music.music_inventory_api.enums.SuggestionType;
+import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.ArtistRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
+import com.music.music_inventory_api.repository.GenreRepository;
+import com.music.music_inventory_api.repository.SongRepository;
+import com.music.music_inventory_api.search.AlbumSearchIndex;
+import com.music.music_inventory_api.search.CatalogSuggester;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for CatalogImportServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceImplTest
+{
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @Mock
+    private GenreAlbumStatsRepository genreAlbumStatsRepository;
+
+    @Mock
+    private AlbumRepository albumRepository;
+
+    @Mock
+    private SongRepository songRepository;
+
+    @Mock
+    private AlbumSearchIndex albumSearchIndex;
+
+    @Mock
+    private CatalogSuggester catalogSuggester;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CatalogImportServiceImpl catalogImportService;
+
+    @BeforeEach
+    void setUp()
+    {
+        catalogImportService = new CatalogImportServiceImpl(artistRepository, genreRepository,
+                genreAlbumStatsRepository, albumRepository, songRepository, albumSearchIndex, catalogSuggester,
+                catalogVersion, entityManager, transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(catalogImportService, "batchSize", 1);
+    }
+
+    @Test
+    void importCatalog_withFailingBatch_shouldRejectItsAlbumsAndImportTheRest() throws Exception
+    {
+        // Arrange
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(artistRepository.save(any(Artist.class))).thenAnswer(invocation ->
+        {
+            Artist artist = invocation.getArgument(0);
+            artist.setId(1L);
+            return artist;
+        });
+        when(albumRepository.save(any(Album.class))).thenAnswer(invocation ->
+        {
+            Album album = invocation.getArgument(0);
+            album.setId(2L);
+            return album;
+        });
+        String ndjson = "{\"artist\":\"A\",\"title\":\"First\",\"price\":1,\"stockQuantity\":1}\n"
+                + "{\"artist\":\"B\",\"title\":\"Second\",\"price\":1,\"stockQuantity\":1}\n";
+
+        // Act
+        CatalogImportResponse response = catalogImportService.importCatalog(DataFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(1, response.getAlbumsImported());
+        assertEquals(1, response.getArtistsCreated());
+        assertEquals(1, response.getRowsRejected());
+        assertEquals(List.of(new CatalogImportResponse.RowError(1, "Batch failed: duplicate key")),
+                response.getErrors());
+        verify(artistRepository).findByLowerNameIn(Set.of("b"));
+        verify(albumSearchIndex).index(any(Album.class));
+        verify(catalogSuggester).put(SuggestionType.ALBUM, 2L, "Second");
+        verify(genreAlbumStatsRepository).recordAlbumsAdded(List.of(2L));
+        verify(entityManager).clear();
+        verify(catalogVersion).changed();
+    }
+
+    @Test
+    void importCatalog_withInvalidAlbums_shouldRejectThemWithoutWriting() throws Exception
+    {
+        // Arrange
+        String ndjson = "{\"artist\":\"A\",\"title\":\"\",\"price\":0,\"stockQuantity\":1}\n"
+                + "{\"artist\":\"A\",\"title\":\"T\",\"price\":1,\"stockQuantity\":1,\"label\":\"EMI\"}\n";
+
+        // Act
+        CatalogImportResponse response = catalogImportService.importCatalog(DataFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(0, response.getAlbumsImported());
+        assertEquals(2, response.getRowsRejected());
+        assertEquals("Album title is required; Album title must be between 1 and 255 characters; "
+                + "Price must be greater than 0", response.getErrors().get(0).getMessage());
+        assertEquals(2, response.getErrors().get(1).getLine());
+        assertTrue(response.getErrors().get(1).getMessage().startsWith("Malformed album"));
+        verifyNoInteractions(transactionTemplate);
+    }
+}
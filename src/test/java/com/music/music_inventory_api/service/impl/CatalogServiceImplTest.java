@@ -0,0 +1,60 @@
+package com.music.music_inventory_api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.music.music_inventory_api.dto.response.SuggestionResponse;
+import com.music.music_inventory_api.enums.SuggestionType;
+import com.music.music_inventory_api.search.CatalogSuggester;
+import com.music.music_inventory_api.search.Suggestion;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for CatalogServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceImplTest
+{
+
+    @Mock
+    private CatalogSuggester catalogSuggester;
+
+    @InjectMocks
+    private CatalogServiceImpl catalogService;
+
+    @Test
+    void suggest_withPrefix_shouldMapSuggestions()
+    {
+        // Arrange
+        when(catalogSuggester.suggest("abb", 5))
+                .thenReturn(List.of(new Suggestion(SuggestionType.ALBUM, 1L, "Abbey Road")));
+
+        // Act
+        List<SuggestionResponse> result = catalogService.suggest("abb", 5);
+
+        // Assert
+        assertEquals(List.of(SuggestionResponse.builder().type(SuggestionType.ALBUM).id(1L).label("Abbey Road").build()),
+                result);
+    }
+
+    @Test
+    void suggest_withBlankPrefix_shouldThrowIllegalArgumentException()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> catalogService.suggest("  ", 5));
+        verifyNoInteractions(catalogSuggester);
+    }
+
+    @Test
+    void suggest_withNonPositiveLimit_shouldThrowIllegalArgumentException()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> catalogService.suggest("abb", 0));
+        verifyNoInteractions(catalogSuggester);
+    }
+}
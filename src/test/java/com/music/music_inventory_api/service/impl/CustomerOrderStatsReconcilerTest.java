@@ -0,0 +1,58 @@
+package com.music.music_inventory_api.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.music.music_inventory_api.repository.CustomerOrderStatsDrift;
+import com.music.music_inventory_api.repository.CustomerOrderStatsRepository;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for CustomerOrderStatsReconciler. */
+@ExtendWith(MockitoExtension.class)
+class CustomerOrderStatsReconcilerTest
+{
+    @Mock
+    private CustomerOrderStatsRepository customerOrderStatsRepository;
+
+    @InjectMocks
+    private CustomerOrderStatsReconciler reconciler;
+
+    @Test
+    void reconcile_withDrift_shouldRecomputeDriftedCustomers()
+    {
+        // Arrange
+        List<CustomerOrderStatsDrift> drift = List.of(
+                new CustomerOrderStatsDrift(1L, 3, 2, new BigDecimal("30.00"), new BigDecimal("20.00")),
+                new CustomerOrderStatsDrift(7L, 0, 1, BigDecimal.ZERO, new BigDecimal("9.99")));
+        when(customerOrderStatsRepository.findDrift()).thenReturn(drift);
+
+        // Act
+        List<CustomerOrderStatsDrift> result = reconciler.reconcile();
+
+        // Assert
+        assertEquals(drift, result);
+        verify(customerOrderStatsRepository).recompute(List.of(1L, 7L));
+    }
+
+    @Test
+    void reconcile_withoutDrift_shouldNotRecompute()
+    {
+        // Arrange
+        when(customerOrderStatsRepository.findDrift()).thenReturn(Collections.emptyList());
+
+        // Act
+        List<CustomerOrderStatsDrift> result = reconciler.reconcile();
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(customerOrderStatsRepository, never()).recompute(any());
+    }
+}
@@ -7,15 +7,21 @@ import static org.mockito.Mockito.*;
 
 import com.music.music_inventory_api.dto.request.CreateCustomerRequest;
 import com.music.music_inventory_api.dto.request.UpdateCustomerRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
+import com.music.music_inventory_api.dto.response.CustomerOrderStatsResponse;
 import com.music.music_inventory_api.dto.response.CustomerResponse;
 import com.music.music_inventory_api.dto.response.OrderResponse;
 import com.music.music_inventory_api.entity.Customer;
+import com.music.music_inventory_api.entity.CustomerOrderStats;
 import com.music.music_inventory_api.entity.Order;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.CustomerMapper;
 import com.music.music_inventory_api.mapper.OrderMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
+import com.music.music_inventory_api.repository.CustomerOrderStatsRepository;
 import com.music.music_inventory_api.repository.CustomerRepository;
 import com.music.music_inventory_api.repository.OrderRepository;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +36,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 /** Unit tests for CustomerServiceImpl. */
 @ExtendWith(MockitoExtension.class)
@@ -41,12 +48,18 @@ class CustomerServiceImplTest
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private CustomerOrderStatsRepository customerOrderStatsRepository;
+
     @Mock
     private CustomerMapper customerMapper;
 
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -171,6 +184,25 @@ class CustomerServiceImplTest
         verify(customerRepository).findAll(pageable);
     }
 
+    @Test
+    void scrollCustomers_withIdCursor_shouldSeekPastIt()
+    {
+        // Arrange
+        String cursor = new KeysetCursor("id", 0L, null).encode();
+        Pageable rows = PageRequest.of(0, 11, Sort.by("id"));
+        when(customerRepository.findSliceAfterId(0L, rows)).thenReturn(List.of(testCustomer));
+        when(customerMapper.toResponse(testCustomer)).thenReturn(testCustomerResponse);
+
+        // Act
+        CursorPageResponse<CustomerResponse> result = customerService.scrollCustomers("id", cursor, 10);
+
+        // Assert
+        assertEquals(List.of(testCustomerResponse), result.getContent());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(customerRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void updateCustomer_withValidData_shouldReturnUpdatedCustomer()
     {
@@ -187,6 +219,8 @@ class CustomerServiceImplTest
         assertNotNull(result);
         verify(customerMapper).updateEntityFromRequest(updateRequest, testCustomer);
         verify(customerRepository).save(testCustomer);
+        verify(userDetailsService).evictUser("john@example.com");
+        verify(userDetailsService).evictUser("jane@example.com");
     }
 
     @Test
@@ -217,24 +251,25 @@ class CustomerServiceImplTest
     void deleteCustomer_withExistingId_shouldDeleteCustomer()
     {
         // Arrange
-        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
 
         // Act
         customerService.deleteCustomer(1L);
 
         // Assert
-        verify(customerRepository).deleteById(1L);
+        verify(customerRepository).delete(testCustomer);
+        verify(userDetailsService).evictUser(testCustomer.getEmail());
     }
 
     @Test
     void deleteCustomer_withNonExistentId_shouldThrowEntityNotFoundException()
     {
         // Arrange
-        when(customerRepository.existsById(anyLong())).thenReturn(false);
+        when(customerRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> customerService.deleteCustomer(999L));
-        verify(customerRepository, never()).deleteById(anyLong());
+        verify(customerRepository, never()).delete(any(Customer.class));
     }
 
     @Test
@@ -246,18 +281,21 @@ class CustomerServiceImplTest
         OrderResponse orderResponse1 = OrderResponse.builder().id(1L).build();
         OrderResponse orderResponse2 = OrderResponse.builder().id(2L).build();
 
+        Pageable pageable = PageRequest.of(0, 20);
+
         when(customerRepository.existsById(1L)).thenReturn(true);
-        when(orderRepository.findByCustomerId(1L)).thenReturn(Arrays.asList(order1, order2));
+        when(orderRepository.findByCustomerId(1L, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(order1, order2), pageable, 2));
         when(orderMapper.toResponse(order1)).thenReturn(orderResponse1);
         when(orderMapper.toResponse(order2)).thenReturn(orderResponse2);
 
         // Act
-        List<OrderResponse> result = customerService.getCustomerOrders(1L);
+        Page<OrderResponse> result = customerService.getCustomerOrders(1L, pageable);
 
         // Assert
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(orderRepository).findByCustomerId(1L);
+        assertEquals(2, result.getContent().size());
+        verify(orderRepository).findByCustomerId(1L, pageable);
     }
 
     @Test
@@ -267,8 +305,9 @@ class CustomerServiceImplTest
         when(customerRepository.existsById(anyLong())).thenReturn(false);
 
         // Act & Assert
-        assertThrows(EntityNotFoundException.class, () -> customerService.getCustomerOrders(999L));
-        verify(orderRepository, never()).findByCustomerId(anyLong());
+        assertThrows(EntityNotFoundException.class,
+                () -> customerService.getCustomerOrders(999L, PageRequest.of(0, 20)));
+        verify(orderRepository, never()).findByCustomerId(anyLong(), any());
     }
 
     @Test
@@ -276,13 +315,97 @@ class CustomerServiceImplTest
     {
         // Arrange
         when(customerRepository.existsById(1L)).thenReturn(true);
-        when(orderRepository.findByCustomerId(1L)).thenReturn(Collections.emptyList());
+        Pageable pageable = PageRequest.of(0, 20);
+        when(orderRepository.findByCustomerId(1L, pageable)).thenReturn(Page.empty(pageable));
 
         // Act
-        List<OrderResponse> result = customerService.getCustomerOrders(1L);
+        Page<OrderResponse> result = customerService.getCustomerOrders(1L, pageable);
 
         // Assert
         assertNotNull(result);
-        assertEquals(0, result.size());
+        assertEquals(0, result.getContent().size());
+    }
+
+    @Test
+    void getCustomerOrderStats_withStatsRow_shouldReturnMappedStats()
+    {
+        // Arrange
+        CustomerOrderStats stats = CustomerOrderStats.builder().customerId(1L).customer(testCustomer).orderCount(2)
+                .lifetimeSpend(new BigDecimal("50.00")).build();
+        CustomerOrderStatsResponse response = CustomerOrderStatsResponse.builder().customerId(1L).orderCount(2)
+                .lifetimeSpend(new BigDecimal("50.00")).averageOrderValue(new BigDecimal("25.00")).build();
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerOrderStatsRepository.findById(1L)).thenReturn(Optional.of(stats));
+        when(customerMapper.toOrderStatsResponse(stats)).thenReturn(response);
+
+        // Act
+        CustomerOrderStatsResponse result = customerService.getCustomerOrderStats(1L);
+
+        // Assert
+        assertEquals(2, result.getOrderCount());
+        assertEquals(new BigDecimal("25.00"), result.getAverageOrderValue());
+    }
+
+    @Test
+    void getCustomerOrderStats_withoutOrders_shouldReturnZeroStats()
+    {
+        // Arrange
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerOrderStatsRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        CustomerOrderStatsResponse result = customerService.getCustomerOrderStats(1L);
+
+        // Assert
+        assertEquals(1L, result.getCustomerId());
+        assertEquals("John", result.getFirstName());
+        assertEquals(0, result.getOrderCount());
+        assertEquals(BigDecimal.ZERO, result.getLifetimeSpend());
+        assertNull(result.getLastOrderAt());
+    }
+
+    @Test
+    void getCustomerOrderStats_withNonExistentCustomer_shouldThrowEntityNotFoundException()
+    {
+        // Arrange
+        when(customerRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> customerService.getCustomerOrderStats(999L));
+        verify(customerOrderStatsRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getOrderLeaderboard_bySpend_shouldReadSpendRanking()
+    {
+        // Arrange
+        CustomerOrderStats stats = CustomerOrderStats.builder().customerId(1L).customer(testCustomer).orderCount(1)
+                .lifetimeSpend(new BigDecimal("99.00")).build();
+        when(customerOrderStatsRepository.findTopByLifetimeSpend(PageRequest.of(0, 5))).thenReturn(List.of(stats));
+        when(customerMapper.toOrderStatsResponse(stats))
+                .thenReturn(CustomerOrderStatsResponse.builder().customerId(1L).build());
+
+        // Act
+        List<CustomerOrderStatsResponse> result = customerService.getOrderLeaderboard("spend", 5);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(customerOrderStatsRepository, never()).findTopByOrderCount(any());
+    }
+
+    @Test
+    void getOrderLeaderboard_withUnknownRanking_shouldThrowIllegalArgumentException()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> customerService.getOrderLeaderboard("albums", 10));
+    }
+
+    @Test
+    void getOrderLeaderboard_withLimitAboveMax_shouldThrowIllegalArgumentException()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> customerService.getOrderLeaderboard("orders", CustomerServiceImpl.MAX_LEADERBOARD_SIZE + 1));
+        verifyNoInteractions(customerOrderStatsRepository);
     }
 }
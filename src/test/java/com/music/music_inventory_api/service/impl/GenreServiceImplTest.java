@@ -5,17 +5,23 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateGenreRequest;
 import com.music.music_inventory_api.dto.request.UpdateGenreRequest;
 import com.music.music_inventory_api.dto.response.AlbumResponse;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.GenreResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Genre;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.AlbumMapper;
 import com.music.music_inventory_api.mapper.GenreMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
 import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
 import com.music.music_inventory_api.repository.GenreRepository;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -33,6 +39,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("GenreService Unit Tests")
@@ -42,6 +49,9 @@ class GenreServiceImplTest
     @Mock
     private GenreRepository genreRepository;
 
+    @Mock
+    private GenreAlbumStatsRepository genreAlbumStatsRepository;
+
     @Mock
     private AlbumRepository albumRepository;
 
@@ -51,6 +61,15 @@ class GenreServiceImplTest
     @Mock
     private AlbumMapper albumMapper;
 
+    @Mock
+    private CatalogCacheEvictor catalogCacheEvictor;
+
+    @Mock
+    private CatalogSuggester catalogSuggester;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private GenreServiceImpl genreService;
 
@@ -97,6 +116,7 @@ class GenreServiceImplTest
         assertEquals(genreResponse.getId(), result.getId());
         assertEquals(genreResponse.getName(), result.getName());
         verify(genreRepository).save(genre);
+        verify(genreAlbumStatsRepository).createStats(genre.getId());
     }
 
     @Test
@@ -149,6 +169,25 @@ class GenreServiceImplTest
         verify(genreRepository).findAll(pageable);
     }
 
+    @Test
+    void scrollGenres_withIdCursor_shouldSeekPastIt()
+    {
+        // Arrange
+        String cursor = new KeysetCursor("id", 0L, null).encode();
+        Pageable rows = PageRequest.of(0, 11, Sort.by("id"));
+        when(genreRepository.findSliceAfterId(0L, rows)).thenReturn(List.of(genre));
+        when(genreMapper.toResponse(genre)).thenReturn(genreResponse);
+
+        // Act
+        CursorPageResponse<GenreResponse> result = genreService.scrollGenres("id", cursor, 10);
+
+        // Assert
+        assertEquals(List.of(genreResponse), result.getContent());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(genreRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Should update genre successfully")
     void updateGenre_withExistingId_shouldReturnUpdatedGenre() {
@@ -209,44 +248,47 @@ class GenreServiceImplTest
     @DisplayName("Should get albums by genre successfully")
     void getAlbumsByGenre_withExistingGenre_shouldReturnAlbums() {
         // Arrange
-        when(genreRepository.findById(1L)).thenReturn(Optional.of(genre));
-        when(albumRepository.findAll()).thenReturn(Arrays.asList(album));
-        when(albumMapper.toResponseList(anyList())).thenReturn(Arrays.asList(albumResponse));
+        Pageable pageable = PageRequest.of(0, 20);
+        when(genreRepository.existsById(1L)).thenReturn(true);
+        when(albumRepository.findByGenreId(1L, pageable)).thenReturn(new PageImpl<>(Arrays.asList(album), pageable, 1));
+        when(albumMapper.toResponse(album)).thenReturn(albumResponse);
 
         // Act
-        List<AlbumResponse> result = genreService.getAlbumsByGenre(1L);
+        Page<AlbumResponse> result = genreService.getAlbumsByGenre(1L, pageable);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(genreRepository).findById(1L);
+        assertEquals(1, result.getContent().size());
+        verify(albumRepository).findByGenreId(1L, pageable);
+        verify(albumRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("Should throw EntityNotFoundException when getting albums for non-existent genre")
     void getAlbumsByGenre_withNonExistentGenre_shouldThrowEntityNotFoundException() {
         // Arrange
-        when(genreRepository.findById(999L)).thenReturn(Optional.empty());
+        when(genreRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(EntityNotFoundException.class, () -> genreService.getAlbumsByGenre(999L));
-        verify(genreRepository).findById(999L);
+        assertThrows(EntityNotFoundException.class, () -> genreService.getAlbumsByGenre(999L, PageRequest.of(0, 20)));
+        verify(genreRepository).existsById(999L);
+        verify(albumRepository, never()).findByGenreId(anyLong(), any(Pageable.class));
     }
 
     @Test
-    @DisplayName("Should return empty list when genre has no albums")
-    void getAlbumsByGenre_withGenreHavingNoAlbums_shouldReturnEmptyList() {
+    @DisplayName("Should return empty page when genre has no albums")
+    void getAlbumsByGenre_withGenreHavingNoAlbums_shouldReturnEmptyPage() {
         // Arrange
-        when(genreRepository.findById(1L)).thenReturn(Optional.of(genre));
-        when(albumRepository.findAll()).thenReturn(new ArrayList<>());
-        when(albumMapper.toResponseList(anyList())).thenReturn(new ArrayList<>());
+        Pageable pageable = PageRequest.of(0, 20);
+        when(genreRepository.existsById(1L)).thenReturn(true);
+        when(albumRepository.findByGenreId(1L, pageable)).thenReturn(new PageImpl<>(new ArrayList<>(), pageable, 0));
 
         // Act
-        List<AlbumResponse> result = genreService.getAlbumsByGenre(1L);
+        Page<AlbumResponse> result = genreService.getAlbumsByGenre(1L, pageable);
 
         // Assert
         assertNotNull(result);
-        assertEquals(0, result.size());
-        verify(genreRepository).findById(1L);
+        assertEquals(0, result.getContent().size());
+        verify(genreRepository).existsById(1L);
     }
 }
@@ -4,32 +4,51 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateOrderItemRequest;
 import com.music.music_inventory_api.dto.request.CreateOrderRequest;
 import com.music.music_inventory_api.dto.response.OrderResponse;
+import com.music.music_inventory_api.dto.response.RevenueResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Artist;
 import com.music.music_inventory_api.entity.Customer;
 import com.music.music_inventory_api.entity.Order;
 import com.music.music_inventory_api.entity.OrderItem;
+import com.music.music_inventory_api.enums.DataFormat;
 import com.music.music_inventory_api.enums.OrderStatus;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
+import com.music.music_inventory_api.exception.InsufficientStockException;
 import com.music.music_inventory_api.mapper.OrderMapper;
 import com.music.music_inventory_api.repository.AlbumRepository;
+import com.music.music_inventory_api.repository.AlbumSalesStatsRepository;
+import com.music.music_inventory_api.repository.CustomerOrderStatsRepository;
 import com.music.music_inventory_api.repository.CustomerRepository;
+import com.music.music_inventory_api.repository.GenreAlbumStatsRepository;
 import com.music.music_inventory_api.repository.OrderRepository;
+import com.music.music_inventory_api.repository.RevenueBucketRepository;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 /** Unit tests for OrderServiceImpl. */
 @ExtendWith(MockitoExtension.class)
@@ -45,9 +64,30 @@ class OrderServiceImplTest
     @Mock
     private AlbumRepository albumRepository;
 
+    @Mock
+    private AlbumSalesStatsRepository albumSalesStatsRepository;
+
+    @Mock
+    private GenreAlbumStatsRepository genreAlbumStatsRepository;
+
+    @Mock
+    private CustomerOrderStatsRepository customerOrderStatsRepository;
+
+    @Mock
+    private RevenueBucketRepository revenueBucketRepository;
+
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private CatalogCacheEvictor catalogCacheEvictor;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -96,7 +136,8 @@ class OrderServiceImplTest
                 .build();
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(albumRepository.findById(1L)).thenReturn(Optional.of(testAlbum));
+        when(albumRepository.findAllById(Set.of(1L))).thenReturn(List.of(testAlbum));
+        when(albumRepository.decrementStock(Map.of(1L, 2))).thenReturn(List.of());
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         when(orderMapper.toResponse(any(Order.class))).thenReturn(testOrderResponse);
 
@@ -108,8 +149,14 @@ class OrderServiceImplTest
         assertEquals(1L, result.getId());
         assertEquals(OrderStatus.PENDING, result.getStatus());
         assertEquals(new BigDecimal("39.98"), result.getTotalAmount());
-        verify(albumRepository).save(testAlbum);
-        assertEquals(8, testAlbum.getStockQuantity()); // 10 - 2
+        verify(albumRepository).decrementStock(Map.of(1L, 2));
+        verify(genreAlbumStatsRepository).recordStockTaken(Map.of(1L, 2));
+        verify(albumRepository, never()).save(any(Album.class));
+        verify(albumSalesStatsRepository).recordSales(testOrder.getOrderItems(), testOrder.getOrderDate());
+        verify(customerOrderStatsRepository).recordOrder(1L, new BigDecimal("39.98"), testOrder.getOrderDate());
+        verify(revenueBucketRepository).recordRevenue(testOrder.getCreatedAt(), new BigDecimal("39.98"));
+        verify(catalogVersion).stockChanged();
+        verify(catalogVersion, never()).changed();
     }
 
     @Test
@@ -138,13 +185,42 @@ class OrderServiceImplTest
                 .build();
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(albumRepository.findById(999L)).thenReturn(Optional.empty());
+        when(albumRepository.findAllById(Set.of(999L))).thenReturn(List.of());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(request));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    void createOrder_withRepeatedAlbum_shouldLoadAndReserveStockOnce()
+    {
+        // Arrange
+        Album secondAlbum = Album.builder().id(2L).title("Second Album").price(new BigDecimal("9.99"))
+                .stockQuantity(5).build();
+        CreateOrderRequest request = CreateOrderRequest.builder().customerId(1L)
+                .items(Arrays.asList(CreateOrderItemRequest.builder().albumId(2L).quantity(1).build(),
+                        CreateOrderItemRequest.builder().albumId(1L).quantity(2).build(),
+                        CreateOrderItemRequest.builder().albumId(2L).quantity(3).build()))
+                .build();
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(albumRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(testAlbum, secondAlbum));
+        when(albumRepository.decrementStock(Map.of(1L, 2, 2L, 4))).thenReturn(List.of());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.toResponse(any(Order.class))).thenReturn(testOrderResponse);
+
+        // Act
+        orderService.createOrder(request);
+
+        // Assert
+        verify(albumRepository, times(1)).findAllById(any());
+        verify(albumRepository, never()).findById(any());
+        verify(albumRepository, times(1)).decrementStock(any());
+        verify(orderRepository).save(argThat(order -> order.getOrderItems().size() == 3
+                && order.getTotalAmount().compareTo(new BigDecimal("79.94")) == 0));
+    }
+
     @Test
     void createOrder_withInsufficientStock_shouldThrowException()
     {
@@ -155,11 +231,15 @@ class OrderServiceImplTest
                 .build();
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(albumRepository.findById(1L)).thenReturn(Optional.of(testAlbum));
+        when(albumRepository.findAllById(Set.of(1L))).thenReturn(List.of(testAlbum));
+        when(albumRepository.decrementStock(Map.of(1L, 20))).thenReturn(List.of(1L));
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(request));
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(request));
         verify(orderRepository, never()).save(any(Order.class));
+        verify(albumSalesStatsRepository, never()).recordSales(any(), any());
+        verify(genreAlbumStatsRepository, never()).recordStockTaken(any());
+        verify(customerOrderStatsRepository, never()).recordOrder(any(), any(), any());
     }
 
     @Test
@@ -190,19 +270,19 @@ class OrderServiceImplTest
     void getOrdersByCustomer_shouldReturnOrders()
     {
         // Arrange
-        List<Order> orders = Arrays.asList(testOrder);
-        List<OrderResponse> responses = Arrays.asList(testOrderResponse);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<Order> orders = new PageImpl<>(Arrays.asList(testOrder), pageable, 1);
 
-        when(orderRepository.findByCustomerId(1L)).thenReturn(orders);
-        when(orderMapper.toResponseList(orders)).thenReturn(responses);
+        when(orderRepository.findByCustomerId(1L, pageable)).thenReturn(orders);
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
 
         // Act
-        List<OrderResponse> result = orderService.getOrdersByCustomer(1L);
+        Page<OrderResponse> result = orderService.getOrdersByCustomer(1L, pageable);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(orderRepository).findByCustomerId(1L);
+        assertEquals(1, result.getContent().size());
+        verify(orderRepository).findByCustomerId(1L, pageable);
     }
 
     @Test
@@ -219,6 +299,47 @@ class OrderServiceImplTest
         assertNotNull(result);
         assertEquals(OrderStatus.PROCESSING, testOrder.getStatus());
         verify(orderRepository).save(testOrder);
+        verify(albumSalesStatsRepository, never()).reverseSales(any());
+        verify(customerOrderStatsRepository, never()).reverseOrder(any(), any(), any());
+        verify(revenueBucketRepository, never()).reverseRevenue(any(), any());
+    }
+
+    @Test
+    void updateOrderStatus_toCancelled_shouldReverseSales()
+    {
+        // Arrange
+        OrderItem orderItem = OrderItem.builder().id(1L).album(testAlbum).quantity(2).unitPrice(new BigDecimal("19.99"))
+                .subtotal(new BigDecimal("39.98")).build();
+        testOrder.addOrderItem(orderItem);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderMapper.toResponse(any(Order.class))).thenReturn(testOrderResponse);
+
+        // Act
+        orderService.updateOrderStatus(1L, OrderStatus.CANCELLED);
+
+        // Assert
+        assertEquals(OrderStatus.CANCELLED, testOrder.getStatus());
+        verify(albumRepository).incrementStock(Map.of(1L, 2));
+        verify(genreAlbumStatsRepository).recordStockReturned(Map.of(1L, 2));
+        verify(albumSalesStatsRepository).reverseSales(testOrder.getOrderItems());
+        verify(customerOrderStatsRepository).reverseOrder(1L, 1L, new BigDecimal("39.98"));
+        verify(revenueBucketRepository).reverseRevenue(testOrder.getCreatedAt(), new BigDecimal("39.98"));
+        verify(catalogVersion).stockChanged();
+        verify(catalogVersion, never()).changed();
+    }
+
+    @Test
+    void updateOrderStatus_toCancelledWhenShipped_shouldThrowException()
+    {
+        // Arrange
+        testOrder.setStatus(OrderStatus.SHIPPED);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> orderService.updateOrderStatus(1L, OrderStatus.CANCELLED));
+        verify(albumRepository, never()).incrementStock(any());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -233,6 +354,55 @@ class OrderServiceImplTest
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    void exportOrders_asNdjsonWithoutFilters_shouldWriteOneLinePerOrderAndDetachIt() throws Exception
+    {
+        // Arrange
+        OrderItem orderItem = OrderItem.builder().id(7L).album(testAlbum).quantity(2)
+                .unitPrice(new BigDecimal("19.99")).subtotal(new BigDecimal("39.98")).build();
+        testOrder.addOrderItem(orderItem);
+        when(orderRepository.streamByDateRange(any(), any())).thenReturn(Stream.of(testOrder));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        orderService.exportOrders(DataFormat.NDJSON, null, null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"customerId\":1,\"status\":\"PENDING\""));
+        assertTrue(lines[0].endsWith("\"items\":[{\"id\":7,\"albumId\":1,\"quantity\":2,\"unitPrice\":19.99,"
+                + "\"subtotal\":39.98}]}"));
+        verify(orderRepository, never()).streamByStatusAndDateRange(any(), any(), any());
+        verify(entityManager).detach(testOrder);
+    }
+
+    @Test
+    void exportOrders_asCsvWithStatus_shouldWriteHeaderAndOneRowPerItem() throws Exception
+    {
+        // Arrange
+        testOrder.addOrderItem(OrderItem.builder().id(7L).album(testAlbum).quantity(2)
+                .unitPrice(new BigDecimal("19.99")).subtotal(new BigDecimal("39.98")).build());
+        testOrder.addOrderItem(OrderItem.builder().id(8L).album(testAlbum).quantity(1)
+                .unitPrice(new BigDecimal("19.99")).subtotal(new BigDecimal("19.99")).build());
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(orderRepository.streamByStatusAndDateRange(OrderStatus.PENDING, from, to))
+                .thenReturn(Stream.of(testOrder));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        orderService.exportOrders(DataFormat.CSV, OrderStatus.PENDING, from, to, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("order_id,customer_id,status"));
+        assertTrue(lines[1].startsWith("1,1,PENDING,"));
+        assertTrue(lines[1].endsWith(",39.98,7,1,2,19.99,39.98"));
+        assertTrue(lines[2].endsWith(",39.98,8,1,1,19.99,19.99"));
+    }
+
     @Test
     void cancelOrder_withPendingOrder_shouldCancelAndRestoreStock()
     {
@@ -241,7 +411,6 @@ class OrderServiceImplTest
                 .subtotal(new BigDecimal("39.98")).build();
 
         testOrder.addOrderItem(orderItem);
-        testAlbum.setStockQuantity(8); // Already reduced
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
@@ -251,8 +420,11 @@ class OrderServiceImplTest
 
         // Assert
         assertEquals(OrderStatus.CANCELLED, testOrder.getStatus());
-        assertEquals(10, testAlbum.getStockQuantity()); // Restored from 8 to 10
-        verify(albumRepository).save(testAlbum);
+        verify(albumRepository).incrementStock(Map.of(1L, 2));
+        verify(genreAlbumStatsRepository).recordStockReturned(Map.of(1L, 2));
+        verify(albumSalesStatsRepository).reverseSales(List.of(orderItem));
+        verify(customerOrderStatsRepository).reverseOrder(1L, 1L, new BigDecimal("39.98"));
+        verify(revenueBucketRepository).reverseRevenue(testOrder.getCreatedAt(), new BigDecimal("39.98"));
         verify(orderRepository).save(testOrder);
     }
 
@@ -276,4 +448,32 @@ class OrderServiceImplTest
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> orderService.cancelOrder(999L));
     }
+
+    @Test
+    void getRevenue_withValidRange_shouldSumRevenueBuckets()
+    {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 12, 31, 23, 59);
+        when(revenueBucketRepository.sumRevenue(from, to)).thenReturn(new BigDecimal("1234.50"));
+
+        // Act
+        RevenueResponse result = orderService.getRevenue(from, to);
+
+        // Assert
+        assertEquals(new BigDecimal("1234.50"), result.getRevenue());
+        assertEquals(from, result.getFrom());
+        assertEquals(to, result.getTo());
+    }
+
+    @Test
+    void getRevenue_withRangeEndingBeforeStart_shouldThrowException()
+    {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.getRevenue(from, from.minusDays(1)));
+        verifyNoInteractions(revenueBucketRepository);
+    }
 }
@@ -5,15 +5,20 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import com.music.music_inventory_api.config.CatalogCacheEvictor;
+import com.music.music_inventory_api.config.CatalogVersion;
 import com.music.music_inventory_api.dto.request.CreateSongRequest;
 import com.music.music_inventory_api.dto.request.UpdateSongRequest;
+import com.music.music_inventory_api.dto.response.CursorPageResponse;
 import com.music.music_inventory_api.dto.response.SongResponse;
 import com.music.music_inventory_api.entity.Album;
 import com.music.music_inventory_api.entity.Song;
 import com.music.music_inventory_api.exception.EntityNotFoundException;
 import com.music.music_inventory_api.mapper.SongMapper;
+import com.music.music_inventory_api.pagination.KeysetCursor;
 import com.music.music_inventory_api.repository.AlbumRepository;
 import com.music.music_inventory_api.repository.SongRepository;
+import com.music.music_inventory_api.search.CatalogSuggester;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +33,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("SongService Unit Tests")
@@ -43,6 +49,15 @@ class SongServiceImplTest
     @Mock
     private SongMapper songMapper;
 
+    @Mock
+    private CatalogCacheEvictor catalogCacheEvictor;
+
+    @Mock
+    private CatalogSuggester catalogSuggester;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private SongServiceImpl songService;
 
@@ -133,24 +148,39 @@ class SongServiceImplTest
 
     @Test
     @DisplayName("Should get all songs successfully")
-    void getAllSongs_withPageable_shouldReturnPagedSongs()
+    void getAllSongs_withPageable_shouldReturnProjectedPage()
     {
         // Arrange
-        Song song2 = Song.builder().id(2L).title("Something").album(album).trackNumber(2).durationSeconds(182).build();
-        List<Song> songs = Arrays.asList(song, song2);
-        Page<Song> songPage = new PageImpl<>(songs);
+        SongResponse response2 = SongResponse.builder().id(2L).title("Something").albumId(1L).trackNumber(2).build();
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(songRepository.findAll(pageable)).thenReturn(songPage);
-        when(songMapper.toResponse(any(Song.class))).thenReturn(songResponse);
+        when(songRepository.findResponses(pageable)).thenReturn(new PageImpl<>(List.of(songResponse, response2)));
 
         // Act
         Page<SongResponse> result = songService.getAllSongs(pageable);
 
         // Assert
-        assertNotNull(result);
         assertEquals(2, result.getTotalElements());
-        verify(songRepository).findAll(pageable);
+        assertEquals(List.of(songResponse, response2), result.getContent());
+        verify(songRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void scrollSongs_withIdCursor_shouldSeekPastIt()
+    {
+        // Arrange
+        String cursor = new KeysetCursor("id", 0L, null).encode();
+        Pageable rows = PageRequest.of(0, 11, Sort.by("id"));
+        when(songRepository.findSliceAfterId(0L, rows)).thenReturn(List.of(songResponse));
+
+        // Act
+        CursorPageResponse<SongResponse> result = songService.scrollSongs("id", cursor, 10);
+
+        // Assert
+        assertEquals(List.of(songResponse), result.getContent());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(songRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -209,25 +239,26 @@ class SongServiceImplTest
     @DisplayName("Should delete song successfully")
     void deleteSong_withExistingId_shouldDeleteSuccessfully() {
         // Arrange
-        when(songRepository.existsById(1L)).thenReturn(true);
+        when(songRepository.findAlbumIdById(1L)).thenReturn(Optional.of(1L));
 
         // Act
         songService.deleteSong(1L);
 
         // Assert
-        verify(songRepository).existsById(1L);
+        verify(songRepository).findAlbumIdById(1L);
         verify(songRepository).deleteById(1L);
+        verify(catalogCacheEvictor).evictAlbumSongs(1L);
     }
 
     @Test
     @DisplayName("Should throw EntityNotFoundException when deleting non-existent song")
     void deleteSong_withNonExistentId_shouldThrowEntityNotFoundException() {
         // Arrange
-        when(songRepository.existsById(999L)).thenReturn(false);
+        when(songRepository.findAlbumIdById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> songService.deleteSong(999L));
-        verify(songRepository).existsById(999L);
+        verify(songRepository).findAlbumIdById(999L);
         verify(songRepository, never()).deleteById(anyLong());
     }
 
@@ -240,7 +271,7 @@ class SongServiceImplTest
         List<Song> songs = Arrays.asList(song, song2);
 
         when(albumRepository.findById(1L)).thenReturn(Optional.of(album));
-        when(songRepository.findByAlbumId(1L)).thenReturn(songs);
+        when(songRepository.findByAlbumOrderedByTrackNumber(1L)).thenReturn(songs);
         when(songMapper.toResponseList(songs))
                 .thenReturn(Arrays.asList(songResponse, SongResponse.builder().id(2L).title("Something").build()));
 
@@ -251,7 +282,7 @@ class SongServiceImplTest
         assertNotNull(result);
         assertEquals(2, result.size());
         verify(albumRepository).findById(1L);
-        verify(songRepository).findByAlbumId(1L);
+        verify(songRepository).findByAlbumOrderedByTrackNumber(1L);
     }
 
     @Test
@@ -270,7 +301,7 @@ class SongServiceImplTest
     void getSongsByAlbum_withAlbumHavingNoSongs_shouldReturnEmptyList() {
         // Arrange
         when(albumRepository.findById(1L)).thenReturn(Optional.of(album));
-        when(songRepository.findByAlbumId(1L)).thenReturn(Arrays.asList());
+        when(songRepository.findByAlbumOrderedByTrackNumber(1L)).thenReturn(Arrays.asList());
         when(songMapper.toResponseList(anyList())).thenReturn(Arrays.asList());
 
         // Act
@@ -280,6 +311,6 @@ class SongServiceImplTest
         assertNotNull(result);
         assertEquals(0, result.size());
         verify(albumRepository).findById(1L);
-        verify(songRepository).findByAlbumId(1L);
+        verify(songRepository).findByAlbumOrderedByTrackNumber(1L);
     }
 }